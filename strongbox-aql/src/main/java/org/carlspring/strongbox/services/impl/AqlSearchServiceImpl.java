@@ -9,9 +9,8 @@ import javax.persistence.EntityManager;
 import javax.persistence.PersistenceContext;
 import javax.transaction.Transactional;
 
-import org.carlspring.strongbox.data.criteria.DetachQueryTemplate;
+import org.carlspring.strongbox.artifact.coordinates.ArtifactCoordinates;
 import org.carlspring.strongbox.data.criteria.OQueryTemplate;
-import org.carlspring.strongbox.data.criteria.QueryTemplate;
 import org.carlspring.strongbox.data.criteria.Selector;
 import org.carlspring.strongbox.dependency.snippet.CodeSnippet;
 import org.carlspring.strongbox.dependency.snippet.SnippetGenerator;
@@ -44,16 +43,21 @@ public class AqlSearchServiceImpl implements AqlSearchService
     {
         SearchResults result = new SearchResults();
 
-        QueryTemplate<List<ArtifactEntry>, ArtifactEntry> queryTemplate = new DetachQueryTemplate<>(
-                new OQueryTemplate<>(entityManager));
+        // The entries are read within the transaction, only their coordinates are detached, not their tags or
+        // archive listings.
+        OQueryTemplate<List<ArtifactEntry>, ArtifactEntry> queryTemplate = new OQueryTemplate<>(entityManager);
         for (ArtifactEntry artifactEntry : queryTemplate.select(selector))
         {
             SearchResult r = new SearchResult();
             result.getResults().add(r);
 
+            ArtifactCoordinates artifactCoordinates = queryTemplate.getEmDelegate()
+                                                                   .detachAll(artifactEntry.getArtifactCoordinates(),
+                                                                              true);
+
             r.setStorageId(artifactEntry.getStorageId());
             r.setRepositoryId(artifactEntry.getRepositoryId());
-            r.setArtifactCoordinates(artifactEntry.getArtifactCoordinates());
+            r.setArtifactCoordinates(artifactCoordinates);
 
             RepositoryPath repositoryPath = repositoryPathResolver.resolve(artifactEntry.getStorageId(),
                                                                            artifactEntry.getRepositoryId(),
@@ -65,7 +69,7 @@ public class AqlSearchServiceImpl implements AqlSearchService
             r.setUrl(artifactResource.toString());
 
             List<CodeSnippet> snippets = snippetGenerator.generateSnippets(repository.getLayout(),
-                                                                             artifactEntry.getArtifactCoordinates());
+                                                                             artifactCoordinates);
             r.setSnippets(snippets);
         }
 
@@ -0,0 +1,68 @@
+package org.carlspring.strongbox.util;
+
+/**
+ * Execution context of a long running task (like cron jobs), which allows the underlying operations to:
+ * <ul>
+ * <li>persist and resume from progress checkpoints, which are grouped by scope (for example a repository)</li>
+ * <li>check for a cooperative cancellation</li>
+ * <li>honor I/O and CPU budgets</li>
+ * <li>report progress</li>
+ * </ul>
+ *
+ * @see TaskExecutionContextHolder
+ */
+public interface TaskExecutionContext
+{
+
+    TaskExecutionContext NOOP = new TaskExecutionContext()
+    {
+    };
+
+    /**
+     * @return the last position reached within the `scope` during previous executions, or `null`
+     */
+    default String getCheckpoint(String scope)
+    {
+        return null;
+    }
+
+    default void checkpoint(String scope,
+                            String position)
+    {
+    }
+
+    /**
+     * @return `true` if the `scope` was completely processed during previous executions
+     */
+    default boolean isCompleted(String scope)
+    {
+        return false;
+    }
+
+    default void complete(String scope)
+    {
+    }
+
+    default boolean isCancelled()
+    {
+        return false;
+    }
+
+    /**
+     * Blocks the current thread as long as needed to keep within the configured budgets, after the given amount of
+     * work was done.
+     */
+    default void throttle(long bytes,
+                          long files)
+    {
+    }
+
+    default void addTotal(long items)
+    {
+    }
+
+    default void addDone(long items)
+    {
+    }
+
+}
@@ -0,0 +1,36 @@
+package org.carlspring.strongbox.util;
+
+/**
+ * Binds the {@link TaskExecutionContext} to the current thread, so that it can be reached from the services invoked
+ * by the task without changing their signatures.
+ */
+public final class TaskExecutionContextHolder
+{
+
+    private static final ThreadLocal<TaskExecutionContext> CONTEXT = new ThreadLocal<>();
+
+    private TaskExecutionContextHolder()
+    {
+    }
+
+    /**
+     * @return the current context, or {@link TaskExecutionContext#NOOP} if there is none
+     */
+    public static TaskExecutionContext get()
+    {
+        TaskExecutionContext context = CONTEXT.get();
+
+        return context == null ? TaskExecutionContext.NOOP : context;
+    }
+
+    public static void set(TaskExecutionContext context)
+    {
+        CONTEXT.set(context);
+    }
+
+    public static void clear()
+    {
+        CONTEXT.remove();
+    }
+
+}
@@ -0,0 +1,23 @@
+package org.carlspring.strongbox.yaml;
+
+import java.io.IOException;
+
+/**
+ * A service which stores its state into a file after every modification.
+ * <p>
+ * While a batch is open, the modifications are only applied in memory, and the file is stored once, when the
+ * outermost batch is closed. The batches are not bound to a thread, so the modifications made by several threads are
+ * stored together.
+ */
+public interface BatchedStore
+{
+
+    void beginBatch();
+
+    /**
+     * Closes the batch, and stores the file if it was the outermost one and there were any modifications.
+     */
+    void endBatch()
+            throws IOException;
+
+}
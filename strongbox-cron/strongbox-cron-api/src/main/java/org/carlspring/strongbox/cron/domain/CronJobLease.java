@@ -0,0 +1,57 @@
+package org.carlspring.strongbox.cron.domain;
+
+import java.io.Serializable;
+import java.util.UUID;
+
+/**
+ * Cluster wide ownership of a cron job execution.
+ */
+public class CronJobLease
+        implements Serializable
+{
+
+    private final String scope;
+
+    private final UUID jobUuid;
+
+    private final String memberUuid;
+
+    private final long acquired;
+
+    public CronJobLease(String scope,
+                        UUID jobUuid,
+                        String memberUuid)
+    {
+        this.scope = scope;
+        this.jobUuid = jobUuid;
+        this.memberUuid = memberUuid;
+        this.acquired = System.currentTimeMillis();
+    }
+
+    public String getScope()
+    {
+        return scope;
+    }
+
+    public UUID getJobUuid()
+    {
+        return jobUuid;
+    }
+
+    public String getMemberUuid()
+    {
+        return memberUuid;
+    }
+
+    public long getAcquired()
+    {
+        return acquired;
+    }
+
+    @Override
+    public String toString()
+    {
+        return String.format("CronJobLease{scope='%s', jobUuid=%s, memberUuid='%s'}", scope, jobUuid, memberUuid);
+    }
+
+}
@@ -0,0 +1,87 @@
+package org.carlspring.strongbox.cron.domain;
+
+import java.util.Date;
+import java.util.UUID;
+
+/**
+ * Progress of a running cron job execution.
+ */
+public class CronJobProgressDto
+{
+
+    private UUID uuid;
+
+    private long itemsDone;
+
+    private long itemsTotal;
+
+    private Date started;
+
+    /**
+     * Estimated time of completion, `null` if it can't be estimated yet.
+     */
+    private Date eta;
+
+    private boolean cancelled;
+
+    public UUID getUuid()
+    {
+        return uuid;
+    }
+
+    public void setUuid(UUID uuid)
+    {
+        this.uuid = uuid;
+    }
+
+    public long getItemsDone()
+    {
+        return itemsDone;
+    }
+
+    public void setItemsDone(long itemsDone)
+    {
+        this.itemsDone = itemsDone;
+    }
+
+    public long getItemsTotal()
+    {
+        return itemsTotal;
+    }
+
+    public void setItemsTotal(long itemsTotal)
+    {
+        this.itemsTotal = itemsTotal;
+    }
+
+    public Date getStarted()
+    {
+        return started;
+    }
+
+    public void setStarted(Date started)
+    {
+        this.started = started;
+    }
+
+    public Date getEta()
+    {
+        return eta;
+    }
+
+    public void setEta(Date eta)
+    {
+        this.eta = eta;
+    }
+
+    public boolean isCancelled()
+    {
+        return cancelled;
+    }
+
+    public void setCancelled(boolean cancelled)
+    {
+        this.cancelled = cancelled;
+    }
+
+}
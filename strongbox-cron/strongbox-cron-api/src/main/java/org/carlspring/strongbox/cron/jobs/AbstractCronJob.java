@@ -1,21 +1,33 @@
 package org.carlspring.strongbox.cron.jobs;
 
 import org.carlspring.strongbox.cron.CronJobStatusEnum;
+import org.carlspring.strongbox.cron.domain.CronJobLease;
 import org.carlspring.strongbox.cron.domain.CronTaskConfigurationDto;
+import org.carlspring.strongbox.cron.jobs.fields.CronJobField;
+import org.carlspring.strongbox.cron.jobs.fields.CronJobIntegerTypeField;
+import org.carlspring.strongbox.cron.jobs.fields.CronJobNamedField;
+import org.carlspring.strongbox.cron.jobs.fields.CronJobOptionalField;
+import org.carlspring.strongbox.cron.jobs.fields.CronJobStringTypeField;
+import org.carlspring.strongbox.cron.services.CronJobCheckpointService;
+import org.carlspring.strongbox.cron.services.CronJobLeaseService;
 import org.carlspring.strongbox.cron.services.CronTaskConfigurationService;
 import org.carlspring.strongbox.cron.services.JobManager;
 import org.carlspring.strongbox.event.cron.CronTaskEventListenerRegistry;
+import org.carlspring.strongbox.util.TaskExecutionContextHolder;
 
 import javax.inject.Inject;
+import java.util.Optional;
 import java.util.Set;
 import java.util.UUID;
 
 import com.google.common.collect.ImmutableSet;
+import org.quartz.CronTrigger;
 import org.quartz.DisallowConcurrentExecution;
 import org.quartz.InterruptableJob;
 import org.quartz.JobExecutionContext;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.core.env.Environment;
 import org.springframework.core.env.Profiles;
 import org.springframework.scheduling.quartz.QuartzJobBean;
@@ -29,6 +41,23 @@ public abstract class AbstractCronJob
         implements InterruptableJob
 {
 
+    public static final String PROPERTY_BYTES_PER_SECOND = "bytesPerSecond";
+
+    public static final String PROPERTY_FILES_PER_SECOND = "filesPerSecond";
+
+    public static final String PROPERTY_CPU_RATIO = "cpuRatio";
+
+    /**
+     * Optional I/O and CPU budget fields, for the long running jobs which support throttling.
+     */
+    protected static final Set<CronJobField> BUDGET_FIELDS = ImmutableSet.of(
+            new CronJobIntegerTypeField(
+                    new CronJobOptionalField(new CronJobNamedField(PROPERTY_BYTES_PER_SECOND))),
+            new CronJobIntegerTypeField(
+                    new CronJobOptionalField(new CronJobNamedField(PROPERTY_FILES_PER_SECOND))),
+            new CronJobStringTypeField(
+                    new CronJobOptionalField(new CronJobNamedField(PROPERTY_CPU_RATIO))));
+
     protected final Logger logger = LoggerFactory.getLogger(getClass());
 
     @Inject
@@ -40,6 +69,23 @@ public abstract class AbstractCronJob
     @Inject
     private Environment environment;
 
+    @Inject
+    private CronJobLeaseService cronJobLeaseService;
+
+    @Inject
+    private CronJobCheckpointService cronJobCheckpointService;
+
+    @Value("${strongbox.cron.budget.bytesPerSecond:0}")
+    private long defaultBytesPerSecond;
+
+    @Value("${strongbox.cron.budget.filesPerSecond:0}")
+    private long defaultFilesPerSecond;
+
+    @Value("${strongbox.cron.budget.cpuRatio:1}")
+    private double defaultCpuRatio;
+
+    private volatile CronJobExecution execution;
+
     @Inject
     protected CronTaskConfigurationService cronTaskConfigurationService;
 
@@ -75,19 +121,52 @@ public abstract class AbstractCronJob
             return;
         }
 
+        // @DisallowConcurrentExecution works only within one JVM, so we also need a cluster wide lease here
+        boolean recurring = jobExecutionContext.getTrigger() instanceof CronTrigger;
+        Optional<CronJobLease> lease = cronJobLeaseService.tryAcquire(configuration,
+                                                                      getDuplicationStrategies(),
+                                                                      recurring);
+        if (!lease.isPresent())
+        {
+            logger.info("Cron job [{}] is executed by another cluster member, skip execution.",
+                        configuration.getName());
+
+            return;
+        }
+
         logger.info("Cron job [{}] enabled, executing.", configuration.getName());
 
         setStatus(CronJobStatusEnum.EXECUTING.getStatus());
         cronTaskEventListenerRegistry.dispatchCronTaskExecutingEvent(configuration.getUuid());
 
+        execution = createExecution(configuration);
+        manager.registerRunningExecution(execution);
+        TaskExecutionContextHolder.set(execution);
         try
         {
             executeTask(configuration);
-            logger.info("Cron job task [{}] execution completed.", configuration.getName());
+
+            if (execution.isCancelled())
+            {
+                logger.info("Cron job task [{}] execution cancelled.", configuration.getName());
+                execution.flush();
+            }
+            else
+            {
+                logger.info("Cron job task [{}] execution completed.", configuration.getName());
+                execution.finish();
+            }
         }
         catch (Throwable e)
         {
             logger.error("Failed to execute cron job task [{}].", configuration.getName(), e);
+            execution.flush();
+        }
+        finally
+        {
+            TaskExecutionContextHolder.clear();
+            manager.unregisterRunningExecution(execution);
+            cronJobLeaseService.release(lease.get());
         }
         manager.addExecutedJob(configuration.getUuid().toString(), true);
 
@@ -96,9 +175,49 @@ public abstract class AbstractCronJob
 
     }
 
+    private CronJobExecution createExecution(CronTaskConfigurationDto configuration)
+    {
+        long bytesPerSecond = getLongProperty(configuration, PROPERTY_BYTES_PER_SECOND, defaultBytesPerSecond);
+        long filesPerSecond = getLongProperty(configuration, PROPERTY_FILES_PER_SECOND, defaultFilesPerSecond);
+        String cpuRatio = configuration.getProperty(PROPERTY_CPU_RATIO);
+
+        return new CronJobExecution(configuration.getUuid(),
+                                    cronJobCheckpointService,
+                                    bytesPerSecond,
+                                    filesPerSecond,
+                                    cpuRatio == null ? defaultCpuRatio : Double.parseDouble(cpuRatio));
+    }
+
+    private long getLongProperty(CronTaskConfigurationDto configuration,
+                                 String name,
+                                 long defaultValue)
+    {
+        String value = configuration.getProperty(name);
+
+        return value == null ? defaultValue : Long.parseLong(value);
+    }
+
+    /**
+     * Requests a cooperative cancellation: the progress is checkpointed and the next execution resumes from there.
+     */
     @Override
     public void interrupt()
     {
+        CronJobExecution currentExecution = execution;
+        if (currentExecution != null)
+        {
+            currentExecution.cancel();
+        }
+    }
+
+    /**
+     * @return `true` if the current execution was requested to stop
+     */
+    protected boolean isCancelled()
+    {
+        CronJobExecution currentExecution = execution;
+
+        return currentExecution != null && currentExecution.isCancelled();
     }
 
     public boolean enabled(CronTaskConfigurationDto configuration,
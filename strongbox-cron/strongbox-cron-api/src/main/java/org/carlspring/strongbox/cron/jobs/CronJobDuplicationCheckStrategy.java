@@ -16,4 +16,13 @@ public interface CronJobDuplicationCheckStrategy
      */
     boolean duplicates(CronTaskConfigurationDto candidate,
                        Collection<CronTaskConfigurationDto> existing);
+
+    /**
+     * Calculates the key of the scope within which executions of the `configuration`
+     * should not overlap across the cluster members
+     */
+    default String scope(CronTaskConfigurationDto configuration)
+    {
+        return configuration.getUuid().toString();
+    }
 }
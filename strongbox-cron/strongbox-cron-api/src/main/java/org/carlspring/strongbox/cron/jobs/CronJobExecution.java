@@ -0,0 +1,272 @@
+package org.carlspring.strongbox.cron.jobs;
+
+import org.carlspring.strongbox.cron.domain.CronJobProgressDto;
+import org.carlspring.strongbox.cron.services.CronJobCheckpointService;
+import org.carlspring.strongbox.util.TaskExecutionContext;
+
+import java.io.IOException;
+import java.util.Date;
+import java.util.Properties;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.google.common.util.concurrent.RateLimiter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * {@link TaskExecutionContext} of a single cron job execution.
+ * <p>
+ * The checkpoints are kept in memory and flushed through the {@link CronJobCheckpointService} at most once per
+ * {@link #CHECKPOINT_INTERVAL_MILLIS}, and also when the execution is cancelled or fails.
+ *
+ * @see AbstractCronJob
+ */
+public class CronJobExecution
+        implements TaskExecutionContext
+{
+
+    private static final Logger logger = LoggerFactory.getLogger(CronJobExecution.class);
+
+    public static final long CHECKPOINT_INTERVAL_MILLIS = 5000;
+
+    private static final String CHECKPOINT_PREFIX = "checkpoint.";
+
+    private static final String COMPLETED_PREFIX = "completed.";
+
+    /**
+     * Don't sleep less than this, to keep the CPU budget overhead low.
+     */
+    private static final long MIN_SLEEP_NANOS = TimeUnit.MILLISECONDS.toNanos(10);
+
+    private final UUID uuid;
+
+    private final CronJobCheckpointService checkpointService;
+
+    private final Properties checkpoints;
+
+    private final long started = System.currentTimeMillis();
+
+    private final AtomicLong itemsDone = new AtomicLong();
+
+    private final AtomicLong itemsTotal = new AtomicLong();
+
+    private final RateLimiter bytesRateLimiter;
+
+    private final RateLimiter filesRateLimiter;
+
+    private final double cpuRatio;
+
+    private volatile boolean cancelled;
+
+    private long lastFlush = System.currentTimeMillis();
+
+    private long resumed = System.nanoTime();
+
+    private long sleepDebt;
+
+    /**
+     * @param bytesPerSecond I/O budget, `0` for unlimited
+     * @param filesPerSecond files budget, `0` for unlimited
+     * @param cpuRatio       share of the wall clock time the execution may be busy, from `0` (exclusive) to `1`
+     */
+    public CronJobExecution(UUID uuid,
+                            CronJobCheckpointService checkpointService,
+                            long bytesPerSecond,
+                            long filesPerSecond,
+                            double cpuRatio)
+    {
+        this.uuid = uuid;
+        this.checkpointService = checkpointService;
+        this.checkpoints = checkpointService.load(uuid);
+        this.bytesRateLimiter = bytesPerSecond > 0 ? RateLimiter.create(bytesPerSecond) : null;
+        this.filesRateLimiter = filesPerSecond > 0 ? RateLimiter.create(filesPerSecond) : null;
+        this.cpuRatio = cpuRatio > 0 && cpuRatio < 1 ? cpuRatio : 1;
+
+        if (!checkpoints.isEmpty())
+        {
+            logger.info("Resuming cron job [{}] from [{}] checkpoints.", uuid, checkpoints.size());
+        }
+    }
+
+    public UUID getUuid()
+    {
+        return uuid;
+    }
+
+    @Override
+    public String getCheckpoint(String scope)
+    {
+        return checkpoints.getProperty(CHECKPOINT_PREFIX + scope);
+    }
+
+    @Override
+    public synchronized void checkpoint(String scope,
+                                        String position)
+    {
+        checkpoints.setProperty(CHECKPOINT_PREFIX + scope, position);
+
+        flushIfDue();
+    }
+
+    private void flushIfDue()
+    {
+        if (System.currentTimeMillis() - lastFlush >= CHECKPOINT_INTERVAL_MILLIS)
+        {
+            flush();
+        }
+    }
+
+    @Override
+    public boolean isCompleted(String scope)
+    {
+        return Boolean.parseBoolean(checkpoints.getProperty(COMPLETED_PREFIX + scope));
+    }
+
+    @Override
+    public synchronized void complete(String scope)
+    {
+        checkpoints.remove(CHECKPOINT_PREFIX + scope);
+        checkpoints.setProperty(COMPLETED_PREFIX + scope, Boolean.TRUE.toString());
+
+        flushIfDue();
+    }
+
+    @Override
+    public boolean isCancelled()
+    {
+        return cancelled;
+    }
+
+    public void cancel()
+    {
+        cancelled = true;
+    }
+
+    @Override
+    public void throttle(long bytes,
+                         long files)
+    {
+        if (bytesRateLimiter != null && bytes > 0)
+        {
+            for (long remaining = bytes; remaining > 0; remaining -= Integer.MAX_VALUE)
+            {
+                bytesRateLimiter.acquire((int) Math.min(remaining, Integer.MAX_VALUE));
+            }
+        }
+        if (filesRateLimiter != null && files > 0)
+        {
+            filesRateLimiter.acquire((int) Math.min(files, Integer.MAX_VALUE));
+        }
+        if (cpuRatio < 1)
+        {
+            throttleCpu();
+        }
+    }
+
+    /**
+     * Sleeps proportionally to the time spent since the previous call, so that the execution is busy for
+     * {@link #cpuRatio} of the wall clock time at most.
+     * <p>
+     * The sleep is only calculated under the lock, so the parallel workers of the same execution don't queue behind
+     * a sleeping one.
+     */
+    private void throttleCpu()
+    {
+        long sleepNanos;
+        synchronized (this)
+        {
+            long now = System.nanoTime();
+            sleepDebt += (long) (Math.max(now - resumed, 0) * (1 - cpuRatio) / cpuRatio);
+            resumed = now;
+
+            if (sleepDebt < MIN_SLEEP_NANOS)
+            {
+                return;
+            }
+
+            sleepNanos = sleepDebt;
+            sleepDebt = 0;
+            // The time spent sleeping is not the busy time.
+            resumed = now + sleepNanos;
+        }
+
+        try
+        {
+            TimeUnit.NANOSECONDS.sleep(sleepNanos);
+        }
+        catch (InterruptedException e)
+        {
+            Thread.currentThread().interrupt();
+            cancel();
+        }
+    }
+
+    @Override
+    public void addTotal(long items)
+    {
+        itemsTotal.addAndGet(items);
+    }
+
+    @Override
+    public void addDone(long items)
+    {
+        itemsDone.addAndGet(items);
+    }
+
+    public CronJobProgressDto getProgress()
+    {
+        CronJobProgressDto result = new CronJobProgressDto();
+        result.setUuid(uuid);
+        result.setStarted(new Date(started));
+        result.setCancelled(cancelled);
+
+        long done = itemsDone.get();
+        long total = itemsTotal.get();
+        result.setItemsDone(done);
+        result.setItemsTotal(total);
+
+        if (done > 0 && total >= done)
+        {
+            long elapsed = System.currentTimeMillis() - started;
+            result.setEta(new Date(System.currentTimeMillis() + elapsed * (total - done) / done));
+        }
+
+        return result;
+    }
+
+    /**
+     * Persists the current checkpoints.
+     */
+    public synchronized void flush()
+    {
+        lastFlush = System.currentTimeMillis();
+        try
+        {
+            checkpointService.store(uuid, checkpoints);
+        }
+        catch (IOException e)
+        {
+            logger.error("Failed to store cron job [{}] checkpoints.", uuid, e);
+        }
+    }
+
+    /**
+     * Removes the checkpoints once the execution is successfully finished, so that the next execution starts from
+     * scratch.
+     */
+    public synchronized void finish()
+    {
+        checkpoints.clear();
+        try
+        {
+            checkpointService.clear(uuid);
+        }
+        catch (IOException e)
+        {
+            logger.error("Failed to clear cron job [{}] checkpoints.", uuid, e);
+        }
+    }
+
+}
@@ -48,6 +48,15 @@ public class PerRepositoryDuplicationCheckStrategy
         return existing.stream().filter(e -> duplicates(candidate, e)).findFirst().isPresent();
     }
 
+    @Override
+    public String scope(final CronTaskConfigurationDto configuration)
+    {
+        return String.format("%s:%s:%s",
+                             configuration.getJobClass(),
+                             configuration.getProperty(propertyStorageId),
+                             configuration.getProperty(propertyRepositoryId));
+    }
+
     private boolean duplicates(final CronTaskConfigurationDto first,
                                final CronTaskConfigurationDto second)
     {
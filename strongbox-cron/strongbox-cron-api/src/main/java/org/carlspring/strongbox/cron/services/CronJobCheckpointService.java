@@ -0,0 +1,25 @@
+package org.carlspring.strongbox.cron.services;
+
+import java.io.IOException;
+import java.util.Properties;
+import java.util.UUID;
+
+/**
+ * Persists the progress checkpoints of the cron job executions, so that interrupted executions can be resumed.
+ */
+public interface CronJobCheckpointService
+{
+
+    /**
+     * @return the checkpoints stored for the job, empty if there are none
+     */
+    Properties load(UUID jobUuid);
+
+    void store(UUID jobUuid,
+               Properties checkpoints)
+        throws IOException;
+
+    void clear(UUID jobUuid)
+        throws IOException;
+
+}
@@ -0,0 +1,31 @@
+package org.carlspring.strongbox.cron.services;
+
+import org.carlspring.strongbox.cron.domain.CronJobLease;
+import org.carlspring.strongbox.cron.domain.CronTaskConfigurationDto;
+import org.carlspring.strongbox.cron.jobs.CronJobDuplicationCheckStrategy;
+
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Provides cluster wide ownership of the cron job executions, so that the same job (or the jobs within the same
+ * {@link CronJobDuplicationCheckStrategy#scope(CronTaskConfigurationDto)}) is executed only by one cluster member at
+ * a time.
+ */
+public interface CronJobLeaseService
+{
+
+    /**
+     * Tries to acquire the lease for the job execution.
+     *
+     * @param recurring whether the execution was fired by the cron expression, which fires on every cluster member;
+     *                  the other executions (immediate, one-time or failover) are triggered on one member only
+     * @return the lease, or empty if the job should not be executed by the current cluster member
+     */
+    Optional<CronJobLease> tryAcquire(CronTaskConfigurationDto configuration,
+                                      Set<CronJobDuplicationCheckStrategy> duplicationStrategies,
+                                      boolean recurring);
+
+    void release(CronJobLease lease);
+
+}
@@ -16,5 +16,12 @@ public interface CronJobSchedulerService
 
     void deleteJob(UUID cronTaskConfigurationUuid);
 
+    /**
+     * Requests the running job execution to stop at the next checkpoint.
+     *
+     * @return `true` if the job was running on this cluster member
+     */
+    boolean interruptJob(UUID cronTaskConfigurationUuid);
+
     GroovyScriptNamesDto getGroovyScriptsName();
 }
@@ -4,6 +4,7 @@ import org.carlspring.strongbox.cron.domain.CronTaskConfiguration;
 import org.carlspring.strongbox.cron.domain.CronTaskConfigurationDto;
 import org.carlspring.strongbox.cron.domain.CronTasksConfigurationDto;
 import org.carlspring.strongbox.cron.services.support.CronTaskConfigurationSearchCriteria;
+import org.carlspring.strongbox.yaml.BatchedStore;
 
 import java.io.IOException;
 import java.util.List;
@@ -14,6 +15,7 @@ import java.util.UUID;
  * @author Pablo Tirado
  */
 public interface CronTaskDataService
+        extends BatchedStore
 {
 
     CronTaskConfigurationDto getTaskConfigurationDto(UUID cronTaskConfigurationUuid);
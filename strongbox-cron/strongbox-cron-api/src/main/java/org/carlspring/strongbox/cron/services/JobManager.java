@@ -1,6 +1,7 @@
 package org.carlspring.strongbox.cron.services;
 
 import org.carlspring.strongbox.cron.config.JobExecutionListener;
+import org.carlspring.strongbox.cron.jobs.CronJobExecution;
 
 import java.util.Map;
 import java.util.Optional;
@@ -31,4 +32,13 @@ public interface JobManager
                                    JobExecutionListener executionListener);
 
     Optional<JobExecutionListener> getJobExecutionListener(String jobName);
+
+    void registerRunningExecution(CronJobExecution execution);
+
+    void unregisterRunningExecution(CronJobExecution execution);
+
+    /**
+     * Get the execution of the job which is currently running on this cluster member
+     */
+    Optional<CronJobExecution> getRunningExecution(String jobName);
 }
@@ -0,0 +1,87 @@
+package org.carlspring.strongbox.cron.services.impl;
+
+import org.carlspring.strongbox.cron.services.CronJobCheckpointService;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.Properties;
+import java.util.UUID;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+/**
+ * Stores the checkpoints as `{strongbox.vault}/cron/checkpoints/{uuid}.properties` files, which are replaced
+ * atomically on every update.
+ */
+@Service
+public class CronJobCheckpointServiceImpl
+        implements CronJobCheckpointService
+{
+
+    private static final Logger logger = LoggerFactory.getLogger(CronJobCheckpointServiceImpl.class);
+
+    @Value("${strongbox.vault}")
+    private String vaultDirectory;
+
+    @Override
+    public Properties load(UUID jobUuid)
+    {
+        Properties result = new Properties();
+
+        Path path = resolve(jobUuid);
+        if (!Files.exists(path))
+        {
+            return result;
+        }
+
+        try (InputStream is = Files.newInputStream(path))
+        {
+            result.load(is);
+        }
+        catch (IOException e)
+        {
+            logger.warn("Failed to load checkpoints [{}], starting from scratch.", path, e);
+            result.clear();
+        }
+
+        return result;
+    }
+
+    @Override
+    public void store(UUID jobUuid,
+                      Properties checkpoints)
+        throws IOException
+    {
+        Path path = resolve(jobUuid);
+        Files.createDirectories(path.getParent());
+
+        Path tmp = path.resolveSibling(path.getFileName() + ".tmp");
+        try (OutputStream os = Files.newOutputStream(tmp))
+        {
+            checkpoints.store(os, null);
+        }
+
+        Files.move(tmp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    @Override
+    public void clear(UUID jobUuid)
+        throws IOException
+    {
+        Files.deleteIfExists(resolve(jobUuid));
+    }
+
+    private Path resolve(UUID jobUuid)
+    {
+        return Paths.get(vaultDirectory, "cron", "checkpoints", jobUuid + ".properties");
+    }
+
+}
@@ -0,0 +1,172 @@
+package org.carlspring.strongbox.cron.services.impl;
+
+import org.carlspring.strongbox.cron.domain.CronJobLease;
+import org.carlspring.strongbox.cron.domain.CronTaskConfigurationDto;
+import org.carlspring.strongbox.cron.jobs.CronJobDuplicationCheckStrategy;
+import org.carlspring.strongbox.cron.services.CronJobLeaseService;
+
+import javax.annotation.PostConstruct;
+import javax.inject.Inject;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.core.ILock;
+import com.hazelcast.core.IMap;
+import com.hazelcast.core.Member;
+import com.hazelcast.core.MembershipAdapter;
+import com.hazelcast.core.MembershipEvent;
+import org.quartz.JobKey;
+import org.quartz.Scheduler;
+import org.quartz.SchedulerException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+/**
+ * Hazelcast based {@link CronJobLeaseService}.
+ * <p>
+ * The lease is a Hazelcast lock keyed by the job scope, which is automatically released when the owner member leaves
+ * the cluster. The active leases are also tracked in a distributed map, so that the oldest member can re-trigger the
+ * jobs which were interrupted by the owner death.
+ * <p>
+ * With `strongbox.cron.cluster.sharding` enabled, the recurring job executions are additionally spread across the
+ * cluster members by the Hazelcast partition owner of the job scope. The other executions are triggered on one member
+ * only, which must not skip them.
+ */
+@Service
+public class CronJobLeaseServiceImpl
+        implements CronJobLeaseService
+{
+
+    private static final Logger logger = LoggerFactory.getLogger(CronJobLeaseServiceImpl.class);
+
+    public static final String CRON_JOB_LEASES = "strongbox-cron-job-leases";
+
+    private static final String LOCK_PREFIX = "strongbox-cron-job-lease:";
+
+    private final HazelcastInstance hazelcastInstance;
+
+    private final Scheduler scheduler;
+
+    private final boolean sharding;
+
+    @Inject
+    CronJobLeaseServiceImpl(HazelcastInstance hazelcastInstance,
+                            Scheduler scheduler,
+                            @Value("${strongbox.cron.cluster.sharding:false}") boolean sharding)
+    {
+        this.hazelcastInstance = hazelcastInstance;
+        this.scheduler = scheduler;
+        this.sharding = sharding;
+    }
+
+    @PostConstruct
+    public void init()
+    {
+        hazelcastInstance.getCluster().addMembershipListener(new CronJobLeaseFailoverListener());
+    }
+
+    @Override
+    public Optional<CronJobLease> tryAcquire(CronTaskConfigurationDto configuration,
+                                             Set<CronJobDuplicationCheckStrategy> duplicationStrategies,
+                                             boolean recurring)
+    {
+        String scope = calculateScope(configuration, duplicationStrategies);
+        if (sharding && recurring && !hazelcastInstance.getPartitionService().getPartition(scope).getOwner().localMember())
+        {
+            logger.debug("Cron job [{}] scope [{}] is owned by another cluster member.", configuration.getUuid(), scope);
+
+            return Optional.empty();
+        }
+
+        ILock lock = hazelcastInstance.getLock(LOCK_PREFIX + scope);
+        if (!lock.tryLock())
+        {
+            logger.debug("Cron job [{}] scope [{}] is leased by another execution.", configuration.getUuid(), scope);
+
+            return Optional.empty();
+        }
+
+        CronJobLease lease = new CronJobLease(scope, configuration.getUuid(), getLocalMemberUuid());
+        getLeases().set(scope, lease);
+
+        return Optional.of(lease);
+    }
+
+    @Override
+    public void release(CronJobLease lease)
+    {
+        getLeases().delete(lease.getScope());
+        hazelcastInstance.getLock(LOCK_PREFIX + lease.getScope()).unlock();
+    }
+
+    private String calculateScope(CronTaskConfigurationDto configuration,
+                                  Set<CronJobDuplicationCheckStrategy> duplicationStrategies)
+    {
+        if (duplicationStrategies == null || duplicationStrategies.isEmpty())
+        {
+            return configuration.getUuid().toString();
+        }
+
+        return duplicationStrategies.stream()
+                                    .map(s -> s.scope(configuration))
+                                    .sorted()
+                                    .collect(Collectors.joining("|"));
+    }
+
+    private IMap<String, CronJobLease> getLeases()
+    {
+        return hazelcastInstance.getMap(CRON_JOB_LEASES);
+    }
+
+    private String getLocalMemberUuid()
+    {
+        return hazelcastInstance.getCluster().getLocalMember().getUuid();
+    }
+
+    private boolean isOldestMember()
+    {
+        Member oldestMember = hazelcastInstance.getCluster().getMembers().iterator().next();
+
+        return oldestMember.localMember();
+    }
+
+    private class CronJobLeaseFailoverListener
+            extends MembershipAdapter
+    {
+
+        @Override
+        public void memberRemoved(MembershipEvent membershipEvent)
+        {
+            if (!isOldestMember())
+            {
+                return;
+            }
+
+            String memberUuid = membershipEvent.getMember().getUuid();
+            IMap<String, CronJobLease> leases = getLeases();
+            for (CronJobLease lease : leases.values())
+            {
+                if (!memberUuid.equals(lease.getMemberUuid()) || !leases.remove(lease.getScope(), lease))
+                {
+                    continue;
+                }
+
+                logger.info("Cluster member [{}] left during the [{}] execution, trigger failover.", memberUuid, lease);
+                try
+                {
+                    scheduler.triggerJob(JobKey.jobKey(lease.getJobUuid().toString()));
+                }
+                catch (SchedulerException e)
+                {
+                    logger.error("Failed to trigger failover execution for [{}].", lease, e);
+                }
+            }
+        }
+
+    }
+
+}
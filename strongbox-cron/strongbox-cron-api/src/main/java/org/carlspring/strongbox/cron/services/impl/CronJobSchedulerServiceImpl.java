@@ -131,6 +131,26 @@ public class CronJobSchedulerServiceImpl
         }
     }
 
+    @Override
+    public boolean interruptJob(UUID cronTaskConfigurationUuid)
+    {
+        JobKey jobKey = JobKey.jobKey(cronTaskConfigurationUuid.toString());
+
+        try
+        {
+            boolean result = scheduler.interrupt(jobKey);
+            logger.debug("Job '{}' interrupted [{}].", cronTaskConfigurationUuid, result);
+
+            return result;
+        }
+        catch (UnableToInterruptJobException e)
+        {
+            logger.error("Failed to interrupt cron job [{}]", jobKey, e);
+
+            return false;
+        }
+    }
+
     @Override
     public GroovyScriptNamesDto getGroovyScriptsName()
     {
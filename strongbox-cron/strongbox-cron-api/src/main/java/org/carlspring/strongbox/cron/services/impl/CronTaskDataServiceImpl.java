@@ -56,6 +56,14 @@ public class CronTaskDataServiceImpl
      */
     private final CronTasksConfigurationDto configuration;
 
+    /**
+     * The number of the open batches, and whether the configuration was modified within them. Both are protected by
+     * the {@link #cronTasksConfigurationLock}.
+     */
+    private int batchDepth;
+
+    private boolean storePending;
+
     @Inject
     CronTaskDataServiceImpl(CronTasksConfigurationFileManager cronTasksConfigurationFileManager,
                             CronJobsDefinitionsRegistry cronJobsDefinitionsRegistry,
@@ -207,8 +215,53 @@ public class CronTaskDataServiceImpl
         {
             operation.accept(configuration);
 
-            if (storeInFile)
+            if (storeInFile && batchDepth > 0)
+            {
+                storePending = true;
+            }
+            else if (storeInFile)
+            {
+                cronTasksConfigurationFileManager.store(configuration);
+            }
+        }
+        finally
+        {
+            writeLock.unlock();
+        }
+    }
+
+    @Override
+    public void beginBatch()
+    {
+        final Lock writeLock = cronTasksConfigurationLock.writeLock();
+        writeLock.lock();
+
+        try
+        {
+            batchDepth++;
+        }
+        finally
+        {
+            writeLock.unlock();
+        }
+    }
+
+    @Override
+    public void endBatch()
+            throws IOException
+    {
+        final Lock writeLock = cronTasksConfigurationLock.writeLock();
+        writeLock.lock();
+
+        try
+        {
+            if (batchDepth == 0)
+            {
+                throw new IllegalStateException("No batch is open.");
+            }
+            if (--batchDepth == 0 && storePending)
             {
+                storePending = false;
                 cronTasksConfigurationFileManager.store(configuration);
             }
         }
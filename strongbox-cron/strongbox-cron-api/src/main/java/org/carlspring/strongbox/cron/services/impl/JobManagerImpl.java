@@ -1,11 +1,13 @@
 package org.carlspring.strongbox.cron.services.impl;
 
 import org.carlspring.strongbox.cron.config.JobExecutionListener;
+import org.carlspring.strongbox.cron.jobs.CronJobExecution;
 import org.carlspring.strongbox.cron.services.JobManager;
 
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
 
 import org.springframework.stereotype.Component;
 
@@ -21,10 +23,13 @@ public class JobManagerImpl
 
     private final Map<String, Boolean> executedJobs;
 
+    private final Map<String, CronJobExecution> runningExecutions;
+
     public JobManagerImpl()
     {
         listenerRegistry = new HashMap<>();
         executedJobs = new HashMap<>();
+        runningExecutions = new ConcurrentHashMap<>();
     }
 
     public synchronized void addExecutedJob(String jobName,
@@ -61,4 +66,22 @@ public class JobManagerImpl
         return Optional.ofNullable(listenerRegistry.get(jobName));
     }
 
+    @Override
+    public void registerRunningExecution(CronJobExecution execution)
+    {
+        runningExecutions.put(execution.getUuid().toString(), execution);
+    }
+
+    @Override
+    public void unregisterRunningExecution(CronJobExecution execution)
+    {
+        runningExecutions.remove(execution.getUuid().toString(), execution);
+    }
+
+    @Override
+    public Optional<CronJobExecution> getRunningExecution(String jobName)
+    {
+        return Optional.ofNullable(runningExecutions.get(jobName));
+    }
+
 }
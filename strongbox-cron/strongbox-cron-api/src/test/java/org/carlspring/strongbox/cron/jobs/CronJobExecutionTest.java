@@ -0,0 +1,123 @@
+package org.carlspring.strongbox.cron.jobs;
+
+import org.carlspring.strongbox.cron.domain.CronJobProgressDto;
+import org.carlspring.strongbox.cron.services.CronJobCheckpointService;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Properties;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CronJobExecutionTest
+{
+
+    private static final String SCOPE = "storage0:releases:";
+
+    private final InMemoryCheckpointService checkpointService = new InMemoryCheckpointService();
+
+    @Test
+    void shouldResumeFromStoredCheckpoint()
+    {
+        UUID uuid = UUID.randomUUID();
+
+        CronJobExecution execution = new CronJobExecution(uuid, checkpointService, 0, 0, 1);
+        execution.checkpoint(SCOPE, "org/carlspring/foo");
+        execution.flush();
+
+        CronJobExecution resumed = new CronJobExecution(uuid, checkpointService, 0, 0, 1);
+        assertThat(resumed.getCheckpoint(SCOPE)).isEqualTo("org/carlspring/foo");
+        assertThat(resumed.isCompleted(SCOPE)).isFalse();
+
+        resumed.complete(SCOPE);
+        resumed.flush();
+
+        resumed = new CronJobExecution(uuid, checkpointService, 0, 0, 1);
+        assertThat(resumed.getCheckpoint(SCOPE)).isNull();
+        assertThat(resumed.isCompleted(SCOPE)).isTrue();
+
+        resumed.finish();
+
+        assertThat(checkpointService.storage).doesNotContainKey(uuid);
+    }
+
+    @Test
+    void shouldReportProgress()
+    {
+        CronJobExecution execution = new CronJobExecution(UUID.randomUUID(), checkpointService, 0, 0, 1);
+        execution.addTotal(10);
+        execution.addDone(4);
+        execution.cancel();
+
+        CronJobProgressDto progress = execution.getProgress();
+        assertThat(progress.getItemsTotal()).isEqualTo(10);
+        assertThat(progress.getItemsDone()).isEqualTo(4);
+        assertThat(progress.getEta()).isNotNull();
+        assertThat(progress.isCancelled()).isTrue();
+    }
+
+    @Test
+    void shouldNotBlockOtherWorkersWhileThrottling()
+            throws InterruptedException
+    {
+        CronJobExecution execution = new CronJobExecution(UUID.randomUUID(), checkpointService, 0, 0, 0.5);
+
+        // Be busy for a while, so that the next call sleeps for about the same time.
+        Thread.sleep(500);
+
+        CountDownLatch sleeping = new CountDownLatch(1);
+        Thread worker = new Thread(() -> {
+            sleeping.countDown();
+            execution.throttle(0, 0);
+        });
+        worker.start();
+        sleeping.await();
+        Thread.sleep(50);
+
+        long started = System.nanoTime();
+        execution.throttle(0, 0);
+        long elapsed = System.nanoTime() - started;
+
+        assertThat(worker.isAlive()).isTrue();
+        assertThat(elapsed).isLessThan(TimeUnit.MILLISECONDS.toNanos(200));
+
+        worker.join();
+    }
+
+    private static class InMemoryCheckpointService
+            implements CronJobCheckpointService
+    {
+
+        private final Map<UUID, Properties> storage = new HashMap<>();
+
+        @Override
+        public Properties load(UUID jobUuid)
+        {
+            Properties result = new Properties();
+            result.putAll(storage.getOrDefault(jobUuid, new Properties()));
+
+            return result;
+        }
+
+        @Override
+        public void store(UUID jobUuid,
+                          Properties checkpoints)
+        {
+            Properties copy = new Properties();
+            copy.putAll(checkpoints);
+            storage.put(jobUuid, copy);
+        }
+
+        @Override
+        public void clear(UUID jobUuid)
+        {
+            storage.remove(jobUuid);
+        }
+
+    }
+
+}
@@ -0,0 +1,218 @@
+package org.carlspring.strongbox.cron.services.impl;
+
+import org.carlspring.strongbox.cron.domain.CronJobLease;
+import org.carlspring.strongbox.cron.domain.CronTaskConfigurationDto;
+import org.carlspring.strongbox.cron.jobs.CronJobDuplicationCheckStrategy;
+import org.carlspring.strongbox.cron.jobs.PerRepositoryDuplicationCheckStrategy;
+import org.carlspring.strongbox.cron.jobs.TestJavaCronJob;
+
+import java.util.Collections;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+
+import com.hazelcast.config.Config;
+import com.hazelcast.config.GroupConfig;
+import com.hazelcast.config.JoinConfig;
+import com.hazelcast.core.Hazelcast;
+import com.hazelcast.core.HazelcastInstance;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.quartz.JobKey;
+import org.quartz.Scheduler;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+
+/**
+ * Runs two cluster members within the same JVM.
+ */
+class CronJobLeaseServiceImplTest
+{
+
+    private static final Set<CronJobDuplicationCheckStrategy> PER_REPOSITORY = Collections.singleton(
+            PerRepositoryDuplicationCheckStrategy.getDefault());
+
+    private final String groupName = "cron-job-lease-test-" + UUID.randomUUID();
+
+    private HazelcastInstance firstInstance;
+
+    private HazelcastInstance secondInstance;
+
+    private Scheduler secondScheduler;
+
+    @BeforeEach
+    void setUp()
+            throws InterruptedException
+    {
+        firstInstance = Hazelcast.newHazelcastInstance(newConfig());
+        secondInstance = Hazelcast.newHazelcastInstance(newConfig());
+        secondScheduler = mock(Scheduler.class);
+
+        long deadline = System.currentTimeMillis() + 30000;
+        while (!(firstInstance.getCluster().getMembers().size() == 2 &&
+                 firstInstance.getPartitionService().isClusterSafe()) &&
+               System.currentTimeMillis() < deadline)
+        {
+            Thread.sleep(100);
+        }
+        assertThat(firstInstance.getCluster().getMembers()).hasSize(2);
+    }
+
+    @AfterEach
+    void tearDown()
+    {
+        secondInstance.getLifecycleService().terminate();
+        firstInstance.getLifecycleService().terminate();
+    }
+
+    @Test
+    void shouldAcquireAndRenewLease()
+    {
+        CronJobLeaseServiceImpl first = newLeaseService(firstInstance, mock(Scheduler.class), false);
+        CronJobLeaseServiceImpl second = newLeaseService(secondInstance, secondScheduler, false);
+
+        CronTaskConfigurationDto configuration = newConfiguration("releases");
+
+        Optional<CronJobLease> lease = first.tryAcquire(configuration, PER_REPOSITORY, true);
+        assertThat(lease).isPresent();
+        assertThat(lease.get().getJobUuid()).isEqualTo(configuration.getUuid());
+        assertThat(lease.get().getMemberUuid()).isEqualTo(firstInstance.getCluster().getLocalMember().getUuid());
+
+        // Another job within the same repository scope is not executed while the lease is held.
+        assertThat(second.tryAcquire(newConfiguration("releases"), PER_REPOSITORY, true)).isEmpty();
+        // The other repositories are not affected.
+        Optional<CronJobLease> otherLease = second.tryAcquire(newConfiguration("snapshots"), PER_REPOSITORY, true);
+        assertThat(otherLease).isPresent();
+        second.release(otherLease.get());
+
+        first.release(lease.get());
+
+        Optional<CronJobLease> renewedLease = second.tryAcquire(configuration, PER_REPOSITORY, true);
+        assertThat(renewedLease).isPresent();
+        assertThat(renewedLease.get().getMemberUuid()).isEqualTo(secondInstance.getCluster().getLocalMember().getUuid());
+        second.release(renewedLease.get());
+    }
+
+    @Test
+    void shouldTakeOverLeaseWhenOwnerLeaves()
+            throws Exception
+    {
+        CronJobLeaseServiceImpl first = newLeaseService(firstInstance, mock(Scheduler.class), false);
+        CronJobLeaseServiceImpl second = newLeaseService(secondInstance, secondScheduler, false);
+
+        CronTaskConfigurationDto configuration = newConfiguration("releases");
+
+        assertThat(first.tryAcquire(configuration, PER_REPOSITORY, true)).isPresent();
+        assertThat(second.tryAcquire(configuration, PER_REPOSITORY, true)).isEmpty();
+
+        firstInstance.getLifecycleService().terminate();
+
+        // The second member became the oldest one, so it re-triggers the interrupted job.
+        verify(secondScheduler, timeout(30000)).triggerJob(JobKey.jobKey(configuration.getUuid().toString()));
+
+        Optional<CronJobLease> lease = Optional.empty();
+        long deadline = System.currentTimeMillis() + 30000;
+        while (!lease.isPresent() && System.currentTimeMillis() < deadline)
+        {
+            // The failover execution is triggered by the scheduler, not by the cron expression.
+            lease = second.tryAcquire(configuration, PER_REPOSITORY, false);
+            Thread.sleep(100);
+        }
+        assertThat(lease).isPresent();
+        second.release(lease.get());
+    }
+
+    @Test
+    void shouldShardLeasesAcrossMembers()
+    {
+        CronJobLeaseServiceImpl first = newLeaseService(firstInstance, mock(Scheduler.class), true);
+        CronJobLeaseServiceImpl second = newLeaseService(secondInstance, secondScheduler, true);
+
+        int firstCount = 0;
+        int secondCount = 0;
+        for (int i = 0; i < 100; i++)
+        {
+            CronTaskConfigurationDto configuration = newConfiguration("repository-" + i);
+
+            Optional<CronJobLease> firstLease = first.tryAcquire(configuration, PER_REPOSITORY, true);
+            Optional<CronJobLease> secondLease = second.tryAcquire(configuration, PER_REPOSITORY, true);
+
+            // Every scope is owned by exactly one member.
+            assertThat(firstLease.isPresent()).isNotEqualTo(secondLease.isPresent());
+
+            if (firstLease.isPresent())
+            {
+                firstCount++;
+                first.release(firstLease.get());
+            }
+            else
+            {
+                secondCount++;
+                second.release(secondLease.get());
+            }
+        }
+
+        assertThat(firstCount + secondCount).isEqualTo(100);
+        assertThat(firstCount).isPositive();
+        assertThat(secondCount).isPositive();
+    }
+
+    @Test
+    void shouldNotShardExecutionsTriggeredOnOneMember()
+    {
+        CronJobLeaseServiceImpl first = newLeaseService(firstInstance, mock(Scheduler.class), true);
+        CronJobLeaseServiceImpl second = newLeaseService(secondInstance, secondScheduler, true);
+
+        for (int i = 0; i < 20; i++)
+        {
+            CronTaskConfigurationDto configuration = newConfiguration("repository-" + i);
+
+            // The immediate and the one-time executions run on the member which triggered them.
+            Optional<CronJobLease> firstLease = first.tryAcquire(configuration, PER_REPOSITORY, false);
+            assertThat(firstLease).isPresent();
+            first.release(firstLease.get());
+
+            Optional<CronJobLease> secondLease = second.tryAcquire(configuration, PER_REPOSITORY, false);
+            assertThat(secondLease).isPresent();
+            second.release(secondLease.get());
+        }
+    }
+
+    private CronJobLeaseServiceImpl newLeaseService(HazelcastInstance hazelcastInstance,
+                                                    Scheduler scheduler,
+                                                    boolean sharding)
+    {
+        CronJobLeaseServiceImpl leaseService = new CronJobLeaseServiceImpl(hazelcastInstance, scheduler, sharding);
+        leaseService.init();
+
+        return leaseService;
+    }
+
+    private CronTaskConfigurationDto newConfiguration(String repositoryId)
+    {
+        CronTaskConfigurationDto configuration = new CronTaskConfigurationDto();
+        configuration.setUuid(UUID.randomUUID());
+        configuration.setJobClass(TestJavaCronJob.class.getName());
+        configuration.addProperty("storageId", "storage0");
+        configuration.addProperty("repositoryId", repositoryId);
+
+        return configuration;
+    }
+
+    private Config newConfig()
+    {
+        Config config = new Config();
+        config.setGroupConfig(new GroupConfig(groupName, groupName));
+        config.setProperty("hazelcast.phone.home.enabled", "false");
+
+        JoinConfig join = config.getNetworkConfig().getJoin();
+        join.getMulticastConfig().setEnabled(false);
+        join.getTcpIpConfig().setEnabled(true).addMember("127.0.0.1");
+
+        return config;
+    }
+
+}
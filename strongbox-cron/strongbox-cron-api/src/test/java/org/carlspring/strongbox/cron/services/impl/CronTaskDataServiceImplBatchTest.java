@@ -0,0 +1,118 @@
+package org.carlspring.strongbox.cron.services.impl;
+
+import org.carlspring.strongbox.cron.config.CronTasksConfigurationFileManager;
+import org.carlspring.strongbox.cron.domain.CronTaskConfigurationDto;
+import org.carlspring.strongbox.cron.domain.CronTasksConfigurationDto;
+import org.carlspring.strongbox.cron.jobs.CronJobDuplicationCheckStrategiesRegistry;
+import org.carlspring.strongbox.cron.jobs.CronJobsDefinitionsRegistry;
+import org.carlspring.strongbox.cron.jobs.TestJavaCronJob;
+
+import java.io.IOException;
+import java.util.UUID;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * The configuration file is mocked, so that only the number of the stores is checked.
+ */
+class CronTaskDataServiceImplBatchTest
+{
+
+    private CronTasksConfigurationFileManager cronTasksConfigurationFileManager;
+
+    private CronTaskDataServiceImpl cronTaskDataService;
+
+    @BeforeEach
+    void setUp()
+            throws IOException
+    {
+        cronTasksConfigurationFileManager = mock(CronTasksConfigurationFileManager.class);
+        when(cronTasksConfigurationFileManager.read()).thenReturn(new CronTasksConfigurationDto());
+
+        cronTaskDataService = new CronTaskDataServiceImpl(cronTasksConfigurationFileManager,
+                                                          mock(CronJobsDefinitionsRegistry.class),
+                                                          mock(CronJobDuplicationCheckStrategiesRegistry.class));
+    }
+
+    @Test
+    void shouldStoreOnceWhenBatchEnds()
+            throws IOException
+    {
+        cronTaskDataService.beginBatch();
+
+        UUID first = cronTaskDataService.save(newConfiguration("first"));
+        cronTaskDataService.save(newConfiguration("second"));
+        cronTaskDataService.delete(first);
+
+        verify(cronTasksConfigurationFileManager, never()).store(any());
+
+        cronTaskDataService.endBatch();
+
+        verify(cronTasksConfigurationFileManager).store(any());
+        assertThat(cronTaskDataService.getTasksConfigurationDto().getCronTaskConfigurations())
+                .extracting(CronTaskConfigurationDto::getName)
+                .containsExactly("second");
+    }
+
+    @Test
+    void shouldStoreOnceWhenOutermostBatchEnds()
+            throws IOException
+    {
+        cronTaskDataService.beginBatch();
+        cronTaskDataService.save(newConfiguration("first"));
+
+        cronTaskDataService.beginBatch();
+        cronTaskDataService.save(newConfiguration("second"));
+        cronTaskDataService.endBatch();
+
+        verify(cronTasksConfigurationFileManager, never()).store(any());
+
+        cronTaskDataService.endBatch();
+
+        verify(cronTasksConfigurationFileManager).store(any());
+    }
+
+    @Test
+    void shouldNotStoreWhenBatchIsEmpty()
+            throws IOException
+    {
+        cronTaskDataService.beginBatch();
+        cronTaskDataService.endBatch();
+
+        verify(cronTasksConfigurationFileManager, never()).store(any());
+    }
+
+    @Test
+    void shouldStoreEveryChangeOutsideBatch()
+            throws IOException
+    {
+        cronTaskDataService.save(newConfiguration("first"));
+
+        verify(cronTasksConfigurationFileManager).store(any());
+    }
+
+    @Test
+    void shouldFailWhenNoBatchIsOpen()
+    {
+        assertThatExceptionOfType(IllegalStateException.class).isThrownBy(() -> cronTaskDataService.endBatch());
+    }
+
+    private CronTaskConfigurationDto newConfiguration(String name)
+    {
+        CronTaskConfigurationDto configuration = new CronTaskConfigurationDto();
+        configuration.setUuid(UUID.randomUUID());
+        configuration.setName(name);
+        configuration.setJobClass(TestJavaCronJob.class.getName());
+
+        return configuration;
+    }
+
+}
@@ -29,7 +29,7 @@ public class RegenerateChecksumCronJob
 
     private static final String PROPERTY_FORCE_REGENERATION = "forceRegeneration";
 
-    private static final Set<CronJobField> FIELDS = ImmutableSet.of(
+    private static final Set<CronJobField> FIELDS = ImmutableSet.<CronJobField>builder().add(
             new CronJobStorageIdAutocompleteField(new CronJobStringTypeField(
                     new CronJobOptionalField(new CronJobNamedField(PROPERTY_STORAGE_ID)))),
             new CronJobRepositoryIdAutocompleteField(new CronJobStringTypeField(
@@ -37,7 +37,9 @@ public class RegenerateChecksumCronJob
             new CronJobBooleanTypeField(
                     new CronJobOptionalField(new CronJobNamedField(PROPERTY_FORCE_REGENERATION))),
             new CronJobStringTypeField(
-                    new CronJobOptionalField(new CronJobNamedField(PROPERTY_BASE_PATH))));
+                    new CronJobOptionalField(new CronJobNamedField(PROPERTY_BASE_PATH))))
+                                                                        .addAll(BUDGET_FIELDS)
+                                                                        .build();
 
     @Inject
     private ChecksumService checksumService;
@@ -65,6 +67,10 @@ public class RegenerateChecksumCronJob
             Map<String, Storage> storages = getStorages();
             for (String storage : storages.keySet())
             {
+                if (isCancelled())
+                {
+                    return;
+                }
                 regenerateRepositoriesChecksum(storage, forceRegeneration);
             }
         }
@@ -105,6 +111,10 @@ public class RegenerateChecksumCronJob
 
         for (String repositoryId : repositories.keySet())
         {
+            if (isCancelled())
+            {
+                return;
+            }
             checksumService.regenerateChecksum(storageId, repositoryId, null, forceRegeneration);
         }
     }
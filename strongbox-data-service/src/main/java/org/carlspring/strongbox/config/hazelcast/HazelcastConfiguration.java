@@ -45,6 +45,18 @@ public class HazelcastConfiguration
                                                                                      .setTimeToLiveSeconds(authenticationsCacheInvalidateInterval));
     }
 
+    @Value("${cacheManagerConfiguration.caches.userDetails.maxSizeLimit:1000}")
+    public int userDetailsMaxSizeLimit;
+
+    @Value("${cacheManagerConfiguration.caches.userDetails.maxSizePolicy:PER_NODE}")
+    public MaxSizeConfig.MaxSizePolicy userDetailsMaxSizePolicy;
+
+    @Value("${cacheManagerConfiguration.caches.userDetails.evictionPolicy:LRU}")
+    public EvictionPolicy userDetailsEvictionPolicy;
+
+    @Value("${cacheManagerConfiguration.caches.userDetails.timeToLiveSeconds:60}")
+    public int userDetailsTimeToLiveSeconds;
+
     @Value("${cacheManagerConfiguration.caches.remoteRepositoryAliveness.maxSizeLimit:1000}")
     public int remoteRepositoryAlivenessMaxSizeLimit;
 
@@ -63,6 +75,42 @@ public class HazelcastConfiguration
     @Value("${cacheManagerConfiguration.caches.tags.evictionPolicy:LFU}")
     public EvictionPolicy tagsEvictionPolicy;
 
+    @Value("${cacheManagerConfiguration.caches.directoryListings.maxSizeLimit:10000}")
+    public int directoryListingsMaxSizeLimit;
+
+    @Value("${cacheManagerConfiguration.caches.directoryListings.maxSizePolicy:PER_NODE}")
+    public MaxSizeConfig.MaxSizePolicy directoryListingsMaxSizePolicy;
+
+    @Value("${cacheManagerConfiguration.caches.directoryListings.evictionPolicy:LRU}")
+    public EvictionPolicy directoryListingsEvictionPolicy;
+
+    @Value("${cacheManagerConfiguration.caches.directoryListings.timeToLiveSeconds:300}")
+    public int directoryListingsTimeToLiveSeconds;
+
+    @Value("${cacheManagerConfiguration.caches.pypiSimpleIndexes.maxSizeLimit:10000}")
+    public int pypiSimpleIndexesMaxSizeLimit;
+
+    @Value("${cacheManagerConfiguration.caches.pypiSimpleIndexes.maxSizePolicy:PER_NODE}")
+    public MaxSizeConfig.MaxSizePolicy pypiSimpleIndexesMaxSizePolicy;
+
+    @Value("${cacheManagerConfiguration.caches.pypiSimpleIndexes.evictionPolicy:LRU}")
+    public EvictionPolicy pypiSimpleIndexesEvictionPolicy;
+
+    @Value("${cacheManagerConfiguration.caches.pypiSimpleIndexes.timeToLiveSeconds:300}")
+    public int pypiSimpleIndexesTimeToLiveSeconds;
+
+    @Value("${cacheManagerConfiguration.caches.checksums.maxSizeLimit:100000}")
+    public int checksumsMaxSizeLimit;
+
+    @Value("${cacheManagerConfiguration.caches.checksums.maxSizePolicy:PER_NODE}")
+    public MaxSizeConfig.MaxSizePolicy checksumsMaxSizePolicy;
+
+    @Value("${cacheManagerConfiguration.caches.checksums.evictionPolicy:LRU}")
+    public EvictionPolicy checksumsEvictionPolicy;
+
+    @Value("${cacheManagerConfiguration.caches.checksums.timeToLiveSeconds:60}")
+    public int checksumsTimeToLiveSeconds;
+
     public static MapConfig newDefaultMapConfig(String name,
                                                 int maxSize,
                                                 MaxSizeConfig.MaxSizePolicy maxSizePolicy,
@@ -127,7 +175,27 @@ public class HazelcastConfiguration
                                                                             tagsMaxSizeLimit,
                                                                             tagsMaxSizePolicy,
                                                                             tagsEvictionPolicy))
-                                          .addMapConfig(authenticationCacheConfig(CacheName.User.AUTHENTICATIONS));
+                                          .addMapConfig(newDefaultMapConfig(CacheName.Repository.DIRECTORY_LISTINGS,
+                                                                            directoryListingsMaxSizeLimit,
+                                                                            directoryListingsMaxSizePolicy,
+                                                                            directoryListingsEvictionPolicy)
+                                                                .setTimeToLiveSeconds(directoryListingsTimeToLiveSeconds))
+                                          .addMapConfig(newDefaultMapConfig(CacheName.Repository.PYPI_SIMPLE_INDEXES,
+                                                                            pypiSimpleIndexesMaxSizeLimit,
+                                                                            pypiSimpleIndexesMaxSizePolicy,
+                                                                            pypiSimpleIndexesEvictionPolicy)
+                                                                .setTimeToLiveSeconds(pypiSimpleIndexesTimeToLiveSeconds))
+                                          .addMapConfig(newDefaultMapConfig(CacheName.Artifact.CHECKSUMS,
+                                                                            checksumsMaxSizeLimit,
+                                                                            checksumsMaxSizePolicy,
+                                                                            checksumsEvictionPolicy)
+                                                                .setTimeToLiveSeconds(checksumsTimeToLiveSeconds))
+                                          .addMapConfig(authenticationCacheConfig(CacheName.User.AUTHENTICATIONS))
+                                          .addMapConfig(newDefaultMapConfig(CacheName.User.USER_DETAILS,
+                                                                            userDetailsMaxSizeLimit,
+                                                                            userDetailsMaxSizePolicy,
+                                                                            userDetailsEvictionPolicy)
+                                                                .setTimeToLiveSeconds(userDetailsTimeToLiveSeconds));
         config.setGroupConfig(new GroupConfig(groupConfigName, groupConfigPassword));
         config.getNetworkConfig().getJoin().getMulticastConfig().setEnabled(enableMulticastConfig);
 
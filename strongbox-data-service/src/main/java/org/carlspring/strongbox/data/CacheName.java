@@ -8,6 +8,8 @@ public final class CacheName
     public static final class User
     {
         public static final String AUTHENTICATIONS = "authentications";
+
+        public static final String USER_DETAILS = "userDetails";
     }
     
     public static final class Artifact
@@ -15,6 +17,8 @@ public final class CacheName
 
         public static final String TAGS = "tags";
 
+        public static final String CHECKSUMS = "checksums";
+
     }
 
     public static final class Repository
@@ -22,6 +26,10 @@ public final class CacheName
 
         public static final String REMOTE_REPOSITORY_ALIVENESS = "remoteRepositoryAliveness";
 
+        public static final String DIRECTORY_LISTINGS = "directoryListings";
+
+        public static final String PYPI_SIMPLE_INDEXES = "pypiSimpleIndexes";
+
     }
 
 
@@ -1,9 +1,13 @@
 package org.carlspring.strongbox.data.criteria;
 
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
-import java.util.stream.Collectors;
 
 import javax.persistence.EntityManager;
 
@@ -37,7 +41,22 @@ public class DetachQueryTemplate<R, T extends GenericEntity> implements QueryTem
         return (R) unproxy(target.select(s));
     }
 
+    /**
+     * Detaches the entities, also within the collections and the optionals. The results without entities, like the
+     * projections, the counts or the paths, are returned as they are, without copying. The collections which are not
+     * plain JDK collections, like the lazy OrientDB ones, are always copied, as they may still be bound to the database
+     * session.
+     */
     public Object unproxy(Object result)
+    {
+        return unproxy(result, new IdentityHashMap<>());
+    }
+
+    /**
+     * @param detached the entities already detached within the result, by their proxies
+     */
+    private Object unproxy(Object result,
+                           Map<Object, Object> detached)
     {
         if (result == null)
         {
@@ -45,19 +64,42 @@ public class DetachQueryTemplate<R, T extends GenericEntity> implements QueryTem
         }
         if (result instanceof GenericEntity)
         {
-            result = target.getEmDelegate().detachAll(result, true);
+            return detached.computeIfAbsent(result, e -> target.getEmDelegate().detachAll(e, true));
         }
-        else if (result instanceof Collection)
+        if (result instanceof Collection)
         {
-            result = ((Collection) result).stream()
-                                          .map(e -> unproxy(e))
-                                          .collect(result instanceof Set ? Collectors.toSet() : Collectors.toList());
+            Collection<?> collection = (Collection<?>) result;
+
+            List<Object> unproxied = new ArrayList<>(collection.size());
+            boolean changed = false;
+            for (Object e : collection)
+            {
+                Object unproxiedElement = unproxy(e, detached);
+                changed |= unproxiedElement != e;
+                unproxied.add(unproxiedElement);
+            }
+
+            if (!changed && isPlainCollection(collection))
+            {
+                return result;
+            }
+
+            return result instanceof Set ? new HashSet<>(unproxied) : unproxied;
         }
-        else if (result instanceof Optional)
+        if (result instanceof Optional)
         {
-            result = Optional.ofNullable(unproxy(((Optional) result).orElse(null)));
+            Object value = ((Optional<?>) result).orElse(null);
+            Object unproxiedValue = unproxy(value, detached);
+
+            return unproxiedValue == value ? result : Optional.of(unproxiedValue);
         }
+
         return result;
     }
 
+    private static boolean isPlainCollection(Collection<?> collection)
+    {
+        return collection.getClass().getName().startsWith("java.");
+    }
+
 }
@@ -3,6 +3,12 @@ package org.carlspring.strongbox.data.domain;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 
 import com.esotericsoftware.kryo.Kryo;
 import com.esotericsoftware.kryo.io.Input;
@@ -12,11 +18,34 @@ import com.hazelcast.nio.ObjectDataInput;
 import com.hazelcast.nio.ObjectDataOutput;
 import com.hazelcast.nio.serialization.StreamSerializer;
 
+/**
+ * Serializes an entity with Kryo.
+ * <p>
+ * The entity class and the common value types are registered with fixed ids, so they are written as a varint instead
+ * of a fully qualified class name. The subclasses register the other types of the entity in {@link #init(Kryo)},
+ * with the ids starting from {@link #FIRST_CUSTOM_REGISTRATION_ID}. The ids are a part of the format, and they must
+ * never be reused for another type. The types which are not registered (e.g. the collections of a proxied entity)
+ * are still written with their class names.
+ * <p>
+ * The {@link Kryo} instances and the {@link Output}/{@link Input} buffers are pooled and reused between the calls.
+ */
 public abstract class EntitySerializer<T extends GenericEntity> implements StreamSerializer<T>
 {
 
+    public static final int FIRST_CUSTOM_REGISTRATION_ID = 200;
+
+    private static final int ENTITY_REGISTRATION_ID = 100;
+
+    private static final int BUFFER_SIZE = 4096;
+
+    private static final int POOL_SIZE = 150;
+
     private Pool<Kryo> kryoPool;
 
+    private Pool<Output> outputPool;
+
+    private Pool<Input> inputPool;
+
     public EntitySerializer()
     {
         super();
@@ -24,7 +53,7 @@ public abstract class EntitySerializer<T extends GenericEntity> implements Strea
         ClassLoader classLoader = Thread.currentThread().getContextClassLoader();
         //Log.TRACE();
 
-        kryoPool = new Pool<Kryo>(true, false, 150)
+        kryoPool = new Pool<Kryo>(true, false, POOL_SIZE)
         {
             protected Kryo create()
             {
@@ -32,6 +61,21 @@ public abstract class EntitySerializer<T extends GenericEntity> implements Strea
             }
         };
 
+        outputPool = new Pool<Output>(true, false, POOL_SIZE)
+        {
+            protected Output create()
+            {
+                return new Output(BUFFER_SIZE, -1);
+            }
+        };
+
+        inputPool = new Pool<Input>(true, false, POOL_SIZE)
+        {
+            protected Input create()
+            {
+                return new Input(BUFFER_SIZE);
+            }
+        };
     }
 
     private Kryo kryoSerializer(ClassLoader classLoader)
@@ -40,14 +84,26 @@ public abstract class EntitySerializer<T extends GenericEntity> implements Strea
         kryo.setClassLoader(classLoader);
         kryo.setRegistrationRequired(false);
 
+        int id = ENTITY_REGISTRATION_ID;
+        kryo.register(getEntityClass(), id++);
+        kryo.register(Date.class, id++);
+        kryo.register(ArrayList.class, id++);
+        kryo.register(HashSet.class, id++);
+        kryo.register(LinkedHashSet.class, id++);
+        kryo.register(HashMap.class, id++);
+        kryo.register(LinkedHashMap.class, id);
+
         init(kryo);
 
         return kryo;
     }
 
+    /**
+     * Registers the other types of the entity, with the ids starting from {@link #FIRST_CUSTOM_REGISTRATION_ID}.
+     */
     protected void init(Kryo kryo)
     {
-        
+
     }
 
     protected Kryo getKryo()
@@ -64,17 +120,26 @@ public abstract class EntitySerializer<T extends GenericEntity> implements Strea
     public void write(ObjectDataOutput objectDataOutput,
                       T object)
         throws IOException
+    {
+        write((OutputStream) objectDataOutput, object);
+    }
+
+    public void write(OutputStream outputStream,
+                      T object)
     {
         Kryo kryo = getKryo();
+        Output output = outputPool.obtain();
 
         try
         {
-            Output output = new Output((OutputStream) objectDataOutput);
+            output.setOutputStream(outputStream);
             kryo.writeObject(output, object);
             output.flush();
-        } 
+        }
         finally
         {
+            output.setOutputStream(null);
+            outputPool.free(output);
             releaseKryo(kryo);
         }
 
@@ -83,18 +148,24 @@ public abstract class EntitySerializer<T extends GenericEntity> implements Strea
     @Override
     public T read(ObjectDataInput objectDataInput)
         throws IOException
+    {
+        return read((InputStream) objectDataInput);
+    }
+
+    public T read(InputStream inputStream)
     {
         Kryo kryo = getKryo();
+        Input input = inputPool.obtain();
 
         try
         {
-            InputStream in = (InputStream) objectDataInput;
-            Input input = new Input(in);
-            T result = kryo.readObject(input, getEntityClass());
-            return result;
-        } 
+            input.setInputStream(inputStream);
+            return kryo.readObject(input, getEntityClass());
+        }
         finally
         {
+            input.setInputStream(null);
+            inputPool.free(input);
             releaseKryo(kryo);
         }
     }
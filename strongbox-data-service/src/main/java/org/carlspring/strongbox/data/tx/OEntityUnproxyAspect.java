@@ -35,6 +35,7 @@ public class OEntityUnproxyAspect
      * The goal is to get unproxied value, which has been returned with intercepted (target) method.
      * The order of calling the interceptor is important, for this reason the class is declared with {@link Order} annotation.
      * The order must be before the {@link TransactionInterceptor}.
+     * The methods and the classes annotated with {@link SkipUnproxy} are not wrapped.
      * 
      * @param jp
      * @return
@@ -43,6 +44,8 @@ public class OEntityUnproxyAspect
     @Around("execution(@org.springframework.transaction.annotation.Transactional * *(..)) "
             + "|| (execution(public * ((@org.springframework.transaction.annotation.Transactional *)+).*(..)) "
             + "&& within(@org.springframework.transaction.annotation.Transactional *))) "
+            + "&& !@annotation(org.carlspring.strongbox.data.tx.SkipUnproxy) "
+            + "&& !@within(org.carlspring.strongbox.data.tx.SkipUnproxy) "
             + "&& !cflowbelow(execution(* OEntityUnproxyAspect.*(..)) ")
     public Object transactional(ProceedingJoinPoint jp)
         throws Throwable
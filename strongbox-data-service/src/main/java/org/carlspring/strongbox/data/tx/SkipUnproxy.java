@@ -0,0 +1,23 @@
+package org.carlspring.strongbox.data.tx;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * The results of the annotated transactional method (or of all the methods of the annotated class) are returned as
+ * they are by the {@link OEntityUnproxyAspect}.
+ * <p>
+ * Only for the methods which return plain values, projections, or entities which they detach by themselves. An
+ * entity proxy returned from such a method can't be used after the transaction has ended.
+ */
+@Documented
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ ElementType.METHOD,
+          ElementType.TYPE })
+public @interface SkipUnproxy
+{
+
+}
@@ -0,0 +1,97 @@
+package org.carlspring.strongbox.authentication.api.ldap;
+
+import java.util.concurrent.TimeUnit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import org.springframework.security.ldap.search.LdapUserSearch;
+import org.springframework.security.ldap.userdetails.LdapAuthoritiesPopulator;
+import org.springframework.security.ldap.userdetails.LdapUserDetailsService;
+
+import com.google.common.base.Ticker;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+
+/**
+ * Remembers the recent outcomes of the LDAP user lookups, so that a burst of logins doesn't repeat the user and group
+ * searches against the directory.
+ * <p>
+ * The found users are kept, with their mapped authorities, for a short time. The users which were not found are kept
+ * for an even shorter time. The lookups which failed for any other reason (e.g. the directory is not available) are not
+ * cached.
+ */
+public class CachedLdapUserDetailsService extends LdapUserDetailsService
+{
+
+    private static final Logger logger = LoggerFactory.getLogger(CachedLdapUserDetailsService.class);
+
+    private final Cache<String, UserDetails> users;
+
+    private final Cache<String, Boolean> notFoundUsers;
+
+    public CachedLdapUserDetailsService(LdapUserSearch userSearch,
+                                        LdapAuthoritiesPopulator authoritiesPopulator,
+                                        long maximumSize,
+                                        long cacheSeconds,
+                                        long notFoundCacheSeconds)
+    {
+        this(userSearch, authoritiesPopulator, maximumSize, cacheSeconds, notFoundCacheSeconds, Ticker.systemTicker());
+    }
+
+    CachedLdapUserDetailsService(LdapUserSearch userSearch,
+                                 LdapAuthoritiesPopulator authoritiesPopulator,
+                                 long maximumSize,
+                                 long cacheSeconds,
+                                 long notFoundCacheSeconds,
+                                 Ticker ticker)
+    {
+        super(userSearch, authoritiesPopulator);
+
+        users = CacheBuilder.newBuilder()
+                            .maximumSize(maximumSize)
+                            .expireAfterWrite(cacheSeconds, TimeUnit.SECONDS)
+                            .ticker(ticker)
+                            .build();
+        notFoundUsers = CacheBuilder.newBuilder()
+                                    .maximumSize(maximumSize)
+                                    .expireAfterWrite(notFoundCacheSeconds, TimeUnit.SECONDS)
+                                    .ticker(ticker)
+                                    .build();
+    }
+
+    @Override
+    public UserDetails loadUserByUsername(String username)
+        throws UsernameNotFoundException
+    {
+        UserDetails user = users.getIfPresent(username);
+        if (user != null)
+        {
+            return user;
+        }
+
+        if (notFoundUsers.getIfPresent(username) != null)
+        {
+            logger.debug("User [{}] was recently not found.", username);
+
+            throw new UsernameNotFoundException(username);
+        }
+
+        try
+        {
+            user = super.loadUserByUsername(username);
+        }
+        catch (UsernameNotFoundException e)
+        {
+            notFoundUsers.put(username, Boolean.TRUE);
+
+            throw e;
+        }
+
+        users.put(username, user);
+
+        return user;
+    }
+
+}
@@ -0,0 +1,102 @@
+package org.carlspring.strongbox.authentication.api.ldap;
+
+import javax.naming.directory.DirContext;
+import javax.naming.ldap.LdapName;
+
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.ldap.NamingException;
+import org.springframework.ldap.core.DistinguishedName;
+import org.springframework.ldap.core.support.BaseLdapPathContextSource;
+import org.springframework.ldap.pool2.factory.PoolConfig;
+import org.springframework.ldap.pool2.factory.PooledContextSource;
+import org.springframework.ldap.pool2.validation.DefaultDirContextValidator;
+
+/**
+ * Serves the manager connections, which are used to search the users and their groups, from a pool of validated
+ * connections. The connections are checked with a cheap search when borrowed, so that the connections dropped by the
+ * server are replaced.
+ * <p>
+ * The contexts authenticated with the user credentials are never pooled, they are obtained from the target context
+ * source.
+ */
+public class PooledLdapContextSource implements BaseLdapPathContextSource, DisposableBean
+{
+
+    private final BaseLdapPathContextSource target;
+
+    private final PooledContextSource pool;
+
+    public PooledLdapContextSource(BaseLdapPathContextSource target,
+                                   PoolConfig poolConfig)
+    {
+        this.target = target;
+
+        pool = new PooledContextSource(poolConfig);
+        pool.setContextSource(target);
+        pool.setDirContextValidator(new DefaultDirContextValidator());
+    }
+
+    @Override
+    public DirContext getReadOnlyContext()
+        throws NamingException
+    {
+        return pool.getReadOnlyContext();
+    }
+
+    @Override
+    public DirContext getReadWriteContext()
+        throws NamingException
+    {
+        return pool.getReadWriteContext();
+    }
+
+    @Override
+    public DirContext getContext(String principal,
+                                 String credentials)
+        throws NamingException
+    {
+        return target.getContext(principal, credentials);
+    }
+
+    @Override
+    public DistinguishedName getBaseLdapPath()
+    {
+        return target.getBaseLdapPath();
+    }
+
+    @Override
+    public LdapName getBaseLdapName()
+    {
+        return target.getBaseLdapName();
+    }
+
+    @Override
+    public String getBaseLdapPathAsString()
+    {
+        return target.getBaseLdapPathAsString();
+    }
+
+    /**
+     * @return the number of the connections currently borrowed from the pool
+     */
+    public int getNumActive()
+    {
+        return pool.getNumActive();
+    }
+
+    /**
+     * @return the number of the connections currently idle in the pool
+     */
+    public int getNumIdle()
+    {
+        return pool.getNumIdle();
+    }
+
+    @Override
+    public void destroy()
+        throws Exception
+    {
+        pool.destroy();
+    }
+
+}
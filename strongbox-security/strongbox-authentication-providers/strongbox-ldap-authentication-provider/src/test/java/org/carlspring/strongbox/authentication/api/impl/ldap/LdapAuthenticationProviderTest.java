@@ -1,6 +1,7 @@
 package org.carlspring.strongbox.authentication.api.impl.ldap;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
 
 import java.io.InputStream;
 import java.lang.reflect.UndeclaredThrowableException;
@@ -8,7 +9,9 @@ import java.util.List;
 import java.util.Properties;
 
 import javax.inject.Inject;
+import javax.naming.directory.DirContext;
 
+import org.carlspring.strongbox.authentication.api.ldap.PooledLdapContextSource;
 import org.carlspring.strongbox.authentication.support.AuthenticationContextInitializer;
 import org.carlspring.strongbox.config.UsersConfig;
 import org.carlspring.strongbox.users.domain.SystemRole;
@@ -24,6 +27,7 @@ import org.springframework.ldap.core.DirContextAdapter;
 import org.springframework.ldap.core.LdapTemplate;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.security.ldap.userdetails.LdapUserDetails;
 import org.springframework.security.ldap.userdetails.LdapUserDetailsImpl;
 import org.springframework.security.ldap.userdetails.LdapUserDetailsService;
@@ -83,6 +87,59 @@ public class LdapAuthenticationProviderTest
                 );
     }
 
+    @Test
+    public void contextSourceIsPooled()
+        throws Exception
+    {
+        assertThat(contextSource).isInstanceOf(PooledLdapContextSource.class);
+        PooledLdapContextSource pooledContextSource = (PooledLdapContextSource) contextSource;
+
+        LdapTemplate template = new LdapTemplate(contextSource);
+        assertThat(template.lookup("uid=przemyslaw.fusik,ou=Users")).isNotNull();
+
+        int idle = pooledContextSource.getNumIdle();
+        assertThat(idle).isPositive();
+        assertThat(pooledContextSource.getNumActive()).isZero();
+
+        DirContext context = contextSource.getReadOnlyContext();
+        try
+        {
+            assertThat(pooledContextSource.getNumActive()).isEqualTo(1);
+            assertThat(pooledContextSource.getNumIdle()).isEqualTo(idle - 1);
+        }
+        finally
+        {
+            context.close();
+        }
+
+        // The connections are returned to the pool and reused, so no new ones are opened.
+        for (int i = 0; i < 100; i++)
+        {
+            assertThat(template.lookup("uid=przemyslaw.fusik,ou=Users")).isNotNull();
+        }
+        assertThat(pooledContextSource.getNumActive()).isZero();
+        assertThat(pooledContextSource.getNumIdle()).isEqualTo(idle);
+    }
+
+    @Test
+    public void recentLookupsAreCached()
+    {
+        UserDetails ldapUser = ldapUserDetailsService.loadUserByUsername("przemyslaw.fusik");
+
+        long started = System.nanoTime();
+        for (int i = 0; i < 1000; i++)
+        {
+            assertThat(ldapUserDetailsService.loadUserByUsername("przemyslaw.fusik")).isSameAs(ldapUser);
+        }
+        logger.debug("Looked up 1000 cached users in [{}] ms.", (System.nanoTime() - started) / 1000000);
+
+        for (int i = 0; i < 10; i++)
+        {
+            assertThatExceptionOfType(UsernameNotFoundException.class)
+                    .isThrownBy(() -> ldapUserDetailsService.loadUserByUsername("not.existing.user"));
+        }
+    }
+
     public static class TestContextInitializer extends AuthenticationContextInitializer
     {
 
@@ -0,0 +1,96 @@
+package org.carlspring.strongbox.authentication.api.ldap;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.ldap.core.DirContextAdapter;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+
+import com.google.common.base.Ticker;
+
+/**
+ * Uses the default cache times (60 seconds for the found users and 10 seconds for the users which were not found),
+ * with a manually advanced clock.
+ */
+public class CachedLdapUserDetailsServiceTest
+{
+
+    private static final String EXISTING_USER = "przemyslaw.fusik";
+
+    private static final String NOT_EXISTING_USER = "not.existing.user";
+
+    private final Map<String, Integer> searches = new ConcurrentHashMap<>();
+
+    private final AtomicLong nanos = new AtomicLong();
+
+    private CachedLdapUserDetailsService userDetailsService;
+
+    @BeforeEach
+    public void setUp()
+    {
+        Ticker ticker = new Ticker()
+        {
+            @Override
+            public long read()
+            {
+                return nanos.get();
+            }
+        };
+
+        userDetailsService = new CachedLdapUserDetailsService(username -> {
+            searches.merge(username, 1, Integer::sum);
+            if (!EXISTING_USER.equals(username))
+            {
+                throw new UsernameNotFoundException(username);
+            }
+
+            return new DirContextAdapter("uid=" + username + ",ou=Users");
+        }, (userData, username) -> Collections.emptyList(), 10000, 60, 10, ticker);
+    }
+
+    @Test
+    public void foundUserShouldBeCachedUntilExpired()
+    {
+        UserDetails user = userDetailsService.loadUserByUsername(EXISTING_USER);
+
+        advance(59);
+        assertThat(userDetailsService.loadUserByUsername(EXISTING_USER)).isSameAs(user);
+        assertThat(searches.get(EXISTING_USER)).isEqualTo(1);
+
+        advance(2);
+        assertThat(userDetailsService.loadUserByUsername(EXISTING_USER)).isNotSameAs(user);
+        assertThat(searches.get(EXISTING_USER)).isEqualTo(2);
+    }
+
+    @Test
+    public void notFoundUserShouldBeCachedUntilExpired()
+    {
+        assertThatExceptionOfType(UsernameNotFoundException.class)
+                .isThrownBy(() -> userDetailsService.loadUserByUsername(NOT_EXISTING_USER));
+
+        advance(9);
+        assertThatExceptionOfType(UsernameNotFoundException.class)
+                .isThrownBy(() -> userDetailsService.loadUserByUsername(NOT_EXISTING_USER));
+        assertThat(searches.get(NOT_EXISTING_USER)).isEqualTo(1);
+
+        advance(2);
+        assertThatExceptionOfType(UsernameNotFoundException.class)
+                .isThrownBy(() -> userDetailsService.loadUserByUsername(NOT_EXISTING_USER));
+        assertThat(searches.get(NOT_EXISTING_USER)).isEqualTo(2);
+    }
+
+    private void advance(long seconds)
+    {
+        nanos.addAndGet(TimeUnit.SECONDS.toNanos(seconds));
+    }
+
+}
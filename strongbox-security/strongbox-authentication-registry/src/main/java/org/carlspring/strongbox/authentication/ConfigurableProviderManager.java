@@ -8,11 +8,13 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
+import java.util.Objects;
 import java.util.Optional;
 import java.util.function.Predicate;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
+import javax.annotation.PostConstruct;
 import javax.inject.Inject;
 
 import org.apache.commons.lang3.StringUtils;
@@ -23,6 +25,8 @@ import org.carlspring.strongbox.authentication.api.CustomAuthenticationItemMappe
 import org.carlspring.strongbox.authentication.registry.AuthenticationProvidersRegistry;
 import org.carlspring.strongbox.authentication.registry.AuthenticationProvidersRegistry.MergePropertiesContext;
 import org.carlspring.strongbox.authentication.support.AuthenticationConfigurationContext;
+import org.carlspring.strongbox.data.CacheName;
+import org.carlspring.strongbox.users.domain.UserData;
 import org.carlspring.strongbox.users.dto.User;
 import org.carlspring.strongbox.users.service.UserAlreadyExistsException;
 import org.carlspring.strongbox.users.userdetails.StrongboxExternalUsersCacheManager;
@@ -30,6 +34,8 @@ import org.carlspring.strongbox.users.userdetails.UserDetailsMapper;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
 import org.springframework.context.ApplicationContext;
 import org.springframework.context.annotation.Primary;
 import org.springframework.context.event.ContextRefreshedEvent;
@@ -68,6 +74,15 @@ public class ConfigurableProviderManager extends ProviderManager implements User
     @Inject
     private StrongboxExternalUsersCacheManager strongboxUserManager;
 
+    @Inject
+    private CacheManager cacheManager;
+
+    /**
+     * The {@link User} snapshots, so that the token and password authentications don't hit the users storage on every
+     * request. The {@link UserDetails} are mapped from them each time, as the roles are resolved at runtime.
+     */
+    private Cache usersCache;
+
     private final Map<String, AuthenticationProvider> authenticationProviderMap = new HashMap<>();
 
     private final Map<String, UserDetailsService> userProviderMap = new HashMap<>();
@@ -77,6 +92,13 @@ public class ConfigurableProviderManager extends ProviderManager implements User
         super(new ArrayList<>(), new EmptyAuthenticationManager());
     }
 
+    @PostConstruct
+    public void init()
+    {
+        usersCache = cacheManager.getCache(CacheName.User.USER_DETAILS);
+        Objects.requireNonNull(usersCache, "userDetails cache configuration was not provided");
+    }
+
     public void reload()
         throws IOException
     {
@@ -112,7 +134,7 @@ public class ConfigurableProviderManager extends ProviderManager implements User
 
     private Optional<User> loadUserDetails(String username)
     {
-        Optional<User> optionalUser = Optional.ofNullable(strongboxUserManager.findByUsername(username)).filter(this::isInternalOrValidExternalUser);
+        Optional<User> optionalUser = Optional.ofNullable(findByUsername(username)).filter(this::isInternalOrValidExternalUser);
         if (optionalUser.isPresent()) {
             return optionalUser;
         }
@@ -120,6 +142,27 @@ public class ConfigurableProviderManager extends ProviderManager implements User
         return loadExternalUserDetails(username);
     }
 
+    private User findByUsername(String username)
+    {
+        User user = usersCache.get(username, User.class);
+        if (user != null)
+        {
+            return user;
+        }
+
+        user = strongboxUserManager.findByUsername(username);
+        if (user == null)
+        {
+            return null;
+        }
+
+        // The users are evicted from the cache on update.
+        user = new UserData(user);
+        usersCache.put(username, user);
+
+        return user;
+    }
+
     protected Optional<User> loadExternalUserDetails(String username)
     {
         for (Entry<String, UserDetailsService> userDetailsServiceEntry : userProviderMap.entrySet())
@@ -1,6 +1,9 @@
 package org.carlspring.strongbox.authentication;
 
 import java.util.Date;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
 
 import org.apache.commons.lang3.StringUtils;
@@ -20,6 +23,7 @@ import org.springframework.stereotype.Component;
 
 import com.orientechnologies.common.concur.ONeedRetryException;
 import com.orientechnologies.orient.core.exception.ORecordNotFoundException;
+import com.orientechnologies.orient.core.sql.OCommandSQL;
 import com.orientechnologies.orient.core.storage.ORecordDuplicatedException;
 
 /**
@@ -32,7 +36,7 @@ public class OrientDbExternalUsersCacheManager extends OrientDbUserService imple
     private static final Logger logger = LoggerFactory.getLogger(OrientDbExternalUsersCacheManager.class);
     
     @Override
-    @CacheEvict(cacheNames = CacheName.User.AUTHENTICATIONS, key = "#p1.username")
+    @CacheEvict(cacheNames = { CacheName.User.AUTHENTICATIONS, CacheName.User.USER_DETAILS }, key = "#p1.username")
     public User cacheExternalUserDetails(String sourceId,
                                          UserDetails springUser)
     {
@@ -51,7 +55,11 @@ public class OrientDbExternalUsersCacheManager extends OrientDbUserService imple
             }
             
             UserEntry userEntry = optionalUser.orElseGet(() -> new UserEntry());
-            
+            if (optionalUser.isPresent() && isUnchanged(userEntry, user))
+            {
+                return touch(userEntry);
+            }
+
             if (!StringUtils.isBlank(user.getPassword()))
             {
                 userEntry.setPassword(user.getPassword());
@@ -81,5 +89,35 @@ public class OrientDbExternalUsersCacheManager extends OrientDbUserService imple
         }
     }
 
-    
+    private boolean isUnchanged(UserEntry userEntry,
+                                User user)
+    {
+        return (StringUtils.isBlank(user.getPassword()) || user.getPassword().equals(userEntry.getPassword())) &&
+               userEntry.isEnabled() == user.isEnabled() &&
+               Objects.equals(userEntry.getRoles(), user.getRoles()) &&
+               Objects.equals(userEntry.getSecurityTokenKey(), user.getSecurityTokenKey());
+    }
+
+    /**
+     * Only the last update date is stored for the unchanged users, instead of saving the whole entry with its roles.
+     */
+    private UserEntry touch(UserEntry userEntry)
+    {
+        Date lastUpdate = new Date();
+
+        Map<String, Object> params = new HashMap<>();
+        params.put("lastUpdate", lastUpdate);
+        params.put("uuid", userEntry.getUuid());
+
+        String sQuery = String.format("update %s set lastUpdate = :lastUpdate where uuid = :uuid",
+                                      UserEntry.class.getSimpleName());
+
+        OCommandSQL oQuery = new OCommandSQL(sQuery);
+        getDelegate().command(oQuery).execute(params);
+
+        userEntry.setLastUpdate(lastUpdate);
+
+        return userEntry;
+    }
+
 }
@@ -9,7 +9,6 @@ import java.util.stream.Collectors;
 import javax.annotation.concurrent.Immutable;
 
 import org.carlspring.strongbox.users.dto.User;
-import org.carlspring.strongbox.users.dto.UserDto;
 import org.springframework.security.core.userdetails.UserDetails;
 
 import com.google.common.collect.ImmutableSet;
@@ -47,7 +46,7 @@ public class UserData implements Serializable, User
         this.lastUpdate = null;        
     }
     
-    public UserData(final UserDto source)
+    public UserData(final User source)
     {
         this.username = source.getUsername();
         this.password = source.getPassword();
@@ -5,9 +5,14 @@ import org.carlspring.strongbox.security.exceptions.ExpiredTokenException;
 
 import javax.inject.Inject;
 import java.io.UnsupportedEncodingException;
+import java.nio.charset.StandardCharsets;
 import java.security.Key;
 import java.util.Map;
+import java.util.concurrent.TimeUnit;
 
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.hash.Hashing;
 import org.jose4j.jws.AlgorithmIdentifiers;
 import org.jose4j.jws.JsonWebSignature;
 import org.jose4j.jwt.JwtClaims;
@@ -37,18 +42,44 @@ public class SecurityTokenProvider
      */
     private Key key;
 
+    private final JwtConsumer nonVerifyingJwtConsumer = new JwtConsumerBuilder().setRequireSubject()
+                                                                                .setRelaxVerificationKeyValidation()
+                                                                                .setSkipSignatureVerification()
+                                                                                .setSkipAllValidators()
+                                                                                .build();
+
+    private JwtConsumer verifyingJwtConsumer;
+
+    /**
+     * The claims of the verified tokens, by the token digest. Every entry is checked against the token expiration time
+     * before it's used.
+     */
+    private Cache<String, JwtClaims> verifiedClaimsCache;
+
     /**
      * Creates {@link Key} instance using Secret string from application configuration.
      *
      * @param secret
+     * @param verificationCacheSize
+     * @param verificationCacheSeconds
      * @throws UnsupportedEncodingException
      * @throws Exception
      */
     @Inject
-    public void init(@Value("${strongbox.security.jwtSecret:secret}") String secret)
+    public void init(@Value("${strongbox.security.jwtSecret:secret}") String secret,
+                     @Value("${strongbox.security.jwtVerificationCache.maximumSize:10000}") long verificationCacheSize,
+                     @Value("${strongbox.security.jwtVerificationCache.expireSeconds:300}") long verificationCacheSeconds)
             throws UnsupportedEncodingException
     {
         key = new HmacKey(secret.getBytes("UTF-8"));
+        verifyingJwtConsumer = new JwtConsumerBuilder().setRequireSubject()
+                                                       .setRelaxVerificationKeyValidation()
+                                                       .setVerificationKey(key)
+                                                       .build();
+        verifiedClaimsCache = CacheBuilder.newBuilder()
+                                          .maximumSize(verificationCacheSize)
+                                          .expireAfterWrite(verificationCacheSeconds, TimeUnit.SECONDS)
+                                          .build();
     }
 
     /**
@@ -120,35 +151,52 @@ public class SecurityTokenProvider
     
     public JwtClaims getClaims(String token, boolean verify)
     {
-        JwtConsumerBuilder builder = new JwtConsumerBuilder().setRequireSubject()
-                                                             .setRelaxVerificationKeyValidation();
-        if (!verify)
+        // The verified claims can be used without the verification as well.
+        String digest = Hashing.sha256().hashString(token, StandardCharsets.UTF_8).toString();
+        JwtClaims jwtClaims = verifiedClaimsCache.getIfPresent(digest);
+        if (jwtClaims != null && !isExpired(jwtClaims))
         {
-            builder.setSkipSignatureVerification().setSkipAllValidators();
+            return jwtClaims;
         }
-        else
-        {
-            builder.setVerificationKey(key);
-        }
-        
-        JwtConsumer jwtConsumer = builder.build();
 
-        JwtClaims jwtClaims;
+        JwtConsumer jwtConsumer = verify ? verifyingJwtConsumer : nonVerifyingJwtConsumer;
         try
         {
             jwtClaims = jwtConsumer.processToClaims(token);
         }
         catch (InvalidJwtException e)
         {
+            verifiedClaimsCache.invalidate(digest);
+
             if (e.getMessage().contains("The JWT is no longer valid"))
             {
                 throw new ExpiredTokenException(String.format(MESSAGE_INVALID_JWT, token), e);
             }
             throw new InvalidTokenException(String.format(MESSAGE_INVALID_JWT, token), e);
         }
+
+        if (verify)
+        {
+            verifiedClaimsCache.put(digest, jwtClaims);
+        }
+
         return jwtClaims;
     }
 
+    private boolean isExpired(JwtClaims jwtClaims)
+    {
+        try
+        {
+            NumericDate expirationTime = jwtClaims.getExpirationTime();
+
+            return expirationTime != null && !NumericDate.now().isBefore(expirationTime);
+        }
+        catch (MalformedClaimException e)
+        {
+            return true;
+        }
+    }
+
     /**
      * @param token
      * @param targetSubject
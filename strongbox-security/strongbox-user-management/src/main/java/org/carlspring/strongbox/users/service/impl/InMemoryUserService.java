@@ -95,6 +95,7 @@ public class InMemoryUserService implements UserService
     }
 
     @Override
+    @CacheEvict(cacheNames = CacheName.User.USER_DETAILS, allEntries = true)
     public void revokeEveryone(final String roleToRevoke)
     {
         modifyInLock(users -> {
@@ -103,7 +104,7 @@ public class InMemoryUserService implements UserService
     }
 
     @Override
-    @CacheEvict(cacheNames = CacheName.User.AUTHENTICATIONS, key = "#p0.username")
+    @CacheEvict(cacheNames = { CacheName.User.AUTHENTICATIONS, CacheName.User.USER_DETAILS }, key = "#p0.username")
     public User save(final User user)
     {
         return modifyInLock(users -> {
@@ -49,7 +49,7 @@ public class OrientDbUserService extends CommonCrudService<UserEntry> implements
     private SecurityTokenProvider tokenProvider;
 
     @Override
-    @CacheEvict(cacheNames = CacheName.User.AUTHENTICATIONS, key = "#p0")
+    @CacheEvict(cacheNames = { CacheName.User.AUTHENTICATIONS, CacheName.User.USER_DETAILS }, key = "#p0")
     public void deleteByUsername(String username)
     {
         Map<String, String> params = new HashMap<>();
@@ -96,7 +96,7 @@ public class OrientDbUserService extends CommonCrudService<UserEntry> implements
     }
 
     @Override
-    @CacheEvict(cacheNames = CacheName.User.AUTHENTICATIONS, key = "#p0.username")
+    @CacheEvict(cacheNames = { CacheName.User.AUTHENTICATIONS, CacheName.User.USER_DETAILS }, key = "#p0.username")
     public void updateAccountDetailsByUsername(User userToUpdate)
     {
         UserEntry user = findByUsername(userToUpdate.getUsername());
@@ -131,6 +131,7 @@ public class OrientDbUserService extends CommonCrudService<UserEntry> implements
     }
 
     @Override
+    @CacheEvict(cacheNames = CacheName.User.USER_DETAILS, allEntries = true)
     public void revokeEveryone(String roleToRevoke)
     {
         Map<String, String> params = new HashMap<>();
@@ -148,7 +149,7 @@ public class OrientDbUserService extends CommonCrudService<UserEntry> implements
     }
 
     @Override
-    @CacheEvict(cacheNames = CacheName.User.AUTHENTICATIONS, key = "#p0.username")
+    @CacheEvict(cacheNames = { CacheName.User.AUTHENTICATIONS, CacheName.User.USER_DETAILS }, key = "#p0.username")
     public User save(User user)
     {
         UserEntry userEntry = Optional.ofNullable(findByUsername(user.getUsername())).orElseGet(() -> new UserEntry());
@@ -167,7 +168,7 @@ public class OrientDbUserService extends CommonCrudService<UserEntry> implements
     }
 
     @Override
-    @CacheEvict(cacheNames = CacheName.User.AUTHENTICATIONS, key = "#p0.username")
+    @CacheEvict(cacheNames = { CacheName.User.AUTHENTICATIONS, CacheName.User.USER_DETAILS }, key = "#p0.username")
     public <S extends UserEntry> S save(S entity)
     {
         if (StringUtils.isNotBlank(entity.getSourceId()))
@@ -178,6 +179,7 @@ public class OrientDbUserService extends CommonCrudService<UserEntry> implements
         return super.save(entity);
     }
 
+    @CacheEvict(cacheNames = { CacheName.User.AUTHENTICATIONS, CacheName.User.USER_DETAILS }, key = "#p0")
     public void expireUser(String username, boolean clearSourceId)
     {
         UserEntry externalUserEntry = (UserEntry) detach(findByUsername(username));
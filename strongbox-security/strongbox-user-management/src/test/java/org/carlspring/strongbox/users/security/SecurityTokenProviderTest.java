@@ -0,0 +1,76 @@
+package org.carlspring.strongbox.users.security;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import org.carlspring.strongbox.security.exceptions.ExpiredTokenException;
+import org.carlspring.strongbox.security.exceptions.InvalidTokenException;
+
+import java.util.Collections;
+import java.util.Map;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+public class SecurityTokenProviderTest
+{
+
+    private final Map<String, String> claims = Collections.singletonMap("security-token-key", "key");
+
+    private SecurityTokenProvider securityTokenProvider;
+
+    @BeforeEach
+    public void setUp()
+        throws Exception
+    {
+        securityTokenProvider = new SecurityTokenProvider();
+        securityTokenProvider.init("secret", 100, 300);
+    }
+
+    @Test
+    public void testVerifiedTokenIsCached()
+        throws Exception
+    {
+        String token = securityTokenProvider.getToken("user", claims, null, null);
+
+        securityTokenProvider.verifyToken(token, "user", claims);
+        securityTokenProvider.verifyToken(token, "user", claims);
+
+        assertEquals("user", securityTokenProvider.getSubject(token));
+
+        // The cached claims are still checked against the target ones.
+        assertThrows(InvalidTokenException.class, () -> securityTokenProvider.verifyToken(token, "other", claims));
+        assertThrows(InvalidTokenException.class,
+                     () -> securityTokenProvider.verifyToken(token, "user",
+                                                             Collections.singletonMap("security-token-key",
+                                                                                      "other")));
+    }
+
+    @Test
+    public void testTamperedTokenIsNotVerified()
+        throws Exception
+    {
+        String token = securityTokenProvider.getToken("user", claims, null, null);
+        securityTokenProvider.verifyToken(token, "user", claims);
+
+        SecurityTokenProvider otherTokenProvider = new SecurityTokenProvider();
+        otherTokenProvider.init("other-secret", 100, 300);
+        String forgedToken = otherTokenProvider.getToken("user", claims, null, null);
+
+        assertThrows(InvalidTokenException.class,
+                     () -> securityTokenProvider.verifyToken(forgedToken, "user", claims));
+    }
+
+    @Test
+    public void testExpiredTokenIsNotServedFromCache()
+        throws Exception
+    {
+        String token = securityTokenProvider.getToken("user", claims, 1, null);
+        securityTokenProvider.verifyToken(token, "user", claims);
+
+        Thread.sleep(2000);
+
+        assertThrows(ExpiredTokenException.class, () -> securityTokenProvider.verifyToken(token, "user", claims));
+    }
+
+}
@@ -16,6 +16,11 @@ public abstract class AbstractArtifactCoordinates<C extends AbstractArtifactCoor
 {
 
     private Map<String, String> coordinates = new LinkedHashMap<>();
+    /**
+     * Lower case copy of {@link #coordinates}, which is used for case insensitive searches, so that the queries don't
+     * need to apply functions to the indexed values.
+     */
+    private Map<String, String> lowerCaseCoordinates = new LinkedHashMap<>();
     /**
      * This field is used as unique OrientDB index.
      */
@@ -28,15 +33,18 @@ public abstract class AbstractArtifactCoordinates<C extends AbstractArtifactCoor
     public AbstractArtifactCoordinates(Map<String, String> coordinates)
     {
         this.coordinates = coordinates;
+        this.lowerCaseCoordinates = toLowerCase(coordinates);
         this.path = toPath();
     }
     
     protected final void resetCoordinates(String... coordinates)
     {
         this.coordinates.clear();
+        this.lowerCaseCoordinates.clear();
         for (String coordinate : coordinates)
         {
             this.coordinates.put(coordinate, null);
+            this.lowerCaseCoordinates.put(coordinate, null);
         }
         
         this.path = null;
@@ -53,6 +61,7 @@ public abstract class AbstractArtifactCoordinates<C extends AbstractArtifactCoor
     protected final void defineCoordinate(String coordinate)
     {
         coordinates.put(coordinate, null);
+        lowerCaseCoordinates.put(coordinate, null);
         this.path = toPath();
     }
 
@@ -65,6 +74,7 @@ public abstract class AbstractArtifactCoordinates<C extends AbstractArtifactCoor
                                 String value)
     {
         String result = coordinates.put(coordinate, value);
+        lowerCaseCoordinates.put(coordinate, toLowerCase(value));
         this.path = toPath();
         return result;
     }
@@ -77,8 +87,35 @@ public abstract class AbstractArtifactCoordinates<C extends AbstractArtifactCoor
     protected final void setCoordinates(Map<String, String> coordinates)
     {
         this.coordinates = coordinates;
+        this.lowerCaseCoordinates = toLowerCase(coordinates);
         this.path = toPath();
     }
+
+    public Map<String, String> getLowerCaseCoordinates()
+    {
+        return new LinkedHashMap<>(lowerCaseCoordinates);
+    }
+
+    public static Map<String, String> toLowerCase(Map<String, String> coordinates)
+    {
+        Map<String, String> result = new LinkedHashMap<>();
+        if (coordinates == null)
+        {
+            return result;
+        }
+
+        for (Map.Entry<String, String> coordinateEntry : coordinates.entrySet())
+        {
+            result.put(coordinateEntry.getKey(), toLowerCase(coordinateEntry.getValue()));
+        }
+
+        return result;
+    }
+
+    private static String toLowerCase(String value)
+    {
+        return value == null ? null : value.toLowerCase();
+    }
     
     public String getPath()
     {
@@ -35,4 +35,13 @@ public @interface ArtifactCoordinatesLayout
      */
     String alias() default "";
 
+    /**
+     * The id of the coordinates class within the serialized artifact entries. It's a part of the serialized format,
+     * so it must be unique and never be reused for another layout. The coordinates without the id are serialized with
+     * their class names.
+     * 
+     * @return
+     */
+    int registrationId() default -1;
+
 }
@@ -23,6 +23,8 @@ public class ArtifactLayoutDescription
 
     private Class<? extends ArtifactCoordinates> artifactCoordinatesClass;
 
+    private int registrationId = -1;
+
     private Set<String> artifactCoordinates = new HashSet<>();
 
     public String getLayoutName()
@@ -55,6 +57,19 @@ public class ArtifactLayoutDescription
         this.artifactCoordinatesClass = artifactCoordinatesClass;
     }
 
+    /**
+     * @return the id of the coordinates class within the serialized artifact entries, or -1 if it has none
+     */
+    public int getRegistrationId()
+    {
+        return registrationId;
+    }
+
+    public void setRegistrationId(int registrationId)
+    {
+        this.registrationId = registrationId;
+    }
+
     public Set<String> getArtifactCoordinates()
     {
         return Collections.unmodifiableSet(artifactCoordinates);
@@ -89,6 +104,7 @@ public class ArtifactLayoutDescription
         ArtifactLayoutDescription result = new ArtifactLayoutDescription();
 
         result.setArtifactCoordinatesClass(c);
+        result.setRegistrationId(a.registrationId());
 
         String layoutName;
         if (!(layoutName = a.value()).isEmpty())
@@ -2,16 +2,44 @@ package org.carlspring.strongbox.artifact.locator;
 
 import org.carlspring.strongbox.artifact.locator.handlers.ArtifactDirectoryOperation;
 import org.carlspring.strongbox.providers.io.RepositoryPath;
+import org.carlspring.strongbox.util.TaskExecutionContext;
+import org.carlspring.strongbox.util.TaskExecutionContextHolder;
 
 import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
 import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 /**
+ * Walks the directory tree from the {@link #getStartingPath()} and executes the {@link ArtifactDirectoryOperation} on
+ * every directory.
+ * <p>
+ * The tree is walked by a {@link ForkJoinPool}, shared by all the walks, one task per directory, so the work is
+ * stolen across the artifact subtrees and only one directory level per task is kept in memory. The operations which
+ * are not {@link ArtifactDirectoryOperation#isThreadSafe() thread-safe} (and all the operations, with the parallelism
+ * of `1`) are executed on the calling thread instead, in the natural order of the tree. The ordering guarantees
+ * are:
+ * <ul>
+ * <li>a directory is always processed before its subdirectories</li>
+ * <li>the subdirectories of a directory are processed sequentially, in the natural order, by the same thread (so,
+ * for example, all the version directories of an artifact are processed one after another)</li>
+ * </ul>
+ * The subtrees up to {@link #CHECKPOINT_DEPTH} are marked as completed within the current
+ * {@link TaskExecutionContext}, so that an interrupted execution can skip them when resumed.
+ *
  * @author mtodorov
  */
 public class ArtifactDirectoryLocator
@@ -19,6 +47,23 @@ public class ArtifactDirectoryLocator
 
     private static final Logger logger = LoggerFactory.getLogger(ArtifactDirectoryLocator.class);
 
+    /**
+     * The number of threads of the shared pool, which can be overridden with the `strongbox.locator.parallelism`
+     * system property.
+     */
+    public static final int DEFAULT_PARALLELISM = Integer.getInteger("strongbox.locator.parallelism",
+                                                                     Runtime.getRuntime().availableProcessors());
+
+    private static final ForkJoinPool POOL = new ForkJoinPool(Math.max(1, DEFAULT_PARALLELISM),
+                                                              ArtifactDirectoryLocator::newWorkerThread,
+                                                              null,
+                                                              false);
+
+    /**
+     * The subtrees (relative to the starting path) up to this depth are checkpointed once completed.
+     */
+    static final int CHECKPOINT_DEPTH = 3;
+
     private ArtifactDirectoryOperation operation;
 
     /**
@@ -27,6 +72,8 @@ public class ArtifactDirectoryLocator
      */
     private RepositoryPath basedir;
 
+    private int parallelism = DEFAULT_PARALLELISM;
+
     public void locateArtifactDirectories()
         throws IOException
     {
@@ -34,22 +81,60 @@ public class ArtifactDirectoryLocator
 
         RepositoryPath startingPath = getStartingPath();
 
-        try (Stream<Path> pathStream = Files.walk(startingPath))
+        TaskExecutionContext context = TaskExecutionContextHolder.get();
+        WalkStatistics statistics = new WalkStatistics();
+        Walk walk = new Walk(startingPath, context, statistics);
+        if (walk.isCompleted(startingPath))
         {
-            pathStream.filter(Files::isDirectory)
-                      // Skip directories which start with a dot (like, for example: .index)
-                      .filter(path -> !path.getFileName().toString().startsWith("."))
-                      // Note: Sorting can be expensive:
-                      .sorted()
-                      .forEach(this::execute);
+            logger.debug("Skip [{}], it was already processed.", walk.scope(startingPath));
+
+            return;
         }
 
-        long endTime = System.currentTimeMillis();
+        boolean parallel = parallelism > 1 && getOperation().isThreadSafe();
+        try
+        {
+            context.addTotal(1);
+            walk.execute(startingPath);
 
-        logger.debug("Executed (cache: {}) visits in {} ms.",
-                     -operation.getVisitedRootPaths().size(), (endTime - startTime));
+            if (parallel)
+            {
+                POOL.invoke(new DirectoryWalkTask(walk, startingPath, 0));
+            }
+            else
+            {
+                walk.walk(startingPath, 0);
+            }
+        }
+        catch (UncheckedIOException e)
+        {
+            throw e.getCause();
+        }
+        finally
+        {
+            getOperation().getVisitedRootPaths().clear();
+        }
+
+        if (!context.isCancelled())
+        {
+            context.complete(walk.scope(startingPath));
+        }
 
-        getOperation().getVisitedRootPaths().clear();
+        logger.info("Visited [{}] directories of [{}] in [{}] ms (listing: [{}] ms, operation: [{}] ms, threads: [{}]).",
+                    statistics.directories.sum(),
+                    walk.scope(startingPath),
+                    System.currentTimeMillis() - startTime,
+                    TimeUnit.NANOSECONDS.toMillis(statistics.listingNanos.sum()),
+                    TimeUnit.NANOSECONDS.toMillis(statistics.operationNanos.sum()),
+                    parallel ? POOL.getParallelism() : 1);
+    }
+
+    private static ForkJoinWorkerThread newWorkerThread(ForkJoinPool pool)
+    {
+        ForkJoinWorkerThread thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(pool);
+        thread.setName("strongbox-locator-" + thread.getPoolIndex());
+
+        return thread;
     }
 
     public RepositoryPath getStartingPath()
@@ -88,6 +173,20 @@ public class ArtifactDirectoryLocator
         this.basedir = basedir;
     }
 
+    public int getParallelism()
+    {
+        return parallelism;
+    }
+
+    /**
+     * @param parallelism `1` processes the whole tree sequentially in the natural order, on the calling thread, any
+     *                    other value walks the thread-safe operations with the shared pool
+     */
+    public void setParallelism(int parallelism)
+    {
+        this.parallelism = parallelism;
+    }
+
     void execute(Path path)
     {
         try
@@ -99,5 +198,210 @@ public class ArtifactDirectoryLocator
             logger.error("Failed to execute operation [{}]", operation.getClass().getSimpleName(), e);
         }
     }
-    
+
+    private static class WalkStatistics
+    {
+
+        private final LongAdder directories = new LongAdder();
+
+        private final LongAdder listingNanos = new LongAdder();
+
+        private final LongAdder operationNanos = new LongAdder();
+
+    }
+
+    /**
+     * The state shared by all the {@link DirectoryWalkTask}s of a single walk.
+     */
+    private class Walk
+    {
+
+        private final RepositoryPath startingPath;
+
+        private final TaskExecutionContext context;
+
+        private final WalkStatistics statistics;
+
+        private final String scopePrefix;
+
+        private Walk(RepositoryPath startingPath,
+                     TaskExecutionContext context,
+                     WalkStatistics statistics)
+        {
+            this.startingPath = startingPath;
+            this.context = context;
+            this.statistics = statistics;
+            this.scopePrefix = String.format("%s:%s:",
+                                             startingPath.getRepository().getStorage().getId(),
+                                             startingPath.getRepository().getId());
+        }
+
+        private String scope(RepositoryPath path)
+        {
+            return scopePrefix + path.relativize();
+        }
+
+        private boolean isCompleted(RepositoryPath path)
+        {
+            return context.isCompleted(scope(path));
+        }
+
+        private List<RepositoryPath> listDirectories(RepositoryPath directory)
+        {
+            long start = System.nanoTime();
+            try (Stream<Path> pathStream = Files.list(directory))
+            {
+                return pathStream.filter(Files::isDirectory)
+                                 // Skip directories which start with a dot (like, for example: .index)
+                                 .filter(path -> !path.getFileName().toString().startsWith("."))
+                                 .map(RepositoryPath.class::cast)
+                                 .sorted()
+                                 .collect(Collectors.toList());
+            }
+            catch (NoSuchFileException e)
+            {
+                // The directory could have been removed by the operation.
+                return new ArrayList<>();
+            }
+            catch (IOException e)
+            {
+                throw new UncheckedIOException(e);
+            }
+            finally
+            {
+                statistics.listingNanos.add(System.nanoTime() - start);
+            }
+        }
+
+        /**
+         * Executes the operation on the subdirectories of the directory.
+         *
+         * @return the subdirectories to descend into, or `null` if the walk was cancelled
+         */
+        private List<RepositoryPath> process(RepositoryPath directory,
+                                             int depth)
+        {
+            List<RepositoryPath> directories = listDirectories(directory);
+            if (depth < CHECKPOINT_DEPTH)
+            {
+                directories.removeIf(this::isCompleted);
+            }
+            context.addTotal(directories.size());
+
+            for (RepositoryPath subdirectory : directories)
+            {
+                if (context.isCancelled())
+                {
+                    logger.info("Cancelled [{}] at [{}].", scope(startingPath), subdirectory);
+
+                    return null;
+                }
+
+                execute(subdirectory);
+            }
+            // All the subdirectories were processed, so the directory entries are not needed anymore.
+            getOperation().getVisitedRootPaths().remove(directory);
+
+            return directories;
+        }
+
+        private void completed(RepositoryPath directory,
+                               int depth)
+        {
+            if (depth > 0 && depth <= CHECKPOINT_DEPTH && !context.isCancelled())
+            {
+                context.complete(scope(directory));
+            }
+        }
+
+        /**
+         * Walks the subtree on the current thread.
+         */
+        private void walk(RepositoryPath directory,
+                          int depth)
+        {
+            List<RepositoryPath> directories = process(directory, depth);
+            if (directories == null)
+            {
+                return;
+            }
+
+            for (RepositoryPath subdirectory : directories)
+            {
+                walk(subdirectory, depth + 1);
+            }
+
+            completed(directory, depth);
+        }
+
+        private void execute(RepositoryPath directory)
+        {
+            long start = System.nanoTime();
+            ArtifactDirectoryLocator.this.execute(directory);
+            statistics.operationNanos.add(System.nanoTime() - start);
+            statistics.directories.increment();
+
+            context.addDone(1);
+            context.throttle(0, 1);
+        }
+
+    }
+
+    /**
+     * Executes the operation on the subdirectories of the {@link #directory}, and then forks a task per subdirectory.
+     */
+    private class DirectoryWalkTask
+            extends RecursiveAction
+    {
+
+        private final Walk walk;
+
+        private final RepositoryPath directory;
+
+        private final int depth;
+
+        private DirectoryWalkTask(Walk walk,
+                                  RepositoryPath directory,
+                                  int depth)
+        {
+            this.walk = walk;
+            this.directory = directory;
+            this.depth = depth;
+        }
+
+        @Override
+        protected void compute()
+        {
+            // The pool is shared by the walks, so the context is bound only while the task runs.
+            TaskExecutionContext previous = TaskExecutionContextHolder.get();
+            TaskExecutionContextHolder.set(walk.context);
+            try
+            {
+                List<RepositoryPath> directories = walk.process(directory, depth);
+                if (directories == null)
+                {
+                    return;
+                }
+
+                invokeAll(directories.stream()
+                                     .map(d -> new DirectoryWalkTask(walk, d, depth + 1))
+                                     .collect(Collectors.toList()));
+
+                walk.completed(directory, depth);
+            }
+            finally
+            {
+                if (previous == TaskExecutionContext.NOOP)
+                {
+                    TaskExecutionContextHolder.clear();
+                }
+                else
+                {
+                    TaskExecutionContextHolder.set(previous);
+                }
+            }
+        }
+
+    }
+
 }
@@ -1,8 +1,8 @@
 package org.carlspring.strongbox.artifact.locator.handlers;
 
 import java.io.IOException;
-import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 
 import org.carlspring.strongbox.providers.io.RepositoryPath;
 
@@ -21,7 +21,23 @@ public interface ArtifactDirectoryOperation
      */
     void execute(RepositoryPath directoryPath) throws IOException;
 
-    LinkedHashMap<RepositoryPath, List<RepositoryPath>> getVisitedRootPaths();
+    /**
+     * The visited paths, keyed by their parent directory. The entries of a directory are evicted by the
+     * {@link org.carlspring.strongbox.artifact.locator.ArtifactDirectoryLocator} once all its subdirectories were
+     * processed.
+     * <p>
+     * The operation may be executed concurrently for different subtrees, so the map must be thread-safe.
+     */
+    Map<RepositoryPath, List<RepositoryPath>> getVisitedRootPaths();
+
+    /**
+     * Whether the operation may be executed concurrently for different subtrees. The operations which are not
+     * thread-safe are executed on a single thread, in the natural order of the tree.
+     */
+    default boolean isThreadSafe()
+    {
+        return false;
+    }
 
     RepositoryPath getBasePath();
     
@@ -3,6 +3,8 @@ package org.carlspring.strongbox.artifact.locator.handlers;
 import org.carlspring.strongbox.providers.io.RepositoryFiles;
 import org.carlspring.strongbox.providers.io.RepositoryPath;
 import org.carlspring.strongbox.providers.layout.LayoutFileSystemProvider;
+import org.carlspring.strongbox.util.TaskExecutionContext;
+import org.carlspring.strongbox.util.TaskExecutionContextHolder;
 
 import java.io.IOException;
 import java.nio.file.Files;
@@ -22,8 +24,6 @@ public class ArtifactLocationGenerateChecksumOperation
 
     private static final Logger logger = LoggerFactory.getLogger(ArtifactLocationGenerateChecksumOperation.class);
 
-    private Path previousPath;
-
     private boolean forceRegeneration = false;
 
     public void execute(RepositoryPath path)
@@ -69,22 +69,34 @@ public class ArtifactLocationGenerateChecksumOperation
             System.out.println(parentPath);
         }
 
-        // The current directory is out of the tree
-        if (previousPath != null && !parentPath.startsWith(previousPath))
+        RepositoryPath basePath = parentPath;
+        LayoutFileSystemProvider provider = (LayoutFileSystemProvider) basePath.getFileSystem()
+                                                                                                   .provider();
+        provider.storeChecksum(basePath, forceRegeneration);
+
+        TaskExecutionContext context = TaskExecutionContextHolder.get();
+        if (context != TaskExecutionContext.NOOP)
         {
-            getVisitedRootPaths().remove(previousPath);
-            previousPath = parentPath;
+            context.throttle(calculateSize(basePath), 0);
         }
+    }
 
-        if (previousPath == null)
+    /**
+     * The checksums of every directory are stored independently, so the subtrees can be processed concurrently.
+     */
+    @Override
+    public boolean isThreadSafe()
+    {
+        return true;
+    }
+
+    private long calculateSize(RepositoryPath path)
+        throws IOException
+    {
+        try (Stream<Path> pathStream = Files.list(path))
         {
-            previousPath = parentPath;
+            return pathStream.filter(Files::isRegularFile).mapToLong(p -> p.toFile().length()).sum();
         }
-
-        RepositoryPath basePath = parentPath;
-        LayoutFileSystemProvider provider = (LayoutFileSystemProvider) basePath.getFileSystem()
-                                                                                                   .provider();
-        provider.storeChecksum(basePath, forceRegeneration);
     }
 
     public boolean getForceRegeneration()
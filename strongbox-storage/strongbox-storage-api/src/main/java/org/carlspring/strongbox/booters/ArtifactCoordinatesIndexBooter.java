@@ -0,0 +1,116 @@
+package org.carlspring.strongbox.booters;
+
+import org.carlspring.strongbox.artifact.coordinates.AbstractArtifactCoordinates;
+
+import javax.annotation.PostConstruct;
+import javax.inject.Inject;
+import java.util.Map;
+
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.core.ILock;
+import com.orientechnologies.orient.core.db.ODatabasePool;
+import com.orientechnologies.orient.core.db.ODatabaseSession;
+import com.orientechnologies.orient.core.metadata.schema.OClass;
+import com.orientechnologies.orient.core.metadata.schema.OType;
+import com.orientechnologies.orient.core.record.impl.ODocument;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Makes sure that the {@link AbstractArtifactCoordinates} lower case coordinates are in place for existing databases:
+ * creates the `lowerCaseCoordinates` property together with its index and populates it for the records which were
+ * stored before the property was introduced.
+ */
+public class ArtifactCoordinatesIndexBooter
+{
+
+    private static final Logger logger = LoggerFactory.getLogger(ArtifactCoordinatesIndexBooter.class);
+
+    public static final String PROPERTY_LOWER_CASE_COORDINATES = "lowerCaseCoordinates";
+
+    public static final String INDEX_LOWER_CASE_COORDINATES = "idx_artifact_coordinates_lower_case";
+
+    private static final int BATCH_SIZE = 1000;
+
+    @Inject
+    private ODatabasePool databasePool;
+
+    @Inject
+    private HazelcastInstance hazelcastInstance;
+
+    @PostConstruct
+    public void initialize()
+    {
+        ILock lock = hazelcastInstance.getLock("ArtifactCoordinatesIndexBooterLock");
+        if (!lock.tryLock())
+        {
+            logger.debug("Skip artifact coordinates index upgrade. Another JVM may have already done this.");
+            return;
+        }
+
+        try (ODatabaseSession db = databasePool.acquire())
+        {
+            OClass oClass = db.getMetadata().getSchema().getClass(AbstractArtifactCoordinates.class.getSimpleName());
+            if (oClass == null)
+            {
+                return;
+            }
+
+            createSchema(oClass);
+            long count = populateLowerCaseCoordinates(db);
+            if (count > 0)
+            {
+                logger.info("Populated [{}] lower case coordinates for existing artifacts.", count);
+            }
+        }
+        finally
+        {
+            lock.unlock();
+        }
+    }
+
+    private void createSchema(OClass oClass)
+    {
+        if (!oClass.existsProperty(PROPERTY_LOWER_CASE_COORDINATES))
+        {
+            logger.info("Creating [{}.{}] property.", oClass.getName(), PROPERTY_LOWER_CASE_COORDINATES);
+            oClass.createProperty(PROPERTY_LOWER_CASE_COORDINATES, OType.EMBEDDEDMAP, OType.STRING);
+        }
+
+        if (oClass.getClassIndex(INDEX_LOWER_CASE_COORDINATES) == null)
+        {
+            logger.info("Creating [{}] index.", INDEX_LOWER_CASE_COORDINATES);
+            oClass.createIndex(INDEX_LOWER_CASE_COORDINATES,
+                               OClass.INDEX_TYPE.NOTUNIQUE_HASH_INDEX.toString(),
+                               String.format("%s by value", PROPERTY_LOWER_CASE_COORDINATES));
+        }
+    }
+
+    private long populateLowerCaseCoordinates(ODatabaseSession db)
+    {
+        long result = 0;
+
+        db.begin();
+        for (ODocument document : db.browseClass(AbstractArtifactCoordinates.class.getSimpleName()))
+        {
+            if (document.field(PROPERTY_LOWER_CASE_COORDINATES) != null)
+            {
+                continue;
+            }
+
+            Map<String, String> coordinates = document.field("coordinates");
+            document.field(PROPERTY_LOWER_CASE_COORDINATES, AbstractArtifactCoordinates.toLowerCase(coordinates));
+            document.save();
+
+            if (++result % BATCH_SIZE == 0)
+            {
+                db.commit();
+                db.begin();
+            }
+        }
+        db.commit();
+
+        return result;
+    }
+
+}
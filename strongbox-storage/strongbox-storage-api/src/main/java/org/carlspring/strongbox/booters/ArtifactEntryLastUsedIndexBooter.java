@@ -0,0 +1,78 @@
+package org.carlspring.strongbox.booters;
+
+import org.carlspring.strongbox.domain.ArtifactEntry;
+
+import javax.annotation.PostConstruct;
+import javax.inject.Inject;
+
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.core.ILock;
+import com.orientechnologies.orient.core.db.ODatabasePool;
+import com.orientechnologies.orient.core.db.ODatabaseSession;
+import com.orientechnologies.orient.core.metadata.schema.OClass;
+import com.orientechnologies.orient.core.metadata.schema.OType;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Makes sure that the {@link ArtifactEntry} index, which is used to evict the least recently used artifacts of the
+ * proxy repositories, is in place for existing databases.
+ */
+public class ArtifactEntryLastUsedIndexBooter
+{
+
+    private static final Logger logger = LoggerFactory.getLogger(ArtifactEntryLastUsedIndexBooter.class);
+
+    public static final String INDEX_LAST_USED = "idx_artifact_entry_last_used";
+
+    @Inject
+    private ODatabasePool databasePool;
+
+    @Inject
+    private HazelcastInstance hazelcastInstance;
+
+    @PostConstruct
+    public void initialize()
+    {
+        ILock lock = hazelcastInstance.getLock("ArtifactEntryLastUsedIndexBooterLock");
+        if (!lock.tryLock())
+        {
+            logger.debug("Skip artifact entry last used index upgrade. Another JVM may have already done this.");
+            return;
+        }
+
+        try (ODatabaseSession db = databasePool.acquire())
+        {
+            OClass oClass = db.getMetadata().getSchema().getClass(ArtifactEntry.class.getSimpleName());
+            if (oClass == null || oClass.getClassIndex(INDEX_LAST_USED) != null)
+            {
+                return;
+            }
+
+            createProperty(oClass, "storageId", OType.STRING);
+            createProperty(oClass, "repositoryId", OType.STRING);
+            createProperty(oClass, "lastUsed", OType.DATETIME);
+
+            logger.info("Creating [{}] index.", INDEX_LAST_USED);
+            oClass.createIndex(INDEX_LAST_USED,
+                               OClass.INDEX_TYPE.NOTUNIQUE.toString(),
+                               "storageId", "repositoryId", "lastUsed");
+        }
+        finally
+        {
+            lock.unlock();
+        }
+    }
+
+    private void createProperty(OClass oClass,
+                                String name,
+                                OType type)
+    {
+        if (!oClass.existsProperty(name))
+        {
+            logger.info("Creating [{}.{}] property.", oClass.getName(), name);
+            oClass.createProperty(name, type);
+        }
+    }
+
+}
@@ -0,0 +1,117 @@
+package org.carlspring.strongbox.booters;
+
+import org.carlspring.strongbox.domain.RepositoryArtifactIdGroupEntry;
+
+import javax.annotation.PostConstruct;
+import javax.inject.Inject;
+import java.util.Date;
+
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.core.ILock;
+import com.orientechnologies.orient.core.db.ODatabasePool;
+import com.orientechnologies.orient.core.db.ODatabaseSession;
+import com.orientechnologies.orient.core.metadata.schema.OClass;
+import com.orientechnologies.orient.core.metadata.schema.OType;
+import com.orientechnologies.orient.core.record.impl.ODocument;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Makes sure that the {@link RepositoryArtifactIdGroupEntry} index, which is used to find the groups modified since the
+ * last incremental indexing, is in place for existing databases.
+ * <p>
+ * The groups created before are stamped with the upgrade time, so that they are indexed once more.
+ */
+public class RepositoryArtifactIdGroupLastUpdatedIndexBooter
+{
+
+    private static final Logger logger = LoggerFactory.getLogger(RepositoryArtifactIdGroupLastUpdatedIndexBooter.class);
+
+    public static final String INDEX_LAST_UPDATED = "idx_repository_artifact_id_group_last_updated";
+
+    private static final int BATCH_SIZE = 1000;
+
+    @Inject
+    private ODatabasePool databasePool;
+
+    @Inject
+    private HazelcastInstance hazelcastInstance;
+
+    @PostConstruct
+    public void initialize()
+    {
+        ILock lock = hazelcastInstance.getLock("RepositoryArtifactIdGroupLastUpdatedIndexBooterLock");
+        if (!lock.tryLock())
+        {
+            logger.debug("Skip artifact group last updated index upgrade. Another JVM may have already done this.");
+            return;
+        }
+
+        try (ODatabaseSession db = databasePool.acquire())
+        {
+            OClass oClass = db.getMetadata().getSchema().getClass(RepositoryArtifactIdGroupEntry.class.getSimpleName());
+            if (oClass == null || oClass.getClassIndex(INDEX_LAST_UPDATED) != null)
+            {
+                return;
+            }
+
+            createProperty(oClass, "storageId", OType.STRING);
+            createProperty(oClass, "repositoryId", OType.STRING);
+            createProperty(oClass, "lastUpdated", OType.DATETIME);
+
+            long count = populateLastUpdated(db);
+            if (count > 0)
+            {
+                logger.info("Populated [{}] last updated dates for existing artifact groups.", count);
+            }
+
+            logger.info("Creating [{}] index.", INDEX_LAST_UPDATED);
+            oClass.createIndex(INDEX_LAST_UPDATED,
+                               OClass.INDEX_TYPE.NOTUNIQUE.toString(),
+                               "storageId", "repositoryId", "lastUpdated");
+        }
+        finally
+        {
+            lock.unlock();
+        }
+    }
+
+    private void createProperty(OClass oClass,
+                                String name,
+                                OType type)
+    {
+        if (!oClass.existsProperty(name))
+        {
+            logger.info("Creating [{}.{}] property.", oClass.getName(), name);
+            oClass.createProperty(name, type);
+        }
+    }
+
+    private long populateLastUpdated(ODatabaseSession db)
+    {
+        long result = 0;
+        Date now = new Date();
+
+        db.begin();
+        for (ODocument document : db.browseClass(RepositoryArtifactIdGroupEntry.class.getSimpleName()))
+        {
+            if (document.field("lastUpdated") != null)
+            {
+                continue;
+            }
+
+            document.field("lastUpdated", now);
+            document.save();
+
+            if (++result % BATCH_SIZE == 0)
+            {
+                db.commit();
+                db.begin();
+            }
+        }
+        db.commit();
+
+        return result;
+    }
+
+}
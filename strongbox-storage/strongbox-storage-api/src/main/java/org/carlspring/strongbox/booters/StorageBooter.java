@@ -11,17 +11,27 @@ import org.carlspring.strongbox.services.RepositoryManagementService;
 import org.carlspring.strongbox.storage.Storage;
 import org.carlspring.strongbox.storage.repository.Repository;
 import org.carlspring.strongbox.storage.repository.RepositoryStatusEnum;
+import org.carlspring.strongbox.yaml.BatchedStore;
 
 import javax.annotation.PostConstruct;
 import javax.inject.Inject;
 import java.io.IOException;
+import java.lang.reflect.UndeclaredThrowableException;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
-import org.carlspring.strongbox.util.ThrowingConsumer;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
 
 /**
  * @author mtodorov
@@ -49,10 +59,36 @@ public class StorageBooter
     @Inject
     private HazelcastInstance hazelcastInstance;
 
+    /**
+     * The configuration management and the cron tasks services.
+     */
+    @Inject
+    private List<BatchedStore> batchedStores;
+
+    @Value("${strongbox.storage.booter.parallelism:4}")
+    private int parallelism;
+
     public StorageBooter()
     {
     }
 
+    StorageBooter(ConfigurationManager configurationManager,
+                  LayoutProviderRegistry layoutProviderRegistry,
+                  RepositoryManagementService repositoryManagementService,
+                  GroupRepositorySetCollector groupRepositorySetCollector,
+                  HazelcastInstance hazelcastInstance,
+                  List<BatchedStore> batchedStores,
+                  int parallelism)
+    {
+        this.configurationManager = configurationManager;
+        this.layoutProviderRegistry = layoutProviderRegistry;
+        this.repositoryManagementService = repositoryManagementService;
+        this.groupRepositorySetCollector = groupRepositorySetCollector;
+        this.hazelcastInstance = hazelcastInstance;
+        this.batchedStores = batchedStores;
+        this.parallelism = parallelism;
+    }
+
     @PostConstruct
     public void initialize()
             throws IOException, RepositoryManagementStrategyException
@@ -67,14 +103,14 @@ public class StorageBooter
 
                 initializeStorages(configuration.getStorages());
 
-                Collection<Repository> repositories = getRepositoriesHierarchy(configuration.getStorages());
+                Map<String, Repository> repositories = getRepositoriesHierarchy(configuration.getStorages());
 
                 if (!repositories.isEmpty())
                 {
                     logger.info(" -> Initializing repositories...");
                 }
 
-                repositories.forEach(ThrowingConsumer.unchecked(this::initializeRepository));
+                initializeRepositories(repositories);
             }
             finally
             {
@@ -107,6 +143,125 @@ public class StorageBooter
         logger.info("  * Initializing {}...", storage.getId());
     }
 
+    /**
+     * Initializes the repositories on a bounded pool, every group repository after all of its members. The
+     * configuration files are stored once, after all the repositories were initialized.
+     */
+    private void initializeRepositories(final Map<String, Repository> repositories)
+            throws IOException, RepositoryManagementStrategyException
+    {
+        final long startTime = System.currentTimeMillis();
+
+        final ExecutorService executor = Executors.newFixedThreadPool(Math.max(1, parallelism), r -> {
+            Thread thread = new Thread(r, "storage-booter");
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        batchedStores.forEach(BatchedStore::beginBatch);
+        try
+        {
+            final Map<String, CompletableFuture<Void>> initializations = new LinkedHashMap<>();
+            for (final Map.Entry<String, Repository> entry : repositories.entrySet())
+            {
+                final Repository repository = entry.getValue();
+                final CompletableFuture<?>[] members = getMembers(repository)
+                        .stream()
+                        .map(member -> initializations.get(member.getStorageIdAndRepositoryId()))
+                        .filter(Objects::nonNull)
+                        .toArray(CompletableFuture[]::new);
+
+                initializations.put(entry.getKey(),
+                                    CompletableFuture.allOf(members).thenRunAsync(() -> {
+                                        try
+                                        {
+                                            initializeRepository(repository);
+                                        }
+                                        catch (IOException | RepositoryManagementStrategyException e)
+                                        {
+                                            throw new CompletionException(e);
+                                        }
+                                    }, executor));
+            }
+
+            awaitAll(initializations.values());
+        }
+        finally
+        {
+            executor.shutdownNow();
+            endBatches();
+        }
+
+        logger.info(" -> Initialized [{}] repositories in [{}] ms.", repositories.size(),
+                    System.currentTimeMillis() - startTime);
+    }
+
+    /**
+     * Every batch has to be closed, otherwise its service would never store its file again.
+     */
+    private void endBatches()
+            throws IOException
+    {
+        IOException failure = null;
+        for (BatchedStore batchedStore : batchedStores)
+        {
+            try
+            {
+                batchedStore.endBatch();
+            }
+            catch (IOException e)
+            {
+                if (failure == null)
+                {
+                    failure = e;
+                }
+                else
+                {
+                    failure.addSuppressed(e);
+                }
+            }
+        }
+
+        if (failure != null)
+        {
+            throw failure;
+        }
+    }
+
+    private void awaitAll(final Collection<CompletableFuture<Void>> initializations)
+            throws IOException, RepositoryManagementStrategyException
+    {
+        Throwable failure = null;
+        for (final CompletableFuture<Void> initialization : initializations)
+        {
+            try
+            {
+                initialization.join();
+            }
+            catch (CompletionException e)
+            {
+                failure = failure == null ? e.getCause() : failure;
+            }
+        }
+
+        if (failure instanceof IOException)
+        {
+            throw (IOException) failure;
+        }
+        if (failure instanceof RepositoryManagementStrategyException)
+        {
+            throw (RepositoryManagementStrategyException) failure;
+        }
+        if (failure instanceof RuntimeException)
+        {
+            throw (RuntimeException) failure;
+        }
+        if (failure != null)
+        {
+            throw new UndeclaredThrowableException(failure);
+        }
+    }
+
     private void initializeRepository(Repository repository)
             throws IOException, RepositoryManagementStrategyException
     {
@@ -120,15 +275,23 @@ public class StorageBooter
             return;
         }
 
+        final long startTime = System.currentTimeMillis();
+
         repositoryManagementService.createRepository(repository.getStorage().getId(), repository.getId());
 
         if (RepositoryStatusEnum.IN_SERVICE.getStatus().equals(repository.getStatus()))
         {
             repositoryManagementService.putInService(repository.getStorage().getId(), repository.getId());
         }
+
+        logger.info("  * Initialized {}:{} in [{}] ms.", repository.getStorage().getId(), repository.getId(),
+                    System.currentTimeMillis() - startTime);
     }
 
-    private Collection<Repository> getRepositoriesHierarchy(final Map<String, Storage> storages)
+    /**
+     * @return the repositories, ordered so that every group repository follows all of its members
+     */
+    private Map<String, Repository> getRepositoriesHierarchy(final Map<String, Storage> storages)
     {
         final Map<String, Repository> repositoriesHierarchy = new LinkedHashMap<>();
         for (final Storage storage : storages.values())
@@ -139,23 +302,31 @@ public class StorageBooter
             }
         }
 
-        return repositoriesHierarchy.values();
+        return repositoriesHierarchy;
     }
 
     private void addRepositoriesByChildrenFirst(final Map<String, Repository> repositoriesHierarchy,
                                                 final Repository repository)
     {
-        if (!repository.isGroupRepository())
+        if (repositoriesHierarchy.containsKey(repository.getStorageIdAndRepositoryId()))
         {
-            repositoriesHierarchy.putIfAbsent(repository.getId(), repository);
-
             return;
         }
 
-        groupRepositorySetCollector.collect(repository, true)
-                                   .stream().forEach(r -> addRepositoriesByChildrenFirst(repositoriesHierarchy, r));
+        getMembers(repository).forEach(r -> addRepositoriesByChildrenFirst(repositoriesHierarchy, r));
+
+        repositoriesHierarchy.putIfAbsent(repository.getStorageIdAndRepositoryId(), repository);
+    }
+
+    private Set<Repository> getMembers(final Repository repository)
+    {
+        if (!repository.isGroupRepository())
+        {
+            return Collections.emptySet();
+        }
 
-        repositoriesHierarchy.putIfAbsent(repository.getId(), repository);
+        // The nested group repositories are members too, so that they are initialized before the enclosing ones.
+        return groupRepositorySetCollector.collect(repository);
     }
 
     public RepositoryManagementService getRepositoryManagementService()
@@ -1,6 +1,10 @@
 package org.carlspring.strongbox.config;
 
+import org.carlspring.strongbox.booters.ArtifactCoordinatesIndexBooter;
+import org.carlspring.strongbox.booters.ArtifactEntryLastUsedIndexBooter;
+import org.carlspring.strongbox.booters.RepositoryArtifactIdGroupLastUpdatedIndexBooter;
 import org.carlspring.strongbox.booters.StorageBooter;
+import org.carlspring.strongbox.data.CacheName;
 import org.carlspring.strongbox.storage.checksum.ChecksumCacheManager;
 import org.carlspring.strongbox.storage.validation.ArtifactCoordinatesValidator;
 
@@ -8,12 +12,15 @@ import javax.inject.Inject;
 import java.util.LinkedHashSet;
 import java.util.List;
 
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.ComponentScan;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.DependsOn;
 import org.springframework.scheduling.annotation.EnableAsync;
 
+import com.hazelcast.core.HazelcastInstance;
+
 @Configuration
 @ComponentScan({ "org.carlspring.strongbox.artifact",
                  "org.carlspring.strongbox.configuration",
@@ -33,10 +40,28 @@ public class StorageApiConfig
     @Inject
     private List<ArtifactCoordinatesValidator> versionValidators;
 
+    @Inject
+    private HazelcastInstance hazelcastInstance;
+
+    /**
+     * The pending checksums are shared by the cluster nodes, so that a checksum deployed to another node finds its
+     * artifact.
+     */
+    @Value("${cacheManagerConfiguration.caches.checksums.clustered:false}")
+    private boolean clusteredChecksums;
+
     @Bean
     ChecksumCacheManager checksumCacheManager()
     {
-        ChecksumCacheManager checksumCacheManager = new ChecksumCacheManager();
+        ChecksumCacheManager checksumCacheManager;
+        if (clusteredChecksums)
+        {
+            checksumCacheManager = new ChecksumCacheManager(hazelcastInstance.getMap(CacheName.Artifact.CHECKSUMS));
+        }
+        else
+        {
+            checksumCacheManager = new ChecksumCacheManager();
+        }
         checksumCacheManager.setCachedChecksumExpiredCheckInterval(300000);
         checksumCacheManager.setCachedChecksumLifetime(60000);
 
@@ -49,7 +74,27 @@ public class StorageApiConfig
         return new LinkedHashSet<>(versionValidators);
     }
 
-    
+    @Bean
+    @DependsOn("liquibase")
+    ArtifactCoordinatesIndexBooter artifactCoordinatesIndexBooter()
+    {
+        return new ArtifactCoordinatesIndexBooter();
+    }
+
+    @Bean
+    @DependsOn("liquibase")
+    ArtifactEntryLastUsedIndexBooter artifactEntryLastUsedIndexBooter()
+    {
+        return new ArtifactEntryLastUsedIndexBooter();
+    }
+
+    @Bean
+    @DependsOn("liquibase")
+    RepositoryArtifactIdGroupLastUpdatedIndexBooter repositoryArtifactIdGroupLastUpdatedIndexBooter()
+    {
+        return new RepositoryArtifactIdGroupLastUpdatedIndexBooter();
+    }
+
     @Bean
     StorageBooter storageBooter()
     {
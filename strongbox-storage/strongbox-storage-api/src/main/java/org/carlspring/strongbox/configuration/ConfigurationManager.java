@@ -44,6 +44,14 @@ public class ConfigurationManager implements StoragesConfigurationManager
         return configurationService.getConfiguration();
     }
 
+    /**
+     * @see ConfigurationManagementService#getConfigurationGeneration()
+     */
+    public long getConfigurationGeneration()
+    {
+        return configurationService.getConfigurationGeneration();
+    }
+
     public URI getBaseUri()
     {
         try
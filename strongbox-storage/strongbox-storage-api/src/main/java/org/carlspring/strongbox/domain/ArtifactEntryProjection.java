@@ -0,0 +1,60 @@
+package org.carlspring.strongbox.domain;
+
+import java.util.Date;
+
+/**
+ * The plain fields of an {@link ArtifactEntry}, selected by a projection query, for the callers which neither need its
+ * coordinates, nor its tags, nor its archive listing.
+ */
+public class ArtifactEntryProjection
+{
+
+    private final String uuid;
+
+    private final String path;
+
+    private final Long sizeInBytes;
+
+    private final Date lastUsed;
+
+    public ArtifactEntryProjection(String uuid,
+                                   String path,
+                                   Long sizeInBytes,
+                                   Date lastUsed)
+    {
+        this.uuid = uuid;
+        this.path = path;
+        this.sizeInBytes = sizeInBytes;
+        this.lastUsed = lastUsed;
+    }
+
+    public String getUuid()
+    {
+        return uuid;
+    }
+
+    /**
+     * @return the path of the artifact, relative to its repository
+     */
+    public String getPath()
+    {
+        return path;
+    }
+
+    public Long getSizeInBytes()
+    {
+        return sizeInBytes;
+    }
+
+    public Date getLastUsed()
+    {
+        return lastUsed;
+    }
+
+    @Override
+    public String toString()
+    {
+        return path;
+    }
+
+}
@@ -1,12 +1,23 @@
 package org.carlspring.strongbox.domain;
 
+import org.carlspring.strongbox.artifact.coordinates.ArtifactLayoutDescription;
+import org.carlspring.strongbox.artifact.coordinates.ArtifactLayoutLocator;
 import org.carlspring.strongbox.data.domain.EntitySerializer;
+
+import com.esotericsoftware.kryo.Kryo;
+import com.esotericsoftware.kryo.Registration;
 import org.springframework.stereotype.Component;
 
 @Component
 public class ArtifactEntrySerializer extends EntitySerializer<ArtifactEntry>
 {
 
+    /**
+     * The coordinates of the layouts are registered with the ids starting from this one, by their
+     * {@link ArtifactLayoutDescription#getRegistrationId()}.
+     */
+    static final int FIRST_COORDINATES_REGISTRATION_ID = FIRST_CUSTOM_REGISTRATION_ID + 10;
+
     @Override
     public int getTypeId()
     {
@@ -19,4 +30,42 @@ public class ArtifactEntrySerializer extends EntitySerializer<ArtifactEntry>
         return ArtifactEntry.class;
     }
 
+    @Override
+    protected void init(Kryo kryo)
+    {
+        registerArtifactEntryTypes(kryo);
+    }
+
+    /**
+     * Registers the tags, the archive listing and the coordinates of every layout on the classpath. The ids of the
+     * coordinates are fixed by their layouts, so they don't depend on the other layouts on the classpath.
+     */
+    static void registerArtifactEntryTypes(Kryo kryo)
+    {
+        int id = FIRST_CUSTOM_REGISTRATION_ID;
+        kryo.register(ArtifactTagEntry.class, id++);
+        kryo.register(ArtifactArchiveListing.class, id);
+
+        for (ArtifactLayoutDescription layoutDescription : ArtifactLayoutLocator.getLayoutEntityMap().values())
+        {
+            if (layoutDescription.getRegistrationId() < 0)
+            {
+                continue;
+            }
+
+            id = FIRST_COORDINATES_REGISTRATION_ID + layoutDescription.getRegistrationId();
+
+            Registration registration = kryo.getRegistration(id);
+            if (registration != null)
+            {
+                throw new IllegalStateException(String.format("Registration id [%s] of [%s] is already used by [%s].",
+                                                              layoutDescription.getRegistrationId(),
+                                                              layoutDescription.getArtifactCoordinatesClass().getName(),
+                                                              registration.getType().getName()));
+            }
+
+            kryo.register(layoutDescription.getArtifactCoordinatesClass(), id);
+        }
+    }
+
 }
@@ -1,6 +1,8 @@
 package org.carlspring.strongbox.domain;
 
 import org.carlspring.strongbox.data.domain.EntitySerializer;
+
+import com.esotericsoftware.kryo.Kryo;
 import org.springframework.stereotype.Component;
 
 @Component
@@ -19,4 +21,10 @@ public class RemoteArtifactEntrySerializer extends EntitySerializer<RemoteArtifa
         return RemoteArtifactEntry.class;
     }
 
+    @Override
+    protected void init(Kryo kryo)
+    {
+        ArtifactEntrySerializer.registerArtifactEntryTypes(kryo);
+    }
+
 }
@@ -1,6 +1,9 @@
 package org.carlspring.strongbox.domain;
 
 import javax.persistence.Entity;
+import javax.persistence.ManyToMany;
+import java.util.Date;
+import java.util.Set;
 
 /**
  * @author Przemyslaw Fusik
@@ -13,6 +16,20 @@ public class RepositoryArtifactIdGroupEntry
     private String storageId;
     private String repositoryId;
 
+    /**
+     * The entries tagged with {@link org.carlspring.strongbox.artifact.ArtifactTag#LAST_VERSION}, so that the tag can
+     * be maintained without loading all the group entries. It's `null` for the groups created before it was
+     * introduced.
+     */
+    @ManyToMany(targetEntity = ArtifactEntry.class)
+    private Set<ArtifactEntry> lastVersionEntries;
+
+    /**
+     * The latest {@link ArtifactEntry#getLastUpdated()} of the group entries, so that the modified groups can be found
+     * by the index instead of the entries.
+     */
+    private Date lastUpdated;
+
     public RepositoryArtifactIdGroupEntry()
     {
     }
@@ -46,6 +63,26 @@ public class RepositoryArtifactIdGroupEntry
         this.storageId = storageId;
     }
 
+    public Set<ArtifactEntry> getLastVersionEntries()
+    {
+        return lastVersionEntries;
+    }
+
+    public void setLastVersionEntries(Set<ArtifactEntry> lastVersionEntries)
+    {
+        this.lastVersionEntries = lastVersionEntries;
+    }
+
+    public Date getLastUpdated()
+    {
+        return lastUpdated != null ? new Date(lastUpdated.getTime()) : null;
+    }
+
+    public void setLastUpdated(Date lastUpdated)
+    {
+        this.lastUpdated = lastUpdated != null ? new Date(lastUpdated.getTime()) : null;
+    }
+
     public String getArtifactId()
     {
         return getName();
@@ -1,37 +1,43 @@
 package org.carlspring.strongbox.providers.repository.proxied;
 
 import org.carlspring.strongbox.configuration.ConfigurationManager;
-import org.carlspring.strongbox.data.service.support.search.PagingCriteria;
-import org.carlspring.strongbox.domain.ArtifactEntry;
-import org.carlspring.strongbox.providers.io.RepositoryPath;
+import org.carlspring.strongbox.domain.ArtifactEntryProjection;
 import org.carlspring.strongbox.providers.io.RepositoryPathResolver;
 import org.carlspring.strongbox.services.ArtifactEntryService;
 import org.carlspring.strongbox.services.ArtifactManagementService;
 import org.carlspring.strongbox.services.support.ArtifactEntrySearchCriteria;
-import org.carlspring.strongbox.storage.Storage;
 import org.carlspring.strongbox.storage.repository.Repository;
 import org.carlspring.strongbox.storage.repository.remote.RemoteRepository;
 import org.carlspring.strongbox.storage.repository.remote.heartbeat.RemoteRepositoryAlivenessService;
 
 import javax.inject.Inject;
 import java.io.IOException;
-import java.util.Iterator;
+import java.util.Date;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 
-import org.apache.commons.collections4.CollectionUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Component;
-import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 import static org.carlspring.strongbox.services.support.ArtifactEntrySearchCriteria.Builder.anArtifactEntrySearchCriteria;
 
 /**
+ * Evicts the artifacts of the proxy repositories, whose remote repositories are alive.
+ * <p>
+ * The candidates are streamed per repository, ordered by their last usage, in batches. Every batch is deleted in its
+ * own transaction, so neither the heap nor the transaction grows with the size of the proxy cache.
+ *
  * @author Przemyslaw Fusik
  */
 @Component
 public class LocalStorageProxyRepositoryExpiredArtifactsCleaner
 {
 
+    private static final int BATCH_SIZE = 100;
+
     private final Logger logger = LoggerFactory.getLogger(LocalStorageProxyRepositoryExpiredArtifactsCleaner.class);
 
     @Inject
@@ -49,74 +55,169 @@ public class LocalStorageProxyRepositoryExpiredArtifactsCleaner
     @Inject
     private ArtifactManagementService artifactManagementService;
 
-    @Transactional(rollbackFor = Exception.class)
+    @Inject
+    private PlatformTransactionManager transactionManager;
+
     public void cleanup(final Integer lastAccessedTimeInDays,
                         final Long minSizeInBytes)
-            throws IOException
+    {
+        cleanup(lastAccessedTimeInDays, minSizeInBytes, null);
+    }
+
+    /**
+     * @param maxRepositorySizeInBytes
+     *            if set, the least recently used artifacts of every proxy repository are evicted, after the expired
+     *            ones, until the repository fits into this size
+     */
+    public void cleanup(final Integer lastAccessedTimeInDays,
+                        final Long minSizeInBytes,
+                        final Long maxRepositorySizeInBytes)
     {
         final ArtifactEntrySearchCriteria searchCriteria = anArtifactEntrySearchCriteria()
                                                                    .withLastAccessedTimeInDays(lastAccessedTimeInDays)
                                                                    .withMinSizeInBytes(minSizeInBytes)
                                                                    .build();
 
-        final List<ArtifactEntry> artifactEntries = artifactEntryService.findMatching(searchCriteria,
-                                                                                      PagingCriteria.ALL);
-        filterAccessibleProxiedArtifacts(artifactEntries);
+        for (Repository repository : configurationManager.getConfiguration().getRepositories())
+        {
+            if (!isAccessibleProxyRepository(repository))
+            {
+                continue;
+            }
 
-        if (CollectionUtils.isEmpty(artifactEntries))
+            if (!searchCriteria.isEmpty())
+            {
+                evict(repository, searchCriteria, Long.MAX_VALUE);
+            }
+
+            if (maxRepositorySizeInBytes == null || maxRepositorySizeInBytes < 0)
+            {
+                continue;
+            }
+
+            long excessBytes = artifactEntryService.sumSizeInBytes(repository.getStorage().getId(),
+                                                                   repository.getId()) - maxRepositorySizeInBytes;
+            if (excessBytes > 0)
+            {
+                logger.info("Repository [{}] exceeds its size budget by [{}] bytes.",
+                            repository.getStorageIdAndRepositoryId(), excessBytes);
+
+                evict(repository, anArtifactEntrySearchCriteria().build(), excessBytes);
+            }
+        }
+    }
+
+    private boolean isAccessibleProxyRepository(final Repository repository)
+    {
+        if (!repository.isProxyRepository())
         {
-            return;
+            return false;
         }
+        final RemoteRepository remoteRepository = repository.getRemoteRepository();
+        if (remoteRepository == null)
+        {
+            logger.warn("Repository {} is not associated with remote repository", repository.getId());
+            return false;
+        }
+        if (!remoteRepositoryAlivenessCacheManager.isAlive(remoteRepository))
+        {
+            logger.warn("Remote repository {} is down. Artifacts won't be cleaned up.", remoteRepository.getUrl());
+            return false;
+        }
+
+        return true;
+    }
+
+    private long evict(final Repository repository,
+                       final ArtifactEntrySearchCriteria searchCriteria,
+                       final long bytesToEvict)
+    {
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        EvictionCursor cursor = new EvictionCursor();
+
+        long evictedBytes = 0;
+        while (!cursor.exhausted && evictedBytes < bytesToEvict)
+        {
+            long remainingBytes = bytesToEvict - evictedBytes;
+            evictedBytes += transactionTemplate.execute(t -> evictBatch(repository, searchCriteria, cursor,
+                                                                        remainingBytes));
+        }
+
+        logger.debug("Evicted [{}] bytes from [{}].", evictedBytes, repository.getStorageIdAndRepositoryId());
 
-        logger.debug("Cleaning artifacts {}", artifactEntries);
-        deleteFromStorage(artifactEntries);
+        return evictedBytes;
     }
 
-    private void filterAccessibleProxiedArtifacts(final List<ArtifactEntry> artifactEntries)
+    private long evictBatch(final Repository repository,
+                            final ArtifactEntrySearchCriteria searchCriteria,
+                            final EvictionCursor cursor,
+                            final long bytesToEvict)
     {
-        if (CollectionUtils.isEmpty(artifactEntries))
+        // Only the projections are loaded, the artifact entries themselves are deleted with the paths.
+        final List<ArtifactEntryProjection> artifactEntries = artifactEntryService.findLeastRecentlyUsed(
+                repository.getStorage().getId(),
+                repository.getId(),
+                searchCriteria,
+                cursor.lastUsed,
+                cursor.uuids,
+                BATCH_SIZE);
+        if (artifactEntries.size() < BATCH_SIZE)
         {
-            return;
+            cursor.exhausted = true;
         }
-        for (final Iterator<ArtifactEntry> it = artifactEntries.iterator(); it.hasNext(); )
+
+        long evictedBytes = 0;
+        for (final ArtifactEntryProjection artifactEntry : artifactEntries)
         {
-            final ArtifactEntry artifactEntry = it.next();
-            final Storage storage = configurationManager.getConfiguration().getStorage(artifactEntry.getStorageId());
-            final Repository repository = storage.getRepository(artifactEntry.getRepositoryId());
-            if (!repository.isProxyRepository())
+            if (evictedBytes >= bytesToEvict)
             {
-                it.remove();
-                continue;
+                cursor.exhausted = false;
+                break;
             }
-            final RemoteRepository remoteRepository = repository.getRemoteRepository();
-            if (remoteRepository == null)
+            cursor.advance(artifactEntry);
+
+            logger.debug("Cleaning artifact {}", artifactEntry);
+            Long sizeInBytes = artifactEntry.getSizeInBytes();
+            try
             {
-                logger.warn("Repository {} is not associated with remote repository", repository.getId());
-                it.remove();
-                continue;
+                artifactManagementService.delete(repositoryPathResolver.resolve(repository, artifactEntry.getPath()),
+                                                 true);
             }
-            if (!remoteRepositoryAlivenessCacheManager.isAlive(remoteRepository))
+            catch (IOException e)
             {
-                logger.warn("Remote repository {} is down. Artifacts won't be cleaned up.", remoteRepository.getUrl());
-                it.remove();
+                logger.error("Failed to clean artifact [{}].", artifactEntry, e);
                 continue;
             }
+            evictedBytes += sizeInBytes != null ? sizeInBytes : 0;
         }
 
+        return evictedBytes;
     }
 
-    private void deleteFromStorage(final List<ArtifactEntry> artifactEntries)
-            throws IOException
+    /**
+     * The keyset position of the eviction: the entries used before {@link #lastUsed}, and the {@link #uuids} used at
+     * {@link #lastUsed}, were already visited.
+     */
+    private static class EvictionCursor
     {
-        for (final ArtifactEntry artifactEntry : artifactEntries)
-        {
-            final Storage storage = configurationManager.getConfiguration().getStorage(artifactEntry.getStorageId());
-            final Repository repository = storage.getRepository(artifactEntry.getRepositoryId());
-            
-            RepositoryPath repositoryPath = repositoryPathResolver.resolve(repository).resolve(artifactEntry);
 
-            artifactManagementService.delete(repositoryPath, true);
+        private Date lastUsed = new Date(0);
+
+        private final Set<String> uuids = new HashSet<>();
+
+        private boolean exhausted;
+
+        private void advance(ArtifactEntryProjection artifactEntry)
+        {
+            Date entryLastUsed = artifactEntry.getLastUsed();
+            if (entryLastUsed.after(lastUsed))
+            {
+                lastUsed = entryLastUsed;
+                uuids.clear();
+            }
+            uuids.add(artifactEntry.getUuid());
         }
+
     }
 
 }
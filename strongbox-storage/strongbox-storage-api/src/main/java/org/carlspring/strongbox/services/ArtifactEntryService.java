@@ -1,6 +1,7 @@
 package org.carlspring.strongbox.services;
 
 import java.util.Collection;
+import java.util.Date;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -10,6 +11,7 @@ import org.carlspring.strongbox.artifact.coordinates.ArtifactCoordinates;
 import org.carlspring.strongbox.data.service.CrudService;
 import org.carlspring.strongbox.data.service.support.search.PagingCriteria;
 import org.carlspring.strongbox.domain.ArtifactEntry;
+import org.carlspring.strongbox.domain.ArtifactEntryProjection;
 import org.carlspring.strongbox.services.support.ArtifactEntrySearchCriteria;
 import org.javatuples.Pair;
 import org.springframework.transaction.annotation.Transactional;
@@ -56,6 +58,42 @@ public interface ArtifactEntryService
     List<ArtifactEntry> findMatching(ArtifactEntrySearchCriteria searchCriteria,
                                      PagingCriteria pagingCriteria);
 
+    /**
+     * Returns the next page of the repository artifacts, which match the search criteria, ordered by `lastUsed`.
+     * The page starts after the given keyset position, so the caller can continue from the last returned entry even
+     * if the previous pages were (partially) deleted in the meantime.
+     *
+     * @param lastUsedFrom
+     *            the `lastUsed` of the last returned entry
+     * @param excludedUuids
+     *            the already returned entries with the same `lastUsed`
+     * @return the projections of the entries, which are not loaded
+     */
+    List<ArtifactEntryProjection> findLeastRecentlyUsed(String storageId,
+                                                        String repositoryId,
+                                                        ArtifactEntrySearchCriteria searchCriteria,
+                                                        Date lastUsedFrom,
+                                                        Collection<String> excludedUuids,
+                                                        int limit);
+
+    /**
+     * Returns the paths of the repository artifacts, located under the given base path, whose version matches the
+     * given regular expression. Only the paths are loaded, not the entries.
+     *
+     * @param basePath
+     *            the directory to search in, or `null` to search the whole repository
+     */
+    List<String> findArtifactPaths(String storageId,
+                                   String repositoryId,
+                                   String basePath,
+                                   String versionPattern);
+
+    /**
+     * @return the total size of the repository artifacts
+     */
+    long sumSizeInBytes(String storageId,
+                        String repositoryId);
+
     Long countCoordinates(Collection<Pair<String, String>> storageRepositoryPairList,
                           Map<String, String> coordinates,
                           boolean strict);
@@ -73,6 +111,15 @@ public interface ArtifactEntryService
                            String repositoryId,
                            String path);
 
+    /**
+     * Bulk version of {@link #artifactExists(String, String, String)}.
+     *
+     * @return the paths, out of the given ones, which have an artifact entry in the repository
+     */
+    Set<String> findExistingPaths(String storageId,
+                                  String repositoryId,
+                                  Collection<String> paths);
+
     ArtifactEntry findOneArtifact(String storageId,
                                   String repositoryId,
                                   String path);
@@ -3,6 +3,7 @@ package org.carlspring.strongbox.services;
 import org.carlspring.strongbox.data.service.support.search.PagingCriteria;
 import org.carlspring.strongbox.domain.RepositoryArtifactIdGroupEntry;
 
+import java.util.Date;
 import java.util.List;
 
 /**
@@ -19,6 +20,14 @@ public interface RepositoryArtifactIdGroupService
                                                       String repositoryId,
                                                       PagingCriteria pagingCriteria);
 
+    /**
+     * @return the groups containing at least one artifact which was stored or updated at or after `since`
+     */
+    List<RepositoryArtifactIdGroupEntry> findModifiedSince(String storageId,
+                                                           String repositoryId,
+                                                           Date since,
+                                                           PagingCriteria pagingCriteria);
+
     RepositoryArtifactIdGroupEntry findOneOrCreate(String storageId,
                                                    String repositoryId,
                                                    String artifactId);
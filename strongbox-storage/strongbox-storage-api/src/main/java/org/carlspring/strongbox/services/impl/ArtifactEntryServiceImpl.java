@@ -3,7 +3,9 @@ package org.carlspring.strongbox.services.impl;
 import org.carlspring.strongbox.artifact.ArtifactTag;
 import org.carlspring.strongbox.artifact.coordinates.ArtifactCoordinates;
 import org.carlspring.strongbox.data.service.support.search.PagingCriteria;
+import org.carlspring.strongbox.data.tx.SkipUnproxy;
 import org.carlspring.strongbox.domain.ArtifactEntry;
+import org.carlspring.strongbox.domain.ArtifactEntryProjection;
 import org.carlspring.strongbox.domain.ArtifactTagEntry;
 import org.carlspring.strongbox.services.ArtifactEntryService;
 import org.carlspring.strongbox.services.support.ArtifactEntrySearchCriteria;
@@ -13,9 +15,11 @@ import java.util.Map.Entry;
 import java.util.stream.Collectors;
 import java.util.stream.IntStream;
 
+import com.orientechnologies.orient.core.db.record.OIdentifiable;
 import com.orientechnologies.orient.core.id.ORID;
 import com.orientechnologies.orient.core.record.impl.ODocument;
 import com.orientechnologies.orient.core.sql.query.OSQLSynchQuery;
+import org.apache.commons.lang3.StringUtils;
 import org.apache.commons.lang3.time.DateUtils;
 import org.javatuples.Pair;
 import org.slf4j.Logger;
@@ -148,6 +152,111 @@ class ArtifactEntryServiceImpl extends AbstractArtifactEntryService
         return getDelegate().command(oQuery).execute(parameterMap);
     }
 
+    @Override
+    @SkipUnproxy
+    public List<ArtifactEntryProjection> findLeastRecentlyUsed(String storageId,
+                                                               String repositoryId,
+                                                               ArtifactEntrySearchCriteria searchCriteria,
+                                                               Date lastUsedFrom,
+                                                               Collection<String> excludedUuids,
+                                                               int limit)
+    {
+        // Served by the `idx_artifact_entry_last_used` index on (storageId, repositoryId, lastUsed).
+        StringBuilder sb = new StringBuilder();
+        sb.append("SELECT uuid, artifactCoordinates.path AS path, sizeInBytes, lastUsed FROM ")
+          .append(getEntityClass().getSimpleName());
+        sb.append(" WHERE storageId = :storageId AND repositoryId = :repositoryId AND lastUsed >= :lastUsedFrom");
+
+        Map<String, Object> parameterMap = new HashMap<>();
+        parameterMap.put("storageId", storageId);
+        parameterMap.put("repositoryId", repositoryId);
+        parameterMap.put("lastUsedFrom", lastUsedFrom);
+
+        if (searchCriteria.getLastAccessedTimeInDays() != null && searchCriteria.getLastAccessedTimeInDays() > 0)
+        {
+            sb.append(" AND lastUsed < :lastUsed");
+            parameterMap.put("lastUsed", DateUtils.addDays(new Date(), -searchCriteria.getLastAccessedTimeInDays()));
+        }
+        if (searchCriteria.getMinSizeInBytes() != null && searchCriteria.getMinSizeInBytes() > 0)
+        {
+            sb.append(" AND sizeInBytes >= :minSizeInBytes");
+            parameterMap.put("minSizeInBytes", searchCriteria.getMinSizeInBytes());
+        }
+        if (!excludedUuids.isEmpty())
+        {
+            sb.append(" AND uuid NOT IN :excludedUuids");
+            parameterMap.put("excludedUuids", new ArrayList<>(excludedUuids));
+        }
+
+        sb.append(" ORDER BY lastUsed ASC LIMIT ").append(limit);
+
+        logger.debug("Executing SQL query> {}", sb);
+
+        List<ODocument> result = getDelegate().command(new OSQLSynchQuery<ODocument>(sb.toString()))
+                                              .execute(parameterMap);
+
+        return result.stream()
+                     .map(d -> new ArtifactEntryProjection(d.field("uuid"),
+                                                           d.field("path"),
+                                                           d.field("sizeInBytes"),
+                                                           d.field("lastUsed")))
+                     .collect(Collectors.toList());
+    }
+
+    @Override
+    @SkipUnproxy
+    public List<String> findArtifactPaths(String storageId,
+                                          String repositoryId,
+                                          String basePath,
+                                          String versionPattern)
+    {
+        // Served by the (storageId, repositoryId) prefix of the `idx_artifact_entry_last_used` index.
+        StringBuilder sb = new StringBuilder();
+        sb.append("SELECT artifactCoordinates.path AS path FROM ").append(getEntityClass().getSimpleName());
+        sb.append(" WHERE storageId = :storageId AND repositoryId = :repositoryId");
+        sb.append(" AND artifactCoordinates.coordinates.version MATCHES :versionPattern");
+
+        Map<String, Object> parameterMap = new HashMap<>();
+        parameterMap.put("storageId", storageId);
+        parameterMap.put("repositoryId", repositoryId);
+        parameterMap.put("versionPattern", versionPattern);
+
+        if (StringUtils.isNotBlank(basePath))
+        {
+            sb.append(" AND artifactCoordinates.path LIKE :basePath");
+            parameterMap.put("basePath", StringUtils.appendIfMissing(basePath, "/") + "%");
+        }
+
+        logger.debug("Executing SQL query> {}", sb);
+
+        List<ODocument> result = getDelegate().command(new OSQLSynchQuery<ODocument>(sb.toString()))
+                                              .execute(parameterMap);
+
+        return result.stream().map(d -> d.<String>field("path")).collect(Collectors.toList());
+    }
+
+    @Override
+    @SkipUnproxy
+    public long sumSizeInBytes(String storageId,
+                               String repositoryId)
+    {
+        String sQuery = String.format("SELECT sum(sizeInBytes) AS sizeInBytes FROM %s " +
+                                      "WHERE storageId = :storageId AND repositoryId = :repositoryId",
+                                      getEntityClass().getSimpleName());
+
+        Map<String, Object> parameterMap = new HashMap<>();
+        parameterMap.put("storageId", storageId);
+        parameterMap.put("repositoryId", repositoryId);
+
+        List<ODocument> result = getDelegate().command(new OSQLSynchQuery<ODocument>(sQuery)).execute(parameterMap);
+
+        return result.stream()
+                     .findFirst()
+                     .map(d -> (Number) d.field("sizeInBytes"))
+                     .map(Number::longValue)
+                     .orElse(0L);
+    }
+
     @Override
     public List<ArtifactEntry> findArtifactList(String storageId,
                                                 String repositoryId,
@@ -161,6 +270,7 @@ class ArtifactEntryServiceImpl extends AbstractArtifactEntryService
     }
 
     @Override
+    @SkipUnproxy
     public Long countCoordinates(Collection<Pair<String, String>> storageRepositoryPairList,
                                  Map<String, String> coordinates,
                                  boolean strict)
@@ -193,6 +303,7 @@ class ArtifactEntryServiceImpl extends AbstractArtifactEntryService
     }
 
     @Override
+    @SkipUnproxy
     public Long countArtifacts(Collection<Pair<String, String>> storageRepositoryPairList,
                                Map<String, String> coordinates,
                                boolean strict)
@@ -225,6 +336,7 @@ class ArtifactEntryServiceImpl extends AbstractArtifactEntryService
     }
 
     @Override
+    @SkipUnproxy
     public Long countArtifacts(String storageId,
                                String repositoryId,
                                Map<String, String> coordinates,
@@ -253,14 +365,21 @@ class ArtifactEntryServiceImpl extends AbstractArtifactEntryService
 
         Pair<String, String>[] storageRepositoryPairArray = storageRepositoryPairList.toArray(new Pair[storageRepositoryPairList.size()]);
         // COORDINATES
+        // Parameter values are already lower cased, so we compare them against the `lowerCaseCoordinates` shadow
+        // field instead of applying `toLowerCase()` to the column (which would prevent the indexes from being used).
         StringBuffer c1 = new StringBuffer();
         parameterNameSet.stream()
-                        .forEach(e -> c1.append(c1.length() > 0 ? " AND " : "")
-                                        .append("artifactCoordinates.coordinates.")
-                                        .append(e)
-                                        .append(".toLowerCase()")
-                                        .append(strict ? " = " : " like ")
-                                        .append(String.format(":%s", e)));
+                        .forEach(e -> {
+                            c1.append(c1.length() > 0 ? " AND " : "");
+                            if (strict)
+                            {
+                                c1.append(String.format("artifactCoordinates.lowerCaseCoordinates CONTAINSVALUE :%s AND ", e));
+                            }
+                            c1.append("artifactCoordinates.lowerCaseCoordinates.")
+                              .append(e)
+                              .append(strict ? " = " : " like ")
+                              .append(String.format(":%s", e));
+                        });
         sb.append(" WHERE ").append(c1.length() > 0 ? c1.append(" AND ").toString() : " true = true AND ");
 
         //REPOSITORIES
@@ -353,6 +472,7 @@ class ArtifactEntryServiceImpl extends AbstractArtifactEntryService
     }
 
     @Override
+    @SkipUnproxy
     public boolean artifactExists(String storageId,
                                   String repositoryId,
                                   String path)
@@ -361,6 +481,57 @@ class ArtifactEntryServiceImpl extends AbstractArtifactEntryService
     }
 
     @Override
+    @SkipUnproxy
+    public Set<String> findExistingPaths(String storageId,
+                                         String repositoryId,
+                                         Collection<String> paths)
+    {
+        if (paths.isEmpty())
+        {
+            return Collections.emptySet();
+        }
+
+        String sQuery = "SELECT FROM INDEX:idx_artifact_coordinates WHERE key IN :paths";
+
+        HashMap<String, Object> params = new HashMap<>();
+        params.put("paths", new ArrayList<>(paths));
+
+        List<ODocument> resultList = getDelegate().command(new OSQLSynchQuery<ODocument>(sQuery)).execute(params);
+
+        Map<ORID, String> pathByCoordinatesId = new HashMap<>();
+        for (ODocument result : resultList)
+        {
+            pathByCoordinatesId.put(((ODocument) result.field("rid")).getIdentity(), result.field("key"));
+        }
+        if (pathByCoordinatesId.isEmpty())
+        {
+            return Collections.emptySet();
+        }
+
+        sQuery = String.format("SELECT artifactCoordinates FROM %s " +
+                               "WHERE storageId = :storageId AND repositoryId = :repositoryId " +
+                               "AND artifactCoordinates IN :artifactCoordinatesIds",
+                               getEntityClass().getSimpleName());
+
+        params = new HashMap<>();
+        params.put("storageId", storageId);
+        params.put("repositoryId", repositoryId);
+        params.put("artifactCoordinatesIds", new ArrayList<>(pathByCoordinatesId.keySet()));
+
+        resultList = getDelegate().command(new OSQLSynchQuery<ODocument>(sQuery)).execute(params);
+
+        return resultList.stream()
+                         .map(result -> ((OIdentifiable) result.field("artifactCoordinates")).getIdentity())
+                         .map(pathByCoordinatesId::get)
+                         .filter(Objects::nonNull)
+                         .collect(Collectors.toSet());
+    }
+
+    /**
+     * The entry is detached here, together with its coordinates.
+     */
+    @Override
+    @SkipUnproxy
     public ArtifactEntry findOneArtifact(String storageId,
                                          String repositoryId,
                                          String path)
@@ -20,7 +20,6 @@ import java.io.IOException;
 import java.lang.reflect.UndeclaredThrowableException;
 import java.util.*;
 import java.util.concurrent.locks.Lock;
-import java.util.concurrent.locks.ReadWriteLock;
 import java.util.concurrent.locks.ReentrantReadWriteLock;
 import java.util.function.Consumer;
 
@@ -41,7 +40,7 @@ public class ConfigurationManagementServiceImpl
         implements ConfigurationManagementService
 {
 
-    private final ReadWriteLock configurationLock = new ReentrantReadWriteLock();
+    private final ReentrantReadWriteLock configurationLock = new ReentrantReadWriteLock();
 
     @Inject
     private ConfigurationFileManager configurationFileManager;
@@ -67,6 +66,22 @@ public class ConfigurationManagementServiceImpl
      */
     private MutableConfiguration configuration;
 
+    /**
+     * The immutable view of the {@link #configuration}, rebuilt once per modification, so that the readers don't
+     * need the lock.
+     */
+    private volatile ConfigurationSnapshot snapshot = new ConfigurationSnapshot(null, 0);
+
+    /**
+     * The number of the open batches, and whether the configuration was modified within them. Both are protected by
+     * the {@link #configurationLock}.
+     *
+     * @see #beginBatch()
+     */
+    private int batchDepth;
+
+    private boolean storePending;
+
     @PostConstruct
     public void init()
     {
@@ -109,17 +124,13 @@ public class ConfigurationManagementServiceImpl
     @Override
     public Configuration getConfiguration()
     {
-        final Lock readLock = configurationLock.readLock();
-        readLock.lock();
+        return snapshot.configuration;
+    }
 
-        try
-        {
-            return new Configuration(configuration);
-        }
-        finally
-        {
-            readLock.unlock();
-        }
+    @Override
+    public long getConfigurationGeneration()
+    {
+        return snapshot.generation;
     }
 
     @Override
@@ -605,9 +616,25 @@ public class ConfigurationManagementServiceImpl
 
         try
         {
-            operation.accept(configuration);
+            try
+            {
+                operation.accept(configuration);
+            }
+            finally
+            {
+                // Even a failed operation could have modified the configuration partially. The nested modifications
+                // are published by the outermost one.
+                if (configurationLock.getWriteHoldCount() == 1)
+                {
+                    snapshot = new ConfigurationSnapshot(new Configuration(configuration), snapshot.generation + 1);
+                }
+            }
 
-            if (storeInFile)
+            if (storeInFile && batchDepth > 0)
+            {
+                storePending = true;
+            }
+            else if (storeInFile)
             {
                 configurationFileManager.store(configuration);
             }
@@ -618,4 +645,61 @@ public class ConfigurationManagementServiceImpl
         }
     }
 
+    @Override
+    public void beginBatch()
+    {
+        final Lock writeLock = configurationLock.writeLock();
+        writeLock.lock();
+
+        try
+        {
+            batchDepth++;
+        }
+        finally
+        {
+            writeLock.unlock();
+        }
+    }
+
+    @Override
+    public void endBatch()
+            throws IOException
+    {
+        final Lock writeLock = configurationLock.writeLock();
+        writeLock.lock();
+
+        try
+        {
+            if (batchDepth == 0)
+            {
+                throw new IllegalStateException("No batch is open.");
+            }
+            if (--batchDepth == 0 && storePending)
+            {
+                storePending = false;
+                configurationFileManager.store(configuration);
+            }
+        }
+        finally
+        {
+            writeLock.unlock();
+        }
+    }
+
+    private static class ConfigurationSnapshot
+    {
+
+        private final Configuration configuration;
+
+        private final long generation;
+
+        private ConfigurationSnapshot(Configuration configuration,
+                                      long generation)
+        {
+            this.configuration = configuration;
+            this.generation = generation;
+        }
+
+    }
+
 }
@@ -10,14 +10,22 @@ import org.carlspring.strongbox.services.ArtifactTagService;
 import org.carlspring.strongbox.services.RepositoryArtifactIdGroupService;
 
 import javax.inject.Inject;
+import java.util.Date;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
 
 import com.orientechnologies.common.concur.ONeedRetryException;
+import com.orientechnologies.orient.core.id.ORID;
 import com.orientechnologies.orient.core.record.impl.ODocument;
+import com.orientechnologies.orient.core.sql.OCommandSQL;
 import com.orientechnologies.orient.core.sql.query.OSQLSynchQuery;
+import com.orientechnologies.orient.object.db.OObjectDatabaseTx;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Service;
@@ -40,6 +48,13 @@ public class RepositoryArtifactIdGroupServiceImpl
     @Inject
     private ArtifactTagService artifactTagService;
 
+    /**
+     * Adds the entry to the group and moves the {@link ArtifactTag#LAST_VERSION} tag if needed.
+     * <p>
+     * Only the entry itself, the previous last version entries (if the tag moves) and the group record are saved,
+     * the other entries of the group are neither loaded nor saved. The concurrent updates of the same group are
+     * detected by the group record version.
+     */
     @Override
     public void addArtifactToGroup(RepositoryArtifactIdGroupEntry artifactGroup,
                                    ArtifactEntry artifactEntry)
@@ -49,56 +64,127 @@ public class RepositoryArtifactIdGroupServiceImpl
 
         ArtifactTag lastVersionTag = artifactTagService.findOneOrCreate(ArtifactTagEntry.LAST_VERSION);
 
-        artifactEntry.getTagSet().add(lastVersionTag);
-        artifactGroup.putArtifactEntry(artifactEntry);
+        Set<ArtifactEntry> lastVersionEntries = getLastVersionEntries(artifactGroup, lastVersionTag);
+        lastVersionEntries.remove(artifactEntry);
+
+        ArtifactEntry lastVersionEntry = lastVersionEntries.stream()
+                                                           .max((e1,
+                                                                 e2) -> e1.getArtifactCoordinates()
+                                                                          .compareTo(e2.getArtifactCoordinates()))
+                                                           .orElse(null);
+        int artifactCoordinatesComparison = lastVersionEntry == null ? 1
+                : coordinates.compareTo(lastVersionEntry.getArtifactCoordinates());
+        if (artifactCoordinatesComparison > 0)
+        {
+            logger.debug("Update [{}] last version from [{}] to [{}]",
+                         artifactEntry.getArtifactPath(),
+                         lastVersionEntry == null ? null : lastVersionEntry.getArtifactCoordinates().getVersion(),
+                         coordinates.getVersion());
+
+            for (ArtifactEntry e : lastVersionEntries)
+            {
+                e.getTagSet().remove(lastVersionTag);
+                tryToCascadeEntitySave(e);
+            }
+            lastVersionEntries.clear();
+
+            artifactEntry.getTagSet().add(lastVersionTag);
+        }
+        else if (artifactCoordinatesComparison == 0)
+        {
+            logger.debug("Set [{}] last version to [{}]",
+                         artifactEntry.getArtifactPath(),
+                         coordinates.getVersion());
+
+            artifactEntry.getTagSet().add(lastVersionTag);
+        }
+        else
+        {
+            logger.debug("Keep [{}] last version [{}]",
+                         artifactEntry.getArtifactPath(),
+                         lastVersionEntry.getArtifactCoordinates().getVersion());
+
+            artifactEntry.getTagSet().remove(lastVersionTag);
+        }
 
-        artifactGroup.getArtifactEntries()
-                     .stream()
-                     .filter(e -> e.getTagSet().contains(lastVersionTag))
-                     .sorted((e1,
-                              e2) -> e1.getArtifactCoordinates().compareTo(e2.getArtifactCoordinates()))
-                     .forEach(e -> checkAndUpdateLastVersionTagIfNeeded(e, artifactEntry, lastVersionTag));
+        ArtifactEntry savedArtifactEntry = (ArtifactEntry) tryToCascadeEntitySave(artifactEntry);
+        if (savedArtifactEntry.getTagSet().contains(lastVersionTag))
+        {
+            lastVersionEntries.add(savedArtifactEntry);
+        }
 
+        artifactGroup.setLastVersionEntries(lastVersionEntries);
+        updateLastUpdated(artifactGroup, savedArtifactEntry);
+        artifactGroup = getDelegate().save(artifactGroup);
 
-        save(artifactGroup);
+        addArtifactEntryLink(artifactGroup, savedArtifactEntry);
     }
 
-    private <S extends ArtifactEntry> Optional<S> checkAndUpdateLastVersionTagIfNeeded(S lastVersionEntry,
-                                                                                       S entity,
-                                                                                       ArtifactTag lastVersionTag)
+    private void updateLastUpdated(RepositoryArtifactIdGroupEntry artifactGroup,
+                                   ArtifactEntry artifactEntry)
     {
-        Optional<S> result = Optional.empty();
-        ArtifactCoordinates coordinates = entity.getArtifactCoordinates();
-
-        int artifactCoordinatesComparison = entity.getArtifactCoordinates()
-                                                  .compareTo(lastVersionEntry.getArtifactCoordinates());
-        if (artifactCoordinatesComparison == 0)
+        Date lastUpdated = Optional.ofNullable(artifactEntry.getLastUpdated()).orElseGet(Date::new);
+        if (artifactGroup.getLastUpdated() == null || artifactGroup.getLastUpdated().before(lastUpdated))
         {
-            logger.debug("Set [{}] last version to [{}]",
-                         entity.getArtifactPath(),
-                         coordinates.getVersion());
-            entity.getTagSet().add(lastVersionTag);
+            artifactGroup.setLastUpdated(lastUpdated);
         }
-        else if (artifactCoordinatesComparison > 0)
+    }
+
+    /**
+     * Appends the entry link to the group record, the other links of the group are neither loaded nor compared.
+     */
+    private void addArtifactEntryLink(RepositoryArtifactIdGroupEntry artifactGroup,
+                                      ArtifactEntry artifactEntry)
+    {
+        OObjectDatabaseTx db = getDelegate();
+        ORID artifactGroupId = db.getRecordByUserObject(artifactGroup, false).getIdentity();
+        if (!artifactGroupId.isPersistent())
         {
-            logger.debug("Update [{}] last version from [{}] to [{}]",
-                         entity.getArtifactPath(),
-                         lastVersionEntry.getArtifactCoordinates().getVersion(),
-                         coordinates.getVersion());
-            entity.getTagSet().add(lastVersionTag);
+            // The group has been created within the current transaction, so all of its links are in memory.
+            artifactGroup.putArtifactEntry(artifactEntry);
+            db.save(artifactGroup);
 
-            lastVersionEntry.getTagSet().remove(lastVersionTag);
-            result = Optional.of(lastVersionEntry);
+            return;
         }
-        else
+
+        Map<String, Object> params = new HashMap<>();
+        params.put("artifactEntry", db.getRecordByUserObject(artifactEntry, false));
+
+        String sQuery = String.format("UPDATE %s ADD artifactEntries = :artifactEntry", artifactGroupId);
+
+        db.command(new OCommandSQL(sQuery)).execute(params);
+    }
+
+    private Set<ArtifactEntry> getLastVersionEntries(RepositoryArtifactIdGroupEntry artifactGroup,
+                                                     ArtifactTag lastVersionTag)
+    {
+        Set<ArtifactEntry> lastVersionEntries = artifactGroup.getLastVersionEntries();
+        if (lastVersionEntries != null)
         {
-            logger.debug("Keep [{}] last version [{}]",
-                         entity.getArtifactPath(),
-                         lastVersionEntry.getArtifactCoordinates().getVersion());
-            entity.getTagSet().remove(lastVersionTag);
+            // The links of the deleted entries are skipped.
+            return lastVersionEntries.stream()
+                                     .filter(Objects::nonNull)
+                                     .collect(Collectors.toCollection(HashSet::new));
+        }
+
+        // The group was created before the last version entries were tracked, so the tagged entries are queried once.
+        ORID artifactGroupId = getDelegate().getRecordByUserObject(artifactGroup, false).getIdentity();
+        if (!artifactGroupId.isPersistent())
+        {
+            return new HashSet<>();
         }
 
-        return result;
+        Map<String, Object> params = new HashMap<>();
+        params.put("lastVersionTag", lastVersionTag.getName());
+
+        String sQuery = String.format("SELECT FROM (SELECT expand(artifactEntries) FROM %s) " +
+                                      "WHERE tagSet CONTAINS (name = :lastVersionTag)",
+                                      artifactGroupId);
+
+        OSQLSynchQuery<ArtifactEntry> oQuery = new OSQLSynchQuery<>(sQuery);
+        List<ArtifactEntry> result = getDelegate().command(oQuery).execute(params);
+
+        return new HashSet<>(result);
     }
 
     @Override
@@ -140,6 +226,30 @@ public class RepositoryArtifactIdGroupServiceImpl
         return getDelegate().command(oQuery).execute(params);
     }
 
+    @Override
+    public List<RepositoryArtifactIdGroupEntry> findModifiedSince(String storageId,
+                                                                  String repositoryId,
+                                                                  Date since,
+                                                                  PagingCriteria pagingCriteria)
+    {
+        Map<String, Object> params = new HashMap<>();
+        params.put("storageId", storageId);
+        params.put("repositoryId", repositoryId);
+        params.put("since", since);
+
+        StringBuilder sb = new StringBuilder();
+        sb.append("SELECT * FROM ").append(getEntityClass().getSimpleName());
+        sb.append(" WHERE storageId = :storageId AND repositoryId = :repositoryId");
+        sb.append(" AND lastUpdated >= :since");
+        appendPagingCriteria(sb, pagingCriteria);
+
+        logger.debug("Executing SQL query> {}", sb);
+
+        OSQLSynchQuery<RepositoryArtifactIdGroupEntry> oQuery = new OSQLSynchQuery<>(sb.toString());
+
+        return getDelegate().command(oQuery).execute(params);
+    }
+
     public RepositoryArtifactIdGroupEntry findOneOrCreate(String storageId,
                                                           String repositoryId,
                                                           String artifactId)
@@ -178,7 +288,12 @@ public class RepositoryArtifactIdGroupServiceImpl
                                                     String repositoryId,
                                                     String artifactId)
     {
-        return new RepositoryArtifactIdGroupEntry(storageId, repositoryId, artifactId);
+        RepositoryArtifactIdGroupEntry artifactGroup = new RepositoryArtifactIdGroupEntry(storageId,
+                                                                                          repositoryId,
+                                                                                          artifactId);
+        artifactGroup.setLastVersionEntries(new HashSet<>());
+
+        return artifactGroup;
     }
 
     public RepositoryArtifactIdGroupEntry findOne(String storageId,
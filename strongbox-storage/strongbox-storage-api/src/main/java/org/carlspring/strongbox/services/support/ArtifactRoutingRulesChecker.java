@@ -4,15 +4,10 @@ import org.carlspring.strongbox.configuration.ConfigurationManager;
 import org.carlspring.strongbox.providers.io.RepositoryFiles;
 import org.carlspring.strongbox.providers.io.RepositoryPath;
 import org.carlspring.strongbox.storage.repository.Repository;
-import org.carlspring.strongbox.storage.routing.RepositoryIdentifiable;
-import org.carlspring.strongbox.storage.routing.RoutingRule;
-import org.carlspring.strongbox.storage.routing.RoutingRules;
 
 import javax.inject.Inject;
 import java.io.IOException;
-import java.util.List;
 
-import org.apache.commons.lang3.StringUtils;
 import org.springframework.stereotype.Component;
 
 /**
@@ -26,85 +21,56 @@ public class ArtifactRoutingRulesChecker
     @Inject
     private ConfigurationManager configurationManager;
 
+    /**
+     * The routing rules compiled for the configuration generation, rebuilt once the configuration changes.
+     */
+    private volatile CompiledRoutingRules compiledRoutingRules;
+
     public boolean isDenied(Repository groupRepository,
                             RepositoryPath repositoryPath)
             throws IOException
     {
-        final RoutingRules routingRules = configurationManager.getConfiguration().getRoutingRules();
-        final boolean hasDenyRules = hasCandidates(groupRepository, repositoryPath, routingRules.getDenied());
-        final boolean hasAcceptRules = hasCandidates(groupRepository, repositoryPath, routingRules.getAccepted());
+        String artifactPath = RepositoryFiles.relativizePath(repositoryPath);
+        Repository subRepository = repositoryPath.getRepository();
 
-        return hasDenyRules && !hasAcceptRules;
+        return getRoutingRulesMatcher().isDenied(groupRepository.getStorage().getId(),
+                                                 groupRepository.getId(),
+                                                 subRepository.getStorage().getId(),
+                                                 subRepository.getId(),
+                                                 artifactPath);
     }
 
-    private boolean hasCandidates(Repository groupRepository,
-                                  RepositoryPath repositoryPath,
-                                  List<RoutingRule> routingRules)
-            throws IOException
+    private RoutingRulesMatcher getRoutingRulesMatcher()
     {
+        // The generation is read before the configuration, so a concurrent change can only make us rebuild again.
+        long generation = configurationManager.getConfigurationGeneration();
 
-        String artifactPath = RepositoryFiles.relativizePath(repositoryPath);
-        Repository subRepository = repositoryPath.getRepository();
-
-        return routingRules.stream()
-                           .anyMatch(rule -> {
-                               boolean result = false;
-
-                               if ((isMatch(rule, groupRepository))
-                                   && rule.getRegex().matcher(artifactPath).matches())
-                               {
-                                   // an empty collection means the rule is applied to **all** repositories in the group.
-                                   if (rule.getRepositories().size() == 0)
-                                   {
-                                       result = true;
-                                   }
-                                   else
-                                   {
-                                       result = rule.getRepositories()
-                                                    .stream()
-                                                    .anyMatch(r -> isMatch(r, subRepository));
-                                   }
-                               }
-
-                               return result;
-                           });
+        CompiledRoutingRules current = compiledRoutingRules;
+        if (current == null || current.generation != generation)
+        {
+            current = new CompiledRoutingRules(generation,
+                                               new RoutingRulesMatcher(configurationManager.getConfiguration()
+                                                                                           .getRoutingRules()));
+            compiledRoutingRules = current;
+        }
 
+        return current.matcher;
     }
 
-    private boolean isMatch(RepositoryIdentifiable rule,
-                            Repository repository)
+    private static class CompiledRoutingRules
     {
-        boolean result = false;
 
-        // exact match == storageId:repositoryId
-        if (equalsIgnoreCase(rule.getStorageIdAndRepositoryId(), repository.getStorageIdAndRepositoryId()))
-        {
-            result = true;
-        }
-        // wildcard == *:*
-        else if (equalsIgnoreCase(rule.getStorageIdAndRepositoryId(), StringUtils.EMPTY))
-        {
-            result = true;
-        }
-        // wildcard == storageId:*
-        else if (equalsIgnoreCase(rule.getRepositoryId(), StringUtils.EMPTY) &&
-                 equalsIgnoreCase(rule.getStorageId(), repository.getStorage().getId()))
-        {
-            result = true;
-        }
-        // wildcard == *:repositoryId
-        else if (equalsIgnoreCase(rule.getStorageId(), StringUtils.EMPTY) &&
-                 equalsIgnoreCase(rule.getRepositoryId(), repository.getId()))
+        private final long generation;
+
+        private final RoutingRulesMatcher matcher;
+
+        private CompiledRoutingRules(long generation,
+                                     RoutingRulesMatcher matcher)
         {
-            result = true;
+            this.generation = generation;
+            this.matcher = matcher;
         }
 
-        return result;
     }
 
-    private boolean equalsIgnoreCase(final String a,
-                                     final String b)
-    {
-        return StringUtils.trimToEmpty(a).equalsIgnoreCase(StringUtils.trimToEmpty(b));
-    }
 }
@@ -0,0 +1,242 @@
+package org.carlspring.strongbox.services.support;
+
+import org.carlspring.strongbox.storage.routing.RepositoryIdentifiable;
+import org.carlspring.strongbox.storage.routing.RoutingRule;
+import org.carlspring.strongbox.storage.routing.RoutingRules;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+import org.apache.commons.lang3.StringUtils;
+
+/**
+ * The compiled form of the {@link RoutingRules}.
+ * <p>
+ * The rules which apply to a group and member repository pair are selected once, on the first lookup of the pair, and
+ * their patterns are merged: the patterns with a literal first path segment are bucketed by that segment, and every
+ * bucket is combined, together with the patterns without a literal first segment, into a single alternation. So a
+ * lookup is one hash lookup for the pair, one for the bucket, and a single match.
+ */
+class RoutingRulesMatcher
+{
+
+    private static final String WILDCARD_BUCKET = "";
+
+    private static final String REGEX_METACHARACTERS = "\\^$.|?*+()[]{}";
+
+    /**
+     * The back references and the named groups, but not the lookbehinds.
+     */
+    private static final Pattern GROUP_REFERENCE = Pattern.compile("\\\\([1-9]|k<)|\\(\\?<[a-zA-Z]");
+
+    private final RoutingRules routingRules;
+
+    private final Map<String, RepositoryRoutingRules> repositoryRoutingRules = new ConcurrentHashMap<>();
+
+    RoutingRulesMatcher(RoutingRules routingRules)
+    {
+        this.routingRules = routingRules;
+    }
+
+    boolean isDenied(String groupStorageId,
+                     String groupRepositoryId,
+                     String storageId,
+                     String repositoryId,
+                     String artifactPath)
+    {
+        String key = String.join(":", groupStorageId, groupRepositoryId, storageId, repositoryId);
+        RepositoryRoutingRules rules = repositoryRoutingRules.computeIfAbsent(key, k -> compile(groupStorageId,
+                                                                                                groupRepositoryId,
+                                                                                                storageId,
+                                                                                                repositoryId));
+
+        return rules.denied.matches(artifactPath) && !rules.accepted.matches(artifactPath);
+    }
+
+    private RepositoryRoutingRules compile(String groupStorageId,
+                                           String groupRepositoryId,
+                                           String storageId,
+                                           String repositoryId)
+    {
+        return new RepositoryRoutingRules(compile(routingRules.getDenied(), groupStorageId, groupRepositoryId,
+                                                  storageId, repositoryId),
+                                          compile(routingRules.getAccepted(), groupStorageId, groupRepositoryId,
+                                                  storageId, repositoryId));
+    }
+
+    private PatternSet compile(List<RoutingRule> rules,
+                               String groupStorageId,
+                               String groupRepositoryId,
+                               String storageId,
+                               String repositoryId)
+    {
+        List<String> patterns = rules.stream()
+                                     .filter(rule -> isMatch(rule, groupStorageId, groupRepositoryId))
+                                     // an empty collection means the rule is applied to **all** repositories in the group.
+                                     .filter(rule -> rule.getRepositories().isEmpty() ||
+                                                     rule.getRepositories()
+                                                         .stream()
+                                                         .anyMatch(r -> isMatch(r, storageId, repositoryId)))
+                                     .map(RoutingRule::getPattern)
+                                     .distinct()
+                                     .collect(Collectors.toList());
+
+        return new PatternSet(patterns);
+    }
+
+    private boolean isMatch(RepositoryIdentifiable rule,
+                            String storageId,
+                            String repositoryId)
+    {
+        // exact match == storageId:repositoryId
+        return equalsIgnoreCase(rule.getStorageIdAndRepositoryId(), storageId + ":" + repositoryId) ||
+               // wildcard == *:*
+               equalsIgnoreCase(rule.getStorageIdAndRepositoryId(), StringUtils.EMPTY) ||
+               // wildcard == storageId:*
+               (equalsIgnoreCase(rule.getRepositoryId(), StringUtils.EMPTY) &&
+                equalsIgnoreCase(rule.getStorageId(), storageId)) ||
+               // wildcard == *:repositoryId
+               (equalsIgnoreCase(rule.getStorageId(), StringUtils.EMPTY) &&
+                equalsIgnoreCase(rule.getRepositoryId(), repositoryId));
+    }
+
+    private boolean equalsIgnoreCase(final String a,
+                                     final String b)
+    {
+        return StringUtils.trimToEmpty(a).equalsIgnoreCase(StringUtils.trimToEmpty(b));
+    }
+
+    /**
+     * @return the first path segment, if the pattern can only match the paths starting with it, otherwise the
+     *         {@link #WILDCARD_BUCKET}.
+     */
+    static String literalFirstSegment(String pattern)
+    {
+        if (pattern.indexOf('|') >= 0)
+        {
+            return WILDCARD_BUCKET;
+        }
+
+        int start = pattern.startsWith("^") ? 1 : 0;
+        for (int i = start; i < pattern.length(); i++)
+        {
+            char c = pattern.charAt(i);
+            if (c == '/')
+            {
+                // `org/?` doesn't require the separator
+                boolean optional = i + 1 < pattern.length() && "?*{".indexOf(pattern.charAt(i + 1)) >= 0;
+
+                return i > start && !optional ? pattern.substring(start, i) : WILDCARD_BUCKET;
+            }
+            if (REGEX_METACHARACTERS.indexOf(c) >= 0)
+            {
+                return WILDCARD_BUCKET;
+            }
+        }
+
+        return WILDCARD_BUCKET;
+    }
+
+    static String firstSegment(String path)
+    {
+        int i = path.indexOf('/');
+
+        return i > 0 ? path.substring(0, i) : WILDCARD_BUCKET;
+    }
+
+    private static class RepositoryRoutingRules
+    {
+
+        private final PatternSet denied;
+
+        private final PatternSet accepted;
+
+        private RepositoryRoutingRules(PatternSet denied,
+                                       PatternSet accepted)
+        {
+            this.denied = denied;
+            this.accepted = accepted;
+        }
+
+    }
+
+    static class PatternSet
+    {
+
+        private final Map<String, Pattern> buckets = new HashMap<>();
+
+        private final Pattern wildcard;
+
+        /**
+         * The patterns with back references can't be combined, as the group numbers would change, and neither can the
+         * patterns with named groups, as the same name can't be defined twice.
+         */
+        private final List<Pattern> standalone = new ArrayList<>();
+
+        PatternSet(List<String> patterns)
+        {
+            Map<String, List<String>> bucketPatterns = new LinkedHashMap<>();
+            List<String> wildcardPatterns = new ArrayList<>();
+            for (String pattern : patterns)
+            {
+                if (GROUP_REFERENCE.matcher(pattern).find())
+                {
+                    standalone.add(Pattern.compile(pattern));
+                    continue;
+                }
+
+                String segment = literalFirstSegment(pattern);
+                if (WILDCARD_BUCKET.equals(segment))
+                {
+                    wildcardPatterns.add(pattern);
+                }
+                else
+                {
+                    bucketPatterns.computeIfAbsent(segment, s -> new ArrayList<>()).add(pattern);
+                }
+            }
+
+            for (Map.Entry<String, List<String>> entry : bucketPatterns.entrySet())
+            {
+                List<String> bucket = new ArrayList<>(entry.getValue());
+                bucket.addAll(wildcardPatterns);
+                buckets.put(entry.getKey(), alternation(bucket));
+            }
+            wildcard = wildcardPatterns.isEmpty() ? null : alternation(wildcardPatterns);
+        }
+
+        private static Pattern alternation(List<String> patterns)
+        {
+            return Pattern.compile(patterns.stream()
+                                           .map(p -> "(?:" + p + ")")
+                                           .collect(Collectors.joining("|")));
+        }
+
+        boolean matches(String path)
+        {
+            Pattern pattern = buckets.getOrDefault(firstSegment(path), wildcard);
+            if (pattern != null && pattern.matcher(path).matches())
+            {
+                return true;
+            }
+
+            for (Pattern p : standalone)
+            {
+                if (p.matcher(path).matches())
+                {
+                    return true;
+                }
+            }
+
+            return false;
+        }
+
+    }
+
+}
@@ -1,5 +1,6 @@
 package org.carlspring.strongbox.storage.checksum;
 
+import java.io.Serializable;
 import java.util.LinkedHashMap;
 import java.util.Map;
 import java.util.Optional;
@@ -9,6 +10,7 @@ import java.util.concurrent.atomic.AtomicInteger;
  * @author mtodorov
  */
 public class ArtifactChecksum
+        implements Serializable
 {
 
     /**
@@ -20,7 +22,7 @@ public class ArtifactChecksum
      * The last time this checksum object was accessed in any way. Used to determine when to remove entries from the
      * cache manager.
      */
-    private long lastAccessed;
+    private volatile long lastAccessed;
 
     private AtomicInteger numberOfChecksums = new AtomicInteger(0);
 
@@ -31,6 +33,20 @@ public class ArtifactChecksum
         updateLastAccessedTime();
     }
 
+    /**
+     * Creates a copy of the given checksums, which can be modified without affecting the cached instance.
+     */
+    public ArtifactChecksum(ArtifactChecksum other)
+    {
+        synchronized (other)
+        {
+            checksums.putAll(other.checksums);
+            numberOfChecksums.set(other.numberOfChecksums.get());
+            numberOfValidatedChecksums.set(other.numberOfValidatedChecksums.get());
+        }
+        updateLastAccessedTime();
+    }
+
     public synchronized void addChecksum(String algorithm,
                                          String checksum)
     {
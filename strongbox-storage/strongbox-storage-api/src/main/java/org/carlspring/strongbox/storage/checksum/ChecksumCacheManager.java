@@ -1,10 +1,11 @@
 package org.carlspring.strongbox.storage.checksum;
 
-import java.util.LinkedHashMap;
-import java.util.LinkedHashSet;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ConcurrentSkipListMap;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -25,6 +26,12 @@ import org.slf4j.LoggerFactory;
  * - a checksum is not claimed within cachedChecksumLifetime, trigger an event and log
  * this, then remove the checksum from the cache. (If this checksums set is empty,
  * remove the respective Checksum from the cachedChecksums).
+ * <p>
+ * The cached {@link ArtifactChecksum}s are never modified in place, they are replaced by modified copies, so that the
+ * cache can be backed by a distributed map (e.g. a Hazelcast `IMap`), which is shared by the cluster nodes.
+ * <p>
+ * The paths of the locally cached checksums are bucketed by their expiration time, so that removing the expired
+ * checksums only visits the due buckets. A distributed map is expected to expire its entries itself.
  *
  * @author mtodorov
  */
@@ -33,11 +40,24 @@ public class ChecksumCacheManager
 
     private static Logger logger = LoggerFactory.getLogger(ChecksumCacheManager.class);
 
+    /**
+     * The number of the expiration buckets per {@link #cachedChecksumLifetime}.
+     */
+    private static final int EXPIRATION_BUCKETS = 64;
+
     /**
      * Key:     Artifact path
      * Value:   Artifact checksum.
      */
-    private Map<String, ArtifactChecksum> cachedChecksums = new LinkedHashMap<>();
+    private final ConcurrentMap<String, ArtifactChecksum> cachedChecksums;
+
+    /**
+     * Key:     Expiration time, rounded up to the bucket
+     * Value:   Artifact paths.
+     */
+    private final ConcurrentSkipListMap<Long, Set<String>> expirations = new ConcurrentSkipListMap<>();
+
+    private final boolean localExpiration;
 
     /**
      * Specifies how long to keep the cached checksums.
@@ -55,6 +75,17 @@ public class ChecksumCacheManager
 
     public ChecksumCacheManager()
     {
+        this.cachedChecksums = new ConcurrentHashMap<>();
+        this.localExpiration = true;
+    }
+
+    /**
+     * @param cachedChecksums a map which expires its entries itself.
+     */
+    public ChecksumCacheManager(ConcurrentMap<String, ArtifactChecksum> cachedChecksums)
+    {
+        this.cachedChecksums = cachedChecksums;
+        this.localExpiration = false;
     }
 
     public boolean containsArtifactPath(String artifactPath)
@@ -71,12 +102,12 @@ public class ChecksumCacheManager
     public String getArtifactChecksum(String artifactBasePath,
                                       String algorithm)
     {
-        if (!cachedChecksums.containsKey(artifactBasePath))
+        final ArtifactChecksum artifactChecksum = getArtifactChecksum(artifactBasePath);
+        if (artifactChecksum == null)
         {
             return null;
         }
 
-        final ArtifactChecksum artifactChecksum = getArtifactChecksum(artifactBasePath);
         final String checksum = artifactChecksum.getChecksum(algorithm);
         if (checksum != null)
         {
@@ -98,71 +129,92 @@ public class ChecksumCacheManager
         return getArtifactChecksum(artifactPath, algorithm).equals(checksum);
     }
 
-    public synchronized void addArtifactChecksum(String artifactBasePath,
-                                                 String algorithm,
-                                                 String checksum)
+    public void addArtifactChecksum(String artifactBasePath,
+                                    String algorithm,
+                                    String checksum)
     {
         logger.debug("Adding checksum '{}' [{}] for '{}' in cache.", checksum, algorithm, artifactBasePath);
 
-        if (cachedChecksums.containsKey(artifactBasePath))
-        {
-            final ArtifactChecksum artifactChecksum = getArtifactChecksum(artifactBasePath);
-            artifactChecksum.addChecksum(algorithm, checksum);
-        }
-        else
-        {
-            ArtifactChecksum artifactChecksum = new ArtifactChecksum();
-            artifactChecksum.addChecksum(algorithm, checksum);
+        ArtifactChecksum artifactChecksum = cachedChecksums.compute(artifactBasePath, (k, v) -> {
+            ArtifactChecksum result = v != null ? new ArtifactChecksum(v) : new ArtifactChecksum();
+            result.addChecksum(algorithm, checksum);
+
+            return result;
+        });
 
-            cachedChecksums.put(artifactBasePath, artifactChecksum);
+        if (localExpiration)
+        {
+            scheduleExpiration(artifactBasePath, artifactChecksum);
+            removeExpiredChecksums();
         }
     }
 
-    public synchronized void removeArtifactChecksum(String artifactBasePath,
-                                                    String algorithm)
+    public void removeArtifactChecksum(String artifactBasePath,
+                                       String algorithm)
     {
-        Optional.ofNullable(getArtifactChecksum(artifactBasePath)).map(ac -> {
-            logger.debug(ac.removeChecksum(algorithm)
-                           .map(c -> String.format("Removed [%s] artifact checksum value [%s] from cache.",
-                                                   artifactBasePath,
-                                                   c))
-                           .orElseGet(() -> String.format("Checksum algorithm [%s] not found for [%s] in cache.",
-                                                          algorithm,
-                                                          artifactBasePath)));
-            return ac;
-        }).filter(ac -> ac.getChecksums().isEmpty()).ifPresent(ac -> cachedChecksums.values().remove(ac));
+        cachedChecksums.computeIfPresent(artifactBasePath, (k, v) -> {
+            ArtifactChecksum result = new ArtifactChecksum(v);
+            logger.debug(result.removeChecksum(algorithm)
+                               .map(c -> String.format("Removed [%s] artifact checksum value [%s] from cache.",
+                                                       artifactBasePath,
+                                                       c))
+                               .orElseGet(() -> String.format("Checksum algorithm [%s] not found for [%s] in cache.",
+                                                              algorithm,
+                                                              artifactBasePath)));
+
+            return result.getChecksums().isEmpty() ? null : result;
+        });
     }
 
-    public synchronized void removeArtifactChecksum(String artifactBasePath)
+    public void removeArtifactChecksum(String artifactBasePath)
     {
         Optional.ofNullable(cachedChecksums.remove(artifactBasePath))
                 .ifPresent(ac -> logger.debug("Removed [{}] artifact checksum value [{}] from cache.",
                                               artifactBasePath, ac));
     }
 
-    public synchronized void removeExpiredChecksums()
+    /**
+     * Visits the due expiration buckets only. The checksums which were accessed since they have been scheduled are
+     * scheduled again.
+     */
+    public void removeExpiredChecksums()
     {
-        for (String checksum : getExpiredChecksums())
+        long now = System.currentTimeMillis();
+        for (Map.Entry<Long, Set<String>> bucket = expirations.firstEntry();
+             bucket != null && bucket.getKey() <= now;
+             bucket = expirations.firstEntry())
         {
-            removeArtifactChecksum(checksum);
-        }
-    }
+            if (!expirations.remove(bucket.getKey(), bucket.getValue()))
+            {
+                continue;
+            }
 
-    private Set<String> getExpiredChecksums()
-    {
-        Set<String> expiredChecksums = new LinkedHashSet<>();
+            for (String artifactBasePath : bucket.getValue())
+            {
+                cachedChecksums.computeIfPresent(artifactBasePath, (k, v) -> {
+                    if (now - v.getLastAccessed() > cachedChecksumLifetime)
+                    {
+                        logger.debug("Removed expired [{}] artifact checksum value [{}] from cache.", k, v);
 
-        for (Map.Entry<String, ArtifactChecksum> artifactChecksumEntry : cachedChecksums.entrySet())
-        {
-            ArtifactChecksum checksum = artifactChecksumEntry.getValue();
+                        return null;
+                    }
 
-            if (System.currentTimeMillis() - checksum.getLastAccessed() > cachedChecksumLifetime)
-            {
-                expiredChecksums.add(artifactChecksumEntry.getKey());
+                    scheduleExpiration(k, v);
+
+                    return v;
+                });
             }
         }
+    }
+
+    private void scheduleExpiration(String artifactBasePath,
+                                    ArtifactChecksum artifactChecksum)
+    {
+        long bucketSize = Math.max(1, cachedChecksumLifetime / EXPIRATION_BUCKETS);
+        long expiration = artifactChecksum.getLastAccessed() + cachedChecksumLifetime + 1;
+        long bucket = (expiration / bucketSize + 1) * bucketSize;
 
-        return expiredChecksums;
+        expirations.computeIfAbsent(bucket, b -> ConcurrentHashMap.newKeySet()).add(artifactBasePath);
     }
 
     public long getCachedChecksumLifetime()
@@ -0,0 +1,129 @@
+package org.carlspring.strongbox.artifact.locator;
+
+import org.carlspring.strongbox.StorageApiTestConfig;
+import org.carlspring.strongbox.artifact.locator.handlers.AbstractArtifactLocationHandler;
+import org.carlspring.strongbox.providers.io.RepositoryPath;
+import org.carlspring.strongbox.providers.io.RepositoryPathResolver;
+import org.carlspring.strongbox.storage.repository.Repository;
+import org.carlspring.strongbox.testing.repository.RawRepository;
+import org.carlspring.strongbox.testing.storage.repository.RepositoryManagementTestExecutionListener;
+
+import javax.inject.Inject;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.ContextConfiguration;
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@ActiveProfiles(profiles = "test")
+@ContextConfiguration(classes = StorageApiTestConfig.class)
+public class ArtifactDirectoryLocatorTest
+{
+
+    private static final int FAN_OUT = 4;
+
+    @Inject
+    private RepositoryPathResolver repositoryPathResolver;
+
+    @ExtendWith(RepositoryManagementTestExecutionListener.class)
+    @Test
+    public void testParallelWalkVisitsEveryDirectoryOnce(@RawRepository(repositoryId = "adlt-parallel")
+                                                         Repository repository)
+            throws IOException
+    {
+        assertEveryDirectoryVisitedOnce(repository, 4, true);
+    }
+
+    @ExtendWith(RepositoryManagementTestExecutionListener.class)
+    @Test
+    public void testNotThreadSafeOperationIsWalkedSequentially(@RawRepository(repositoryId = "adlt-sequential")
+                                                               Repository repository)
+            throws IOException
+    {
+        CountingOperation operation = assertEveryDirectoryVisitedOnce(repository, 4, false);
+
+        assertThat(operation.threads).hasSize(1);
+    }
+
+    private CountingOperation assertEveryDirectoryVisitedOnce(Repository repository,
+                                                              int parallelism,
+                                                              boolean threadSafe)
+            throws IOException
+    {
+        RepositoryPath rootPath = repositoryPathResolver.resolve(repository);
+
+        Set<RepositoryPath> expected = new HashSet<>();
+        expected.add(rootPath.normalize());
+        for (int i = 0; i < FAN_OUT; i++)
+        {
+            for (int j = 0; j < FAN_OUT; j++)
+            {
+                for (int k = 0; k < FAN_OUT; k++)
+                {
+                    RepositoryPath directory = rootPath.resolve("a" + i).resolve("b" + j).resolve("c" + k);
+                    Files.createDirectories(directory);
+
+                    expected.add(directory.getParent().getParent());
+                    expected.add(directory.getParent());
+                    expected.add(directory);
+                }
+            }
+        }
+        // The hidden directories are skipped.
+        Files.createDirectories(rootPath.resolve(".index").resolve("skipped"));
+
+        CountingOperation operation = new CountingOperation(threadSafe);
+        operation.setBasePath(rootPath);
+
+        ArtifactDirectoryLocator locator = new ArtifactDirectoryLocator();
+        locator.setOperation(operation);
+        locator.setParallelism(parallelism);
+        locator.locateArtifactDirectories();
+
+        assertThat(operation.visits.keySet()).containsExactlyInAnyOrderElementsOf(expected);
+        assertThat(operation.visits.values()).allMatch(count -> count.get() == 1);
+
+        return operation;
+    }
+
+    private static class CountingOperation
+            extends AbstractArtifactLocationHandler
+    {
+
+        private final Map<RepositoryPath, AtomicInteger> visits = new ConcurrentHashMap<>();
+
+        private final Set<Thread> threads = ConcurrentHashMap.newKeySet();
+
+        private final boolean threadSafe;
+
+        private CountingOperation(boolean threadSafe)
+        {
+            this.threadSafe = threadSafe;
+        }
+
+        @Override
+        public void execute(RepositoryPath directoryPath)
+        {
+            visits.computeIfAbsent(directoryPath.normalize(), p -> new AtomicInteger()).incrementAndGet();
+            threads.add(Thread.currentThread());
+        }
+
+        @Override
+        public boolean isThreadSafe()
+        {
+            return threadSafe;
+        }
+
+    }
+
+}
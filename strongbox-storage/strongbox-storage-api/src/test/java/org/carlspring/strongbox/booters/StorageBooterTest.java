@@ -0,0 +1,219 @@
+package org.carlspring.strongbox.booters;
+
+import org.carlspring.strongbox.configuration.Configuration;
+import org.carlspring.strongbox.configuration.ConfigurationManager;
+import org.carlspring.strongbox.providers.layout.LayoutProvider;
+import org.carlspring.strongbox.providers.layout.LayoutProviderRegistry;
+import org.carlspring.strongbox.providers.repository.group.GroupRepositorySetCollector;
+import org.carlspring.strongbox.services.RepositoryManagementService;
+import org.carlspring.strongbox.storage.Storage;
+import org.carlspring.strongbox.storage.repository.Repository;
+import org.carlspring.strongbox.yaml.BatchedStore;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.core.ILock;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * The repositories are initialized with mocked services, so only the order of the initializations and the batches are
+ * checked.
+ */
+class StorageBooterTest
+{
+
+    private final Map<String, Storage> storages = new LinkedHashMap<>();
+
+    private final List<String> initialized = Collections.synchronizedList(new ArrayList<>());
+
+    private RepositoryManagementService repositoryManagementService;
+
+    private GroupRepositorySetCollector groupRepositorySetCollector;
+
+    private BatchedStore configurationStore;
+
+    private BatchedStore cronTasksStore;
+
+    private StorageBooter storageBooter;
+
+    @BeforeEach
+    void setUp()
+            throws Exception
+    {
+        Configuration configuration = mock(Configuration.class);
+        when(configuration.getStorages()).thenReturn(storages);
+
+        ConfigurationManager configurationManager = mock(ConfigurationManager.class);
+        when(configurationManager.getConfiguration()).thenReturn(configuration);
+
+        LayoutProviderRegistry layoutProviderRegistry = mock(LayoutProviderRegistry.class);
+        doReturn(mock(LayoutProvider.class)).when(layoutProviderRegistry).getProvider(anyString());
+
+        ILock lock = mock(ILock.class);
+        when(lock.tryLock()).thenReturn(true);
+        HazelcastInstance hazelcastInstance = mock(HazelcastInstance.class);
+        when(hazelcastInstance.getLock(anyString())).thenReturn(lock);
+
+        repositoryManagementService = mock(RepositoryManagementService.class);
+        doAnswer(invocation -> {
+            // The members take a while, so that a group which doesn't wait for them would be initialized first.
+            Thread.sleep(ThreadLocalRandom.current().nextInt(20));
+            initialized.add(invocation.getArgument(0) + ":" + invocation.getArgument(1));
+
+            return null;
+        }).when(repositoryManagementService).createRepository(anyString(), anyString());
+
+        groupRepositorySetCollector = mock(GroupRepositorySetCollector.class);
+        configurationStore = mock(BatchedStore.class);
+        cronTasksStore = mock(BatchedStore.class);
+
+        storageBooter = new StorageBooter(configurationManager,
+                                          layoutProviderRegistry,
+                                          repositoryManagementService,
+                                          groupRepositorySetCollector,
+                                          hazelcastInstance,
+                                          Arrays.asList(configurationStore, cronTasksStore),
+                                          4);
+    }
+
+    @Test
+    void groupsShouldBeInitializedAfterTheirMembers()
+            throws Exception
+    {
+        // The groups come first, and the same repository ids are used in both storages.
+        Repository releases0 = repository("storage0", "releases");
+        Repository snapshots0 = repository("storage0", "snapshots");
+        Repository releases1 = repository("storage1", "releases");
+        Repository nestedGroup0 = group("storage0", "nested-group", releases0, snapshots0);
+        Repository group0 = group("storage0", "group", nestedGroup0, releases1);
+        Repository group1 = group("storage1", "group", releases1);
+
+        storage("storage0", group0, nestedGroup0, releases0, snapshots0);
+        storage("storage1", group1, releases1);
+
+        storageBooter.initialize();
+
+        assertThat(initialized).containsExactlyInAnyOrder("storage0:releases",
+                                                          "storage0:snapshots",
+                                                          "storage0:nested-group",
+                                                          "storage0:group",
+                                                          "storage1:releases",
+                                                          "storage1:group");
+        assertInitializedBefore("storage0:releases", "storage0:nested-group");
+        assertInitializedBefore("storage0:snapshots", "storage0:nested-group");
+        assertInitializedBefore("storage0:nested-group", "storage0:group");
+        assertInitializedBefore("storage1:releases", "storage0:group");
+        assertInitializedBefore("storage1:releases", "storage1:group");
+
+        // Every repository is initialized within the batches.
+        InOrder inOrder = inOrder(configurationStore, cronTasksStore, repositoryManagementService);
+        inOrder.verify(configurationStore).beginBatch();
+        inOrder.verify(cronTasksStore).beginBatch();
+        inOrder.verify(repositoryManagementService, times(6)).createRepository(anyString(), anyString());
+        inOrder.verify(configurationStore).endBatch();
+        inOrder.verify(cronTasksStore).endBatch();
+    }
+
+    @Test
+    void batchesShouldBeClosedWhenRepositoryInitializationFails()
+            throws Exception
+    {
+        Repository releases = repository("storage0", "releases");
+        Repository snapshots = repository("storage0", "snapshots");
+        Repository group = group("storage0", "group", releases, snapshots);
+
+        storage("storage0", group, releases, snapshots);
+
+        doAnswer(invocation -> {
+            throw new IOException("Failed to create the repository.");
+        }).when(repositoryManagementService).createRepository("storage0", "releases");
+
+        assertThatExceptionOfType(IOException.class).isThrownBy(() -> storageBooter.initialize())
+                                                    .withMessage("Failed to create the repository.");
+
+        // The group of the failed member is not initialized.
+        assertThat(initialized).containsExactly("storage0:snapshots");
+
+        verify(configurationStore).beginBatch();
+        verify(configurationStore).endBatch();
+        verify(cronTasksStore).beginBatch();
+        verify(cronTasksStore).endBatch();
+    }
+
+    private void assertInitializedBefore(String member,
+                                         String group)
+    {
+        assertThat(initialized.indexOf(member)).as("%s before %s", member, group)
+                                               .isLessThan(initialized.indexOf(group));
+    }
+
+    private void storage(String storageId,
+                         Repository... repositories)
+    {
+        Map<String, Repository> storageRepositories = new LinkedHashMap<>();
+        for (Repository repository : repositories)
+        {
+            if (repository.getStorage().getId().equals(storageId))
+            {
+                storageRepositories.put(repository.getId(), repository);
+            }
+        }
+
+        when(storages.computeIfAbsent(storageId, this::newStorage).getRepositories()).thenReturn(storageRepositories);
+    }
+
+    private Storage newStorage(String storageId)
+    {
+        Storage storage = mock(Storage.class);
+        when(storage.getId()).thenReturn(storageId);
+
+        return storage;
+    }
+
+    private Repository repository(String storageId,
+                                  String repositoryId)
+    {
+        Storage storage = storages.computeIfAbsent(storageId, this::newStorage);
+
+        Repository repository = mock(Repository.class);
+        when(repository.getId()).thenReturn(repositoryId);
+        when(repository.getStorage()).thenReturn(storage);
+        when(repository.getStorageIdAndRepositoryId()).thenReturn(storageId + ":" + repositoryId);
+        when(repository.getLayout()).thenReturn("Maven 2");
+
+        return repository;
+    }
+
+    private Repository group(String storageId,
+                             String repositoryId,
+                             Repository... members)
+    {
+        Repository repository = repository(storageId, repositoryId);
+        when(repository.isGroupRepository()).thenReturn(true);
+        when(groupRepositorySetCollector.collect(repository)).thenReturn(new LinkedHashSet<>(Arrays.asList(members)));
+
+        return repository;
+    }
+
+}
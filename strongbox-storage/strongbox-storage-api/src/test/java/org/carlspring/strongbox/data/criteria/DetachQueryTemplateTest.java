@@ -0,0 +1,151 @@
+package org.carlspring.strongbox.data.criteria;
+
+import org.carlspring.strongbox.data.domain.GenericEntity;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+import com.orientechnologies.orient.object.db.OObjectDatabaseTx;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.same;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * The entities are "detached" by the mocked database into new instances with the same uuid.
+ */
+class DetachQueryTemplateTest
+{
+
+    private OObjectDatabaseTx db;
+
+    private DetachQueryTemplate<Object, TestEntity> detachQueryTemplate;
+
+    @BeforeEach
+    void setUp()
+    {
+        db = mock(OObjectDatabaseTx.class);
+        doAnswer(invocation -> new TestEntity(invocation.<TestEntity>getArgument(0).getUuid()))
+                .when(db).detachAll(any(), eq(true));
+
+        @SuppressWarnings("unchecked")
+        OQueryTemplate<Object, TestEntity> target = mock(OQueryTemplate.class);
+        when(target.getEmDelegate()).thenReturn(db);
+
+        detachQueryTemplate = new DetachQueryTemplate<>(target);
+    }
+
+    @Test
+    void resultsWithoutEntitiesShouldBePassedThrough()
+    {
+        List<String> paths = new ArrayList<>(Arrays.asList("org/foo/1.0/foo-1.0.jar", "org/foo/1.1/foo-1.1.jar"));
+        Set<String> uuids = new HashSet<>(Arrays.asList("first", "second"));
+        List<String> unmodifiablePaths = Collections.unmodifiableList(paths);
+        Optional<String> path = Optional.of("org/foo/1.0/foo-1.0.jar");
+        Optional<Object> empty = Optional.empty();
+        Long count = 2L;
+
+        assertThat(detachQueryTemplate.unproxy(paths)).isSameAs(paths);
+        assertThat(detachQueryTemplate.unproxy(uuids)).isSameAs(uuids);
+        assertThat(detachQueryTemplate.unproxy(unmodifiablePaths)).isSameAs(unmodifiablePaths);
+        assertThat(detachQueryTemplate.unproxy(path)).isSameAs(path);
+        assertThat(detachQueryTemplate.unproxy(empty)).isSameAs(empty);
+        assertThat(detachQueryTemplate.unproxy(count)).isSameAs(count);
+        assertThat(detachQueryTemplate.unproxy(null)).isNull();
+
+        verify(db, never()).detachAll(any(), eq(true));
+    }
+
+    @Test
+    void collectionsWhichAreNotPlainShouldBeCopied()
+    {
+        LazyList paths = new LazyList(Arrays.asList("org/foo/1.0/foo-1.0.jar", "org/foo/1.1/foo-1.1.jar"));
+
+        Object result = detachQueryTemplate.unproxy(paths);
+
+        assertThat(result).isNotSameAs(paths)
+                          .isExactlyInstanceOf(ArrayList.class);
+        assertThat((List<?>) result).containsExactlyElementsOf(paths);
+        verify(db, never()).detachAll(any(), eq(true));
+    }
+
+    @Test
+    void entityShouldBeDetachedOnceWithinResult()
+    {
+        TestEntity entity = new TestEntity("first");
+        TestEntity equalEntity = new TestEntity("first");
+        TestEntity otherEntity = new TestEntity("second");
+
+        List<?> result = (List<?>) detachQueryTemplate.unproxy(Arrays.asList(entity,
+                                                                             otherEntity,
+                                                                             entity,
+                                                                             Optional.of(entity),
+                                                                             equalEntity));
+
+        assertThat(result).hasSize(5);
+        assertThat(result.get(0)).isNotSameAs(entity)
+                                 .isSameAs(result.get(2))
+                                 .isSameAs(((Optional<?>) result.get(3)).get());
+        assertThat(result.get(1)).isNotSameAs(otherEntity);
+        // The equal entities are different proxies, both of them are detached.
+        assertThat(result.get(4)).isNotSameAs(equalEntity)
+                                 .isNotSameAs(result.get(0));
+
+        verify(db).detachAll(same(entity), eq(true));
+        verify(db).detachAll(same(equalEntity), eq(true));
+        verify(db).detachAll(same(otherEntity), eq(true));
+        verify(db, times(3)).detachAll(any(), eq(true));
+    }
+
+    @Test
+    void setOfEntitiesShouldBeCopiedAsSet()
+    {
+        TestEntity entity = new TestEntity("first");
+
+        Object result = detachQueryTemplate.unproxy(Collections.singleton(entity));
+
+        assertThat(result).isInstanceOf(Set.class);
+        assertThat((Collection<?>) result).hasSize(1)
+                                          .allMatch(e -> e != entity);
+    }
+
+    /**
+     * Stands for the lazy OrientDB collections, which are not plain JDK collections.
+     */
+    static class LazyList
+            extends ArrayList<Object>
+    {
+
+        LazyList(Collection<?> elements)
+        {
+            super(elements);
+        }
+
+    }
+
+    static class TestEntity
+            extends GenericEntity
+    {
+
+        TestEntity(String uuid)
+        {
+            setUuid(uuid);
+        }
+
+    }
+
+}
@@ -0,0 +1,148 @@
+package org.carlspring.strongbox.data.tx;
+
+import org.carlspring.strongbox.StorageApiTestConfig;
+
+import javax.inject.Inject;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.transaction.annotation.Transactional;
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * The services return collections which are not plain JDK collections, so the unproxied results are copies and the
+ * results which were not unproxied are the returned instances.
+ */
+@SpringBootTest
+@ActiveProfiles(profiles = "test")
+@ContextConfiguration(classes = { StorageApiTestConfig.class,
+                                  OEntityUnproxyAspectTest.UnproxyTestConfig.class })
+public class OEntityUnproxyAspectTest
+{
+
+    @Inject
+    private TransactionalMethodsService transactionalMethodsService;
+
+    @Inject
+    private TransactionalClassService transactionalClassService;
+
+    @Inject
+    private SkippedClassService skippedClassService;
+
+    @Test
+    public void transactionalMethodResultShouldBeUnproxied()
+    {
+        assertUnproxied(transactionalMethodsService.find());
+    }
+
+    @Test
+    public void transactionalClassMethodResultShouldBeUnproxied()
+    {
+        assertUnproxied(transactionalClassService.find());
+    }
+
+    @Test
+    public void skippedMethodResultShouldNotBeUnproxied()
+    {
+        assertThat(transactionalMethodsService.findSkipped()).isExactlyInstanceOf(LazyList.class);
+    }
+
+    @Test
+    public void skippedClassMethodResultShouldNotBeUnproxied()
+    {
+        assertThat(skippedClassService.find()).isExactlyInstanceOf(LazyList.class);
+    }
+
+    private void assertUnproxied(Collection<String> result)
+    {
+        assertThat(result).isExactlyInstanceOf(ArrayList.class)
+                          .containsExactly("org/foo/1.0/foo-1.0.jar");
+    }
+
+    /**
+     * Stands for the lazy OrientDB collections, which are always copied when unproxied.
+     */
+    public static class LazyList
+            extends ArrayList<String>
+    {
+
+        public LazyList()
+        {
+            super(Arrays.asList("org/foo/1.0/foo-1.0.jar"));
+        }
+
+    }
+
+    public static class TransactionalMethodsService
+    {
+
+        @Transactional
+        public Collection<String> find()
+        {
+            return new LazyList();
+        }
+
+        @Transactional
+        @SkipUnproxy
+        public Collection<String> findSkipped()
+        {
+            return new LazyList();
+        }
+
+    }
+
+    @Transactional
+    public static class TransactionalClassService
+    {
+
+        public Collection<String> find()
+        {
+            return new LazyList();
+        }
+
+    }
+
+    @Transactional
+    @SkipUnproxy
+    public static class SkippedClassService
+    {
+
+        public Collection<String> find()
+        {
+            return new LazyList();
+        }
+
+    }
+
+    @Configuration
+    static class UnproxyTestConfig
+    {
+
+        @Bean
+        TransactionalMethodsService transactionalMethodsService()
+        {
+            return new TransactionalMethodsService();
+        }
+
+        @Bean
+        TransactionalClassService transactionalClassService()
+        {
+            return new TransactionalClassService();
+        }
+
+        @Bean
+        SkippedClassService skippedClassService()
+        {
+            return new SkippedClassService();
+        }
+
+    }
+
+}
@@ -0,0 +1,84 @@
+package org.carlspring.strongbox.domain;
+
+import java.io.ByteArrayOutputStream;
+
+import com.esotericsoftware.kryo.Kryo;
+import com.esotericsoftware.kryo.io.Output;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Compares the write times of the {@link ArtifactEntrySerializer} with the writes with the class names.
+ * <p>
+ * It's not a part of the build, it's run with:
+ * <pre>
+ * mvn test -Dtest=ArtifactEntrySerializerBenchmark -Dstrongbox.benchmark=true
+ * </pre>
+ */
+@EnabledIfSystemProperty(named = "strongbox.benchmark", matches = "true")
+public class ArtifactEntrySerializerBenchmark
+{
+
+    private static final Logger logger = LoggerFactory.getLogger(ArtifactEntrySerializerBenchmark.class);
+
+    private static final int WARMUP_ITERATIONS = 10000;
+
+    private static final int ITERATIONS = 100000;
+
+    private final ArtifactEntrySerializer serializer = new ArtifactEntrySerializer();
+
+    @Test
+    public void compareWriteTimes()
+    {
+        ArtifactEntry artifactEntry = ArtifactEntrySerializerTest.createArtifactEntry();
+
+        Kryo kryo = new Kryo();
+        kryo.setRegistrationRequired(false);
+        Output output = new Output(4096, -1);
+
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+
+        writeWithClassNames(kryo, output, artifactEntry, WARMUP_ITERATIONS);
+        writeRegistered(outputStream, artifactEntry, WARMUP_ITERATIONS);
+
+        long start = System.nanoTime();
+        writeWithClassNames(kryo, output, artifactEntry, ITERATIONS);
+        long unregisteredTime = System.nanoTime() - start;
+
+        start = System.nanoTime();
+        writeRegistered(outputStream, artifactEntry, ITERATIONS);
+        long registeredTime = System.nanoTime() - start;
+
+        logger.info("Class names: [{}] bytes, [{}] ns per write; registered: [{}] bytes, [{}] ns per write.",
+                    output.position(),
+                    unregisteredTime / ITERATIONS,
+                    outputStream.size(),
+                    registeredTime / ITERATIONS);
+    }
+
+    private void writeWithClassNames(Kryo kryo,
+                                     Output output,
+                                     ArtifactEntry artifactEntry,
+                                     int iterations)
+    {
+        for (int i = 0; i < iterations; i++)
+        {
+            output.reset();
+            kryo.writeObject(output, artifactEntry);
+        }
+    }
+
+    private void writeRegistered(ByteArrayOutputStream outputStream,
+                                 ArtifactEntry artifactEntry,
+                                 int iterations)
+    {
+        for (int i = 0; i < iterations; i++)
+        {
+            outputStream.reset();
+            serializer.write(outputStream, artifactEntry);
+        }
+    }
+
+}
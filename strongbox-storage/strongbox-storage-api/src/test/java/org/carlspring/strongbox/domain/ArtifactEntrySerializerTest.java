@@ -0,0 +1,92 @@
+package org.carlspring.strongbox.domain;
+
+import org.carlspring.strongbox.artifact.coordinates.RawArtifactCoordinates;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.util.Date;
+import java.util.UUID;
+
+import com.esotericsoftware.kryo.Kryo;
+import com.esotericsoftware.kryo.io.Output;
+import org.junit.jupiter.api.Test;
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Compares the payloads of the {@link ArtifactEntrySerializer} with the payloads written with the class names. The
+ * write times are compared by the {@link ArtifactEntrySerializerBenchmark}.
+ */
+public class ArtifactEntrySerializerTest
+{
+
+    private final ArtifactEntrySerializer serializer = new ArtifactEntrySerializer();
+
+    @Test
+    public void testRoundTrip()
+    {
+        ArtifactEntry artifactEntry = createArtifactEntry();
+
+        ArtifactEntry result = serializer.read(new ByteArrayInputStream(serialize(artifactEntry)));
+
+        assertThat(result.getUuid()).isEqualTo(artifactEntry.getUuid());
+        assertThat(result.getStorageId()).isEqualTo(artifactEntry.getStorageId());
+        assertThat(result.getRepositoryId()).isEqualTo(artifactEntry.getRepositoryId());
+        assertThat(result.getArtifactPath()).isEqualTo(artifactEntry.getArtifactPath());
+        assertThat(result.getTagSet()).isEqualTo(artifactEntry.getTagSet());
+        assertThat(result.getChecksums()).isEqualTo(artifactEntry.getChecksums());
+        assertThat(result.getArtifactArchiveListing().getFilenames())
+                .isEqualTo(artifactEntry.getArtifactArchiveListing().getFilenames());
+        assertThat(result.getSizeInBytes()).isEqualTo(artifactEntry.getSizeInBytes());
+        assertThat(result.getLastUsed()).isEqualTo(artifactEntry.getLastUsed());
+    }
+
+    @Test
+    public void testRegisteredPayloadIsSmaller()
+    {
+        ArtifactEntry artifactEntry = createArtifactEntry();
+
+        Kryo kryo = new Kryo();
+        kryo.setRegistrationRequired(false);
+
+        Output output = new Output(4096, -1);
+        kryo.writeObject(output, artifactEntry);
+        int unregisteredSize = output.position();
+
+        int registeredSize = serialize(artifactEntry).length;
+
+        assertThat(registeredSize).isLessThan(unregisteredSize);
+    }
+
+    private byte[] serialize(ArtifactEntry artifactEntry)
+    {
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        serializer.write(outputStream, artifactEntry);
+
+        return outputStream.toByteArray();
+    }
+
+    static ArtifactEntry createArtifactEntry()
+    {
+        ArtifactEntry artifactEntry = new ArtifactEntry();
+        artifactEntry.setUuid(UUID.randomUUID().toString());
+        artifactEntry.setStorageId("storage0");
+        artifactEntry.setRepositoryId("releases");
+        artifactEntry.setArtifactCoordinates(new RawArtifactCoordinates("org/carlspring/strongbox/test/1.0/test-1.0.jar"));
+
+        ArtifactTagEntry tag = new ArtifactTagEntry();
+        tag.setName("last-version");
+        artifactEntry.getTagSet().add(tag);
+
+        artifactEntry.getChecksums().put("SHA-1", "da39a3ee5e6b4b0d3255bfef95601890afd80709");
+
+        ArtifactArchiveListing artifactArchiveListing = new ArtifactArchiveListing();
+        artifactArchiveListing.getFilenames().add("META-INF/MANIFEST.MF");
+        artifactEntry.setArtifactArchiveListing(artifactArchiveListing);
+
+        artifactEntry.setSizeInBytes(1024L);
+        artifactEntry.setLastUsed(new Date());
+
+        return artifactEntry;
+    }
+
+}
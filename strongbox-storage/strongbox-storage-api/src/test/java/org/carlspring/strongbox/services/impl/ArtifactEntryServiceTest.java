@@ -364,6 +364,35 @@ public class ArtifactEntryServiceTest
         assertThat(c).isEqualTo(Long.valueOf(1));
     }
 
+    /**
+     * Make sure that coordinates search is case insensitive for both strict and non strict queries.
+     */
+    @Test
+    public void searchByCoordinatesShouldBeCaseInsensitive(TestInfo testInfo)
+    {
+        final String groupId = getGroupId(GROUP_ID, testInfo);
+
+        RawArtifactCoordinates c1 = new RawArtifactCoordinates(
+                (groupId + "/" + ARTIFACT_ID + "/").toUpperCase());
+
+        List<ArtifactEntry> result = artifactEntryService.findArtifactList(STORAGE_ID,
+                                                                           REPOSITORY_ID,
+                                                                           c1.getCoordinates(),
+                                                                           false);
+        assertThat(result).hasSize(1);
+
+        RawArtifactCoordinates c2 = new RawArtifactCoordinates(
+                String.format("%s/%s/%s/%s", groupId, ARTIFACT_ID, "1.2.3", "jar").toUpperCase());
+
+        result = artifactEntryService.findArtifactList(STORAGE_ID,
+                                                       REPOSITORY_ID,
+                                                       c2.getCoordinates(),
+                                                       true);
+        assertThat(result).hasSize(1);
+        assertThat(((RawArtifactCoordinates) result.get(0).getArtifactCoordinates()).getLowerCaseCoordinates())
+                .containsEntry("path", c2.getPath().toLowerCase());
+    }
+
     @Test
     public void saveEntityCreationDateShouldBeGeneratedAutomaticallyAndRemainUnchanged(TestInfo testInfo)
     {
@@ -0,0 +1,105 @@
+package org.carlspring.strongbox.services.impl;
+
+import org.carlspring.strongbox.StorageApiTestConfig;
+import org.carlspring.strongbox.configuration.ConfigurationFileManager;
+import org.carlspring.strongbox.configuration.MutableConfiguration;
+import org.carlspring.strongbox.services.ConfigurationManagementService;
+import org.carlspring.strongbox.yaml.YAMLMapperFactory;
+
+import javax.inject.Inject;
+import java.io.IOException;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.ContextConfiguration;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+/**
+ * The configuration file is not written, only the number of the stores is checked.
+ */
+@SpringBootTest
+@ActiveProfiles(profiles = "test")
+@ContextConfiguration(classes = { StorageApiTestConfig.class,
+                                  ConfigurationManagementServiceImplBatchTest.MockedConfigurationFileManagerConfig.class })
+public class ConfigurationManagementServiceImplBatchTest
+{
+
+    @Inject
+    private ConfigurationManagementService configurationManagementService;
+
+    @Inject
+    private ConfigurationFileManager configurationFileManager;
+
+    @BeforeEach
+    public void setUp()
+    {
+        // The repositories were initialized within a batch too.
+        Mockito.clearInvocations(configurationFileManager);
+    }
+
+    @Test
+    public void shouldStoreOnceWhenBatchEnds()
+            throws IOException
+    {
+        String instanceName = configurationManagementService.getConfiguration().getInstanceName();
+
+        configurationManagementService.beginBatch();
+        try
+        {
+            configurationManagementService.setInstanceName("cmsibt-instance");
+            assertThat(configurationManagementService.getConfiguration().getInstanceName()).isEqualTo("cmsibt-instance");
+
+            configurationManagementService.setInstanceName(instanceName);
+
+            verify(configurationFileManager, never()).store(any(MutableConfiguration.class));
+        }
+        finally
+        {
+            configurationManagementService.endBatch();
+        }
+
+        verify(configurationFileManager).store(any(MutableConfiguration.class));
+    }
+
+    @Test
+    public void shouldNotStoreWhenBatchIsEmpty()
+            throws IOException
+    {
+        configurationManagementService.beginBatch();
+        configurationManagementService.endBatch();
+
+        verify(configurationFileManager, never()).store(any(MutableConfiguration.class));
+
+        assertThatExceptionOfType(IllegalStateException.class).isThrownBy(configurationManagementService::endBatch);
+    }
+
+    @Configuration
+    static class MockedConfigurationFileManagerConfig
+    {
+
+        @Bean(name = "mockedConfigurationFileManager")
+        @Primary
+        ConfigurationFileManager configurationFileManager(YAMLMapperFactory yamlMapperFactory)
+                throws IOException
+        {
+            final ConfigurationFileManager configurationFileManager = Mockito.spy(
+                    new ConfigurationFileManager(yamlMapperFactory));
+
+            Mockito.doNothing().when(configurationFileManager).store(any(MutableConfiguration.class));
+
+            return configurationFileManager;
+        }
+
+    }
+
+}
@@ -1,18 +1,39 @@
 package org.carlspring.strongbox.services.impl;
 
 import org.carlspring.strongbox.StorageApiTestConfig;
+import org.carlspring.strongbox.artifact.ArtifactTag;
+import org.carlspring.strongbox.artifact.coordinates.RawArtifactCoordinates;
 import org.carlspring.strongbox.data.CacheManagerTestExecutionListener;
+import org.carlspring.strongbox.data.service.support.search.PagingCriteria;
+import org.carlspring.strongbox.domain.ArtifactEntry;
 import org.carlspring.strongbox.domain.RepositoryArtifactIdGroupEntry;
+import org.carlspring.strongbox.services.ArtifactEntryService;
 import org.carlspring.strongbox.services.RepositoryArtifactIdGroupService;
 
 import javax.inject.Inject;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 
+import com.orientechnologies.common.concur.ONeedRetryException;
 import com.orientechnologies.orient.core.storage.ORecordDuplicatedException;
+import org.apache.commons.lang3.exception.ExceptionUtils;
 import org.junit.jupiter.api.Test;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.context.ContextConfiguration;
 import org.springframework.test.context.TestExecutionListeners;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
 
 /**
@@ -26,9 +47,17 @@ import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
 class RepositoryArtifactIdGroupServiceImplTest
 {
 
+    private static final int MAX_RETRY = 20;
+
     @Inject
     private RepositoryArtifactIdGroupService repositoryArtifactIdGroupService;
 
+    @Inject
+    private ArtifactEntryService artifactEntryService;
+
+    @Inject
+    private PlatformTransactionManager transactionManager;
+
     @Test
     public void repositoryArtifactIdGroupShouldBeProtectedByIndex()
     {
@@ -47,4 +76,206 @@ class RepositoryArtifactIdGroupServiceImplTest
                     System.out.println(repositoryArtifactIdGroupService.save(g2).getObjectId());
         });
     }
+
+    @Test
+    public void shouldFindGroupsModifiedSince()
+    {
+        final String storageId = "s1";
+        final String repositoryId = "rmodified";
+        final long now = System.currentTimeMillis();
+        final Date twoDaysAgo = new Date(now - TimeUnit.DAYS.toMillis(2));
+
+        addArtifact(storageId, repositoryId, "stale", "stale/1.0/stale-1.0.jar", twoDaysAgo);
+        addArtifact(storageId, repositoryId, "fresh", "fresh/1.0/fresh-1.0.jar", twoDaysAgo);
+        addArtifact(storageId, repositoryId, "fresh", "fresh/1.1/fresh-1.1.jar", new Date(now));
+        addArtifact(storageId, "rother", "fresh", "fresh/1.1/fresh-1.1.jar", new Date(now));
+
+        Date since = new Date(now - TimeUnit.DAYS.toMillis(1));
+        List<String> modified = repositoryArtifactIdGroupService.findModifiedSince(storageId,
+                                                                                   repositoryId,
+                                                                                   since,
+                                                                                   new PagingCriteria(0, 10))
+                                                                .stream()
+                                                                .map(RepositoryArtifactIdGroupEntry::getName)
+                                                                .collect(Collectors.toList());
+
+        // Only the groups of the repository with at least one artifact stored or updated since then.
+        assertThat(modified).containsExactly("fresh");
+        assertThat(repositoryArtifactIdGroupService.findModifiedSince(storageId,
+                                                                      repositoryId,
+                                                                      new Date(now + TimeUnit.DAYS.toMillis(1)),
+                                                                      new PagingCriteria(0, 10)))
+                .isEmpty();
+        assertThat(repositoryArtifactIdGroupService.findModifiedSince(storageId,
+                                                                      repositoryId,
+                                                                      new Date(now - TimeUnit.DAYS.toMillis(3)),
+                                                                      new PagingCriteria(0, 10)))
+                .hasSize(2);
+    }
+
+    @Test
+    public void groupLastUpdatedShouldBeLatestEntryLastUpdated()
+    {
+        final String storageId = "s1";
+        final String repositoryId = "rlastupdated";
+        final long now = System.currentTimeMillis();
+        final Date twoDaysAgo = new Date(now - TimeUnit.DAYS.toMillis(2));
+
+        addArtifact(storageId, repositoryId, "touched", "touched/1.1/touched-1.1.jar", new Date(now));
+        addArtifact(storageId, repositoryId, "touched", "touched/1.0/touched-1.0.jar", twoDaysAgo);
+
+        assertThat(repositoryArtifactIdGroupService.findOne(storageId, repositoryId, "touched").getLastUpdated())
+                .isEqualTo(new Date(now));
+    }
+
+    @Test
+    public void lastVersionTagShouldMoveToNewerVersion()
+    {
+        final String storageId = "s1";
+        final String repositoryId = "rlastversion";
+
+        addArtifact(storageId, repositoryId, "moved", "moved/1.0/moved-1.0.jar", new Date());
+        assertThat(isLastVersion(storageId, repositoryId, "moved/1.0/moved-1.0.jar")).isTrue();
+
+        addArtifact(storageId, repositoryId, "moved", "moved/2.0/moved-2.0.jar", new Date());
+
+        assertThat(isLastVersion(storageId, repositoryId, "moved/1.0/moved-1.0.jar")).isFalse();
+        assertThat(isLastVersion(storageId, repositoryId, "moved/2.0/moved-2.0.jar")).isTrue();
+        assertThat(findGroupPaths(storageId, repositoryId, "moved")).containsExactlyInAnyOrder(
+                "moved/1.0/moved-1.0.jar",
+                "moved/2.0/moved-2.0.jar");
+    }
+
+    @Test
+    public void lastVersionTagShouldStayOnNewerVersion()
+    {
+        final String storageId = "s1";
+        final String repositoryId = "rlastversion";
+
+        addArtifact(storageId, repositoryId, "kept", "kept/2.0/kept-2.0.jar", new Date());
+        addArtifact(storageId, repositoryId, "kept", "kept/1.0/kept-1.0.jar", new Date());
+
+        assertThat(isLastVersion(storageId, repositoryId, "kept/1.0/kept-1.0.jar")).isFalse();
+        assertThat(isLastVersion(storageId, repositoryId, "kept/2.0/kept-2.0.jar")).isTrue();
+        assertThat(findGroupPaths(storageId, repositoryId, "kept")).containsExactlyInAnyOrder(
+                "kept/1.0/kept-1.0.jar",
+                "kept/2.0/kept-2.0.jar");
+    }
+
+    @Test
+    public void concurrentAddsShouldKeepAllEntries()
+        throws Exception
+    {
+        final String storageId = "s1";
+        final String repositoryId = "rconcurrent";
+        final int versions = 8;
+
+        repositoryArtifactIdGroupService.findOneOrCreate(storageId, repositoryId, "concurrent");
+
+        List<String> paths = IntStream.range(0, versions)
+                                      .mapToObj(i -> String.format("concurrent/1.%s/concurrent-1.%s.jar", i, i))
+                                      .collect(Collectors.toList());
+
+        ExecutorService executor = Executors.newFixedThreadPool(versions);
+        CountDownLatch start = new CountDownLatch(1);
+        try
+        {
+            List<Future<?>> futures = new ArrayList<>();
+            for (String path : paths)
+            {
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    addArtifactWithRetry(storageId, repositoryId, "concurrent", path);
+
+                    return null;
+                }));
+            }
+            start.countDown();
+
+            for (Future<?> future : futures)
+            {
+                future.get(1, TimeUnit.MINUTES);
+            }
+        }
+        finally
+        {
+            executor.shutdownNow();
+        }
+
+        // None of the concurrently added links is lost, and only the highest version keeps the tag.
+        assertThat(findGroupPaths(storageId, repositoryId, "concurrent")).containsExactlyInAnyOrderElementsOf(paths);
+        for (String path : paths)
+        {
+            assertThat(isLastVersion(storageId, repositoryId, path)).as(path)
+                                                                    .isEqualTo(path.equals(paths.get(versions - 1)));
+        }
+    }
+
+    /**
+     * Retries the concurrent modifications of the group the same way the artifact event handlers do.
+     */
+    private void addArtifactWithRetry(String storageId,
+                                      String repositoryId,
+                                      String artifactId,
+                                      String path)
+    {
+        for (int i = 1; ; i++)
+        {
+            try
+            {
+                addArtifact(storageId, repositoryId, artifactId, path, new Date());
+
+                return;
+            }
+            catch (RuntimeException e)
+            {
+                // The conflict may be wrapped by the transaction manager on commit.
+                if (i >= MAX_RETRY || ExceptionUtils.indexOfType(e, ONeedRetryException.class) < 0)
+                {
+                    throw e;
+                }
+            }
+        }
+    }
+
+    private boolean isLastVersion(String storageId,
+                                  String repositoryId,
+                                  String path)
+    {
+        return new TransactionTemplate(transactionManager).execute(
+                t -> artifactEntryService.findOneArtifact(storageId, repositoryId, path)
+                                         .getTagSet()
+                                         .stream()
+                                         .anyMatch(tag -> ArtifactTag.LAST_VERSION.equals(tag.getName())));
+    }
+
+    private Set<String> findGroupPaths(String storageId,
+                                       String repositoryId,
+                                       String artifactId)
+    {
+        return new TransactionTemplate(transactionManager).execute(
+                t -> repositoryArtifactIdGroupService.findOne(storageId, repositoryId, artifactId)
+                                                     .getArtifactEntries()
+                                                     .stream()
+                                                     .map(e -> e.getArtifactCoordinates().toPath())
+                                                     .collect(Collectors.toSet()));
+    }
+
+    private void addArtifact(String storageId,
+                             String repositoryId,
+                             String artifactId,
+                             String path,
+                             Date lastUpdated)
+    {
+        ArtifactEntry artifactEntry = new ArtifactEntry();
+        artifactEntry.setStorageId(storageId);
+        artifactEntry.setRepositoryId(repositoryId);
+        artifactEntry.setArtifactCoordinates(new RawArtifactCoordinates(path));
+        artifactEntry.setLastUpdated(lastUpdated);
+
+        RepositoryArtifactIdGroupEntry artifactGroup = repositoryArtifactIdGroupService.findOneOrCreate(storageId,
+                                                                                                        repositoryId,
+                                                                                                        artifactId);
+        repositoryArtifactIdGroupService.addArtifactToGroup(artifactGroup, artifactEntry);
+    }
 }
@@ -0,0 +1,124 @@
+package org.carlspring.strongbox.services.support;
+
+import org.carlspring.strongbox.storage.routing.MutableRoutingRule;
+import org.carlspring.strongbox.storage.routing.MutableRoutingRuleRepository;
+import org.carlspring.strongbox.storage.routing.MutableRoutingRules;
+import org.carlspring.strongbox.storage.routing.RoutingRuleTypeEnum;
+import org.carlspring.strongbox.storage.routing.RoutingRules;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RoutingRulesMatcherTest
+{
+
+    private final List<MutableRoutingRule> rules = new ArrayList<>();
+
+    private void addRule(String groupRepositoryId,
+                         String pattern,
+                         RoutingRuleTypeEnum type,
+                         MutableRoutingRuleRepository... repositories)
+    {
+        rules.add(MutableRoutingRule.create("storage0", groupRepositoryId, new ArrayList<>(Arrays.asList(repositories)),
+                                            pattern, type));
+    }
+
+    private RoutingRulesMatcher createMatcher()
+    {
+        MutableRoutingRules routingRules = new MutableRoutingRules();
+        routingRules.setRules(rules);
+
+        return new RoutingRulesMatcher(new RoutingRules(routingRules));
+    }
+
+    @Test
+    void shouldMatchLiteralPrefixBuckets()
+    {
+        addRule("group", "org/carlspring/.*", RoutingRuleTypeEnum.DENY);
+        addRule("group", "com/example/.*\\.jar", RoutingRuleTypeEnum.DENY);
+
+        RoutingRulesMatcher matcher = createMatcher();
+
+        assertThat(matcher.isDenied("storage0", "group", "storage0", "releases", "org/carlspring/foo/1.0/foo-1.0.jar"))
+                .isTrue();
+        assertThat(matcher.isDenied("storage0", "group", "storage0", "releases", "com/example/bar.jar")).isTrue();
+        assertThat(matcher.isDenied("storage0", "group", "storage0", "releases", "com/example/bar.pom")).isFalse();
+        assertThat(matcher.isDenied("storage0", "group", "storage0", "releases", "net/example/bar.jar")).isFalse();
+        assertThat(matcher.isDenied("storage0", "other-group", "storage0", "releases", "org/carlspring/foo.jar"))
+                .isFalse();
+    }
+
+    @Test
+    void shouldMatchWildcardPatternsInEveryBucket()
+    {
+        addRule("group", "org/carlspring/.*", RoutingRuleTypeEnum.DENY);
+        addRule("", ".*-SNAPSHOT.*|.*/internal/.*", RoutingRuleTypeEnum.DENY);
+
+        RoutingRulesMatcher matcher = createMatcher();
+
+        assertThat(matcher.isDenied("storage0", "group", "storage0", "releases", "com/example/1.0-SNAPSHOT/a.jar"))
+                .isTrue();
+        assertThat(matcher.isDenied("storage0", "group", "storage0", "releases", "org/internal/a.jar")).isTrue();
+        assertThat(matcher.isDenied("storage0", "group", "storage0", "releases", "com/example/1.0/a.jar")).isFalse();
+        assertThat(matcher.isDenied("storage1", "group", "storage1", "releases", "a-SNAPSHOT.jar")).isFalse();
+    }
+
+    @Test
+    void shouldRestrictToMemberRepositories()
+    {
+        addRule("group", "org/.*", RoutingRuleTypeEnum.DENY, new MutableRoutingRuleRepository("storage0", "proxy"));
+        addRule("group", "com/.*", RoutingRuleTypeEnum.DENY, new MutableRoutingRuleRepository(null, "releases"));
+
+        RoutingRulesMatcher matcher = createMatcher();
+
+        assertThat(matcher.isDenied("storage0", "group", "storage0", "proxy", "org/a.jar")).isTrue();
+        assertThat(matcher.isDenied("storage0", "group", "storage0", "releases", "org/a.jar")).isFalse();
+        assertThat(matcher.isDenied("storage0", "group", "storage1", "releases", "com/a.jar")).isTrue();
+        assertThat(matcher.isDenied("storage0", "group", "storage1", "proxy", "com/a.jar")).isFalse();
+    }
+
+    @Test
+    void shouldAcceptOverrideDeny()
+    {
+        addRule("group", ".*", RoutingRuleTypeEnum.DENY);
+        addRule("group", "org/carlspring/.*", RoutingRuleTypeEnum.ACCEPT);
+        addRule("group", "(a)/\\1/.*", RoutingRuleTypeEnum.ACCEPT);
+
+        RoutingRulesMatcher matcher = createMatcher();
+
+        assertThat(matcher.isDenied("storage0", "group", "storage0", "releases", "org/carlspring/a.jar")).isFalse();
+        assertThat(matcher.isDenied("storage0", "group", "storage0", "releases", "a/a/b.jar")).isFalse();
+        assertThat(matcher.isDenied("storage0", "group", "storage0", "releases", "a/b/b.jar")).isTrue();
+        assertThat(matcher.isDenied("storage0", "group", "storage0", "releases", "org/a.jar")).isTrue();
+    }
+
+    @Test
+    void shouldMatchRulesReusingGroupName()
+    {
+        addRule("group", "org/(?<version>[0-9.]+)/.*\\.jar", RoutingRuleTypeEnum.DENY);
+        addRule("group", "org/(?<version>[0-9.]+)-SNAPSHOT/.*", RoutingRuleTypeEnum.DENY);
+        addRule("group", "org/(?<=org/)internal/.*", RoutingRuleTypeEnum.DENY);
+
+        RoutingRulesMatcher matcher = createMatcher();
+
+        assertThat(matcher.isDenied("storage0", "group", "storage0", "releases", "org/1.0/a.jar")).isTrue();
+        assertThat(matcher.isDenied("storage0", "group", "storage0", "releases", "org/1.0-SNAPSHOT/a.pom")).isTrue();
+        assertThat(matcher.isDenied("storage0", "group", "storage0", "releases", "org/internal/a.pom")).isTrue();
+        assertThat(matcher.isDenied("storage0", "group", "storage0", "releases", "org/1.0/a.pom")).isFalse();
+    }
+
+    @Test
+    void shouldExtractLiteralFirstSegment()
+    {
+        assertThat(RoutingRulesMatcher.literalFirstSegment("^org/carlspring/.*")).isEqualTo("org");
+        assertThat(RoutingRulesMatcher.literalFirstSegment("org.*")).isEmpty();
+        assertThat(RoutingRulesMatcher.literalFirstSegment("or?g/.*")).isEmpty();
+        assertThat(RoutingRulesMatcher.literalFirstSegment("org/a|com/b")).isEmpty();
+        assertThat(RoutingRulesMatcher.literalFirstSegment("org/?a.*")).isEmpty();
+    }
+
+}
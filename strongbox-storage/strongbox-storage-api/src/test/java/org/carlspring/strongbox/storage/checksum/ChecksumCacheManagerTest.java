@@ -6,6 +6,10 @@ import org.carlspring.strongbox.util.MessageDigestUtils;
 import java.io.IOException;
 import java.security.MessageDigest;
 import java.security.NoSuchAlgorithmException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
 
 import org.junit.jupiter.api.Test;
 import static org.assertj.core.api.Assertions.fail;
@@ -54,6 +58,57 @@ public class ChecksumCacheManagerTest
         checkerThread.interrupt();
     }
 
+    @Test
+    public void testConcurrentChecksumManagement()
+            throws Exception
+    {
+        ChecksumCacheManager manager = new ChecksumCacheManager();
+        manager.setCachedChecksumLifetime(500L);
+
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        for (int i = 0; i < 1000; i++)
+        {
+            String artifactBasePath = "storage0/releases/org/carlspring/test-project-" + (i % 100) + ".jar";
+            executor.execute(() -> {
+                manager.addArtifactChecksum(artifactBasePath, "md5", "d0s#3E59jszLsPj3#edp!$");
+                manager.addArtifactChecksum(artifactBasePath, "sha1", "eps0#!_)fs0-qWadg#)s1!");
+                manager.getArtifactChecksum(artifactBasePath, "md5");
+            });
+        }
+        executor.shutdown();
+        assertThat(executor.awaitTermination(10, TimeUnit.SECONDS)).isTrue();
+
+        assertThat(manager.getSize()).isEqualTo(100);
+        assertThat(manager.getArtifactChecksum("storage0/releases/org/carlspring/test-project-1.jar").getChecksums())
+                .containsOnlyKeys("md5", "sha1");
+
+        manager.removeArtifactChecksum("storage0/releases/org/carlspring/test-project-1.jar", "md5");
+        manager.removeArtifactChecksum("storage0/releases/org/carlspring/test-project-1.jar", "sha1");
+        assertThat(manager.containsArtifactPath("storage0/releases/org/carlspring/test-project-1.jar")).isFalse();
+
+        Thread.sleep(600L);
+        manager.removeExpiredChecksums();
+
+        assertThat(manager.getSize()).isEqualTo(0);
+    }
+
+    @Test
+    public void testSharedChecksumManagement()
+    {
+        ConcurrentHashMap<String, ArtifactChecksum> cachedChecksums = new ConcurrentHashMap<>();
+        ChecksumCacheManager node1 = new ChecksumCacheManager(cachedChecksums);
+        ChecksumCacheManager node2 = new ChecksumCacheManager(cachedChecksums);
+
+        final String artifactBasePath = "storage0/releases/org/carlspring/test-project-1.0.jar";
+        node1.addArtifactChecksum(artifactBasePath, "sha1", "afa6c8b3a2fae95785dc7d9685a57835d703ac88");
+
+        assertThat(node2.getArtifactChecksum(artifactBasePath, "sha1")).isEqualTo("afa6c8b3a2fae95785dc7d9685a57835d703ac88");
+
+        node2.removeArtifactChecksum(artifactBasePath, "sha1");
+
+        assertThat(node1.containsArtifactPath(artifactBasePath)).isFalse();
+    }
+
     @Test
     public void testDigests()
             throws NoSuchAlgorithmException, IOException, CloneNotSupportedException
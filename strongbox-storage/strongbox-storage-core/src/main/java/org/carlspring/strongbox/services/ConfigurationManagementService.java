@@ -9,6 +9,7 @@ import org.carlspring.strongbox.storage.StorageDto;
 import org.carlspring.strongbox.storage.repository.RepositoryDto;
 import org.carlspring.strongbox.storage.routing.MutableRoutingRule;
 import org.carlspring.strongbox.storage.routing.MutableRoutingRules;
+import org.carlspring.strongbox.yaml.BatchedStore;
 
 import java.io.IOException;
 import java.util.List;
@@ -18,12 +19,23 @@ import java.util.UUID;
  * @author mtodorov
  */
 public interface ConfigurationManagementService
+        extends BatchedStore
 {
 
     MutableConfiguration getMutableConfigurationClone();
 
+    /**
+     * @return the immutable snapshot of the current configuration; it's not copied, so it's cheap to call.
+     */
     Configuration getConfiguration();
 
+    /**
+     * @return the number of the configuration modifications, it changes every time a new
+     *         {@link #getConfiguration()} snapshot is published. The structures derived from the configuration can be
+     *         cached against it. Read the generation before the configuration.
+     */
+    long getConfigurationGeneration();
+
     void setConfiguration(MutableConfiguration configuration) throws IOException;
 
     void setInstanceName(String instanceName) throws IOException;
@@ -67,55 +67,10 @@ public class VersionCollector
         {
             try
             {
-                Path pomArtifactPath = getPomPath(artifactBasePath, versionDirectoryPath);
-
-                // No pom, no metadata.
-                if (pomArtifactPath != null)
+                MetadataVersion metadataVersion = collectVersion(request, artifactBasePath, versionDirectoryPath);
+                if (metadataVersion != null)
                 {
-                    Model pom = getPom(pomArtifactPath);
-
-                    BasicFileAttributes fileAttributes = Files.readAttributes(versionDirectoryPath,
-                                                                              BasicFileAttributes.class);
-
-                    // TODO: This will not work for versionless POM-s which extend the version from a parent.
-                    // TODO: If pom.getVersion() == null, walk the parents until a parent with
-                    // TODO: a non-null version is found and use that as the version.
-                    String version = pom.getVersion() != null ? pom.getVersion() :
-                                     (pom.getParent() != null ? pom.getVersion() : null);
-
-                    if (version == null)
-                    {
-                        continue;
-                    }
-
-                    if (ArtifactUtils.isSnapshot(version))
-                    {
-                        version = ArtifactUtils.toSnapshotVersion(version);
-                    }
-
-                    MetadataVersion metadataVersion = new MetadataVersion();
-                    metadataVersion.setVersion(version);
-                    metadataVersion.setCreatedDate(fileAttributes.lastModifiedTime());
-
                     versions.add(metadataVersion);
-
-                    if (artifactIsPlugin(pom))
-                    {
-                        String name = pom.getName() != null ? pom.getName() : pom.getArtifactId();
-
-                        // TODO: SB-339: Get the maven plugin's prefix properly when generating metadata
-                        // TODO: This needs to be addressed properly, as it's not correct.
-                        // TODO: This can be obtained from the jar's META-INF/maven/plugin.xml and should be read
-                        // TODO: either via a ZipInputStream, or using TrueZip.
-                        // String prefix = pom.getArtifactId().replace("maven-plugin", "").replace("-plugin$", "");
-
-                        Plugin plugin = new Plugin();
-                        plugin.setName(name);
-                        plugin.setArtifactId(pom.getArtifactId());
-                        plugin.setPrefix(PluginDescriptor.getGoalPrefixFromArtifactId(pom.getArtifactId()));
-
-                        request.addPlugin(plugin);
-                    }
                 }
             }
             catch (XmlPullParserException | IOException e)
@@ -136,6 +91,71 @@ public class VersionCollector
         return request;
     }
 
+    /**
+     * Reads the POM of a single version directory, and adds the plugin information to the request if it's a plugin.
+     *
+     * @return the version, or `null` if there is no POM (or it has no version)
+     */
+    public MetadataVersion collectVersion(VersionCollectionRequest request,
+                                          Path artifactBasePath,
+                                          Path versionDirectoryPath)
+            throws IOException,
+                   XmlPullParserException
+    {
+        Path pomArtifactPath = getPomPath(artifactBasePath, versionDirectoryPath);
+
+        // No pom, no metadata.
+        if (pomArtifactPath == null || !Files.exists(pomArtifactPath))
+        {
+            return null;
+        }
+
+        Model pom = getPom(pomArtifactPath);
+
+        BasicFileAttributes fileAttributes = Files.readAttributes(versionDirectoryPath,
+                                                                  BasicFileAttributes.class);
+
+        // TODO: This will not work for versionless POM-s which extend the version from a parent.
+        // TODO: If pom.getVersion() == null, walk the parents until a parent with
+        // TODO: a non-null version is found and use that as the version.
+        String version = pom.getVersion() != null ? pom.getVersion() :
+                         (pom.getParent() != null ? pom.getVersion() : null);
+
+        if (version == null)
+        {
+            return null;
+        }
+
+        if (ArtifactUtils.isSnapshot(version))
+        {
+            version = ArtifactUtils.toSnapshotVersion(version);
+        }
+
+        MetadataVersion metadataVersion = new MetadataVersion();
+        metadataVersion.setVersion(version);
+        metadataVersion.setCreatedDate(fileAttributes.lastModifiedTime());
+
+        if (artifactIsPlugin(pom))
+        {
+            String name = pom.getName() != null ? pom.getName() : pom.getArtifactId();
+
+            // TODO: SB-339: Get the maven plugin's prefix properly when generating metadata
+            // TODO: This needs to be addressed properly, as it's not correct.
+            // TODO: This can be obtained from the jar's META-INF/maven/plugin.xml and should be read
+            // TODO: either via a ZipInputStream, or using TrueZip.
+            // String prefix = pom.getArtifactId().replace("maven-plugin", "").replace("-plugin$", "");
+
+            Plugin plugin = new Plugin();
+            plugin.setName(name);
+            plugin.setArtifactId(pom.getArtifactId());
+            plugin.setPrefix(PluginDescriptor.getGoalPrefixFromArtifactId(pom.getArtifactId()));
+
+            request.addPlugin(plugin);
+        }
+
+        return metadataVersion;
+    }
+
     private Path getPomPath(Path artifactBasePath,
                             Path versionDirectoryPath)
     {
@@ -21,7 +21,9 @@ import org.apache.maven.artifact.versioning.ComparableVersion;
 @Entity
 @XmlRootElement(name = "maven-artifact-coordinates")
 @XmlAccessorType(XmlAccessType.NONE)
-@ArtifactCoordinatesLayout(name = MavenArtifactCoordinates.LAYOUT_NAME, alias = MavenArtifactCoordinates.LAYOUT_ALIAS)
+@ArtifactCoordinatesLayout(name = MavenArtifactCoordinates.LAYOUT_NAME,
+                           alias = MavenArtifactCoordinates.LAYOUT_ALIAS,
+                           registrationId = MavenArtifactCoordinates.REGISTRATION_ID)
 public class MavenArtifactCoordinates
         extends AbstractArtifactCoordinates<MavenArtifactCoordinates, ComparableVersion>
 {
@@ -30,6 +32,8 @@ public class MavenArtifactCoordinates
 
     public static final String LAYOUT_ALIAS = "maven";
 
+    public static final int REGISTRATION_ID = 0;
+
     private static final String GROUPID = "groupId";
 
     private static final String ARTIFACTID = "artifactId";
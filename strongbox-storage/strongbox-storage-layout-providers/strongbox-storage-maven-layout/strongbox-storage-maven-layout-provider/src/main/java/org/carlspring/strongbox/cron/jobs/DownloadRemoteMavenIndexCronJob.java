@@ -61,6 +61,13 @@ public class DownloadRemoteMavenIndexCronJob
             return;
         }
 
+        if (repositoryIndexCreator.isUpToDate(repository))
+        {
+            logger.debug("The remote index of storageId = [{}], repositoryId = [{}] is up to date. Exiting ...",
+                         storageId, repositoryId);
+            return;
+        }
+
         repositoryIndexCreator.apply(repository);
     }
 
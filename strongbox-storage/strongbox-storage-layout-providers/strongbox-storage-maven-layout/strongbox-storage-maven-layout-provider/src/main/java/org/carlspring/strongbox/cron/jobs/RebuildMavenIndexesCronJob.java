@@ -24,11 +24,13 @@ public class RebuildMavenIndexesCronJob
 
     private static final String PROPERTY_REPOSITORY_ID = "repositoryId";
 
-    private static final Set<CronJobField> FIELDS = ImmutableSet.of(
+    private static final Set<CronJobField> FIELDS = ImmutableSet.<CronJobField>builder().add(
             new CronJobStorageIdAutocompleteField(new CronJobStringTypeField(
                     new CronJobRequiredField(new CronJobNamedField(PROPERTY_STORAGE_ID)))),
             new CronJobRepositoryIdAutocompleteField(new CronJobStringTypeField(
-                    new CronJobRequiredField(new CronJobNamedField(PROPERTY_REPOSITORY_ID)))));
+                    new CronJobRequiredField(new CronJobNamedField(PROPERTY_REPOSITORY_ID)))))
+                                                                        .addAll(BUDGET_FIELDS)
+                                                                        .build();
 
     @Inject
     private ConfigurationManager configurationManager;
@@ -56,6 +58,13 @@ public class RebuildMavenIndexesCronJob
             return;
         }
 
+        if (repositoryIndexCreator.isUpToDate(repository))
+        {
+            logger.debug("The index of storageId = [{}], repositoryId = [{}] is up to date. Exiting ...",
+                         storageId, repositoryId);
+            return;
+        }
+
         repositoryIndexCreator.apply(repository);
     }
 
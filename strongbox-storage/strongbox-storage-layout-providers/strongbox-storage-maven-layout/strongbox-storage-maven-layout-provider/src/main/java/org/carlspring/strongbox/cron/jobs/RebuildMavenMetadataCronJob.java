@@ -30,13 +30,15 @@ public class RebuildMavenMetadataCronJob
 
     private static final String PROPERTY_BASE_PATH = "basePath";
 
-    private static final Set<CronJobField> FIELDS = ImmutableSet.of(
+    private static final Set<CronJobField> FIELDS = ImmutableSet.<CronJobField>builder().add(
             new CronJobStorageIdAutocompleteField(new CronJobStringTypeField(
                     new CronJobOptionalField(new CronJobNamedField(PROPERTY_STORAGE_ID)))),
             new CronJobRepositoryIdAutocompleteField(new CronJobStringTypeField(
                     new CronJobOptionalField(new CronJobNamedField(PROPERTY_REPOSITORY_ID)))),
             new CronJobStringTypeField(
-                    new CronJobOptionalField(new CronJobNamedField(PROPERTY_BASE_PATH))));
+                    new CronJobOptionalField(new CronJobNamedField(PROPERTY_BASE_PATH))))
+                                                                        .addAll(BUDGET_FIELDS)
+                                                                        .build();
 
     @Inject
     private ArtifactMetadataService artifactMetadataService;
@@ -61,6 +63,10 @@ public class RebuildMavenMetadataCronJob
             Map<String, Storage> storages = getStorages();
             for (String storage : storages.keySet())
             {
+                if (isCancelled())
+                {
+                    return;
+                }
                 rebuildRepositories(storage);
             }
         }
@@ -100,6 +106,10 @@ public class RebuildMavenMetadataCronJob
 
         for (String repository : repositories.keySet())
         {
+            if (isCancelled())
+            {
+                return;
+            }
             artifactMetadataService.rebuildMetadata(storageId, repository, null);
         }
     }
@@ -1,11 +1,18 @@
 package org.carlspring.strongbox.event.artifact;
 
+import org.carlspring.strongbox.artifact.MavenArtifactUtils;
 import org.carlspring.strongbox.providers.io.RepositoryPath;
 import org.carlspring.strongbox.providers.layout.Maven2LayoutProvider;
+import org.carlspring.strongbox.storage.indexing.local.RepositoryHostedIndexDeletions;
+import org.carlspring.strongbox.storage.metadata.MavenMetadataUpdater;
+import org.carlspring.strongbox.storage.metadata.MetadataHelper;
 import org.carlspring.strongbox.storage.repository.Repository;
+import org.carlspring.strongbox.yaml.configuration.repository.MavenRepositoryConfiguration;
 
+import javax.inject.Inject;
 import java.io.IOException;
 import java.lang.reflect.UndeclaredThrowableException;
+import java.nio.file.Files;
 
 import org.springframework.context.event.EventListener;
 import org.springframework.stereotype.Component;
@@ -18,6 +25,12 @@ public class MavenArtifactDeletedEventListener
         extends BaseMavenArtifactEventListener
 {
 
+    @Inject
+    private MavenMetadataUpdater mavenMetadataUpdater;
+
+    @Inject
+    private RepositoryHostedIndexDeletions repositoryHostedIndexDeletions;
+
     @EventListener
     public void handle(final ArtifactEvent<RepositoryPath> event)
     {
@@ -35,6 +48,8 @@ public class MavenArtifactDeletedEventListener
 
         try
         {
+            markDirty(event.getPath());
+            recordIndexDeletion(repository, event.getPath());
             mavenMetadataGroupRepositoryComponent.cleanupGroupsContaining(event.getPath());
         }
         catch (IOException e)
@@ -42,4 +57,38 @@ public class MavenArtifactDeletedEventListener
             throw new UndeclaredThrowableException(e);
         }
     }
+
+    private void markDirty(RepositoryPath path)
+        throws IOException
+    {
+        if (!mavenMetadataUpdater.isEnabled())
+        {
+            return;
+        }
+
+        // A file within a version directory
+        if (MavenArtifactUtils.convertPathToGav(path) != null)
+        {
+            mavenMetadataUpdater.markDirty(path.getParent());
+        }
+        // A version directory
+        else if (Files.exists(MetadataHelper.getArtifactMetadataPath(path.getParent())))
+        {
+            mavenMetadataUpdater.markDirty(path);
+        }
+    }
+
+    private void recordIndexDeletion(Repository repository,
+                                     RepositoryPath path)
+        throws IOException
+    {
+        MavenRepositoryConfiguration repositoryConfiguration = (MavenRepositoryConfiguration) repository.getRepositoryConfiguration();
+        if (!repository.isHostedRepository() || repositoryConfiguration == null ||
+            !repositoryConfiguration.isIndexingEnabled())
+        {
+            return;
+        }
+
+        repositoryHostedIndexDeletions.record(path);
+    }
 }
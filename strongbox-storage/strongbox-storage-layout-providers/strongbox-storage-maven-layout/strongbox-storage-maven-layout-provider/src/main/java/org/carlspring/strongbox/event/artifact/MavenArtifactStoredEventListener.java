@@ -0,0 +1,58 @@
+package org.carlspring.strongbox.event.artifact;
+
+import org.carlspring.strongbox.artifact.MavenArtifactUtils;
+import org.carlspring.strongbox.providers.io.RepositoryPath;
+import org.carlspring.strongbox.providers.layout.Maven2LayoutProvider;
+import org.carlspring.strongbox.storage.metadata.MavenMetadataUpdater;
+import org.carlspring.strongbox.storage.repository.Repository;
+
+import javax.inject.Inject;
+import java.io.IOException;
+
+import org.apache.maven.index.artifact.Gav;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+/**
+ * Marks the version directory of a stored POM as dirty, so that the artifact metadata gets updated.
+ */
+@Component
+public class MavenArtifactStoredEventListener
+        extends BaseMavenArtifactEventListener
+{
+
+    @Inject
+    private MavenMetadataUpdater mavenMetadataUpdater;
+
+    @EventListener
+    public void handle(final ArtifactEvent<RepositoryPath> event)
+    {
+        if (event.getType() != ArtifactEventTypeEnum.EVENT_ARTIFACT_FILE_STORED.getType() ||
+            !mavenMetadataUpdater.isEnabled())
+        {
+            return;
+        }
+
+        final Repository repository = getRepository(event);
+        if (!Maven2LayoutProvider.ALIAS.equals(repository.getLayout()))
+        {
+            return;
+        }
+
+        try
+        {
+            Gav gav = MavenArtifactUtils.convertPathToGav(event.getPath());
+            if (gav == null || gav.isHash() || gav.isSignature() || !"pom".equals(gav.getExtension()))
+            {
+                return;
+            }
+
+            mavenMetadataUpdater.markDirty(event.getPath().getParent());
+        }
+        catch (IOException e)
+        {
+            logger.error("Unable to mark the metadata of [{}] for update.", event.getPath(), e);
+        }
+    }
+
+}
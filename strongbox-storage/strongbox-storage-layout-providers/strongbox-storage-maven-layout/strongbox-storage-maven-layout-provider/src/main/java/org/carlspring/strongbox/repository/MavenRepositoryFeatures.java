@@ -1,11 +1,7 @@
 package org.carlspring.strongbox.repository;
 
-import org.carlspring.strongbox.artifact.locator.ArtifactDirectoryLocator;
 import org.carlspring.strongbox.configuration.Configuration;
 import org.carlspring.strongbox.configuration.ConfigurationManager;
-import org.carlspring.strongbox.locator.handlers.RemoveTimestampedSnapshotOperation;
-import org.carlspring.strongbox.providers.io.RepositoryPath;
-import org.carlspring.strongbox.providers.io.RepositoryPathResolver;
 import org.carlspring.strongbox.storage.ArtifactStorageException;
 import org.carlspring.strongbox.storage.Storage;
 import org.carlspring.strongbox.storage.metadata.MavenSnapshotManager;
@@ -55,9 +51,6 @@ public class MavenRepositoryFeatures
     @Inject
     private MavenSnapshotVersionValidator mavenSnapshotVersionValidator;
 
-    @Inject
-    private RepositoryPathResolver repositoryPathResolver;
-
     private Set<String> defaultArtifactCoordinateValidators;
 
     @PostConstruct
@@ -102,16 +95,7 @@ public class MavenRepositoryFeatures
 
         if (repository.getPolicy().equals(RepositoryPolicyEnum.SNAPSHOT.getPolicy()))
         {
-            RepositoryPath repositoryPath = repositoryPathResolver.resolve(repository, artifactPath);
-
-            RemoveTimestampedSnapshotOperation operation = new RemoveTimestampedSnapshotOperation(mavenSnapshotManager);
-            operation.setBasePath(repositoryPath);
-            operation.setNumberToKeep(numberToKeep);
-            operation.setKeepDate(keepDate);
-
-            ArtifactDirectoryLocator locator = new ArtifactDirectoryLocator();
-            locator.setOperation(operation);
-            locator.locateArtifactDirectories();
+            mavenSnapshotManager.deleteTimestampedSnapshotArtifacts(repository, artifactPath, numberToKeep, keepDate);
         }
         else
         {
@@ -8,13 +8,18 @@ import org.carlspring.strongbox.cron.services.CronTaskDataService;
 import org.carlspring.strongbox.providers.io.RepositoryPath;
 import org.carlspring.strongbox.providers.io.RepositoryPathResolver;
 import org.carlspring.strongbox.storage.Storage;
+import org.carlspring.strongbox.storage.indexing.RepositoryIndexCreator;
+import org.carlspring.strongbox.storage.indexing.RepositoryIndexCreator.RepositoryIndexCreatorQualifier;
 import org.carlspring.strongbox.storage.repository.Repository;
+import org.carlspring.strongbox.storage.repository.RepositoryTypeEnum;
 import org.carlspring.strongbox.yaml.configuration.repository.MavenRepositoryConfiguration;
 
 import javax.inject.Inject;
 import java.io.IOException;
 import java.nio.file.Files;
 
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Component;
 
 /**
@@ -25,6 +30,8 @@ public class MavenRepositoryManagementStrategy
         extends AbstractRepositoryManagementStrategy
 {
 
+    private static final Logger logger = LoggerFactory.getLogger(MavenRepositoryManagementStrategy.class);
+
     @Inject
     private CronTaskDataService cronTaskDataService;
 
@@ -34,6 +41,10 @@ public class MavenRepositoryManagementStrategy
     @Inject
     private RepositoryPathResolver repositoryPathResolver;
 
+    @Inject
+    @RepositoryIndexCreatorQualifier(RepositoryTypeEnum.HOSTED)
+    private RepositoryIndexCreator hostedRepositoryIndexCreator;
+
     @Override
     protected void createRepositoryInternal(Storage storage,
                                             Repository repository)
@@ -51,7 +62,8 @@ public class MavenRepositoryManagementStrategy
 
         if (repository.isHostedRepository())
         {
-            createRebuildMavenIndexCronJob(storageId, repositoryId, repositoryConfig.getCronExpression());
+            createRebuildMavenIndexCronJob(storageId, repositoryId, repositoryConfig.getCronExpression(),
+                                           !isHostedIndexUpToDate(repository));
         }
         if (repository.isProxyRepository())
         {
@@ -86,9 +98,30 @@ public class MavenRepositoryManagementStrategy
         }
     }
 
+    /**
+     * Checked against the database only, so that the hosted repositories with an up to date index (typically, on a
+     * restart) are not indexed right away. The proxy repositories are checked by the job itself, which doesn't block
+     * the startup on the remote repositories.
+     */
+    private boolean isHostedIndexUpToDate(Repository repository)
+    {
+        try
+        {
+            return hostedRepositoryIndexCreator.isUpToDate(repository);
+        }
+        catch (IOException e)
+        {
+            logger.warn("Failed to check the index of [{}], it will be rebuilt.",
+                        repository.getStorageIdAndRepositoryId(), e);
+
+            return false;
+        }
+    }
+
     private void createRebuildMavenIndexCronJob(String storageId,
                                                 String repositoryId,
-                                                String cronExpression)
+                                                String cronExpression,
+                                                boolean immediateExecution)
             throws RepositoryManagementStrategyException
     {
         CronTaskConfigurationDto configuration = new CronTaskConfigurationDto();
@@ -97,7 +130,7 @@ public class MavenRepositoryManagementStrategy
         configuration.setCronExpression(cronExpression);
         configuration.addProperty("storageId", storageId);
         configuration.addProperty("repositoryId", repositoryId);
-        configuration.setImmediateExecution(true);
+        configuration.setImmediateExecution(immediateExecution);
 
         try
         {
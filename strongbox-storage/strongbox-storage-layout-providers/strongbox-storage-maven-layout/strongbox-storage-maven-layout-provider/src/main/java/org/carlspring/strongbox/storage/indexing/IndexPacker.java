@@ -4,6 +4,7 @@ import org.carlspring.strongbox.providers.io.RepositoryPath;
 
 import java.io.IOException;
 import java.nio.file.Files;
+import java.util.function.Consumer;
 
 import org.apache.lucene.search.IndexSearcher;
 import org.apache.maven.index.context.IndexingContext;
@@ -27,6 +28,34 @@ public class IndexPacker
     public static RepositoryPath pack(final RepositoryPath indexPath,
                                       final IndexingContext context)
             throws IOException
+    {
+        return pack(indexPath, context, request -> {});
+    }
+
+    /**
+     * Packs the index, along with an incremental chunk of the documents changed since the previous packing.
+     *
+     * @param maxIndexChunks the number of incremental chunks to keep, `0` packs the full index only (the clients
+     *                       have to download it again)
+     */
+    public static RepositoryPath pack(final RepositoryPath indexPath,
+                                      final IndexingContext context,
+                                      final int maxIndexChunks)
+            throws IOException
+    {
+        return pack(indexPath, context, request -> {
+            request.setCreateIncrementalChunks(maxIndexChunks > 0);
+            if (maxIndexChunks > 0)
+            {
+                request.setMaxIndexChunks(maxIndexChunks);
+            }
+        });
+    }
+
+    private static RepositoryPath pack(final RepositoryPath indexPath,
+                                       final IndexingContext context,
+                                       final Consumer<IndexPackingRequest> requestCustomizer)
+            throws IOException
     {
         final IndexSearcher indexSearcher = context.acquireIndexSearcher();
         try
@@ -36,6 +65,7 @@ public class IndexPacker
                                                                         indexSearcher.getIndexReader(),
                                                                         indexPath.toFile());
             request.setUseTargetProperties(true);
+            requestCustomizer.accept(request);
             IndexPacker.INSTANCE.packIndex(request);
 
             logger.info("Index for {} was packed successfully.", indexPath);
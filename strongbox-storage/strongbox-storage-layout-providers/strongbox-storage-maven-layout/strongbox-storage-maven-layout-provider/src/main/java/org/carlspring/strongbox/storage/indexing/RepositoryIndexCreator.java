@@ -18,6 +18,17 @@ public interface RepositoryIndexCreator
         extends ThrowingFunction<Repository, RepositoryPath, IOException>
 {
 
+    /**
+     * Tells whether the index of the repository already reflects its current state, so that running the creator would
+     * not change it. Implementations should be cheap compared to {@link #apply(Object)}, when unsure they return
+     * `false`.
+     */
+    default boolean isUpToDate(Repository repository)
+            throws IOException
+    {
+        return false;
+    }
+
     @Qualifier
     @Retention(RUNTIME)
     @interface RepositoryIndexCreatorQualifier
@@ -13,13 +13,59 @@ import org.carlspring.strongbox.storage.repository.RepositoryTypeEnum;
 
 import javax.inject.Inject;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Properties;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.concurrent.locks.Lock;
 
+import org.apache.commons.io.FileUtils;
+import org.apache.lucene.document.Document;
+import org.apache.lucene.document.Field;
+import org.apache.lucene.document.StringField;
+import org.apache.lucene.index.DirectoryReader;
 import org.apache.lucene.index.IndexNotFoundException;
+import org.apache.lucene.index.IndexWriter;
+import org.apache.lucene.index.IndexWriterConfig;
+import org.apache.lucene.index.MultiFields;
+import org.apache.lucene.index.Term;
+import org.apache.lucene.search.IndexSearcher;
+import org.apache.lucene.search.TermQuery;
+import org.apache.lucene.store.Directory;
 import org.apache.lucene.store.SimpleFSDirectory;
+import org.apache.lucene.util.Bits;
+import org.apache.maven.index.ArtifactInfo;
+import org.apache.maven.index.context.IndexUtils;
+import org.apache.maven.index.context.IndexingContext;
+import org.apache.maven.index.context.NexusAnalyzer;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
 /**
+ * Merges the indexes of the group members into the group index.
+ * <p>
+ * The artifact documents of every member are copied into a member segment (a separate Lucene directory under
+ * `.index/group-members`), without the deleted documents and without the artifacts already provided by the
+ * preceding members. A member segment is only rebuilt when the timestamp (generation) of its member, or of any
+ * preceding member, has changed since the previous run, and the changed segments are rebuilt in parallel.
+ * <p>
+ * Every copied document is tagged with its member (an indexed, but not stored field, so it isn't packed), so that only
+ * the documents of the changed (and of the removed) members are replaced within the group index, with a single
+ * {@link IndexWriter#addIndexes(Directory...)} of the changed segments. The group index is only purged and merged from
+ * all the segments when it wasn't merged this way before. The groups list and the packed index are still generated
+ * from the whole group index.
+ *
  * @author Przemyslaw Fusik
  */
 @Component
@@ -28,6 +74,22 @@ public class RepositoryGroupIndexCreator
         extends AbstractRepositoryIndexCreator
 {
 
+    static final String MEMBERS_DIRECTORY_NAME = "group-members";
+
+    static final String GENERATIONS_FILE_NAME = "generations.properties";
+
+    private static final String MISSING_GENERATION = "missing";
+
+    /**
+     * Set within the generations file, once the group index contains the tagged documents of all the segments.
+     */
+    private static final String MERGED_PROPERTY = "merged";
+
+    static final String MEMBER_FIELD = "strongbox.group.member";
+
+    @Value("${strongbox.maven.index.group.parallelism:4}")
+    private int parallelism;
+
     @Inject
     @RepositoryIndexDirectoryPathResolverQualifier(IndexTypeEnum.LOCAL)
     private RepositoryIndexDirectoryPathResolver localIndexDirectoryPathResolver;
@@ -48,43 +110,332 @@ public class RepositoryGroupIndexCreator
                                             final RepositoryCloseableIndexingContext indexingContext)
             throws IOException
     {
+        final Path membersDirectory = repositoryIndexDirectoryPath.toFile().toPath().resolveSibling(
+                MEMBERS_DIRECTORY_NAME);
+        final List<Member> members = getMembers(indexingContext.getRepositoryRaw(), membersDirectory);
+
+        final Path generationsPath = membersDirectory.resolve(GENERATIONS_FILE_NAME);
+        final Properties generations = new Properties();
+        if (Files.exists(generationsPath))
+        {
+            try (final InputStream is = Files.newInputStream(generationsPath))
+            {
+                generations.load(is);
+            }
+        }
+        final boolean merged = Boolean.parseBoolean(generations.getProperty(MERGED_PROPERTY));
+
+        final List<Member> changedMembers = new ArrayList<>();
+        for (final Member member : members)
+        {
+            if (!merged || !member.generations.equals(generations.getProperty(member.id)) ||
+                !Files.isDirectory(member.segmentDirectory))
+            {
+                changedMembers.add(member);
+            }
+        }
+
+        final Set<String> removedMemberIds = new HashSet<>(generations.stringPropertyNames());
+        removedMemberIds.remove(MERGED_PROPERTY);
+        members.forEach(member -> removedMemberIds.remove(member.id));
+
+        logger.info("Updating [{}] out of [{}] member segments of the [{}] group index.",
+                    changedMembers.size(), members.size(), indexingContext.getRepositoryId());
+
+        final List<Lock> locks = new ArrayList<>();
+        try
+        {
+            for (final Member member : members)
+            {
+                final Lock lock = repositoryPathLock.lock(member.indexDirectoryPath).readLock();
+                lock.lock();
+                locks.add(lock);
+            }
+
+            updateMemberSegments(members, changedMembers, indexingContext);
+        }
+        finally
+        {
+            locks.forEach(Lock::unlock);
+        }
+
+        mergeMemberSegments(merged, changedMembers, removedMemberIds, indexingContext);
+
+        // The generations are only stored once the group index contains the changes.
+        generations.clear();
+        members.forEach(member -> generations.setProperty(member.id, member.generations));
+        generations.setProperty(MERGED_PROPERTY, Boolean.TRUE.toString());
+
+        Files.createDirectories(membersDirectory);
+        try (final OutputStream os = Files.newOutputStream(generationsPath))
+        {
+            generations.store(os, null);
+        }
 
-        indexingContext.purge();
-        mergeSubrepositoryIndexes(indexingContext);
         IndexPacker.pack(repositoryIndexDirectoryPath, indexingContext);
     }
 
-    private void mergeSubrepositoryIndexes(RepositoryCloseableIndexingContext indexingContext)
+    private List<Member> getMembers(final Repository repository,
+                                    final Path membersDirectory)
             throws IOException
     {
-        final Repository repository = indexingContext.getRepositoryRaw();
         final Storage storage = repository.getStorage();
 
+        final List<Member> members = new ArrayList<>();
+        final StringBuilder generations = new StringBuilder();
         for (final String storageAndRepositoryId : repository.getGroupRepositories())
         {
             final String sId = ConfigurationUtils.getStorageId(storage.getId(), storageAndRepositoryId);
             final String rId = ConfigurationUtils.getRepositoryId(storageAndRepositoryId);
 
-            final RepositoryPath subRepositoryIndexDirectoryPath = getSubRepositoryIndexPath(sId, rId);
+            final RepositoryPath indexDirectoryPath = getSubRepositoryIndexPath(sId, rId);
+            // A segment depends on the preceding members too, as their artifacts are filtered out from it.
+            final String id = sId + ":" + rId;
+            generations.append(generations.length() > 0 ? "," : "")
+                       .append(id).append("@").append(getGeneration(indexDirectoryPath));
 
-            final Lock lock = repositoryPathLock.lock(subRepositoryIndexDirectoryPath).readLock();
-            lock.lock();
-            try
+            members.add(new Member(id,
+                                   indexDirectoryPath,
+                                   membersDirectory.resolve(sId).resolve(rId),
+                                   generations.toString()));
+        }
+
+        return members;
+    }
+
+    private String getGeneration(final RepositoryPath indexDirectoryPath)
+            throws IOException
+    {
+        if (!Files.isDirectory(indexDirectoryPath))
+        {
+            return MISSING_GENERATION;
+        }
+
+        try (final Directory directory = new SimpleFSDirectory(indexDirectoryPath))
+        {
+            final Date timestamp = IndexUtils.getTimestamp(directory);
+
+            return timestamp != null ? String.valueOf(timestamp.getTime()) : MISSING_GENERATION;
+        }
+    }
+
+    private void updateMemberSegments(final List<Member> members,
+                                      final List<Member> changedMembers,
+                                      final IndexingContext indexingContext)
+            throws IOException
+    {
+        if (changedMembers.isEmpty())
+        {
+            return;
+        }
+
+        final ExecutorService executor = Executors.newFixedThreadPool(
+                Math.max(1, Math.min(parallelism, changedMembers.size())));
+        try
+        {
+            final List<Future<?>> futures = new ArrayList<>();
+            for (final Member member : changedMembers)
+            {
+                futures.add(executor.submit(() -> {
+                    try
+                    {
+                        createMemberSegment(member, members.subList(0, members.indexOf(member)), indexingContext);
+                    }
+                    catch (IOException e)
+                    {
+                        throw new UncheckedIOException(e);
+                    }
+                }));
+            }
+            for (final Future<?> future : futures)
+            {
+                future.get();
+            }
+        }
+        catch (InterruptedException e)
+        {
+            Thread.currentThread().interrupt();
+            throw new IOException(e);
+        }
+        catch (ExecutionException e)
+        {
+            throw new IOException(e.getCause());
+        }
+        finally
+        {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * Copies the live artifact documents of the member, which are not provided by the preceding members, into the
+     * member segment.
+     */
+    private void createMemberSegment(final Member member,
+                                     final List<Member> precedingMembers,
+                                     final IndexingContext indexingContext)
+            throws IOException
+    {
+        FileUtils.deleteDirectory(member.segmentDirectory.toFile());
+        Files.createDirectories(member.segmentDirectory);
+
+        final List<DirectoryReader> precedingReaders = new ArrayList<>();
+        try (final Directory segmentDirectory = new SimpleFSDirectory(member.segmentDirectory);
+             final IndexWriter segmentWriter = new IndexWriter(segmentDirectory,
+                                                               new IndexWriterConfig(new NexusAnalyzer())))
+        {
+            final DirectoryReader memberReader = openReader(member.indexDirectoryPath);
+            if (memberReader == null)
+            {
+                segmentWriter.commit();
+
+                return;
+            }
+
+            final List<IndexSearcher> precedingSearchers = new ArrayList<>();
+            for (final Member precedingMember : precedingMembers)
             {
-                try
+                final DirectoryReader precedingReader = openReader(precedingMember.indexDirectoryPath);
+                if (precedingReader != null)
                 {
-                    indexingContext.merge(new SimpleFSDirectory(subRepositoryIndexDirectoryPath));
+                    precedingReaders.add(precedingReader);
+                    precedingSearchers.add(new IndexSearcher(precedingReader));
                 }
-                catch (IndexNotFoundException ex)
+            }
+
+            try
+            {
+                long documents = 0;
+                final Bits liveDocs = MultiFields.getLiveDocs(memberReader);
+                for (int i = 0; i < memberReader.maxDoc(); i++)
                 {
-                    logger.warn("IndexNotFound in [{}]", subRepositoryIndexDirectoryPath, ex);
+                    if (liveDocs != null && !liveDocs.get(i))
+                    {
+                        continue;
+                    }
+
+                    final Document document = memberReader.document(i);
+                    // The descriptor, the groups and the deletion markers don't have an UINFO.
+                    final String uinfo = document.get(ArtifactInfo.UINFO);
+                    if (uinfo == null || isProvidedBy(precedingSearchers, uinfo))
+                    {
+                        continue;
+                    }
+
+                    final Document segmentDocument = IndexUtils.updateDocument(document, indexingContext, false);
+                    segmentDocument.add(new StringField(MEMBER_FIELD, member.id, Field.Store.NO));
+
+                    segmentWriter.addDocument(segmentDocument);
+                    documents++;
                 }
+                segmentWriter.commit();
+
+                logger.debug("Copied [{}] documents of [{}] into its group segment.", documents, member.id);
             }
             finally
             {
-                lock.unlock();
+                memberReader.close();
+            }
+        }
+        finally
+        {
+            for (final DirectoryReader precedingReader : precedingReaders)
+            {
+                precedingReader.close();
+            }
+        }
+    }
+
+    private boolean isProvidedBy(final List<IndexSearcher> searchers,
+                                 final String uinfo)
+            throws IOException
+    {
+        final TermQuery query = new TermQuery(new Term(ArtifactInfo.UINFO, uinfo));
+        for (final IndexSearcher searcher : searchers)
+        {
+            if (searcher.search(query, 1).totalHits > 0)
+            {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    private DirectoryReader openReader(final RepositoryPath indexDirectoryPath)
+            throws IOException
+    {
+        if (!Files.isDirectory(indexDirectoryPath))
+        {
+            return null;
+        }
+
+        try
+        {
+            return DirectoryReader.open(new SimpleFSDirectory(indexDirectoryPath));
+        }
+        catch (IndexNotFoundException ex)
+        {
+            logger.warn("IndexNotFound in [{}]", indexDirectoryPath, ex);
+
+            return null;
+        }
+    }
+
+    /**
+     * Replaces the documents of the changed and of the removed members within the group index.
+     *
+     * @param merged `false` if the group index wasn't merged from the tagged segments yet, so it has to be purged
+     */
+    private void mergeMemberSegments(final boolean merged,
+                                     final List<Member> changedMembers,
+                                     final Set<String> removedMemberIds,
+                                     final RepositoryCloseableIndexingContext indexingContext)
+            throws IOException
+    {
+        if (merged && changedMembers.isEmpty() && removedMemberIds.isEmpty())
+        {
+            return;
+        }
+
+        final IndexWriter indexWriter = indexingContext.getIndexWriter();
+        if (merged)
+        {
+            for (final String memberId : removedMemberIds)
+            {
+                indexWriter.deleteDocuments(new Term(MEMBER_FIELD, memberId));
+            }
+            for (final Member member : changedMembers)
+            {
+                indexWriter.deleteDocuments(new Term(MEMBER_FIELD, member.id));
+            }
+        }
+        else
+        {
+            indexingContext.purge();
+        }
+
+        final List<Directory> segmentDirectories = new ArrayList<>();
+        try
+        {
+            for (final Member member : changedMembers)
+            {
+                segmentDirectories.add(new SimpleFSDirectory(member.segmentDirectory));
+            }
+
+            indexingContext.getIndexWriter().addIndexes(segmentDirectories.toArray(new Directory[0]));
+            indexingContext.commit();
+        }
+        finally
+        {
+            for (final Directory segmentDirectory : segmentDirectories)
+            {
+                segmentDirectory.close();
             }
         }
+
+        indexingContext.rebuildGroups();
+        indexingContext.updateTimestamp(true);
     }
 
     private RepositoryPath getSubRepositoryIndexPath(final String storageId,
@@ -110,5 +461,32 @@ public class RepositoryGroupIndexCreator
     {
         return localIndexDirectoryPathResolver;
     }
-}
 
+    private static class Member
+    {
+
+        private final String id;
+
+        private final RepositoryPath indexDirectoryPath;
+
+        private final Path segmentDirectory;
+
+        /**
+         * The generations of this member and of all the preceding members, in order.
+         */
+        private final String generations;
+
+        private Member(String id,
+                       RepositoryPath indexDirectoryPath,
+                       Path segmentDirectory,
+                       String generations)
+        {
+            this.id = id;
+            this.indexDirectoryPath = indexDirectoryPath;
+            this.segmentDirectory = segmentDirectory;
+            this.generations = generations;
+        }
+
+    }
+
+}
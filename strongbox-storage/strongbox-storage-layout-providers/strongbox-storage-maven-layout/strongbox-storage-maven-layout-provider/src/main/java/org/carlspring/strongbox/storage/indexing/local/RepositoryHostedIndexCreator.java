@@ -1,5 +1,6 @@
 package org.carlspring.strongbox.storage.indexing.local;
 
+import org.carlspring.strongbox.artifact.MavenArtifactUtils;
 import org.carlspring.strongbox.artifact.coordinates.MavenArtifactCoordinates;
 import org.carlspring.strongbox.data.service.support.search.PagingCriteria;
 import org.carlspring.strongbox.domain.ArtifactEntry;
@@ -10,18 +11,46 @@ import org.carlspring.strongbox.storage.indexing.*;
 import org.carlspring.strongbox.storage.indexing.RepositoryIndexDirectoryPathResolver.RepositoryIndexDirectoryPathResolverQualifier;
 import org.carlspring.strongbox.storage.indexing.RepositoryIndexCreator.RepositoryIndexCreatorQualifier;
 import org.carlspring.strongbox.storage.indexing.RepositoryIndexingContextFactory.RepositoryIndexingContextFactoryQualifier;
+import org.carlspring.strongbox.storage.indexing.local.RepositoryHostedIndexDeletions.PendingDeletions;
 import org.carlspring.strongbox.storage.repository.Repository;
 import org.carlspring.strongbox.storage.repository.RepositoryTypeEnum;
+import org.carlspring.strongbox.util.TaskExecutionContext;
+import org.carlspring.strongbox.util.TaskExecutionContextHolder;
 
 import javax.inject.Inject;
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.util.*;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
 
+import org.apache.lucene.document.Document;
+import org.apache.lucene.document.StoredField;
+import org.apache.lucene.index.IndexWriter;
+import org.apache.lucene.index.Term;
+import org.apache.lucene.search.IndexSearcher;
+import org.apache.lucene.search.PrefixQuery;
+import org.apache.lucene.search.ScoreDoc;
+import org.apache.lucene.search.TopDocs;
 import org.apache.maven.index.ArtifactContext;
+import org.apache.maven.index.ArtifactInfo;
+import org.apache.maven.index.artifact.Gav;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
 /**
+ * Indexes the hosted repositories.
+ * <p>
+ * The first run (or any run without a previously packed index) rebuilds the index from scratch. The subsequent runs
+ * only re-index the artifact groups changed since the previous run and remove the deleted paths recorded by
+ * {@link RepositoryHostedIndexDeletions}, so that the packer publishes them as an incremental chunk and the clients
+ * don't need to download the full index again. The deleted paths are kept in the journal until the index is packed.
+ *
  * @author Przemyslaw Fusik
  */
 @Component
@@ -30,8 +59,26 @@ public class RepositoryHostedIndexCreator
         extends AbstractRepositoryIndexCreator
 {
 
+    private static final Logger logger = LoggerFactory.getLogger(RepositoryHostedIndexCreator.class);
+
     private static final int REPOSITORY_ARTIFACT_GROUP_FETCH_PAGE_SIZE = 100;
 
+    /**
+     * Stores the start time of the last successful run, within the index directory.
+     */
+    static final String LAST_INDEXED_FILE_NAME = ".last-indexed";
+
+    /**
+     * The artifacts being stored while the previous run was starting could have been missed by it.
+     */
+    private static final long LAST_INDEXED_SAFETY_MARGIN = TimeUnit.MINUTES.toMillis(1);
+
+    @Value("${strongbox.maven.index.maxChunks:30}")
+    private int maxIndexChunks;
+
+    @Inject
+    private RepositoryHostedIndexDeletions repositoryHostedIndexDeletions;
+
     @Inject
     private RepositoryArtifactIdGroupService repositoryArtifactIdGroupService;
 
@@ -43,14 +90,221 @@ public class RepositoryHostedIndexCreator
     @RepositoryIndexingContextFactoryQualifier(IndexTypeEnum.LOCAL)
     private RepositoryIndexingContextFactory indexingContextFactory;
 
+    /**
+     * The index is up to date, if it was packed and neither an artifact group was modified, nor a path was deleted
+     * since the last run.
+     */
+    @Override
+    public boolean isUpToDate(final Repository repository)
+            throws IOException
+    {
+        final RepositoryPath repositoryIndexDirectoryPath = indexDirectoryPathResolver.resolve(repository);
+        final Date lastIndexed = readLastIndexed(repositoryIndexDirectoryPath.toFile().toPath()
+                                                                             .resolve(LAST_INDEXED_FILE_NAME));
+        if (lastIndexed == null || !IndexPacker.packageExists(repositoryIndexDirectoryPath) ||
+            repositoryHostedIndexDeletions.hasPending(repository))
+        {
+            return false;
+        }
+
+        return repositoryArtifactIdGroupService.findModifiedSince(repository.getStorage().getId(),
+                                                                  repository.getId(),
+                                                                  lastIndexed,
+                                                                  new PagingCriteria(0, 1))
+                                               .isEmpty();
+    }
+
     @Override
     protected void onIndexingContextCreated(final RepositoryPath repositoryIndexDirectoryPath,
                                             final RepositoryCloseableIndexingContext indexingContext)
             throws IOException
     {
-        indexingContext.purge();
-        fulfillIndexingContext(indexingContext);
-        IndexPacker.pack(repositoryIndexDirectoryPath, indexingContext);
+        final long startTime = System.currentTimeMillis();
+        final Repository repository = indexingContext.getRepositoryRaw();
+        final Path lastIndexedPath = repositoryIndexDirectoryPath.toFile().toPath().resolve(LAST_INDEXED_FILE_NAME);
+        final Date lastIndexed = readLastIndexed(lastIndexedPath);
+
+        // The deleted paths are discarded after a full rebuild as well, which doesn't need them.
+        final PendingDeletions deletions = repositoryHostedIndexDeletions.read(repository);
+
+        final boolean incremental = lastIndexed != null && IndexPacker.packageExists(repositoryIndexDirectoryPath);
+        if (incremental)
+        {
+            logger.info("Updating the index of [{}] with the changes since [{}].", repositoryIndexDirectoryPath,
+                        lastIndexed);
+
+            removeDeletedPaths(indexingContext, deletions.getPaths());
+            fulfillIndexingContext(indexingContext, lastIndexed);
+        }
+        else
+        {
+            indexingContext.purge();
+            fulfillIndexingContext(indexingContext, null);
+        }
+
+        if (TaskExecutionContextHolder.get().isCancelled())
+        {
+            // The changes already committed into the context are published by the next run, and the deleted paths
+            // are removed again by it.
+            logger.info("Indexing of [{}] cancelled, the index won't be packed.", repositoryIndexDirectoryPath);
+
+            return;
+        }
+        // A full rebuild invalidates the previous chunks, so the clients have to download the full index.
+        IndexPacker.pack(repositoryIndexDirectoryPath, indexingContext, incremental ? maxIndexChunks : 0);
+
+        writeLastIndexed(lastIndexedPath, startTime - LAST_INDEXED_SAFETY_MARGIN);
+        repositoryHostedIndexDeletions.remove(repository, deletions);
+    }
+
+    private Date readLastIndexed(final Path lastIndexedPath)
+    {
+        if (!Files.exists(lastIndexedPath))
+        {
+            return null;
+        }
+
+        try
+        {
+            return new Date(Long.parseLong(new String(Files.readAllBytes(lastIndexedPath),
+                                                      StandardCharsets.UTF_8).trim()));
+        }
+        catch (IOException | NumberFormatException e)
+        {
+            logger.warn("Failed to read [{}], the index will be rebuilt.", lastIndexedPath, e);
+
+            return null;
+        }
+    }
+
+    private void writeLastIndexed(final Path lastIndexedPath,
+                                  final long lastIndexed)
+            throws IOException
+    {
+        Files.write(lastIndexedPath, Long.toString(lastIndexed).getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Replaces the documents of the deleted paths with the `DELETED` marker documents, which are published within the
+     * incremental chunk. The surviving artifacts with the same artifactId are indexed again, as a deleted file may
+     * share its document with its siblings (for example, the `jar` and the `pom`).
+     */
+    private void removeDeletedPaths(final RepositoryCloseableIndexingContext indexingContext,
+                                    final Set<String> deletedPaths)
+            throws IOException
+    {
+        if (deletedPaths.isEmpty())
+        {
+            return;
+        }
+
+        final Set<String> prefixes = new LinkedHashSet<>();
+        final Set<String> artifactIds = new LinkedHashSet<>();
+        for (final String deletedPath : deletedPaths)
+        {
+            collectUinfoPrefixes(deletedPath, prefixes, artifactIds::add);
+        }
+
+        final Set<String> uinfos = new LinkedHashSet<>();
+        final IndexSearcher indexSearcher = indexingContext.acquireIndexSearcher();
+        try
+        {
+            for (final String prefix : prefixes)
+            {
+                final PrefixQuery query = new PrefixQuery(new Term(ArtifactInfo.UINFO, prefix));
+                final TopDocs topDocs = indexSearcher.search(query,
+                                                             Math.max(1, indexSearcher.getIndexReader().maxDoc()));
+                for (final ScoreDoc scoreDoc : topDocs.scoreDocs)
+                {
+                    uinfos.add(indexSearcher.doc(scoreDoc.doc).get(ArtifactInfo.UINFO));
+                }
+            }
+        }
+        finally
+        {
+            indexingContext.releaseIndexSearcher(indexSearcher);
+        }
+
+        // Same as org.apache.maven.index.DefaultIndexerEngine#remove, without re-creating the UINFO.
+        final IndexWriter indexWriter = indexingContext.getIndexWriter();
+        final String lastModified = Long.toString(System.currentTimeMillis());
+        for (final String uinfo : uinfos)
+        {
+            final Document document = new Document();
+            document.add(new StoredField(ArtifactInfo.DELETED, uinfo));
+            document.add(new StoredField(ArtifactInfo.LAST_MODIFIED, lastModified));
+            indexWriter.addDocument(document);
+            indexWriter.deleteDocuments(new Term(ArtifactInfo.UINFO, uinfo));
+        }
+        indexingContext.commit();
+        indexingContext.updateTimestamp();
+
+        final Repository repository = indexingContext.getRepositoryRaw();
+        final List<RepositoryArtifactIdGroupEntry> survivors = new ArrayList<>();
+        for (final String artifactId : artifactIds)
+        {
+            final RepositoryArtifactIdGroupEntry groupEntry = repositoryArtifactIdGroupService.findOne(
+                    repository.getStorage().getId(),
+                    repository.getId(),
+                    artifactId);
+            if (groupEntry != null)
+            {
+                survivors.add(groupEntry);
+            }
+        }
+        Indexer.INSTANCE.addArtifactsToIndex(createArtifactContexts(survivors), indexingContext);
+
+        logger.info("Removed [{}] documents of [{}] deleted paths from the index of [{}:{}].",
+                    uinfos.size(), deletedPaths.size(), repository.getStorage().getId(), repository.getId());
+    }
+
+    /**
+     * The UINFO is `groupId|artifactId|version|classifier[|extension]`, so a deleted path can be:
+     * <ul>
+     * <li>an artifact file, whose version is removed (and its survivors indexed again)</li>
+     * <li>a groupId directory, with all the nested groupIds</li>
+     * <li>an artifactId directory, if the last segment is the artifactId</li>
+     * <li>a version directory, if the last two segments are the artifactId and the version</li>
+     * </ul>
+     */
+    private void collectUinfoPrefixes(final String deletedPath,
+                                      final Set<String> prefixes,
+                                      final Consumer<String> artifactIds)
+    {
+        final Gav gav = MavenArtifactUtils.convertPathToGav(deletedPath);
+        if (gav != null)
+        {
+            prefixes.add(String.join(ArtifactInfo.FS, gav.getGroupId(), gav.getArtifactId(), gav.getVersion(), ""));
+            artifactIds.accept(gav.getArtifactId());
+
+            return;
+        }
+
+        final List<String> segments = new ArrayList<>(Arrays.asList(deletedPath.split("/")));
+        segments.removeIf(String::isEmpty);
+        if (segments.isEmpty())
+        {
+            return;
+        }
+
+        final String groupId = String.join(".", segments);
+        prefixes.add(groupId + ArtifactInfo.FS);
+        prefixes.add(groupId + ".");
+
+        final int size = segments.size();
+        if (size > 1)
+        {
+            final String artifactId = segments.get(size - 1);
+            prefixes.add(String.join(ArtifactInfo.FS, String.join(".", segments.subList(0, size - 1)), artifactId, ""));
+            artifactIds.accept(artifactId);
+        }
+        if (size > 2)
+        {
+            final String artifactId = segments.get(size - 2);
+            prefixes.add(String.join(ArtifactInfo.FS, String.join(".", segments.subList(0, size - 2)), artifactId,
+                                     segments.get(size - 1), ""));
+            artifactIds.accept(artifactId);
+        }
     }
 
     @Override
@@ -65,7 +319,11 @@ public class RepositoryHostedIndexCreator
         return indexDirectoryPathResolver;
     }
 
-    private void fulfillIndexingContext(final RepositoryCloseableIndexingContext indexingContext)
+    /**
+     * @param since only the groups modified since then are indexed, all of them if `null`
+     */
+    private void fulfillIndexingContext(final RepositoryCloseableIndexingContext indexingContext,
+                                        final Date since)
             throws IOException
     {
 
@@ -82,17 +340,33 @@ public class RepositoryHostedIndexCreator
 
         final long iterations = totalArtifactGroupsInRepository / REPOSITORY_ARTIFACT_GROUP_FETCH_PAGE_SIZE + 1;
 
-        for (int i = 0; i < iterations; i++)
+        final TaskExecutionContext context = TaskExecutionContextHolder.get();
+        if (since == null)
+        {
+            context.addTotal(totalArtifactGroupsInRepository);
+        }
+
+        for (int i = 0; i < iterations && !context.isCancelled(); i++)
         {
             final PagingCriteria pagingCriteria = new PagingCriteria(i * REPOSITORY_ARTIFACT_GROUP_FETCH_PAGE_SIZE,
                                                                      REPOSITORY_ARTIFACT_GROUP_FETCH_PAGE_SIZE);
-            final List<RepositoryArtifactIdGroupEntry> repositoryArtifactIdGroupEntries = repositoryArtifactIdGroupService.findMatching(
-                    storageId,
-                    repositoryId,
-                    pagingCriteria);
+            final List<RepositoryArtifactIdGroupEntry> repositoryArtifactIdGroupEntries = since == null ?
+                    repositoryArtifactIdGroupService.findMatching(storageId, repositoryId, pagingCriteria) :
+                    repositoryArtifactIdGroupService.findModifiedSince(storageId, repositoryId, since, pagingCriteria);
+            if (since != null)
+            {
+                if (repositoryArtifactIdGroupEntries.isEmpty())
+                {
+                    break;
+                }
+                context.addTotal(repositoryArtifactIdGroupEntries.size());
+            }
 
             final List<ArtifactContext> artifactContexts = createArtifactContexts(repositoryArtifactIdGroupEntries);
             Indexer.INSTANCE.addArtifactsToIndex(artifactContexts, indexingContext);
+
+            context.addDone(repositoryArtifactIdGroupEntries.size());
+            context.throttle(0, artifactContexts.size());
         }
     }
 
@@ -0,0 +1,153 @@
+package org.carlspring.strongbox.storage.indexing.local;
+
+import org.carlspring.strongbox.providers.io.RepositoryFiles;
+import org.carlspring.strongbox.providers.io.RepositoryPath;
+import org.carlspring.strongbox.storage.indexing.IndexTypeEnum;
+import org.carlspring.strongbox.storage.indexing.RepositoryIndexDirectoryPathResolver;
+import org.carlspring.strongbox.storage.indexing.RepositoryIndexDirectoryPathResolver.RepositoryIndexDirectoryPathResolverQualifier;
+import org.carlspring.strongbox.storage.repository.Repository;
+
+import javax.inject.Inject;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+/**
+ * The paths deleted from the hosted repositories since their index was last packed.
+ * <p>
+ * The artifact entries are removed from the database together with the files, so the deletions can't be queried when
+ * the index gets updated incrementally. Instead, they are appended to a journal file within the local index directory
+ * and read by the {@link RepositoryHostedIndexCreator}. The paths are only removed from the journal once the index
+ * without them was packed, so that a failed run doesn't lose them.
+ */
+@Component
+public class RepositoryHostedIndexDeletions
+{
+
+    private static final Logger logger = LoggerFactory.getLogger(RepositoryHostedIndexDeletions.class);
+
+    static final String JOURNAL_FILE_NAME = ".deleted-paths";
+
+    @Inject
+    @RepositoryIndexDirectoryPathResolverQualifier(IndexTypeEnum.LOCAL)
+    private RepositoryIndexDirectoryPathResolver indexDirectoryPathResolver;
+
+    public synchronized void record(RepositoryPath path)
+            throws IOException
+    {
+        Path journalPath = getJournalPath(path.getRepository());
+
+        Files.createDirectories(journalPath.getParent());
+        Files.write(journalPath,
+                    Collections.singletonList(RepositoryFiles.relativizePath(path)),
+                    StandardCharsets.UTF_8,
+                    StandardOpenOption.CREATE,
+                    StandardOpenOption.APPEND);
+    }
+
+    /**
+     * Tells whether there are paths recorded for the repository, which haven't been removed from the index yet.
+     */
+    public synchronized boolean hasPending(Repository repository)
+            throws IOException
+    {
+        Path journalPath = getJournalPath(repository);
+
+        return Files.exists(journalPath) && Files.size(journalPath) > 0;
+    }
+
+    /**
+     * Returns the paths recorded for the repository, without removing them.
+     */
+    public synchronized PendingDeletions read(Repository repository)
+    {
+        Path journalPath = getJournalPath(repository);
+        if (!Files.exists(journalPath))
+        {
+            return PendingDeletions.EMPTY;
+        }
+
+        try
+        {
+            byte[] content = Files.readAllBytes(journalPath);
+            Set<String> paths = new LinkedHashSet<>(Arrays.asList(new String(content, StandardCharsets.UTF_8)
+                                                                          .split("\\R")));
+            paths.remove("");
+
+            return new PendingDeletions(paths, content.length);
+        }
+        catch (IOException e)
+        {
+            logger.error("Failed to read [{}], the deleted paths won't be removed from the index.", journalPath, e);
+
+            return PendingDeletions.EMPTY;
+        }
+    }
+
+    /**
+     * Removes the paths previously {@link #read(Repository) read} from the journal. The paths recorded since then
+     * are kept.
+     */
+    public synchronized void remove(Repository repository,
+                                    PendingDeletions deletions)
+            throws IOException
+    {
+        Path journalPath = getJournalPath(repository);
+        if (deletions.length == 0 || !Files.exists(journalPath))
+        {
+            return;
+        }
+
+        byte[] content = Files.readAllBytes(journalPath);
+        if (content.length <= deletions.length)
+        {
+            Files.delete(journalPath);
+
+            return;
+        }
+
+        Files.write(journalPath, Arrays.copyOfRange(content, (int) deletions.length, content.length));
+    }
+
+    private Path getJournalPath(Repository repository)
+    {
+        return indexDirectoryPathResolver.resolve(repository).toFile().toPath().resolve(JOURNAL_FILE_NAME);
+    }
+
+    /**
+     * The paths read from the journal, together with the length of the journal they were read from.
+     */
+    public static final class PendingDeletions
+    {
+
+        static final PendingDeletions EMPTY = new PendingDeletions(Collections.emptySet(), 0);
+
+        private final Set<String> paths;
+
+        private final long length;
+
+        PendingDeletions(Set<String> paths,
+                         long length)
+        {
+            this.paths = paths;
+            this.length = length;
+        }
+
+        public Set<String> getPaths()
+        {
+            return paths;
+        }
+
+    }
+
+}
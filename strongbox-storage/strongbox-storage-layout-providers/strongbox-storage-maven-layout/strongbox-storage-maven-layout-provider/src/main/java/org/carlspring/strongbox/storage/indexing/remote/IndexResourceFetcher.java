@@ -1,21 +1,55 @@
 package org.carlspring.strongbox.storage.indexing.remote;
 
+import java.io.ByteArrayInputStream;
 import java.io.Closeable;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.io.RandomAccessFile;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
 import java.text.MessageFormat;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.stream.Stream;
 
 import com.google.common.io.Closeables;
+import org.apache.commons.io.FileUtils;
+import org.apache.commons.io.IOUtils;
 import org.apache.commons.lang3.StringUtils;
 import org.apache.http.HttpEntity;
+import org.apache.http.HttpHeaders;
+import org.apache.http.HttpStatus;
 import org.apache.http.client.methods.CloseableHttpResponse;
 import org.apache.http.client.methods.HttpGet;
 import org.apache.http.impl.client.CloseableHttpClient;
+import org.apache.maven.index.context.IndexingContext;
 import org.apache.maven.index.updater.ResourceFetcher;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 /**
+ * Fetches the remote index resources.
+ * <p>
+ * When a download directory is provided:
+ * <ul>
+ * <li>the resources are downloaded into it, and a partial download is resumed with an HTTP `Range` request (the
+ * downloads of a remote index are kept apart by its `nexus.index.timestamp`)</li>
+ * <li>the incremental chunks missing from the local index are prefetched in parallel as soon as the remote
+ * properties are retrieved</li>
+ * <li>the full index is consumed while it's being downloaded, so that the decompression and the Lucene documents
+ * insertion don't wait for the whole download, and nothing is buffered in the heap</li>
+ * </ul>
+ * Otherwise, the resources are streamed directly from the response.
+ *
  * @author Przemyslaw Fusik
  */
 public class IndexResourceFetcher
@@ -24,19 +58,68 @@ public class IndexResourceFetcher
 
     private static final String INDEX_URI_PATTERN = "{0}/.index/{1}";
 
+    private static final String REMOTE_PROPERTIES_FILE_NAME = IndexingContext.INDEX_FILE_PREFIX + ".properties";
+
+    private static final String UPDATER_PROPERTIES_FILE_NAME = IndexingContext.INDEX_FILE_PREFIX +
+                                                               "-updater.properties";
+
+    // The property names used by org.apache.maven.index.incremental.DefaultIncrementalHandler
+    private static final String TIMESTAMP_PROPERTY = "nexus.index.timestamp";
+
+    private static final String CHAIN_ID_PROPERTY = "nexus.index.chain-id";
+
+    private static final String LAST_INCREMENTAL_PROPERTY = "nexus.index.last-incremental";
+
+    private static final String INCREMENTAL_PROPERTY_PREFIX = "nexus.index.incremental-";
+
+    private static final String PARTIAL_MARKER_SUFFIX = ".partial";
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
     private static final Logger logger = LoggerFactory.getLogger(IndexResourceFetcher.class);
 
     private final String repositoryBaseUrl;
 
     private final CloseableHttpClient client;
 
+    private final Path downloadBaseDirectory;
+
+    private final Path localIndexDirectory;
+
+    private final ExecutorService executor;
+
+    private final Map<String, Download> downloads = new ConcurrentHashMap<>();
+
+    private Path downloadDirectory;
+
     private CloseableHttpResponse response;
 
     public IndexResourceFetcher(String repositoryBaseUrl,
                                 CloseableHttpClient client)
+    {
+        this(repositoryBaseUrl, client, null, null, 1);
+    }
+
+    /**
+     * @param downloadBaseDirectory the directory to download the resources into
+     * @param localIndexDirectory   the directory of the index being updated
+     * @param parallelism           the number of incremental chunks downloaded at the same time
+     */
+    public IndexResourceFetcher(String repositoryBaseUrl,
+                                CloseableHttpClient client,
+                                Path downloadBaseDirectory,
+                                Path localIndexDirectory,
+                                int parallelism)
     {
         this.repositoryBaseUrl = StringUtils.removeEnd(repositoryBaseUrl, "/");
         this.client = client;
+        this.downloadBaseDirectory = downloadBaseDirectory;
+        this.localIndexDirectory = localIndexDirectory;
+        this.executor = downloadBaseDirectory != null ? Executors.newFixedThreadPool(Math.max(1, parallelism), r -> {
+            Thread thread = new Thread(r, "index-fetcher");
+            thread.setDaemon(true);
+            return thread;
+        }) : null;
     }
 
     @Override
@@ -57,7 +140,32 @@ public class IndexResourceFetcher
     public InputStream retrieve(String indexName)
             throws IOException
     {
-        final String uri = MessageFormat.format(INDEX_URI_PATTERN, repositoryBaseUrl, indexName);
+        if (downloadBaseDirectory == null)
+        {
+            return stream(indexName);
+        }
+
+        if (REMOTE_PROPERTIES_FILE_NAME.equals(indexName))
+        {
+            return retrieveRemoteProperties();
+        }
+
+        Download download = download(indexName);
+        if (!indexName.endsWith(".gz") || isChunk(indexName))
+        {
+            // Small resources, or already downloading in parallel.
+            download.await();
+
+            return Files.newInputStream(download.target);
+        }
+
+        return new DownloadInputStream(download);
+    }
+
+    private InputStream stream(String indexName)
+            throws IOException
+    {
+        final String uri = getUri(indexName);
 
         logger.debug("Getting {}...", uri);
 
@@ -73,11 +181,399 @@ public class IndexResourceFetcher
         return result;
     }
 
+    private InputStream retrieveRemoteProperties()
+            throws IOException
+    {
+        byte[] content;
+        try (InputStream is = stream(REMOTE_PROPERTIES_FILE_NAME))
+        {
+            if (is == null)
+            {
+                return null;
+            }
+            content = IOUtils.toByteArray(is);
+        }
+        finally
+        {
+            Closeables.close(response, true);
+        }
+
+        Properties remoteProperties = new Properties();
+        remoteProperties.load(new ByteArrayInputStream(content));
+
+        String timestamp = remoteProperties.getProperty(TIMESTAMP_PROPERTY, "unknown").replaceAll("[^\\w.-]", "_");
+        downloadDirectory = downloadBaseDirectory.resolve(timestamp);
+        cleanupStaleDownloads();
+
+        for (String chunk : getMissingChunks(remoteProperties))
+        {
+            download(chunk);
+        }
+
+        return new ByteArrayInputStream(content);
+    }
+
+    /**
+     * Mirrors `DefaultIncrementalHandler#getIncrementalUpdates`, the chunks which are not expected to be needed are
+     * simply not prefetched.
+     */
+    private List<String> getMissingChunks(Properties remoteProperties)
+            throws IOException
+    {
+        List<String> result = new ArrayList<>();
+
+        Path localPropertiesPath = localIndexDirectory != null ?
+                                   localIndexDirectory.resolve(UPDATER_PROPERTIES_FILE_NAME) : null;
+        if (localPropertiesPath == null || !Files.exists(localPropertiesPath))
+        {
+            return result;
+        }
+
+        Properties localProperties = new Properties();
+        try (InputStream is = Files.newInputStream(localPropertiesPath))
+        {
+            localProperties.load(is);
+        }
+
+        String localChainId = localProperties.getProperty(CHAIN_ID_PROPERTY);
+        String lastIncremental = localProperties.getProperty(LAST_INCREMENTAL_PROPERTY);
+        if (localChainId == null || lastIncremental == null ||
+            !localChainId.equals(remoteProperties.getProperty(CHAIN_ID_PROPERTY)))
+        {
+            return result;
+        }
+
+        int last = Integer.parseInt(lastIncremental);
+        TreeSet<Integer> remoteChunks = new TreeSet<>();
+        for (String name : remoteProperties.stringPropertyNames())
+        {
+            if (name.startsWith(INCREMENTAL_PROPERTY_PREFIX))
+            {
+                remoteChunks.add(Integer.parseInt(remoteProperties.getProperty(name)));
+            }
+        }
+        if (remoteChunks.isEmpty() || remoteChunks.first() > last + 1)
+        {
+            // The chain was pruned, a full update is needed.
+            return result;
+        }
+
+        for (Integer chunk : remoteChunks.tailSet(last, false))
+        {
+            result.add(IndexingContext.INDEX_FILE_PREFIX + "." + chunk + ".gz");
+        }
+
+        logger.debug("Prefetching [{}] incremental chunks of {}.", result.size(), repositoryBaseUrl);
+
+        return result;
+    }
+
+    private boolean isChunk(String indexName)
+    {
+        return !indexName.equals(IndexingContext.INDEX_FILE_PREFIX + ".gz");
+    }
+
+    private void cleanupStaleDownloads()
+            throws IOException
+    {
+        if (!Files.isDirectory(downloadBaseDirectory))
+        {
+            return;
+        }
+
+        List<Path> stale = new ArrayList<>();
+        try (Stream<Path> paths = Files.list(downloadBaseDirectory))
+        {
+            paths.filter(path -> !path.equals(downloadDirectory)).forEach(stale::add);
+        }
+        for (Path path : stale)
+        {
+            FileUtils.deleteQuietly(path.toFile());
+        }
+    }
+
+    private Download download(String indexName)
+            throws IOException
+    {
+        if (downloadDirectory == null)
+        {
+            // The remote properties weren't retrieved first.
+            downloadDirectory = downloadBaseDirectory.resolve("unknown");
+        }
+        Files.createDirectories(downloadDirectory);
+
+        return downloads.computeIfAbsent(indexName, name -> {
+            Download download = new Download(getUri(name), downloadDirectory.resolve(name));
+            executor.execute(download);
+
+            return download;
+        });
+    }
+
+    private String getUri(String indexName)
+    {
+        return MessageFormat.format(INDEX_URI_PATTERN, repositoryBaseUrl, indexName);
+    }
+
     @Override
     public void close()
             throws IOException
     {
+        if (executor != null)
+        {
+            executor.shutdownNow();
+        }
         Closeables.close(response, true);
         Closeables.close(client, true);
+
+        // The completed downloads have been applied, the partial ones are kept to be resumed.
+        for (Download download : downloads.values())
+        {
+            if (download.isCompleted())
+            {
+                Files.deleteIfExists(download.target);
+            }
+        }
     }
+
+    /**
+     * Downloads a resource into the target file, resuming the partial download if there is one.
+     */
+    private class Download
+            implements Runnable
+    {
+
+        private final String uri;
+
+        private final Path target;
+
+        private final Path partialMarker;
+
+        private long written;
+
+        private boolean done;
+
+        private IOException failure;
+
+        private Download(String uri,
+                         Path target)
+        {
+            this.uri = uri;
+            this.target = target;
+            this.partialMarker = target.resolveSibling(target.getFileName() + PARTIAL_MARKER_SUFFIX);
+        }
+
+        @Override
+        public void run()
+        {
+            try
+            {
+                download();
+                finish(null);
+            }
+            catch (IOException e)
+            {
+                finish(e);
+            }
+        }
+
+        private void download()
+                throws IOException
+        {
+            if (Files.exists(target) && !Files.exists(partialMarker))
+            {
+                logger.debug("{} was already downloaded.", uri);
+                progress(Files.size(target));
+
+                return;
+            }
+
+            Files.createDirectories(target.getParent());
+            if (!Files.exists(partialMarker))
+            {
+                Files.deleteIfExists(target);
+                Files.createFile(partialMarker);
+            }
+
+            long offset = Files.exists(target) ? Files.size(target) : 0;
+
+            HttpGet request = new HttpGet(uri);
+            if (offset > 0)
+            {
+                request.setHeader(HttpHeaders.RANGE, "bytes=" + offset + "-");
+            }
+
+            logger.debug("Getting {} from offset [{}]...", uri, offset);
+
+            try (CloseableHttpResponse httpResponse = client.execute(request))
+            {
+                int status = httpResponse.getStatusLine().getStatusCode();
+                if (status == HttpStatus.SC_REQUESTED_RANGE_NOT_SATISFIABLE && offset > 0)
+                {
+                    // Already complete.
+                    Files.delete(partialMarker);
+                    progress(offset);
+
+                    return;
+                }
+                if (status != HttpStatus.SC_OK && status != HttpStatus.SC_PARTIAL_CONTENT)
+                {
+                    throw new IOException(String.format("Failed to get %s, status [%s].", uri, status));
+                }
+
+                boolean append = status == HttpStatus.SC_PARTIAL_CONTENT;
+                if (!append)
+                {
+                    offset = 0;
+                }
+                progress(offset);
+
+                HttpEntity entity = httpResponse.getEntity();
+                try (InputStream is = entity.getContent();
+                     OutputStream os = Files.newOutputStream(target,
+                                                             StandardOpenOption.CREATE,
+                                                             StandardOpenOption.WRITE,
+                                                             append ? StandardOpenOption.APPEND :
+                                                             StandardOpenOption.TRUNCATE_EXISTING))
+                {
+                    byte[] buffer = new byte[BUFFER_SIZE];
+                    int read;
+                    while ((read = is.read(buffer)) != -1)
+                    {
+                        os.write(buffer, 0, read);
+                        os.flush();
+                        offset += read;
+                        progress(offset);
+                    }
+                }
+            }
+
+            Files.delete(partialMarker);
+        }
+
+        private synchronized void progress(long written)
+        {
+            this.written = written;
+            notifyAll();
+        }
+
+        private synchronized void finish(IOException failure)
+        {
+            this.failure = failure;
+            this.done = true;
+            notifyAll();
+        }
+
+        private synchronized boolean isCompleted()
+        {
+            return done && failure == null;
+        }
+
+        private synchronized void await()
+                throws IOException
+        {
+            awaitBytes(Long.MAX_VALUE);
+        }
+
+        /**
+         * @return the number of bytes available, once more than `position` are available or the download is done
+         */
+        private synchronized long awaitBytes(long position)
+                throws IOException
+        {
+            try
+            {
+                while (!done && written <= position)
+                {
+                    wait();
+                }
+            }
+            catch (InterruptedException e)
+            {
+                Thread.currentThread().interrupt();
+                throw new InterruptedIOException(uri);
+            }
+
+            if (failure != null)
+            {
+                throw new IOException(String.format("Failed to download %s.", uri), failure);
+            }
+
+            return written;
+        }
+
+    }
+
+    /**
+     * Reads the file of a {@link Download} while it's being written.
+     */
+    private static class DownloadInputStream
+            extends InputStream
+    {
+
+        private final Download download;
+
+        private RandomAccessFile file;
+
+        private long position;
+
+        private DownloadInputStream(Download download)
+        {
+            this.download = download;
+        }
+
+        @Override
+        public int read()
+                throws IOException
+        {
+            byte[] b = new byte[1];
+            int read = read(b, 0, 1);
+
+            return read == -1 ? -1 : b[0] & 0xFF;
+        }
+
+        @Override
+        public int read(byte[] b,
+                        int off,
+                        int len)
+                throws IOException
+        {
+            if (len == 0)
+            {
+                return 0;
+            }
+
+            long available = download.awaitBytes(position) - position;
+            if (available <= 0)
+            {
+                return -1;
+            }
+
+            if (file == null)
+            {
+                file = new RandomAccessFile(download.target.toFile(), "r");
+            }
+            file.seek(position);
+
+            int read = file.read(b, off, (int) Math.min(len, available));
+            if (read > 0)
+            {
+                position += read;
+            }
+
+            return read;
+        }
+
+        @Override
+        public void close()
+                throws IOException
+        {
+            if (file != null)
+            {
+                file.close();
+            }
+        }
+
+    }
+
 }
@@ -13,14 +13,25 @@ import org.carlspring.strongbox.storage.repository.RepositoryTypeEnum;
 
 import javax.inject.Inject;
 import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.text.ParseException;
+import java.text.SimpleDateFormat;
 import java.util.Date;
+import java.util.Locale;
 import java.util.Objects;
+import java.util.Properties;
+import java.util.TimeZone;
 
+import org.apache.maven.index.context.IndexingContext;
 import org.apache.maven.index.incremental.DefaultIncrementalHandler;
 import org.apache.maven.index.updater.DefaultIndexUpdater;
 import org.apache.maven.index.updater.IndexUpdateRequest;
 import org.apache.maven.index.updater.IndexUpdateResult;
 import org.apache.maven.index.updater.IndexUpdater;
+import org.apache.maven.index.updater.ResourceFetcher;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Component;
@@ -37,6 +48,21 @@ public class RepositoryProxyIndexCreator
 
     private static final Logger logger = LoggerFactory.getLogger(RepositoryProxyIndexCreator.class);
 
+    /**
+     * The remote index resources are downloaded into `.index/remote-downloads`.
+     */
+    static final String DOWNLOADS_DIRECTORY_NAME = "remote-downloads";
+
+    /**
+     * Stores the timestamp of the remote index which was applied last, within the index directory.
+     */
+    static final String REMOTE_TIMESTAMP_FILE_NAME = ".remote-timestamp";
+
+    private static final String REMOTE_PROPERTIES_FILE_NAME = IndexingContext.INDEX_FILE_PREFIX + ".properties";
+
+    // The property name used by org.apache.maven.index.incremental.DefaultIncrementalHandler
+    private static final String TIMESTAMP_PROPERTY = "nexus.index.timestamp";
+
     private final IndexUpdater indexUpdater = new DefaultIndexUpdater(new DefaultIncrementalHandler(), null);
 
     @Inject
@@ -56,6 +82,25 @@ public class RepositoryProxyIndexCreator
     @RepositoryIndexDirectoryPathResolverQualifier(IndexTypeEnum.REMOTE)
     private RepositoryIndexDirectoryPathResolver indexDirectoryPathResolver;
 
+    /**
+     * The index is up to date, if it was packed from the remote index which is still published. Only the remote
+     * properties are retrieved.
+     */
+    @Override
+    public boolean isUpToDate(final Repository repository)
+            throws IOException
+    {
+        final RepositoryPath repositoryIndexDirectoryPath = indexDirectoryPathResolver.resolve(repository);
+        final Date appliedTimestamp = readRemoteTimestamp(repositoryIndexDirectoryPath.toFile().toPath()
+                                                                                      .resolve(REMOTE_TIMESTAMP_FILE_NAME));
+        if (appliedTimestamp == null || !IndexPacker.packageExists(repositoryIndexDirectoryPath))
+        {
+            return false;
+        }
+
+        return appliedTimestamp.equals(fetchRemoteTimestamp(repository));
+    }
+
     @Override
     protected void onIndexingContextCreated(final RepositoryPath repositoryIndexDirectoryPath,
                                             final RepositoryCloseableIndexingContext indexingContext)
@@ -66,8 +111,11 @@ public class RepositoryProxyIndexCreator
         final String storageId = repository.getStorage().getId();
         final String repositoryId = repository.getId();
 
-        final IndexUpdateResult updateResult = fetchIndex(indexingContext, repository, storageId, repositoryId);
+        final IndexUpdateResult updateResult = fetchIndex(repositoryIndexDirectoryPath, indexingContext, repository,
+                                                          storageId, repositoryId);
 
+        final Path remoteTimestampPath = repositoryIndexDirectoryPath.toFile().toPath()
+                                                                     .resolve(REMOTE_TIMESTAMP_FILE_NAME);
         final Date contextCurrentTimestamp = indexingContext.getTimestamp();
         if (Objects.equals(updateResult.getTimestamp(), contextCurrentTimestamp))
         {
@@ -77,6 +125,7 @@ public class RepositoryProxyIndexCreator
             {
                 IndexPacker.pack(repositoryIndexDirectoryPath, indexingContext);
             }
+            writeRemoteTimestamp(remoteTimestampPath, updateResult.getTimestamp());
             return;
         }
         if (updateResult.isFullUpdate())
@@ -90,9 +139,94 @@ public class RepositoryProxyIndexCreator
                          contextCurrentTimestamp, updateResult.getTimestamp());
         }
         IndexPacker.pack(repositoryIndexDirectoryPath, indexingContext);
+
+        writeRemoteTimestamp(remoteTimestampPath, updateResult.getTimestamp());
+    }
+
+    private Date fetchRemoteTimestamp(final Repository repository)
+            throws IOException
+    {
+        final ResourceFetcher resourceFetcher = resourceFetcherFactory.createIndexResourceFetcher(
+                repository.getRemoteRepository().getUrl(),
+                proxyRepositoryConnectionPoolConfigurationService.getHttpClient());
+
+        final Properties remoteProperties = new Properties();
+        try
+        {
+            resourceFetcher.connect(repository.getStorage().getId() + ":" + repository.getId(),
+                                    repository.getRemoteRepository().getUrl());
+            try (InputStream is = resourceFetcher.retrieve(REMOTE_PROPERTIES_FILE_NAME))
+            {
+                if (is == null)
+                {
+                    return null;
+                }
+                remoteProperties.load(is);
+            }
+        }
+        finally
+        {
+            resourceFetcher.disconnect();
+        }
+
+        final String timestamp = remoteProperties.getProperty(TIMESTAMP_PROPERTY);
+        if (timestamp == null)
+        {
+            return null;
+        }
+
+        try
+        {
+            final SimpleDateFormat format = new SimpleDateFormat(IndexingContext.INDEX_TIME_FORMAT, Locale.US);
+            format.setTimeZone(TimeZone.getTimeZone("GMT"));
+
+            return format.parse(timestamp);
+        }
+        catch (ParseException e)
+        {
+            logger.warn("Failed to parse the remote index timestamp [{}] of [{}].", timestamp,
+                        repository.getStorageIdAndRepositoryId(), e);
+
+            return null;
+        }
+    }
+
+    private Date readRemoteTimestamp(final Path remoteTimestampPath)
+    {
+        if (!Files.exists(remoteTimestampPath))
+        {
+            return null;
+        }
+
+        try
+        {
+            return new Date(Long.parseLong(new String(Files.readAllBytes(remoteTimestampPath),
+                                                      StandardCharsets.UTF_8).trim()));
+        }
+        catch (IOException | NumberFormatException e)
+        {
+            logger.warn("Failed to read [{}], the remote index will be fetched.", remoteTimestampPath, e);
+
+            return null;
+        }
+    }
+
+    private void writeRemoteTimestamp(final Path remoteTimestampPath,
+                                      final Date timestamp)
+            throws IOException
+    {
+        if (timestamp == null)
+        {
+            Files.deleteIfExists(remoteTimestampPath);
+
+            return;
+        }
+
+        Files.write(remoteTimestampPath, Long.toString(timestamp.getTime()).getBytes(StandardCharsets.UTF_8));
     }
 
-    private IndexUpdateResult fetchIndex(final RepositoryCloseableIndexingContext indexingContext,
+    private IndexUpdateResult fetchIndex(final RepositoryPath repositoryIndexDirectoryPath,
+                                         final RepositoryCloseableIndexingContext indexingContext,
                                          final Repository repository,
                                          final String storageId,
                                          final String repositoryId)
@@ -100,10 +234,14 @@ public class RepositoryProxyIndexCreator
     {
         logger.debug("Downloading remote index for {}:{} ...", storageId, repositoryId);
 
+        final Path indexDirectory = repositoryIndexDirectoryPath.toFile().toPath();
         final IndexUpdateRequest updateRequest = new IndexUpdateRequest(indexingContext,
                                                                         resourceFetcherFactory.createIndexResourceFetcher(
                                                                                 indexingContext.getRepositoryUrl(),
-                                                                                proxyRepositoryConnectionPoolConfigurationService.getHttpClient()));
+                                                                                proxyRepositoryConnectionPoolConfigurationService.getHttpClient(),
+                                                                                indexDirectory.resolveSibling(
+                                                                                        DOWNLOADS_DIRECTORY_NAME),
+                                                                                indexDirectory));
 
         updateRequest.setIndexTempDir(
                 RepositoryFiles.temporary(repositoryPathResolver.resolve(repository)).toFile());
@@ -1,7 +1,10 @@
 package org.carlspring.strongbox.storage.indexing.remote;
 
+import java.nio.file.Path;
+
 import org.apache.http.impl.client.CloseableHttpClient;
 import org.apache.maven.index.updater.ResourceFetcher;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
 /**
@@ -11,9 +14,26 @@ import org.springframework.stereotype.Component;
 public class ResourceFetcherFactory
 {
 
+    @Value("${strongbox.maven.index.remote.parallelism:4}")
+    private int parallelism;
+
     public ResourceFetcher createIndexResourceFetcher(String repositoryBaseUrl,
                                                       CloseableHttpClient client)
     {
         return new IndexResourceFetcher(repositoryBaseUrl, client);
     }
+
+    /**
+     * @param downloadDirectory   the directory to download the index resources into, they are kept there until
+     *                            applied, so that an interrupted download can be resumed
+     * @param localIndexDirectory the directory of the index being updated
+     */
+    public ResourceFetcher createIndexResourceFetcher(String repositoryBaseUrl,
+                                                      CloseableHttpClient client,
+                                                      Path downloadDirectory,
+                                                      Path localIndexDirectory)
+    {
+        return new IndexResourceFetcher(repositoryBaseUrl, client, downloadDirectory, localIndexDirectory,
+                                        parallelism);
+    }
 }
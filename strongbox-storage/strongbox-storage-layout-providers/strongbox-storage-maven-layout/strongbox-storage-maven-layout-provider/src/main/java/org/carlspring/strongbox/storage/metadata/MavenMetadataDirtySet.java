@@ -0,0 +1,230 @@
+package org.carlspring.strongbox.storage.metadata;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * The artifact-id directories whose `maven-metadata.xml` needs to be updated, along with the changed versions.
+ * <p>
+ * Every change is appended to a journal file, so that the pending updates survive a restart. The journal is compacted
+ * by {@link #compact()}, once the drained entries have been processed.
+ */
+public class MavenMetadataDirtySet
+{
+
+    private static final Logger logger = LoggerFactory.getLogger(MavenMetadataDirtySet.class);
+
+    private static final String SEPARATOR = "\t";
+
+    private final Path journalPath;
+
+    private final Map<ArtifactDirectory, Set<String>> entries = new LinkedHashMap<>();
+
+    public MavenMetadataDirtySet(Path journalPath)
+    {
+        this.journalPath = journalPath;
+
+        load();
+    }
+
+    private void load()
+    {
+        if (!Files.exists(journalPath))
+        {
+            return;
+        }
+
+        try
+        {
+            List<String> lines = Files.readAllLines(journalPath, StandardCharsets.UTF_8);
+            for (String line : lines)
+            {
+                String[] fields = line.split(SEPARATOR);
+                if (fields.length != 4)
+                {
+                    continue;
+                }
+
+                add(new ArtifactDirectory(fields[0], fields[1], fields[2]), fields[3]);
+            }
+        }
+        catch (IOException e)
+        {
+            logger.error("Failed to read [{}], the pending metadata updates are lost.", journalPath, e);
+        }
+
+        if (!entries.isEmpty())
+        {
+            logger.info("Loaded [{}] pending metadata updates from [{}].", entries.size(), journalPath);
+        }
+    }
+
+    public synchronized void mark(ArtifactDirectory artifactDirectory,
+                                  String version)
+    {
+        if (!add(artifactDirectory, version))
+        {
+            return;
+        }
+
+        try
+        {
+            Files.createDirectories(journalPath.getParent());
+            Files.write(journalPath,
+                        Collections.singletonList(toLine(artifactDirectory, version)),
+                        StandardCharsets.UTF_8,
+                        StandardOpenOption.CREATE,
+                        StandardOpenOption.APPEND);
+        }
+        catch (IOException e)
+        {
+            logger.error("Failed to journal the metadata update of [{}].", artifactDirectory, e);
+        }
+    }
+
+    private boolean add(ArtifactDirectory artifactDirectory,
+                        String version)
+    {
+        return entries.computeIfAbsent(artifactDirectory, k -> new LinkedHashSet<>()).add(version);
+    }
+
+    /**
+     * Removes and returns all the entries. They are kept in the journal until the next {@link #compact()}.
+     */
+    public synchronized Map<ArtifactDirectory, Set<String>> drain()
+    {
+        Map<ArtifactDirectory, Set<String>> result = new LinkedHashMap<>(entries);
+        entries.clear();
+
+        return result;
+    }
+
+    public synchronized boolean isEmpty()
+    {
+        return entries.isEmpty();
+    }
+
+    /**
+     * Rewrites the journal with the entries which haven't been drained yet.
+     */
+    public synchronized void compact()
+        throws IOException
+    {
+        if (entries.isEmpty())
+        {
+            Files.deleteIfExists(journalPath);
+
+            return;
+        }
+
+        Files.createDirectories(journalPath.getParent());
+
+        Path tmp = journalPath.resolveSibling(journalPath.getFileName() + ".tmp");
+        try (BufferedWriter writer = Files.newBufferedWriter(tmp, StandardCharsets.UTF_8))
+        {
+            for (Map.Entry<ArtifactDirectory, Set<String>> entry : entries.entrySet())
+            {
+                for (String version : entry.getValue())
+                {
+                    writer.write(toLine(entry.getKey(), version));
+                    writer.newLine();
+                }
+            }
+        }
+
+        Files.move(tmp, journalPath, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    private String toLine(ArtifactDirectory artifactDirectory,
+                          String version)
+    {
+        return String.join(SEPARATOR,
+                           artifactDirectory.getStorageId(),
+                           artifactDirectory.getRepositoryId(),
+                           artifactDirectory.getPath(),
+                           version);
+    }
+
+    /**
+     * An artifact-id directory, relative to its repository.
+     */
+    public static class ArtifactDirectory
+    {
+
+        private final String storageId;
+
+        private final String repositoryId;
+
+        private final String path;
+
+        public ArtifactDirectory(String storageId,
+                                 String repositoryId,
+                                 String path)
+        {
+            this.storageId = storageId;
+            this.repositoryId = repositoryId;
+            this.path = path;
+        }
+
+        public String getStorageId()
+        {
+            return storageId;
+        }
+
+        public String getRepositoryId()
+        {
+            return repositoryId;
+        }
+
+        public String getPath()
+        {
+            return path;
+        }
+
+        @Override
+        public boolean equals(Object o)
+        {
+            if (this == o)
+            {
+                return true;
+            }
+            if (o == null || getClass() != o.getClass())
+            {
+                return false;
+            }
+            ArtifactDirectory that = (ArtifactDirectory) o;
+            return storageId.equals(that.storageId) &&
+                   repositoryId.equals(that.repositoryId) &&
+                   path.equals(that.path);
+        }
+
+        @Override
+        public int hashCode()
+        {
+            return Objects.hash(storageId, repositoryId, path);
+        }
+
+        @Override
+        public String toString()
+        {
+            return storageId + ":" + repositoryId + ":" + path;
+        }
+
+    }
+
+}
@@ -21,8 +21,11 @@ import java.lang.reflect.UndeclaredThrowableException;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.StandardOpenOption;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.locks.Lock;
 import java.util.function.Consumer;
 
@@ -261,6 +264,130 @@ public class MavenMetadataManager
         }
     }
 
+    /**
+     * Patches the artifact level metadata with the given versions only, instead of collecting all the versions of the
+     * artifact: the versions which still have a POM are added, the other ones are removed. The snapshot level metadata
+     * is regenerated for the given snapshot versions only.
+     * <p>
+     * Falls back to {@link #generateMetadata(RepositoryPath, VersionCollectionRequest)} if there is no metadata yet,
+     * or if it can't be read.
+     */
+    public void updateMetadata(RepositoryPath artifactGroupDirectoryPath,
+                               Collection<String> changedVersions)
+            throws IOException,
+                   ProviderImplementationException,
+                   UnknownRepositoryTypeException
+    {
+        Repository repository = artifactGroupDirectoryPath.getRepository();
+        String policy = repository.getPolicy();
+        if (!RepositoryPolicyEnum.RELEASE.getPolicy().equals(policy) &&
+            !RepositoryPolicyEnum.SNAPSHOT.getPolicy().equals(policy))
+        {
+            rebuildMetadata(artifactGroupDirectoryPath);
+
+            return;
+        }
+
+        VersionCollector versionCollector = new VersionCollector();
+        VersionCollectionRequest request = new VersionCollectionRequest();
+        AtomicBoolean rebuild = new AtomicBoolean();
+
+        doInLock(artifactGroupDirectoryPath, path ->
+        {
+            Metadata metadata;
+            try
+            {
+                metadata = readMetadata(artifactGroupDirectoryPath);
+            }
+            catch (IOException | XmlPullParserException e)
+            {
+                logger.debug("Unable to read the metadata of [{}], rebuilding it.", artifactGroupDirectoryPath, e);
+                rebuild.set(true);
+
+                return;
+            }
+
+            Versioning versioning = Optional.ofNullable(metadata.getVersioning()).orElseGet(Versioning::new);
+            try
+            {
+                for (String version : changedVersions)
+                {
+                    RepositoryPath versionDirectoryPath = artifactGroupDirectoryPath.resolve(version);
+                    MetadataVersion metadataVersion = null;
+                    if (Files.isDirectory(versionDirectoryPath))
+                    {
+                        metadataVersion = versionCollector.collectVersion(request,
+                                                                          artifactGroupDirectoryPath.toAbsolutePath(),
+                                                                          versionDirectoryPath.toAbsolutePath());
+                    }
+
+                    versioning.removeVersion(version);
+                    if (metadataVersion == null)
+                    {
+                        continue;
+                    }
+                    versioning.addVersion(metadataVersion.getVersion());
+
+                    if (ArtifactUtils.isSnapshot(metadataVersion.getVersion()))
+                    {
+                        generateSnapshotVersioningMetadata(metadata.getGroupId(), metadata.getArtifactId(),
+                                                           versionDirectoryPath, metadataVersion.getVersion(), true);
+                    }
+                }
+
+                List<String> versions = versioning.getVersions();
+                versions.sort(new VersionComparator());
+
+                versioning.setLatest(versions.isEmpty() ? null : versions.get(versions.size() - 1));
+                if (RepositoryPolicyEnum.RELEASE.getPolicy().equals(policy))
+                {
+                    versioning.setRelease(versioning.getLatest());
+                }
+                MetadataHelper.setLastUpdated(versioning);
+
+                // Don't write empty <versioning/> tags when no versions are available.
+                metadata.setVersioning(versions.isEmpty() ? null : versioning);
+
+                storeMetadata(artifactGroupDirectoryPath, null, metadata, MetadataType.ARTIFACT_ROOT_LEVEL);
+
+                if (!request.getPlugins().isEmpty())
+                {
+                    Metadata pluginMetadata = new Metadata();
+                    pluginMetadata.setPlugins(request.getPlugins());
+
+                    mergeAndStore(artifactGroupDirectoryPath.getParent(), pluginMetadata);
+                }
+            }
+            catch (IOException | XmlPullParserException e)
+            {
+                throw new UndeclaredThrowableException(e);
+            }
+        });
+
+        if (rebuild.get())
+        {
+            rebuildMetadata(artifactGroupDirectoryPath);
+
+            return;
+        }
+
+        logger.debug("Updated Maven metadata for {} with versions {}.", artifactGroupDirectoryPath, changedVersions);
+    }
+
+    /**
+     * Collects all the versions of the artifact and generates its metadata from scratch.
+     */
+    public void rebuildMetadata(RepositoryPath artifactGroupDirectoryPath)
+            throws IOException,
+                   ProviderImplementationException,
+                   UnknownRepositoryTypeException
+    {
+        VersionCollector versionCollector = new VersionCollector();
+        VersionCollectionRequest request = versionCollector.collectVersions(artifactGroupDirectoryPath.toAbsolutePath());
+
+        generateMetadata(artifactGroupDirectoryPath, request);
+    }
+
     private void generateMavenPluginMetadata(String groupId, String aritfactId, RepositoryPath pluginMetadataPath, List<Plugin> plugins) throws IOException
     {
         Metadata pluginMetadata = new Metadata();
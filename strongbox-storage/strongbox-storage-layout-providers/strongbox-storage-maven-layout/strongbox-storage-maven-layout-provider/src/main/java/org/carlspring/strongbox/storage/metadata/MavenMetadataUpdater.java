@@ -0,0 +1,184 @@
+package org.carlspring.strongbox.storage.metadata;
+
+import org.carlspring.strongbox.configuration.ConfigurationManager;
+import org.carlspring.strongbox.event.artifact.ArtifactEventListenerRegistry;
+import org.carlspring.strongbox.providers.io.RepositoryFiles;
+import org.carlspring.strongbox.providers.io.RepositoryPath;
+import org.carlspring.strongbox.providers.io.RepositoryPathResolver;
+import org.carlspring.strongbox.storage.Storage;
+import org.carlspring.strongbox.storage.metadata.MavenMetadataDirtySet.ArtifactDirectory;
+import org.carlspring.strongbox.storage.repository.Repository;
+
+import javax.inject.Inject;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Keeps the `maven-metadata.xml` of the hosted repositories up to date incrementally.
+ * <p>
+ * The store and delete events mark the version directories as dirty, and a single background worker periodically
+ * patches the metadata of the affected artifacts with the changed versions only, so that several changes of the same
+ * artifact are coalesced into a single update. The full rebuild
+ * ({@link org.carlspring.strongbox.cron.jobs.RebuildMavenMetadataCronJob}) is still available to repair the metadata.
+ */
+@Component
+public class MavenMetadataUpdater
+        implements InitializingBean, DisposableBean
+{
+
+    private static final Logger logger = LoggerFactory.getLogger(MavenMetadataUpdater.class);
+
+    @Value("${strongbox.maven.metadata.incremental.enabled:true}")
+    private boolean enabled;
+
+    @Value("${strongbox.maven.metadata.incremental.delayMillis:1000}")
+    private long delayMillis;
+
+    @Value("${strongbox.vault}")
+    private String vaultDirectory;
+
+    @Inject
+    private ConfigurationManager configurationManager;
+
+    @Inject
+    private RepositoryPathResolver repositoryPathResolver;
+
+    @Inject
+    private MavenMetadataManager mavenMetadataManager;
+
+    @Inject
+    private ArtifactEventListenerRegistry artifactEventListenerRegistry;
+
+    private MavenMetadataDirtySet dirtySet;
+
+    private ScheduledExecutorService executor;
+
+    @Override
+    public void afterPropertiesSet()
+    {
+        if (!enabled)
+        {
+            return;
+        }
+
+        dirtySet = new MavenMetadataDirtySet(Paths.get(vaultDirectory, "maven", "metadata-dirty.journal"));
+
+        executor = Executors.newSingleThreadScheduledExecutor();
+        executor.scheduleWithFixedDelay(this::process, delayMillis, delayMillis, TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public void destroy()
+    {
+        if (executor != null)
+        {
+            executor.shutdown();
+        }
+    }
+
+    public boolean isEnabled()
+    {
+        return enabled;
+    }
+
+    /**
+     * Marks the version directory as changed, so that the metadata of its artifact gets updated.
+     */
+    public void markDirty(RepositoryPath versionDirectoryPath)
+        throws IOException
+    {
+        if (!enabled)
+        {
+            return;
+        }
+
+        Repository repository = versionDirectoryPath.getRepository();
+        if (!repository.isHostedRepository())
+        {
+            return;
+        }
+
+        RepositoryPath artifactGroupDirectoryPath = versionDirectoryPath.getParent();
+        dirtySet.mark(new ArtifactDirectory(repository.getStorage().getId(),
+                                            repository.getId(),
+                                            RepositoryFiles.relativizePath(artifactGroupDirectoryPath)),
+                      versionDirectoryPath.getFileName().toString());
+    }
+
+    void process()
+    {
+        if (dirtySet.isEmpty())
+        {
+            return;
+        }
+
+        Map<ArtifactDirectory, Set<String>> entries = dirtySet.drain();
+        for (Map.Entry<ArtifactDirectory, Set<String>> entry : entries.entrySet())
+        {
+            ArtifactDirectory artifactDirectory = entry.getKey();
+            try
+            {
+                update(artifactDirectory, entry.getValue());
+            }
+            catch (Exception e)
+            {
+                logger.error("Failed to update the metadata of [{}], it will be retried.", artifactDirectory, e);
+
+                // Marked again, so that the update is retried and kept in the journal by the compaction.
+                entry.getValue().forEach(version -> dirtySet.mark(artifactDirectory, version));
+            }
+        }
+
+        try
+        {
+            dirtySet.compact();
+        }
+        catch (IOException e)
+        {
+            logger.error("Failed to compact the metadata updates journal.", e);
+        }
+
+        logger.debug("Updated the metadata of [{}] artifacts.", entries.size());
+    }
+
+    private void update(ArtifactDirectory artifactDirectory,
+                        Set<String> versions)
+        throws Exception
+    {
+        Storage storage = configurationManager.getConfiguration().getStorage(artifactDirectory.getStorageId());
+        Repository repository = storage != null ? storage.getRepository(artifactDirectory.getRepositoryId()) : null;
+        if (repository == null)
+        {
+            logger.debug("Skip [{}], the repository doesn't exist anymore.", artifactDirectory);
+
+            return;
+        }
+
+        RepositoryPath artifactGroupDirectoryPath = repositoryPathResolver.resolve(repository,
+                                                                                  artifactDirectory.getPath());
+        if (!Files.isDirectory(artifactGroupDirectoryPath))
+        {
+            logger.debug("Skip [{}], the artifact doesn't exist anymore.", artifactDirectory);
+
+            return;
+        }
+
+        mavenMetadataManager.updateMetadata(artifactGroupDirectoryPath, versions);
+        artifactEventListenerRegistry.dispatchArtifactMetadataStoredEvent(
+                artifactGroupDirectoryPath.resolve("maven-metadata.xml"));
+    }
+
+}
@@ -1,30 +1,34 @@
 package org.carlspring.strongbox.storage.metadata;
 
+import org.carlspring.strongbox.artifact.MavenArtifact;
 import org.carlspring.strongbox.artifact.MavenArtifactUtils;
 import org.carlspring.strongbox.providers.io.RepositoryFiles;
 import org.carlspring.strongbox.providers.io.RepositoryPath;
+import org.carlspring.strongbox.providers.io.RepositoryPathResolver;
+import org.carlspring.strongbox.services.ArtifactEntryService;
 import org.carlspring.strongbox.storage.repository.Repository;
 
 import javax.inject.Inject;
 import java.io.IOException;
-import java.nio.file.DirectoryStream;
-import java.nio.file.Files;
-import java.nio.file.Path;
-import java.text.DateFormat;
-import java.text.ParseException;
-import java.text.SimpleDateFormat;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
 import java.util.*;
 
-import org.apache.maven.artifact.ArtifactUtils;
-import org.apache.maven.artifact.repository.metadata.Metadata;
-import org.apache.maven.artifact.repository.metadata.Versioning;
-import org.codehaus.plexus.util.xml.pull.XmlPullParserException;
-import org.javatuples.Pair;
+import org.apache.maven.artifact.Artifact;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
 /**
+ * Removes the outdated timestamped snapshots of the Maven repositories.
+ * <p>
+ * The timestamped snapshots are looked up with a single query on the artifact entries, instead of reading the
+ * metadata and listing every version directory of the repository.
+ *
  * @author Kate Novik.
  */
 @Component
@@ -33,198 +37,228 @@ public class MavenSnapshotManager
 
     public static final String TIMESTAMP_FORMAT = "yyyyMMdd.HHmmss";
 
+    private static final DateTimeFormatter TIMESTAMP_FORMATTER = DateTimeFormatter.ofPattern(TIMESTAMP_FORMAT);
+
+    private static final int BATCH_SIZE = 100;
+
     private static final Logger logger = LoggerFactory.getLogger(MavenSnapshotManager.class);
 
     @Inject
     private MavenMetadataManager mavenMetadataManager;
 
+    @Inject
+    private ArtifactEntryService artifactEntryService;
+
+    @Inject
+    private RepositoryPathResolver repositoryPathResolver;
+
+    @Inject
+    private PlatformTransactionManager transactionManager;
+
     public MavenSnapshotManager()
     {
     }
 
-    public void deleteTimestampedSnapshotArtifacts(RepositoryPath basePath,
-                                                   Versioning versioning,
+    /**
+     * Removes the timestamped snapshots located under the given base path. Of every snapshot version (e.g.
+     * `1.0-SNAPSHOT`), either all but the `numberToKeep` latest builds, or, if `numberToKeep` is 0, the builds
+     * older than `keepDate` are removed, with all of their classifiers and extensions. The snapshot versioning
+     * metadata is then regenerated once for every changed version.
+     *
+     * @param basePath
+     *            the directory to clean up, or `null` to clean up the whole repository
+     */
+    public void deleteTimestampedSnapshotArtifacts(Repository repository,
+                                                   String basePath,
                                                    int numberToKeep,
                                                    Date keepDate)
-            throws IOException,
-                   XmlPullParserException
     {
-        Repository repository = basePath.getRepository();
-        if (!RepositoryFiles.artifactExists(basePath))
-        {
-            logger.error("Removal of timestamped Maven snapshot artifact: {}.", basePath);
-            
-            return;
-        }
-        
-        logger.debug("Removal of timestamped Maven snapshot artifact {} in '{}:{}'.",
-                     basePath, repository.getStorage().getId(), repository.getId());
+        List<String> paths = artifactEntryService.findArtifactPaths(repository.getStorage().getId(),
+                                                                    repository.getId(),
+                                                                    basePath,
+                                                                    Artifact.VERSION_FILE_PATTERN.pattern());
 
-        Pair<String, String> artifactGroup = MavenArtifactUtils.getDirectoryGA(basePath);
-        String artifactGroupId = artifactGroup.getValue0();
-        String artifactId = artifactGroup.getValue1();
+        logger.debug("Found [{}] timestamped Maven snapshot artifacts under [{}] in [{}].",
+                     paths.size(), basePath, repository.getStorageIdAndRepositoryId());
 
-        if (versioning.getVersions().isEmpty())
+        List<String> removablePaths = new ArrayList<>();
+        List<SnapshotBuilds> changedSnapshots = new ArrayList<>();
+        for (SnapshotBuilds snapshotBuilds : groupByVersionDirectory(paths))
         {
-            return;
-        }
-        
-        for (String version : versioning.getVersions())
-        {
-
-            RepositoryPath versionDirectoryPath = basePath.resolve(ArtifactUtils.toSnapshotVersion(version));
-            if (!removeTimestampedSnapshot(versionDirectoryPath, numberToKeep, keepDate))
+            List<String> snapshotRemovablePaths = snapshotBuilds.getRemovablePaths(numberToKeep, keepDate);
+            if (snapshotRemovablePaths.isEmpty())
             {
                 continue;
             }
 
+            removablePaths.addAll(snapshotRemovablePaths);
+            changedSnapshots.add(snapshotBuilds);
+        }
+
+        delete(repository, removablePaths);
+
+        for (SnapshotBuilds snapshotBuilds : changedSnapshots)
+        {
+            RepositoryPath versionDirectoryPath = repositoryPathResolver.resolve(repository,
+                                                                                 snapshotBuilds.versionDirectory);
+
             logger.debug("Generate snapshot versioning metadata for {}.", versionDirectoryPath);
 
-            mavenMetadataManager.generateSnapshotVersioningMetadata(artifactGroupId,
-                                                                    artifactId,
-                                                                    versionDirectoryPath,
-                                                                    version,
-                                                                    true);
+            try
+            {
+                mavenMetadataManager.generateSnapshotVersioningMetadata(snapshotBuilds.groupId,
+                                                                        snapshotBuilds.artifactId,
+                                                                        versionDirectoryPath,
+                                                                        snapshotBuilds.version,
+                                                                        true);
+            }
+            catch (IOException e)
+            {
+                logger.error("Failed to generate snapshot versioning metadata for [{}].", versionDirectoryPath, e);
+            }
         }
     }
 
-    private boolean removeTimestampedSnapshot(RepositoryPath basePath,
-                                              int numberToKeep,
-                                              Date keepDate)
-            throws IOException,
-                   XmlPullParserException
+    private Collection<SnapshotBuilds> groupByVersionDirectory(List<String> paths)
     {
-        Metadata metadata = mavenMetadataManager.readMetadata(basePath);
-
-        if (metadata == null || metadata.getVersioning() == null)
+        Map<String, SnapshotBuilds> snapshots = new LinkedHashMap<>();
+        for (String path : paths)
         {
-            return false;
+            MavenArtifact artifact = MavenArtifactUtils.convertPathToArtifact(path);
+            SnapshotVersionDecomposition snapshotVersion = artifact != null ?
+                                                           SnapshotVersionDecomposition.of(artifact.getVersion()) :
+                                                           SnapshotVersionDecomposition.INVALID;
+            if (SnapshotVersionDecomposition.INVALID.equals(snapshotVersion))
+            {
+                logger.warn("Received invalid timestamped snapshot artifact path {}", path);
+                continue;
+            }
+
+            String versionDirectory = path.substring(0, path.lastIndexOf('/'));
+            snapshots.computeIfAbsent(versionDirectory, k -> new SnapshotBuilds(artifact, versionDirectory))
+                     .add(snapshotVersion, path);
         }
-        
-        /**
-         * map of snapshots for removing
-         * k - number of the build, v - version of the snapshot
-         */
-        Map<Integer, String> mapToRemove = getRemovableTimestampedSnapshots(metadata, numberToKeep, keepDate);
 
-        if (mapToRemove.isEmpty())
+        return snapshots.values();
+    }
+
+    private void delete(Repository repository,
+                        List<String> paths)
+    {
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        for (int i = 0; i < paths.size(); i += BATCH_SIZE)
         {
-            return false;
+            List<String> batch = paths.subList(i, Math.min(i + BATCH_SIZE, paths.size()));
+            transactionTemplate.execute(t -> deleteBatch(repository, batch));
         }
-        List<String> removingSnapshots = new ArrayList<>();
-
-        new ArrayList<>(mapToRemove.values()).forEach(e -> removingSnapshots.add(metadata.getArtifactId()
-                                                                                         .concat("-")
-                                                                                         .concat(e)
-                                                                                         .concat(".jar")));
+    }
 
-        try (final DirectoryStream<Path> directoryStream = Files.newDirectoryStream(basePath))
+    private int deleteBatch(Repository repository,
+                            List<String> paths)
+    {
+        int deleted = 0;
+        for (String path : paths)
         {
-            for (Path path : directoryStream)
+            RepositoryPath repositoryPath = repositoryPathResolver.resolve(repository, path);
+            try
             {
-                if (!Files.isRegularFile(path))
-                {
-                    continue;
-                }
-                
-                RepositoryPath repositoryPath = (RepositoryPath) path;
-                final String filename = path.getFileName().toString();
-                
-                if (!removingSnapshots.contains(filename) ||
-                    !RepositoryFiles.isArtifact(repositoryPath) ||
-                    RepositoryFiles.isMetadata(repositoryPath))
-                {
-                    continue;
-                }
-                
-                try
-                {
-                    RepositoryFiles.delete(repositoryPath, true);
-
-                    RepositoryPath pomRepositoryPath = repositoryPath.resolveSibling(filename.replace(".jar", ".pom"));
-                    
-                    RepositoryFiles.delete(pomRepositoryPath,true);
-                }
-                catch (IOException ex)
-                {
-                    logger.error(ex.getMessage(), ex);
-                }
+                RepositoryFiles.delete(repositoryPath, true);
+                deleted++;
+            }
+            catch (IOException e)
+            {
+                logger.error("Failed to delete timestamped snapshot artifact [{}].", repositoryPath, e);
             }
         }
-        return true;
+
+        return deleted;
     }
 
     /**
-     * To get map of removable timestamped snapshots
-     *
-     * @param metadata     type Metadata
-     * @param numberToKeep type int
-     * @param keepDate     type Date
-     * @return type Map<Integer, String>
+     * The builds of a snapshot version, ordered by their build number.
      */
-    private Map<Integer, String> getRemovableTimestampedSnapshots(Metadata metadata,
-                                                                  int numberToKeep,
-                                                                  Date keepDate)
+    private static class SnapshotBuilds
     {
+
+        private final String groupId;
+
+        private final String artifactId;
+
+        private final String version;
+
+        private final String versionDirectory;
+
         /**
-         * map of the snapshots in metadata file
-         * k - number of the build, v - version of the snapshot
+         * k - number of the build, v - paths of the build artifacts (all the classifiers and extensions)
          */
-        Map<Integer, SnapshotVersionDecomposition> snapshots = new HashMap<>();
+        private final SortedMap<Integer, List<String>> buildPaths = new TreeMap<>();
 
         /**
-         * map of snapshots for removing
-         * k - number of the build, v - version of the snapshot
+         * k - number of the build, v - timestamp of the build
          */
-        Map<Integer, String> mapToRemove = new HashMap<>();
-
-        metadata.getVersioning()
-                .getSnapshotVersions()
-                .forEach(e ->
-                         {
-                             if ("jar".equals(e.getExtension()))
-                             {
-                                 SnapshotVersionDecomposition snapshotVersion = SnapshotVersionDecomposition.of(e.getVersion());
-                                 if (SnapshotVersionDecomposition.INVALID.equals(snapshotVersion))
-                                 {
-                                     logger.warn("Received invalid snapshot version {}", snapshotVersion);
-                                     return;
-                                 }
-                                 snapshots.put(snapshotVersion.getBuildNumber(), snapshotVersion);
-                             }
-                         });
-
-        if (numberToKeep != 0 && snapshots.size() > numberToKeep)
+        private final Map<Integer, String> buildTimestamps = new HashMap<>();
+
+        private SnapshotBuilds(MavenArtifact artifact,
+                               String versionDirectory)
         {
-            snapshots.forEach((k, v) ->
-                              {
-                                  if (mapToRemove.size() < snapshots.size() - numberToKeep)
-                                  {
-                                      mapToRemove.put(k, v.getVersion());
-                                  }
-                              });
+            this.groupId = artifact.getGroupId();
+            this.artifactId = artifact.getArtifactId();
+            this.version = artifact.getBaseVersion();
+            this.versionDirectory = versionDirectory;
         }
-        else if (numberToKeep == 0 && keepDate != null)
+
+        private void add(SnapshotVersionDecomposition snapshotVersion,
+                         String path)
         {
-            snapshots.forEach((k, v) ->
-                              {
-                                  try
-                                  {
-                                      DateFormat formatter = new SimpleDateFormat(TIMESTAMP_FORMAT);
-                                      Date snapshotVersionDate = formatter.parse(v.getTimestamp());
-
-                                      if (keepDate.after(snapshotVersionDate))
-                                      {
-                                          mapToRemove.put(k, v.getVersion());
-                                      }
-                                  }
-                                  catch (ParseException e)
-                                  {
-                                      logger.error(e.getMessage(), e);
-                                  }
-                              });
+            buildPaths.computeIfAbsent(snapshotVersion.getBuildNumber(), k -> new ArrayList<>()).add(path);
+            buildTimestamps.put(snapshotVersion.getBuildNumber(), snapshotVersion.getTimestamp());
+        }
+
+        private List<String> getRemovablePaths(int numberToKeep,
+                                               Date keepDate)
+        {
+            List<String> removablePaths = new ArrayList<>();
+            if (numberToKeep != 0)
+            {
+                int numberToRemove = buildPaths.size() - numberToKeep;
+                buildPaths.values()
+                          .stream()
+                          .limit(Math.max(numberToRemove, 0))
+                          .forEach(removablePaths::addAll);
+            }
+            else if (keepDate != null)
+            {
+                buildPaths.forEach((buildNumber, paths) ->
+                                   {
+                                       if (isBefore(buildTimestamps.get(buildNumber), keepDate))
+                                       {
+                                           removablePaths.addAll(paths);
+                                       }
+                                   });
+            }
+
+            return removablePaths;
+        }
+
+        private boolean isBefore(String timestamp,
+                                 Date keepDate)
+        {
+            try
+            {
+                Date snapshotVersionDate = Date.from(LocalDateTime.parse(timestamp, TIMESTAMP_FORMATTER)
+                                                                  .atZone(ZoneId.systemDefault())
+                                                                  .toInstant());
+
+                return keepDate.after(snapshotVersionDate);
+            }
+            catch (DateTimeParseException e)
+            {
+                logger.error(e.getMessage(), e);
+
+                return false;
+            }
         }
 
-        return mapToRemove;
     }
+
 }
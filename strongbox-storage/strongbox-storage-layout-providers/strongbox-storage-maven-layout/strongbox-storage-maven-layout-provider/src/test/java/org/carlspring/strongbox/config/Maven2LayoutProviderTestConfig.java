@@ -13,6 +13,7 @@ import org.carlspring.strongbox.testing.artifact.ArtifactResolutionServiceHelper
 import org.carlspring.strongbox.yaml.YAMLMapperFactory;
 
 import java.io.IOException;
+import java.nio.file.Path;
 
 import org.apache.http.impl.client.CloseableHttpClient;
 import org.apache.maven.index.updater.ResourceFetcher;
@@ -73,6 +74,11 @@ public class Maven2LayoutProviderTestConfig
         Mockito.when(resourceFetcherFactory.createIndexResourceFetcher(ArgumentMatchers.anyString(),
                                                                        ArgumentMatchers.any(CloseableHttpClient.class)))
                .thenReturn(resourceFetcher);
+        Mockito.when(resourceFetcherFactory.createIndexResourceFetcher(ArgumentMatchers.anyString(),
+                                                                       ArgumentMatchers.any(CloseableHttpClient.class),
+                                                                       ArgumentMatchers.any(Path.class),
+                                                                       ArgumentMatchers.any(Path.class)))
+               .thenReturn(resourceFetcher);
 
         return resourceFetcherFactory;
     }
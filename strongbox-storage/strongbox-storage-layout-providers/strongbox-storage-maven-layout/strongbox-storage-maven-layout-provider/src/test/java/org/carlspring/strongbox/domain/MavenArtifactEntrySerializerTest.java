@@ -0,0 +1,53 @@
+package org.carlspring.strongbox.domain;
+
+import org.carlspring.strongbox.artifact.coordinates.MavenArtifactCoordinates;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.util.UUID;
+
+import com.esotericsoftware.kryo.Kryo;
+import org.junit.jupiter.api.Test;
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * The Maven coordinates are registered with their own id, whichever other layouts are on the classpath.
+ */
+public class MavenArtifactEntrySerializerTest
+{
+
+    @Test
+    public void mavenCoordinatesShouldBeRegisteredWithFixedId()
+    {
+        Kryo kryo = new Kryo();
+        ArtifactEntrySerializer.registerArtifactEntryTypes(kryo);
+
+        assertThat(kryo.getRegistration(MavenArtifactCoordinates.class).getId())
+                .isEqualTo(ArtifactEntrySerializer.FIRST_COORDINATES_REGISTRATION_ID +
+                           MavenArtifactCoordinates.REGISTRATION_ID);
+    }
+
+    @Test
+    public void mavenCoordinatesShouldBeReadBack()
+    {
+        ArtifactEntrySerializer serializer = new ArtifactEntrySerializer();
+
+        ArtifactEntry artifactEntry = new ArtifactEntry();
+        artifactEntry.setUuid(UUID.randomUUID().toString());
+        artifactEntry.setStorageId("storage0");
+        artifactEntry.setRepositoryId("releases");
+        artifactEntry.setArtifactCoordinates(new MavenArtifactCoordinates("org.carlspring.strongbox.maes",
+                                                                          "foo",
+                                                                          "1.0"));
+
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        serializer.write(outputStream, artifactEntry);
+
+        ArtifactEntry result = serializer.read(new ByteArrayInputStream(outputStream.toByteArray()));
+
+        assertThat(result.getArtifactCoordinates()).isInstanceOf(MavenArtifactCoordinates.class);
+        assertThat(result.getArtifactCoordinates().toPath()).isEqualTo(artifactEntry.getArtifactCoordinates()
+                                                                                    .toPath());
+    }
+
+}
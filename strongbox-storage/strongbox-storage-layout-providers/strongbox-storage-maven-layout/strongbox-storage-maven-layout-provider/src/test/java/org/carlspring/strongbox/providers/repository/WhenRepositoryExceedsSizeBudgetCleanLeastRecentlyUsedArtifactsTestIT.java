@@ -0,0 +1,81 @@
+package org.carlspring.strongbox.providers.repository;
+
+import org.carlspring.strongbox.config.Maven2LayoutProviderCronTasksTestConfig;
+import org.carlspring.strongbox.data.CacheManagerTestExecutionListener;
+import org.carlspring.strongbox.domain.ArtifactEntry;
+import org.carlspring.strongbox.providers.io.RepositoryFiles;
+import org.carlspring.strongbox.storage.repository.Repository;
+import org.carlspring.strongbox.testing.MavenIndexedRepositorySetup;
+import org.carlspring.strongbox.testing.repository.MavenRepository;
+import org.carlspring.strongbox.testing.storage.repository.RepositoryManagementTestExecutionListener;
+import org.carlspring.strongbox.testing.storage.repository.TestRepository.Remote;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.parallel.Execution;
+import org.mockito.Mockito;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.context.TestExecutionListeners;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.parallel.ExecutionMode.CONCURRENT;
+import static org.mockito.ArgumentMatchers.argThat;
+
+@SpringBootTest
+@ActiveProfiles(profiles = "test")
+@ContextConfiguration(classes = Maven2LayoutProviderCronTasksTestConfig.class)
+@TestExecutionListeners(listeners = { CacheManagerTestExecutionListener.class },
+                        mergeMode = TestExecutionListeners.MergeMode.MERGE_WITH_DEFAULTS)
+@Execution(CONCURRENT)
+public class WhenRepositoryExceedsSizeBudgetCleanLeastRecentlyUsedArtifactsTestIT
+        extends BaseLocalStorageProxyRepositoryExpiredArtifactsCleanerTest
+{
+
+    private static final String REPOSITORY_ID = "maven-central-budget";
+
+    private static final String REMOTE_URL = "https://repo1.maven.org/maven2/";
+
+    @ExtendWith(RepositoryManagementTestExecutionListener.class)
+    @Test
+    public void sizeBudgetShouldEvictLeastRecentlyUsedArtifacts(@Remote(url = REMOTE_URL)
+                                                                @MavenRepository(storageId = STORAGE_ID,
+                                                                                 repositoryId = REPOSITORY_ID,
+                                                                                 setup = MavenIndexedRepositorySetup.class)
+                                                                Repository proxyRepository)
+            throws Exception
+    {
+        Mockito.when(getRemoteRepositoryAlivenessMock().isAlive(
+                argThat(argument -> argument != null && REMOTE_URL.equals(argument.getUrl()))))
+               .thenReturn(true);
+
+        ArtifactEntry artifactEntry = downloadAndSaveArtifactEntry();
+        long repositorySize = artifactEntryService.sumSizeInBytes(STORAGE_ID, REPOSITORY_ID);
+        assertThat(repositorySize).isGreaterThanOrEqualTo(artifactEntry.getSizeInBytes());
+
+        // Nothing is expired, but the repository doesn't fit into its budget.
+        localStorageProxyRepositoryExpiredArtifactsCleaner.cleanup(30, null, repositorySize - 1);
+
+        assertThat(artifactEntryService.findOneArtifact(STORAGE_ID, REPOSITORY_ID, getPath())).isNull();
+        assertThat(RepositoryFiles.artifactExists(repositoryPathResolver.resolve(proxyRepository, getPath()))).isFalse();
+        assertThat(artifactEntryService.sumSizeInBytes(STORAGE_ID, REPOSITORY_ID)).isLessThan(repositorySize);
+    }
+
+    @Override
+    protected String getRepositoryId()
+    {
+        return REPOSITORY_ID;
+    }
+
+    @Override
+    protected String getPath()
+    {
+        return "org/carlspring/maven/maven-commons/1.3/maven-commons-1.3.jar";
+    }
+
+    @Override
+    protected String getVersion()
+    {
+        return "1.3";
+    }
+}
@@ -0,0 +1,91 @@
+package org.carlspring.strongbox.repository;
+
+import org.carlspring.strongbox.config.Maven2LayoutProviderTestConfig;
+import org.carlspring.strongbox.cron.domain.CronTaskConfigurationDto;
+import org.carlspring.strongbox.cron.jobs.RebuildMavenIndexesCronJob;
+import org.carlspring.strongbox.cron.services.CronTaskDataService;
+import org.carlspring.strongbox.storage.indexing.RepositoryIndexCreator;
+import org.carlspring.strongbox.storage.indexing.RepositoryIndexCreator.RepositoryIndexCreatorQualifier;
+import org.carlspring.strongbox.storage.repository.Repository;
+import org.carlspring.strongbox.storage.repository.RepositoryTypeEnum;
+import org.carlspring.strongbox.testing.MavenIndexedRepositorySetup;
+import org.carlspring.strongbox.testing.artifact.ArtifactManagementTestExecutionListener;
+import org.carlspring.strongbox.testing.artifact.MavenTestArtifact;
+import org.carlspring.strongbox.testing.repository.MavenRepository;
+import org.carlspring.strongbox.testing.storage.repository.RepositoryManagementTestExecutionListener;
+
+import javax.inject.Inject;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Optional;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.ContextConfiguration;
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@ActiveProfiles(profiles = "test")
+@ContextConfiguration(classes = Maven2LayoutProviderTestConfig.class)
+public class MavenRepositoryManagementStrategyTest
+{
+
+    private static final String REPOSITORY_RELEASES = "mrmst-releases";
+
+    @Inject
+    private MavenRepositoryManagementStrategy mavenRepositoryManagementStrategy;
+
+    @Inject
+    private CronTaskDataService cronTaskDataService;
+
+    @Inject
+    @RepositoryIndexCreatorQualifier(RepositoryTypeEnum.HOSTED)
+    private RepositoryIndexCreator hostedRepositoryIndexCreator;
+
+    @ExtendWith({ RepositoryManagementTestExecutionListener.class,
+                  ArtifactManagementTestExecutionListener.class })
+    @Test
+    public void upToDateIndexShouldNotBeRebuiltImmediately(@MavenRepository(repositoryId = REPOSITORY_RELEASES,
+                                                                            setup = MavenIndexedRepositorySetup.class)
+                                                           Repository repository,
+                                                           @MavenTestArtifact(repositoryId = REPOSITORY_RELEASES,
+                                                                              id = "org.carlspring.strongbox.mrmst:foo",
+                                                                              versions = "1.0")
+                                                           List<Path> artifactPaths)
+            throws Exception
+    {
+        final String storageId = repository.getStorage().getId();
+        final String repositoryId = repository.getId();
+
+        // The repository was created without an index.
+        Optional<CronTaskConfigurationDto> configuration = findRebuildIndexJob(storageId, repositoryId);
+        assertThat(configuration).isPresent();
+        assertThat(configuration.get().shouldExecuteImmediately()).isTrue();
+
+        hostedRepositoryIndexCreator.apply(repository);
+        assertThat(hostedRepositoryIndexCreator.isUpToDate(repository)).isTrue();
+
+        // The same as on a restart, the job is created again for the already indexed repository.
+        cronTaskDataService.delete(configuration.get().getUuid());
+        mavenRepositoryManagementStrategy.createRepository(storageId, repositoryId);
+
+        configuration = findRebuildIndexJob(storageId, repositoryId);
+        assertThat(configuration).isPresent();
+        assertThat(configuration.get().shouldExecuteImmediately()).isFalse();
+    }
+
+    private Optional<CronTaskConfigurationDto> findRebuildIndexJob(String storageId,
+                                                                   String repositoryId)
+    {
+        return cronTaskDataService.getTasksConfigurationDto()
+                                  .getCronTaskConfigurations()
+                                  .stream()
+                                  .filter(c -> RebuildMavenIndexesCronJob.class.getName().equals(c.getJobClass()))
+                                  .filter(c -> storageId.equals(c.getProperty("storageId")))
+                                  .filter(c -> repositoryId.equals(c.getProperty("repositoryId")))
+                                  .findFirst();
+    }
+
+}
@@ -7,12 +7,19 @@ import org.carlspring.strongbox.storage.repository.Repository;
 import javax.inject.Inject;
 import java.io.Closeable;
 import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
 
+import org.apache.lucene.document.Document;
 import org.apache.lucene.search.Query;
 import org.apache.lucene.store.SimpleFSDirectory;
 import org.apache.maven.index.FlatSearchRequest;
 import org.apache.maven.index.FlatSearchResponse;
 import org.apache.maven.index.context.IndexingContext;
+import org.apache.maven.index.updater.IndexDataReader;
 import static org.assertj.core.api.Assertions.assertThat;
 
 /**
@@ -27,6 +34,33 @@ public abstract class BaseRepositoryIndexCreatorTest
     @Inject
     protected RepositoryPathResolver repositoryPathResolver;
 
+    /**
+     * @return the values of the field, from the documents of the packed index (or of its incremental chunk)
+     */
+    protected static List<String> readPackedIndex(Path packedIndexPath,
+                                                  String field)
+            throws IOException
+    {
+        List<String> result = new ArrayList<>();
+        try (InputStream is = Files.newInputStream(packedIndexPath))
+        {
+            IndexDataReader reader = new IndexDataReader(is);
+            reader.readHeader();
+
+            Document document;
+            while ((document = reader.readDocument()) != null)
+            {
+                String value = document.get(field);
+                if (value != null)
+                {
+                    result.add(value);
+                }
+            }
+        }
+
+        return result;
+    }
+
     protected static class RepositoryIndexingContextAssert
             implements Closeable
     {
@@ -0,0 +1,144 @@
+package org.carlspring.strongbox.storage.indexing.group;
+
+import org.carlspring.strongbox.config.Maven2LayoutProviderTestConfig;
+import org.carlspring.strongbox.services.ArtifactManagementService;
+import org.carlspring.strongbox.storage.indexing.BaseRepositoryIndexCreatorTest;
+import org.carlspring.strongbox.storage.indexing.RepositoryIndexCreator;
+import org.carlspring.strongbox.storage.indexing.RepositoryIndexCreator.RepositoryIndexCreatorQualifier;
+import org.carlspring.strongbox.storage.repository.Repository;
+import org.carlspring.strongbox.storage.repository.RepositoryTypeEnum;
+import org.carlspring.strongbox.testing.MavenIndexedRepositorySetup;
+import org.carlspring.strongbox.testing.artifact.ArtifactManagementTestExecutionListener;
+import org.carlspring.strongbox.testing.artifact.MavenTestArtifact;
+import org.carlspring.strongbox.testing.repository.MavenRepository;
+import org.carlspring.strongbox.testing.storage.repository.RepositoryManagementTestExecutionListener;
+import org.carlspring.strongbox.testing.storage.repository.TestRepository.Group;
+
+import javax.inject.Inject;
+import java.nio.file.Path;
+import java.util.List;
+
+import org.apache.maven.index.ArtifactInfo;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.parallel.Execution;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.ContextConfiguration;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.parallel.ExecutionMode.CONCURRENT;
+
+@SpringBootTest
+@ActiveProfiles(profiles = "test")
+@ContextConfiguration(classes = Maven2LayoutProviderTestConfig.class)
+@Execution(CONCURRENT)
+public class RepositoryGroupIndexCreatorTest
+        extends BaseRepositoryIndexCreatorTest
+{
+
+    private static final String REPOSITORY_RELEASES_1 = "rgict-releases-1";
+
+    private static final String REPOSITORY_RELEASES_2 = "rgict-releases-2";
+
+    private static final String REPOSITORY_RELEASES_3 = "rgict-releases-3";
+
+    private static final String REPOSITORY_NESTED_GROUP = "rgict-nested-group";
+
+    private static final String REPOSITORY_GROUP = "rgict-group";
+
+    private static final String GROUP_ID = "org.carlspring.strongbox.rgict";
+
+    @Inject
+    private ArtifactManagementService artifactManagementService;
+
+    @Inject
+    @RepositoryIndexCreatorQualifier(RepositoryTypeEnum.HOSTED)
+    private RepositoryIndexCreator hostedRepositoryIndexCreator;
+
+    @Inject
+    @RepositoryIndexCreatorQualifier(RepositoryTypeEnum.GROUP)
+    private RepositoryIndexCreator groupRepositoryIndexCreator;
+
+    @ExtendWith({ RepositoryManagementTestExecutionListener.class,
+                  ArtifactManagementTestExecutionListener.class })
+    @Test
+    public void groupIndexShouldContainArtifactsOfAllMembers(@MavenRepository(repositoryId = REPOSITORY_RELEASES_1,
+                                                                              setup = MavenIndexedRepositorySetup.class)
+                                                             Repository repository1,
+                                                             @MavenRepository(repositoryId = REPOSITORY_RELEASES_2,
+                                                                              setup = MavenIndexedRepositorySetup.class)
+                                                             Repository repository2,
+                                                             @MavenRepository(repositoryId = REPOSITORY_RELEASES_3,
+                                                                              setup = MavenIndexedRepositorySetup.class)
+                                                             Repository repository3,
+                                                             @Group(repositories = { REPOSITORY_RELEASES_2,
+                                                                                     REPOSITORY_RELEASES_3 })
+                                                             @MavenRepository(repositoryId = REPOSITORY_NESTED_GROUP,
+                                                                              setup = MavenIndexedRepositorySetup.class)
+                                                             Repository nestedGroupRepository,
+                                                             @Group(repositories = { REPOSITORY_RELEASES_1,
+                                                                                     REPOSITORY_NESTED_GROUP })
+                                                             @MavenRepository(repositoryId = REPOSITORY_GROUP,
+                                                                              setup = MavenIndexedRepositorySetup.class)
+                                                             Repository groupRepository,
+                                                             @MavenTestArtifact(repositoryId = REPOSITORY_RELEASES_1,
+                                                                                id = GROUP_ID + ":first",
+                                                                                versions = "1.0")
+                                                             List<Path> artifacts1,
+                                                             @MavenTestArtifact(repositoryId = REPOSITORY_RELEASES_2,
+                                                                                id = GROUP_ID + ":second",
+                                                                                versions = "1.0")
+                                                             List<Path> artifacts2,
+                                                             @MavenTestArtifact(repositoryId = REPOSITORY_RELEASES_3,
+                                                                                id = GROUP_ID + ":third",
+                                                                                versions = { "1.0",
+                                                                                             "1.1" })
+                                                             List<Path> artifacts3)
+            throws Exception
+    {
+        hostedRepositoryIndexCreator.apply(repository1);
+        hostedRepositoryIndexCreator.apply(repository2);
+        hostedRepositoryIndexCreator.apply(repository3);
+        groupRepositoryIndexCreator.apply(nestedGroupRepository);
+
+        Path groupIndexPath = groupRepositoryIndexCreator.apply(groupRepository)
+                                                         .resolve("nexus-maven-repository-index.gz");
+
+        assertThat(readPackedIndex(groupIndexPath, ArtifactInfo.UINFO))
+                .anyMatch(uinfo -> uinfo.startsWith(uinfoPrefix("first", "1.0")))
+                .anyMatch(uinfo -> uinfo.startsWith(uinfoPrefix("second", "1.0")))
+                .anyMatch(uinfo -> uinfo.startsWith(uinfoPrefix("third", "1.0")))
+                .anyMatch(uinfo -> uinfo.startsWith(uinfoPrefix("third", "1.1")));
+
+        // Only the segments of the changed members are replaced.
+        String deletedPath = "org/carlspring/strongbox/rgict/third/1.1/third-1.1";
+        artifactManagementService.delete(repositoryPathResolver.resolve(repository3, deletedPath + ".jar"), true);
+        artifactManagementService.delete(repositoryPathResolver.resolve(repository3, deletedPath + ".pom"), true);
+
+        hostedRepositoryIndexCreator.apply(repository3);
+        groupRepositoryIndexCreator.apply(nestedGroupRepository);
+        groupRepositoryIndexCreator.apply(groupRepository);
+
+        assertThat(readPackedIndex(groupIndexPath, ArtifactInfo.UINFO))
+                .anyMatch(uinfo -> uinfo.startsWith(uinfoPrefix("first", "1.0")))
+                .anyMatch(uinfo -> uinfo.startsWith(uinfoPrefix("second", "1.0")))
+                .anyMatch(uinfo -> uinfo.startsWith(uinfoPrefix("third", "1.0")))
+                .noneMatch(uinfo -> uinfo.startsWith(uinfoPrefix("third", "1.1")));
+
+        // Nothing has changed, the group index still contains all the artifacts.
+        groupRepositoryIndexCreator.apply(groupRepository);
+
+        List<String> uinfos = readPackedIndex(groupIndexPath, ArtifactInfo.UINFO);
+        assertThat(uinfos).anyMatch(uinfo -> uinfo.startsWith(uinfoPrefix("first", "1.0")))
+                          .anyMatch(uinfo -> uinfo.startsWith(uinfoPrefix("second", "1.0")))
+                          .anyMatch(uinfo -> uinfo.startsWith(uinfoPrefix("third", "1.0")));
+        assertThat(uinfos).doesNotHaveDuplicates();
+    }
+
+    private String uinfoPrefix(String artifactId,
+                               String version)
+    {
+        return String.join(ArtifactInfo.FS, GROUP_ID, artifactId, version, "");
+    }
+
+}
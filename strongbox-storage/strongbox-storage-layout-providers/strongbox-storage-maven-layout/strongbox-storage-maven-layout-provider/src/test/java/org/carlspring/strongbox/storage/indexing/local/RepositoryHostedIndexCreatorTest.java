@@ -1,9 +1,11 @@
 package org.carlspring.strongbox.storage.indexing.local;
 
+import org.carlspring.strongbox.artifact.generator.MavenArtifactGenerator;
 import org.carlspring.strongbox.config.Maven2LayoutProviderTestConfig;
 import org.carlspring.strongbox.providers.io.RepositoryPath;
 import org.carlspring.strongbox.providers.io.RootRepositoryPath;
 import org.carlspring.strongbox.repository.MavenRepositoryFeatures;
+import org.carlspring.strongbox.services.ArtifactManagementService;
 import org.carlspring.strongbox.storage.indexing.BaseRepositoryIndexCreatorTest;
 import org.carlspring.strongbox.storage.indexing.RepositoryIndexCreator;
 import org.carlspring.strongbox.storage.indexing.RepositoryIndexCreator.RepositoryIndexCreatorQualifier;
@@ -15,13 +17,17 @@ import org.carlspring.strongbox.testing.artifact.MavenTestArtifact;
 import org.carlspring.strongbox.testing.repository.MavenRepository;
 import org.carlspring.strongbox.testing.storage.repository.RepositoryManagementTestExecutionListener;
 import org.carlspring.strongbox.util.MessageDigestUtils;
+import org.carlspring.strongbox.util.TaskExecutionContext;
+import org.carlspring.strongbox.util.TaskExecutionContextHolder;
 
 import javax.inject.Inject;
 import java.io.IOException;
+import java.io.InputStream;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.List;
 
+import org.apache.maven.index.ArtifactInfo;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.junit.jupiter.api.parallel.Execution;
@@ -45,6 +51,9 @@ public class RepositoryHostedIndexCreatorTest
     private static final String REPOSITORY_RELEASES_0 = "ri-releases-rhicst0";
     private static final String REPOSITORY_RELEASES_1 = "ri-releases-rhicst1";
     private static final String REPOSITORY_RELEASES_2 = "ri-releases-rhicst2";
+    private static final String REPOSITORY_RELEASES_3 = "ri-releases-rhicst3";
+    private static final String REPOSITORY_RELEASES_4 = "ri-releases-rhicst4";
+    private static final String REPOSITORY_RELEASES_5 = "ri-releases-rhicst5";
     private static final String GROUP_ID = "org.carlspring.strongbox";
     private static final String ARTIFACT_ID = "strongbox-commons";
 
@@ -52,6 +61,12 @@ public class RepositoryHostedIndexCreatorTest
     @RepositoryIndexCreatorQualifier(RepositoryTypeEnum.HOSTED)
     private RepositoryIndexCreator repositoryIndexCreator;
 
+    @Inject
+    private RepositoryHostedIndexDeletions repositoryHostedIndexDeletions;
+
+    @Inject
+    private ArtifactManagementService artifactManagementService;
+
     @ExtendWith({ RepositoryManagementTestExecutionListener.class,
                   ArtifactManagementTestExecutionListener.class })
     @Test
@@ -139,6 +154,153 @@ public class RepositoryHostedIndexCreatorTest
         assertThat(thread3.exception).isNull();
     }
 
+    @ExtendWith({ RepositoryManagementTestExecutionListener.class,
+                  ArtifactManagementTestExecutionListener.class })
+    @Test
+    public void deletedArtifactShouldBeRemovedFromPackedIndex(@MavenRepository(repositoryId = REPOSITORY_RELEASES_3,
+                                                                               setup = MavenIndexedRepositorySetup.class)
+                                                              Repository repository,
+                                                              @MavenTestArtifact(repositoryId = REPOSITORY_RELEASES_3,
+                                                                                 id = GROUP_ID + ":" + ARTIFACT_ID,
+                                                                                 versions = { "1.0",
+                                                                                              "1.1" })
+                                                              List<Path> artifactPaths)
+            throws Exception
+    {
+        RepositoryPath indexPath = repositoryIndexCreator.apply(repository);
+        assertThat(readPackedIndex(indexPath.resolve("nexus-maven-repository-index.gz"), ArtifactInfo.UINFO))
+                .anyMatch(uinfo -> uinfo.startsWith(uinfoPrefix("1.0")))
+                .anyMatch(uinfo -> uinfo.startsWith(uinfoPrefix("1.1")));
+
+        deleteVersion(repository, "1.1");
+        assertThat(repositoryHostedIndexDeletions.hasPending(repository)).isTrue();
+
+        // The index was packed before, so only the changes are applied.
+        repositoryIndexCreator.apply(repository);
+
+        assertThat(readPackedIndex(indexPath.resolve("nexus-maven-repository-index.gz"), ArtifactInfo.UINFO))
+                .anyMatch(uinfo -> uinfo.startsWith(uinfoPrefix("1.0")))
+                .noneMatch(uinfo -> uinfo.startsWith(uinfoPrefix("1.1")));
+        assertThat(readPackedIndex(indexPath.resolve("nexus-maven-repository-index.1.gz"), ArtifactInfo.DELETED))
+                .anyMatch(uinfo -> uinfo.startsWith(uinfoPrefix("1.1")));
+        assertThat(repositoryHostedIndexDeletions.hasPending(repository)).isFalse();
+    }
+
+    @ExtendWith({ RepositoryManagementTestExecutionListener.class,
+                  ArtifactManagementTestExecutionListener.class })
+    @Test
+    public void deletedPathsShouldBeKeptUntilIndexIsPacked(@MavenRepository(repositoryId = REPOSITORY_RELEASES_4,
+                                                                            setup = MavenIndexedRepositorySetup.class)
+                                                           Repository repository,
+                                                           @MavenTestArtifact(repositoryId = REPOSITORY_RELEASES_4,
+                                                                              id = GROUP_ID + ":" + ARTIFACT_ID,
+                                                                              versions = { "1.0",
+                                                                                           "1.1" })
+                                                           List<Path> artifactPaths)
+            throws Exception
+    {
+        RepositoryPath indexPath = repositoryIndexCreator.apply(repository);
+
+        deleteVersion(repository, "1.1");
+
+        // A cancelled run doesn't pack the index.
+        TaskExecutionContextHolder.set(new TaskExecutionContext()
+        {
+            @Override
+            public boolean isCancelled()
+            {
+                return true;
+            }
+        });
+        try
+        {
+            repositoryIndexCreator.apply(repository);
+        }
+        finally
+        {
+            TaskExecutionContextHolder.clear();
+        }
+
+        assertThat(repositoryHostedIndexDeletions.hasPending(repository)).isTrue();
+        assertThat(readPackedIndex(indexPath.resolve("nexus-maven-repository-index.gz"), ArtifactInfo.UINFO))
+                .anyMatch(uinfo -> uinfo.startsWith(uinfoPrefix("1.1")));
+
+        repositoryIndexCreator.apply(repository);
+
+        assertThat(repositoryHostedIndexDeletions.hasPending(repository)).isFalse();
+        assertThat(readPackedIndex(indexPath.resolve("nexus-maven-repository-index.gz"), ArtifactInfo.UINFO))
+                .anyMatch(uinfo -> uinfo.startsWith(uinfoPrefix("1.0")))
+                .noneMatch(uinfo -> uinfo.startsWith(uinfoPrefix("1.1")));
+    }
+
+    @ExtendWith({ RepositoryManagementTestExecutionListener.class,
+                  ArtifactManagementTestExecutionListener.class })
+    @Test
+    public void indexShouldBeUpToDateUntilRepositoryChanges(@MavenRepository(repositoryId = REPOSITORY_RELEASES_5,
+                                                                             setup = MavenIndexedRepositorySetup.class)
+                                                            Repository repository,
+                                                            @MavenTestArtifact(repositoryId = REPOSITORY_RELEASES_5,
+                                                                               id = GROUP_ID + ":" + ARTIFACT_ID,
+                                                                               versions = { "1.0",
+                                                                                            "1.1" })
+                                                            List<Path> artifactPaths)
+            throws Exception
+    {
+        // Never indexed.
+        assertThat(repositoryIndexCreator.isUpToDate(repository)).isFalse();
+
+        repositoryIndexCreator.apply(repository);
+        assertThat(repositoryIndexCreator.isUpToDate(repository)).isTrue();
+
+        deployVersion(repository, "1.2");
+        assertThat(repositoryIndexCreator.isUpToDate(repository)).isFalse();
+
+        repositoryIndexCreator.apply(repository);
+        assertThat(repositoryIndexCreator.isUpToDate(repository)).isTrue();
+
+        deleteVersion(repository, "1.0");
+        assertThat(repositoryHostedIndexDeletions.hasPending(repository)).isTrue();
+        assertThat(repositoryIndexCreator.isUpToDate(repository)).isFalse();
+
+        repositoryIndexCreator.apply(repository);
+        assertThat(repositoryIndexCreator.isUpToDate(repository)).isTrue();
+    }
+
+    private void deployVersion(Repository repository,
+                               String version)
+            throws IOException
+    {
+        Path basedir = Files.createTempDirectory("rhict-");
+        Path jarPath = new MavenArtifactGenerator(basedir).generateArtifact(GROUP_ID + ":" + ARTIFACT_ID, version, 1024);
+        Path pomPath = jarPath.resolveSibling(jarPath.getFileName().toString().replaceAll("\\.jar$", ".pom"));
+
+        for (Path path : new Path[]{ pomPath, jarPath })
+        {
+            RepositoryPath repositoryPath = repositoryPathResolver.resolve(repository,
+                                                                           basedir.relativize(path).toString());
+            try (InputStream is = Files.newInputStream(path))
+            {
+                artifactManagementService.validateAndStore(repositoryPath, is);
+            }
+        }
+    }
+
+    private void deleteVersion(Repository repository,
+                               String version)
+            throws IOException
+    {
+        String versionPath = GROUP_ID.replace('.', '/') + "/" + ARTIFACT_ID + "/" + version + "/" +
+                             ARTIFACT_ID + "-" + version;
+
+        artifactManagementService.delete(repositoryPathResolver.resolve(repository, versionPath + ".jar"), true);
+        artifactManagementService.delete(repositoryPathResolver.resolve(repository, versionPath + ".pom"), true);
+    }
+
+    private String uinfoPrefix(String version)
+    {
+        return String.join(ArtifactInfo.FS, GROUP_ID, ARTIFACT_ID, version, "");
+    }
+
     private class PackedRepositoryIndexGeneratorThread
             extends Thread
     {
@@ -0,0 +1,175 @@
+package org.carlspring.strongbox.storage.indexing.remote;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.apache.commons.io.FileUtils;
+import org.apache.commons.io.IOUtils;
+import org.apache.http.impl.client.HttpClients;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Serves the index resources from a local HTTP stub.
+ */
+class IndexResourceFetcherTest
+{
+
+    private static final String INDEX = "nexus-maven-repository-index.gz";
+
+    private final Map<String, byte[]> resources = new ConcurrentHashMap<>();
+
+    private final List<String> requests = new CopyOnWriteArrayList<>();
+
+    private HttpServer server;
+
+    private Path tempDir;
+
+    @BeforeEach
+    void setUp()
+        throws IOException
+    {
+        tempDir = Files.createTempDirectory("index-resource-fetcher");
+
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/repository/.index/", this::serve);
+        server.start();
+    }
+
+    @AfterEach
+    void tearDown()
+        throws IOException
+    {
+        server.stop(0);
+        FileUtils.deleteDirectory(tempDir.toFile());
+    }
+
+    private void serve(HttpExchange exchange)
+        throws IOException
+    {
+        String name = exchange.getRequestURI().getPath().substring("/repository/.index/".length());
+        String range = exchange.getRequestHeaders().getFirst("Range");
+        requests.add(name + (range != null ? " " + range : ""));
+
+        byte[] content = resources.get(name);
+        if (content == null)
+        {
+            exchange.sendResponseHeaders(404, -1);
+            exchange.close();
+
+            return;
+        }
+
+        int status = 200;
+        if (range != null)
+        {
+            int offset = Integer.parseInt(range.substring("bytes=".length(), range.length() - 1));
+            content = Arrays.copyOfRange(content, offset, content.length);
+            status = 206;
+        }
+
+        exchange.sendResponseHeaders(status, content.length);
+        try (OutputStream os = exchange.getResponseBody())
+        {
+            os.write(content);
+        }
+    }
+
+    private IndexResourceFetcher createFetcher(Path localIndexDirectory)
+    {
+        return new IndexResourceFetcher("http://127.0.0.1:" + server.getAddress().getPort() + "/repository",
+                                        HttpClients.createDefault(),
+                                        tempDir.resolve("downloads"),
+                                        localIndexDirectory,
+                                        2);
+    }
+
+    private String properties(String... lines)
+    {
+        return String.join("\n", lines) + "\n";
+    }
+
+    @Test
+    void shouldResumePartialDownload()
+        throws IOException
+    {
+        byte[] index = new byte[512 * 1024];
+        new Random(1).nextBytes(index);
+        resources.put(INDEX, index);
+        resources.put("nexus-maven-repository-index.properties",
+                      properties("nexus.index.timestamp=20190101000000.000 +0000").getBytes(StandardCharsets.UTF_8));
+
+        // A previously interrupted download.
+        Path downloadDirectory = tempDir.resolve("downloads").resolve("20190101000000.000__0000");
+        Files.createDirectories(downloadDirectory);
+        Files.write(downloadDirectory.resolve(INDEX), Arrays.copyOf(index, 1000));
+        Files.createFile(downloadDirectory.resolve(INDEX + ".partial"));
+
+        try (IndexResourceFetcher fetcher = createFetcher(null))
+        {
+            IOUtils.toByteArray(fetcher.retrieve("nexus-maven-repository-index.properties"));
+
+            ByteArrayOutputStream result = new ByteArrayOutputStream();
+            try (InputStream is = fetcher.retrieve(INDEX))
+            {
+                IOUtils.copy(is, result);
+            }
+
+            assertThat(result.toByteArray()).isEqualTo(index);
+        }
+
+        assertThat(requests).contains(INDEX + " bytes=1000-");
+        assertThat(downloadDirectory.resolve(INDEX)).doesNotExist();
+    }
+
+    @Test
+    void shouldPrefetchMissingChunks()
+        throws IOException
+    {
+        resources.put("nexus-maven-repository-index.properties",
+                      properties("nexus.index.timestamp=20190101000000.000 +0000",
+                                 "nexus.index.chain-id=1",
+                                 "nexus.index.incremental-0=3",
+                                 "nexus.index.incremental-1=2",
+                                 "nexus.index.incremental-2=1").getBytes(StandardCharsets.UTF_8));
+        resources.put("nexus-maven-repository-index.2.gz", "2".getBytes(StandardCharsets.UTF_8));
+        resources.put("nexus-maven-repository-index.3.gz", "3".getBytes(StandardCharsets.UTF_8));
+
+        Path localIndexDirectory = tempDir.resolve("local");
+        Files.createDirectories(localIndexDirectory);
+        Files.write(localIndexDirectory.resolve("nexus-maven-repository-index-updater.properties"),
+                    properties("nexus.index.chain-id=1",
+                               "nexus.index.last-incremental=1").getBytes(StandardCharsets.UTF_8));
+
+        try (IndexResourceFetcher fetcher = createFetcher(localIndexDirectory))
+        {
+            IOUtils.toByteArray(fetcher.retrieve("nexus-maven-repository-index.properties"));
+
+            assertThat(IOUtils.toString(fetcher.retrieve("nexus-maven-repository-index.3.gz"),
+                                        StandardCharsets.UTF_8)).isEqualTo("3");
+            assertThat(IOUtils.toString(fetcher.retrieve("nexus-maven-repository-index.2.gz"),
+                                        StandardCharsets.UTF_8)).isEqualTo("2");
+        }
+
+        assertThat(requests).containsExactlyInAnyOrder("nexus-maven-repository-index.properties",
+                                                       "nexus-maven-repository-index.2.gz",
+                                                       "nexus-maven-repository-index.3.gz");
+    }
+
+}
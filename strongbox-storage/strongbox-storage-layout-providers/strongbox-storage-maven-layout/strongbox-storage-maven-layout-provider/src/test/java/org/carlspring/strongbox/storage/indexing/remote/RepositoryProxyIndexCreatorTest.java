@@ -20,11 +20,21 @@ import org.carlspring.strongbox.testing.storage.repository.TestRepository.Remote
 
 import javax.inject.Inject;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.text.SimpleDateFormat;
+import java.util.Date;
+import java.util.Locale;
+import java.util.Properties;
+import java.util.TimeZone;
+import java.util.concurrent.TimeUnit;
 
 import org.apache.lucene.search.Query;
 import org.apache.maven.index.MAVEN;
+import org.apache.maven.index.context.IndexingContext;
 import org.apache.maven.index.expr.UserInputSearchExpression;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -62,6 +72,15 @@ public class RepositoryProxyIndexCreatorTest
 
     private static final String REPOSITORY_PROXY_2 = "m2pr-proxied-releases-2";
 
+    private static final String REPOSITORY_RELEASES_3 = "m2pr-releases-3";
+
+    private static final String PROXY_3_REPOSITORY_URL =
+            "http://localhost:48080/storages/" + STORAGE0 + "/" + REPOSITORY_RELEASES_3 + "/";
+
+    private static final String REPOSITORY_PROXY_3 = "m2pr-proxied-releases-3";
+
+    private static final String TIMESTAMP_PROPERTY = "nexus.index.timestamp";
+
     private static final String A1 = "org/carlspring/strongbox/strongbox-search-test/1.0/strongbox-search-test-1.0.jar";
 
     private static final String A2 = "org/carlspring/strongbox/strongbox-search-test/1.1/strongbox-search-test-1.1.jar";
@@ -174,4 +193,66 @@ public class RepositoryProxyIndexCreatorTest
         }
     }
 
+    @Test
+    @ExtendWith({ RepositoryManagementTestExecutionListener.class,
+                  ArtifactManagementTestExecutionListener.class })
+    public void indexShouldBeUpToDateUntilRemoteIndexChanges(@MavenRepository(repositoryId = REPOSITORY_RELEASES_3,
+                                                                              setup = MavenIndexedRepositorySetup.class)
+                                                             Repository repository,
+                                                             @MavenRepository(repositoryId = REPOSITORY_PROXY_3,
+                                                                              setup = MavenIndexedRepositorySetup.class)
+                                                             @Remote(url = PROXY_3_REPOSITORY_URL)
+                                                             Repository proxyRepository,
+                                                             @MavenTestArtifact(repositoryId = REPOSITORY_RELEASES_3,
+                                                                                resource = A1)
+                                                             Path a1)
+            throws Exception
+    {
+        hostedRepositoryIndexCreator.apply(repository);
+
+        // Never fetched.
+        assertThat(proxyRepositoryIndexCreator.isUpToDate(proxyRepository)).isFalse();
+
+        proxyRepositoryIndexCreator.apply(proxyRepository);
+        assertThat(proxyRepositoryIndexCreator.isUpToDate(proxyRepository)).isTrue();
+
+        // The remote index properties are served by the mocked fetcher from the hosted repository.
+        Path remotePropertiesPath = repositoryPathResolver.resolve(repository)
+                                                          .resolve(".index/local/nexus-maven-repository-index.properties")
+                                                          .toFile()
+                                                          .toPath();
+        Properties remoteProperties = new Properties();
+        try (InputStream is = Files.newInputStream(remotePropertiesPath))
+        {
+            remoteProperties.load(is);
+        }
+
+        SimpleDateFormat format = new SimpleDateFormat(IndexingContext.INDEX_TIME_FORMAT, Locale.US);
+        format.setTimeZone(TimeZone.getTimeZone("GMT"));
+        Date remoteTimestamp = format.parse(remoteProperties.getProperty(TIMESTAMP_PROPERTY));
+        Date republishedTimestamp = new Date(remoteTimestamp.getTime() + TimeUnit.HOURS.toMillis(1));
+
+        remoteProperties.setProperty(TIMESTAMP_PROPERTY, format.format(republishedTimestamp));
+        try (OutputStream os = Files.newOutputStream(remotePropertiesPath))
+        {
+            remoteProperties.store(os, null);
+        }
+
+        // The applied timestamp differs from the published one.
+        assertThat(proxyRepositoryIndexCreator.isUpToDate(proxyRepository)).isFalse();
+
+        Path remoteTimestampPath = repositoryPathResolver.resolve(proxyRepository)
+                                                         .resolve(".index/remote")
+                                                         .resolve(RepositoryProxyIndexCreator.REMOTE_TIMESTAMP_FILE_NAME)
+                                                         .toFile()
+                                                         .toPath();
+        assertThat(new String(Files.readAllBytes(remoteTimestampPath), StandardCharsets.UTF_8).trim())
+                .isEqualTo(Long.toString(remoteTimestamp.getTime()));
+
+        // The applied timestamp matches the published one again.
+        Files.write(remoteTimestampPath,
+                    Long.toString(republishedTimestamp.getTime()).getBytes(StandardCharsets.UTF_8));
+        assertThat(proxyRepositoryIndexCreator.isUpToDate(proxyRepository)).isTrue();
+    }
+
 }
@@ -0,0 +1,79 @@
+package org.carlspring.strongbox.storage.metadata;
+
+import org.carlspring.strongbox.storage.metadata.MavenMetadataDirtySet.ArtifactDirectory;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.Set;
+
+import org.apache.commons.io.FileUtils;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import static org.assertj.core.api.Assertions.assertThat;
+
+class MavenMetadataDirtySetTest
+{
+
+    private static final ArtifactDirectory FOO = new ArtifactDirectory("storage0", "releases", "org/carlspring/foo");
+
+    private static final ArtifactDirectory BAR = new ArtifactDirectory("storage0", "releases", "org/carlspring/bar");
+
+    private Path tempDir;
+
+    @BeforeEach
+    void setUp()
+        throws IOException
+    {
+        tempDir = Files.createTempDirectory("metadata-dirty-set");
+    }
+
+    @AfterEach
+    void tearDown()
+        throws IOException
+    {
+        FileUtils.deleteDirectory(tempDir.toFile());
+    }
+
+    @Test
+    void shouldCoalesceVersionsPerArtifact()
+    {
+        MavenMetadataDirtySet dirtySet = new MavenMetadataDirtySet(tempDir.resolve("metadata-dirty.journal"));
+        dirtySet.mark(FOO, "1.0");
+        dirtySet.mark(FOO, "1.1");
+        dirtySet.mark(FOO, "1.0");
+        dirtySet.mark(BAR, "2.0");
+
+        Map<ArtifactDirectory, Set<String>> entries = dirtySet.drain();
+
+        assertThat(entries).hasSize(2);
+        assertThat(entries.get(FOO)).containsExactly("1.0", "1.1");
+        assertThat(entries.get(BAR)).containsExactly("2.0");
+        assertThat(dirtySet.isEmpty()).isTrue();
+    }
+
+    @Test
+    void shouldKeepPendingEntriesAcrossRestarts()
+        throws IOException
+    {
+        Path journalPath = tempDir.resolve("metadata-dirty.journal");
+
+        MavenMetadataDirtySet dirtySet = new MavenMetadataDirtySet(journalPath);
+        dirtySet.mark(FOO, "1.0");
+        dirtySet.drain();
+        dirtySet.mark(BAR, "2.0");
+
+        // Drained but not compacted yet, so both are still pending.
+        assertThat(new MavenMetadataDirtySet(journalPath).drain()).containsOnlyKeys(FOO, BAR);
+
+        dirtySet.compact();
+        assertThat(new MavenMetadataDirtySet(journalPath).drain()).containsOnlyKeys(BAR);
+
+        dirtySet.drain();
+        dirtySet.compact();
+        assertThat(Files.exists(journalPath)).isFalse();
+    }
+
+}
@@ -0,0 +1,221 @@
+package org.carlspring.strongbox.storage.metadata;
+
+import org.carlspring.strongbox.artifact.generator.MavenArtifactGenerator;
+import org.carlspring.strongbox.config.Maven2LayoutProviderTestConfig;
+import org.carlspring.strongbox.providers.io.RepositoryPath;
+import org.carlspring.strongbox.providers.io.RepositoryPathResolver;
+import org.carlspring.strongbox.services.ArtifactManagementService;
+import org.carlspring.strongbox.services.ArtifactMetadataService;
+import org.carlspring.strongbox.storage.repository.Repository;
+import org.carlspring.strongbox.storage.repository.RepositoryPolicyEnum;
+import org.carlspring.strongbox.testing.artifact.ArtifactManagementTestExecutionListener;
+import org.carlspring.strongbox.testing.artifact.MavenTestArtifact;
+import org.carlspring.strongbox.testing.repository.MavenRepository;
+import org.carlspring.strongbox.testing.storage.repository.RepositoryManagementTestExecutionListener;
+
+import javax.inject.Inject;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import org.apache.maven.artifact.repository.metadata.Metadata;
+import org.apache.maven.artifact.repository.metadata.Versioning;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.context.TestPropertySource;
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * The updater is enabled, but the background worker never runs, so the updates are only applied by the explicit
+ * {@link MavenMetadataUpdater#process()} calls.
+ */
+@SpringBootTest
+@ActiveProfiles(profiles = "test")
+@ContextConfiguration(classes = Maven2LayoutProviderTestConfig.class)
+@TestPropertySource(properties = { "strongbox.maven.metadata.incremental.enabled=true",
+                                   "strongbox.maven.metadata.incremental.delayMillis=3600000" })
+public class MavenMetadataUpdaterTest
+{
+
+    private static final String REPOSITORY_RELEASES = "mmut-releases";
+
+    private static final String REPOSITORY_SNAPSHOTS = "mmut-snapshots";
+
+    private static final String REPOSITORY_RETRY_RELEASES = "mmut-retry-releases";
+
+    @Inject
+    private MavenMetadataUpdater mavenMetadataUpdater;
+
+    @Inject
+    private ArtifactManagementService mavenArtifactManagementService;
+
+    @Inject
+    private ArtifactMetadataService artifactMetadataService;
+
+    @Inject
+    private RepositoryPathResolver repositoryPathResolver;
+
+    @ExtendWith({ RepositoryManagementTestExecutionListener.class,
+                  ArtifactManagementTestExecutionListener.class })
+    @Test
+    public void testReleaseMetadataUpdates(@MavenRepository(repositoryId = REPOSITORY_RELEASES)
+                                           Repository repository,
+                                           @MavenTestArtifact(repositoryId = REPOSITORY_RELEASES,
+                                                              id = "org.carlspring.strongbox.metadata:mmut-foo",
+                                                              versions = { "1.0",
+                                                                           "1.1" })
+                                           List<Path> artifactPaths)
+            throws Exception
+    {
+        final String storageId = repository.getStorage().getId();
+        final String repositoryId = repository.getId();
+        final String artifactPath = "org/carlspring/strongbox/metadata/mmut-foo";
+
+        artifactMetadataService.rebuildMetadata(storageId, repositoryId, artifactPath);
+        mavenMetadataUpdater.process();
+
+        deploy(repository, "org.carlspring.strongbox.metadata:mmut-foo", "1.2");
+        mavenMetadataUpdater.process();
+
+        Metadata metadata = artifactMetadataService.getMetadata(storageId, repositoryId, artifactPath);
+        Versioning versioning = metadata.getVersioning();
+
+        assertThat(versioning.getVersions()).containsExactly("1.0", "1.1", "1.2");
+        assertThat(versioning.getLatest()).isEqualTo("1.2");
+        assertThat(versioning.getRelease()).isEqualTo("1.2");
+
+        // Without its POM the version is no longer a part of the metadata.
+        mavenArtifactManagementService.delete(repositoryPathResolver.resolve(repository,
+                                                                             artifactPath + "/1.2/mmut-foo-1.2.pom"),
+                                              true);
+        mavenMetadataUpdater.process();
+
+        metadata = artifactMetadataService.getMetadata(storageId, repositoryId, artifactPath);
+        versioning = metadata.getVersioning();
+
+        assertThat(versioning.getVersions()).containsExactly("1.0", "1.1");
+        assertThat(versioning.getLatest()).isEqualTo("1.1");
+        assertThat(versioning.getRelease()).isEqualTo("1.1");
+    }
+
+    @ExtendWith({ RepositoryManagementTestExecutionListener.class,
+                  ArtifactManagementTestExecutionListener.class })
+    @Test
+    public void testSnapshotMetadataUpdates(@MavenRepository(repositoryId = REPOSITORY_SNAPSHOTS,
+                                                             policy = RepositoryPolicyEnum.SNAPSHOT)
+                                            Repository repository,
+                                            @MavenTestArtifact(repositoryId = REPOSITORY_SNAPSHOTS,
+                                                               id = "org.carlspring.strongbox.metadata:mmut-bar",
+                                                               versions = { "1.0-20180328.195810-1",
+                                                                            "1.1-20180328.195810-1" })
+                                            List<Path> artifactPaths)
+            throws Exception
+    {
+        final String storageId = repository.getStorage().getId();
+        final String repositoryId = repository.getId();
+        final String artifactPath = "org/carlspring/strongbox/metadata/mmut-bar";
+
+        artifactMetadataService.rebuildMetadata(storageId, repositoryId, artifactPath);
+        mavenMetadataUpdater.process();
+
+        deploy(repository, "org.carlspring.strongbox.metadata:mmut-bar", "1.0-20180329.101010-2");
+        mavenMetadataUpdater.process();
+
+        Metadata metadata = artifactMetadataService.getMetadata(storageId, repositoryId, artifactPath);
+        Versioning versioning = metadata.getVersioning();
+
+        assertThat(versioning.getVersions()).containsExactly("1.0-SNAPSHOT", "1.1-SNAPSHOT");
+        assertThat(versioning.getLatest()).isEqualTo("1.1-SNAPSHOT");
+        assertThat(versioning.getRelease()).isNull();
+
+        Metadata snapshotMetadata = artifactMetadataService.getMetadata(storageId,
+                                                                        repositoryId,
+                                                                        artifactPath + "/1.0-SNAPSHOT");
+
+        assertThat(MetadataHelper.containsTimestampedSnapshotVersion(snapshotMetadata, "1.0-20180328.195810-1")).isTrue();
+        assertThat(MetadataHelper.containsTimestampedSnapshotVersion(snapshotMetadata, "1.0-20180329.101010-2")).isTrue();
+
+        mavenArtifactManagementService.delete(repositoryPathResolver.resolve(repository,
+                                                                             artifactPath +
+                                                                             "/1.1-SNAPSHOT/mmut-bar-1.1-20180328.195810-1.pom"),
+                                              true);
+        mavenMetadataUpdater.process();
+
+        metadata = artifactMetadataService.getMetadata(storageId, repositoryId, artifactPath);
+        versioning = metadata.getVersioning();
+
+        assertThat(versioning.getVersions()).containsExactly("1.0-SNAPSHOT");
+        assertThat(versioning.getLatest()).isEqualTo("1.0-SNAPSHOT");
+        assertThat(versioning.getRelease()).isNull();
+    }
+
+    @ExtendWith({ RepositoryManagementTestExecutionListener.class,
+                  ArtifactManagementTestExecutionListener.class })
+    @Test
+    public void failedUpdateShouldBeRetried(@MavenRepository(repositoryId = REPOSITORY_RETRY_RELEASES)
+                                           Repository repository,
+                                           @MavenTestArtifact(repositoryId = REPOSITORY_RETRY_RELEASES,
+                                                              id = "org.carlspring.strongbox.metadata:mmut-baz",
+                                                              versions = "1.0")
+                                           List<Path> artifactPaths)
+            throws Exception
+    {
+        final String storageId = repository.getStorage().getId();
+        final String repositoryId = repository.getId();
+        final String artifactPath = "org/carlspring/strongbox/metadata/mmut-baz";
+
+        artifactMetadataService.rebuildMetadata(storageId, repositoryId, artifactPath);
+        mavenMetadataUpdater.process();
+
+        // The metadata can neither be read nor written while a directory takes its place.
+        Path metadataPath = repositoryPathResolver.resolve(repository, artifactPath + "/maven-metadata.xml")
+                                                  .toFile()
+                                                  .toPath();
+        Files.delete(metadataPath);
+        Files.createDirectories(metadataPath);
+        Files.createFile(metadataPath.resolve("blocker"));
+
+        deploy(repository, "org.carlspring.strongbox.metadata:mmut-baz", "1.1");
+        mavenMetadataUpdater.process();
+
+        assertThat(metadataPath).isDirectory();
+
+        Files.delete(metadataPath.resolve("blocker"));
+        Files.delete(metadataPath);
+        mavenMetadataUpdater.process();
+
+        Metadata metadata = artifactMetadataService.getMetadata(storageId, repositoryId, artifactPath);
+        Versioning versioning = metadata.getVersioning();
+
+        assertThat(versioning.getVersions()).containsExactly("1.0", "1.1");
+        assertThat(versioning.getLatest()).isEqualTo("1.1");
+    }
+
+    /**
+     * Generates the artifact outside of the repository and deploys its POM and JAR, the same way a client would.
+     */
+    private void deploy(Repository repository,
+                        String ga,
+                        String version)
+            throws Exception
+    {
+        Path basedir = Files.createTempDirectory("mmut-");
+        Path jarPath = new MavenArtifactGenerator(basedir).generateArtifact(ga, version, 1024);
+        Path pomPath = jarPath.resolveSibling(jarPath.getFileName().toString().replaceAll("\\.jar$", ".pom"));
+
+        for (Path path : new Path[]{ pomPath, jarPath })
+        {
+            RepositoryPath repositoryPath = repositoryPathResolver.resolve(repository,
+                                                                           basedir.relativize(path).toString());
+            try (InputStream is = Files.newInputStream(path))
+            {
+                mavenArtifactManagementService.validateAndStore(repositoryPath, is);
+            }
+        }
+    }
+
+}
@@ -26,13 +26,17 @@ import org.springframework.util.StringUtils;
 @SuppressWarnings("serial")
 @XmlRootElement(name = "npmArtifactCoordinates")
 @XmlAccessorType(XmlAccessType.NONE)
-@ArtifactCoordinatesLayout(name = NpmArtifactCoordinates.LAYOUT_NAME, alias = NpmArtifactCoordinates.LAYOUT_ALIAS)
+@ArtifactCoordinatesLayout(name = NpmArtifactCoordinates.LAYOUT_NAME,
+                           alias = NpmArtifactCoordinates.LAYOUT_ALIAS,
+                           registrationId = NpmArtifactCoordinates.REGISTRATION_ID)
 public class NpmArtifactCoordinates extends AbstractArtifactCoordinates<NpmArtifactCoordinates, SemanticVersion>
 {
 
     public static final String LAYOUT_NAME = "npm";
 
     public static final String LAYOUT_ALIAS = LAYOUT_NAME;
+
+    public static final int REGISTRATION_ID = 1;
     
     public static final String NPM_VERSION_REGEX = "(\\d+)\\.(\\d+)(?:\\.)?(\\d*)(\\.|-|\\+)?([0-9A-Za-z-.]*)?";
 
@@ -0,0 +1,33 @@
+package org.carlspring.strongbox.providers.layout;
+
+/**
+ * A stored packument document, gzip compressed.
+ */
+public class NpmPackument
+{
+
+    private final String etag;
+
+    private final byte[] gzipContent;
+
+    public NpmPackument(String etag,
+                        byte[] gzipContent)
+    {
+        this.etag = etag;
+        this.gzipContent = gzipContent;
+    }
+
+    /**
+     * @return the strong entity tag, quoted.
+     */
+    public String getEtag()
+    {
+        return etag;
+    }
+
+    public byte[] getGzipContent()
+    {
+        return gzipContent;
+    }
+
+}
@@ -0,0 +1,454 @@
+package org.carlspring.strongbox.providers.layout;
+
+import org.carlspring.strongbox.artifact.coordinates.NpmArtifactCoordinates;
+import org.carlspring.strongbox.config.NpmLayoutProviderConfig.NpmObjectMapper;
+import org.carlspring.strongbox.event.artifact.ArtifactEvent;
+import org.carlspring.strongbox.event.artifact.ArtifactEventTypeEnum;
+import org.carlspring.strongbox.npm.metadata.DistTags;
+import org.carlspring.strongbox.npm.metadata.PackageFeed;
+import org.carlspring.strongbox.npm.metadata.PackageVersion;
+import org.carlspring.strongbox.npm.metadata.Time;
+import org.carlspring.strongbox.npm.metadata.Versions;
+import org.carlspring.strongbox.providers.io.RepositoryFiles;
+import org.carlspring.strongbox.providers.io.RepositoryPath;
+import org.carlspring.strongbox.storage.repository.Repository;
+
+import javax.inject.Inject;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.apache.commons.codec.digest.DigestUtils;
+import org.apache.commons.io.IOUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+/**
+ * Materialized packument documents of the hosted npm repositories.
+ * <p>
+ * Every package has its full and abbreviated (`application/vnd.npm.install-v1+json`) packument stored gzip compressed
+ * under `vault/npm/packuments/{storageId}/{repositoryId}/{packageId}`, together with a strong ETag. A document is
+ * built once, when it's first requested, and then it's updated in place for every version stored or deleted, so the
+ * requests don't have to query and read every version of the package.
+ */
+@Component
+public class NpmPackumentStore
+{
+
+    public static final String ABBREVIATED_MEDIA_TYPE = "application/vnd.npm.install-v1+json";
+
+    private static final Logger logger = LoggerFactory.getLogger(NpmPackumentStore.class);
+
+    private static final String FULL_FILE_NAME = "packument.json.gz";
+
+    private static final String ABBREVIATED_FILE_NAME = "packument-abbreviated.json.gz";
+
+    private static final String TGZ_EXTENSION = ".tgz";
+
+    private static final String SHA1_EXTENSION = ".sha1";
+
+    private static final Set<String> ABBREVIATED_VERSION_FIELDS = new HashSet<>(Arrays.asList("name",
+                                                                                              "version",
+                                                                                              "dist",
+                                                                                              "deprecated",
+                                                                                              "dependencies",
+                                                                                              "optionalDependencies",
+                                                                                              "devDependencies",
+                                                                                              "bundleDependencies",
+                                                                                              "peerDependencies",
+                                                                                              "bin",
+                                                                                              "directories",
+                                                                                              "engines",
+                                                                                              "os",
+                                                                                              "cpu",
+                                                                                              "_hasShrinkwrap"));
+
+    private static final int LOCK_STRIPES = 64;
+
+    private final Object[] locks = new Object[LOCK_STRIPES];
+
+    @Value("${strongbox.vault}")
+    private String vaultDirectory;
+
+    @Inject
+    @NpmObjectMapper
+    private ObjectMapper npmJacksonMapper;
+
+    @Inject
+    private NpmPackageSupplier npmPackageSupplier;
+
+    public NpmPackumentStore()
+    {
+        for (int i = 0; i < locks.length; i++)
+        {
+            locks[i] = new Object();
+        }
+    }
+
+    /**
+     * Only the hosted repositories have their packuments stored, the proxy and group repository contents change
+     * without the artifact events.
+     */
+    public boolean supports(Repository repository)
+    {
+        return repository.isHostedRepository();
+    }
+
+    /**
+     * Returns the stored packument, the document gets built with the `packageFeedSupplier` if it's not stored yet.
+     *
+     * @return the packument, or `null` if the package has no versions
+     */
+    public NpmPackument getPackument(Repository repository,
+                                     String packageId,
+                                     boolean abbreviated,
+                                     Supplier<PackageFeed> packageFeedSupplier)
+        throws IOException
+    {
+        Path packumentDirectory = getPackumentDirectory(repository, packageId);
+        Path packumentPath = packumentDirectory.resolve(abbreviated ? ABBREVIATED_FILE_NAME : FULL_FILE_NAME);
+
+        NpmPackument packument = read(packumentPath);
+        if (packument != null)
+        {
+            return packument;
+        }
+
+        synchronized (lockFor(packumentDirectory))
+        {
+            packument = read(packumentPath);
+            if (packument != null)
+            {
+                return packument;
+            }
+
+            PackageFeed packageFeed = packageFeedSupplier.get();
+            if (packageFeed.getVersions().getAdditionalProperties().isEmpty())
+            {
+                return null;
+            }
+
+            store(packumentDirectory, packageFeed);
+        }
+
+        return read(packumentPath);
+    }
+
+    /**
+     * Removes the stored packument, so that it gets rebuilt with the next request.
+     */
+    public void invalidate(Repository repository,
+                           String packageId)
+    {
+        Path packumentDirectory = getPackumentDirectory(repository, packageId);
+        synchronized (lockFor(packumentDirectory))
+        {
+            try
+            {
+                Files.deleteIfExists(packumentDirectory.resolve(FULL_FILE_NAME));
+                Files.deleteIfExists(packumentDirectory.resolve(ABBREVIATED_FILE_NAME));
+            }
+            catch (IOException e)
+            {
+                logger.error("Failed to remove the packument of [{}] from [{}].", packageId, packumentDirectory, e);
+            }
+        }
+    }
+
+    @EventListener
+    public void handle(final ArtifactEvent<RepositoryPath> event)
+    {
+        int type = event.getType();
+        boolean stored = type == ArtifactEventTypeEnum.EVENT_ARTIFACT_FILE_STORED.getType() ||
+                         type == ArtifactEventTypeEnum.EVENT_ARTIFACT_FILE_UPDATED.getType();
+        boolean deleted = type == ArtifactEventTypeEnum.EVENT_ARTIFACT_PATH_DELETED.getType();
+        if (!stored && !deleted)
+        {
+            return;
+        }
+
+        RepositoryPath path = event.getPath();
+        Repository repository = path.getRepository();
+        if (!NpmLayoutProvider.ALIAS.equals(repository.getLayout()) || !supports(repository))
+        {
+            return;
+        }
+
+        // The package checksum is stored after the package itself, and it's part of the version document.
+        String fileName = path.getFileName().toString();
+        boolean checksum = fileName.endsWith(TGZ_EXTENSION + SHA1_EXTENSION);
+        if (checksum)
+        {
+            path = path.resolveSibling(fileName.substring(0, fileName.length() - SHA1_EXTENSION.length()));
+        }
+        else if (!fileName.endsWith(TGZ_EXTENSION))
+        {
+            return;
+        }
+
+        NpmArtifactCoordinates coordinates;
+        try
+        {
+            coordinates = NpmArtifactCoordinates.parse(RepositoryFiles.relativizePath(path));
+        }
+        catch (IllegalArgumentException e)
+        {
+            return;
+        }
+
+        try
+        {
+            if (stored && Files.exists(path))
+            {
+                addVersion(path, coordinates);
+            }
+            else if (deleted && !checksum)
+            {
+                removeVersion(repository, coordinates);
+            }
+        }
+        catch (IOException | RuntimeException e)
+        {
+            logger.error("Failed to update the packument for [{}], it will be rebuilt.", path, e);
+
+            invalidate(repository, coordinates.getId());
+        }
+    }
+
+    private void addVersion(RepositoryPath path,
+                            NpmArtifactCoordinates coordinates)
+        throws IOException
+    {
+        Path packumentDirectory = getPackumentDirectory(path.getRepository(), coordinates.getId());
+        synchronized (lockFor(packumentDirectory))
+        {
+            PackageFeed packageFeed = readFeed(packumentDirectory.resolve(FULL_FILE_NAME));
+            if (packageFeed == null)
+            {
+                // Not requested yet.
+                return;
+            }
+
+            NpmPackageDesc packageDesc = npmPackageSupplier.apply(path);
+            addVersion(packageFeed, packageDesc);
+
+            store(packumentDirectory, packageFeed);
+        }
+    }
+
+    private void removeVersion(Repository repository,
+                               NpmArtifactCoordinates coordinates)
+        throws IOException
+    {
+        Path packumentDirectory = getPackumentDirectory(repository, coordinates.getId());
+        synchronized (lockFor(packumentDirectory))
+        {
+            PackageFeed packageFeed = readFeed(packumentDirectory.resolve(FULL_FILE_NAME));
+            if (packageFeed == null)
+            {
+                return;
+            }
+
+            String version = coordinates.getVersion();
+            packageFeed.getVersions().getAdditionalProperties().remove(version);
+            packageFeed.getTime().getAdditionalProperties().remove(version);
+
+            // The new latest version is only known to the database.
+            if (version.equals(packageFeed.getDistTags().getLatest()) ||
+                packageFeed.getVersions().getAdditionalProperties().isEmpty())
+            {
+                invalidate(repository, coordinates.getId());
+
+                return;
+            }
+
+            store(packumentDirectory, packageFeed);
+        }
+    }
+
+    /**
+     * Creates an empty packument, to be populated with {@link #addVersion(PackageFeed, NpmPackageDesc)}.
+     */
+    public static PackageFeed createPackageFeed(String packageId)
+    {
+        PackageFeed packageFeed = new PackageFeed();
+
+        packageFeed.setName(packageId);
+        packageFeed.setAdditionalProperty("_id", packageId);
+        packageFeed.setVersions(new Versions());
+        packageFeed.setTime(new Time());
+        packageFeed.setDistTags(new DistTags());
+
+        return packageFeed;
+    }
+
+    public static void addVersion(PackageFeed packageFeed,
+                                  NpmPackageDesc packageDesc)
+    {
+        PackageVersion npmPackage = packageDesc.getNpmPackage();
+        packageFeed.getVersions().setAdditionalProperty(npmPackage.getVersion(), npmPackage);
+
+        Time npmTime = packageFeed.getTime();
+        Date releaseDate = packageDesc.getReleaseDate();
+        npmTime.setAdditionalProperty(npmPackage.getVersion(), releaseDate);
+
+        Date created = npmTime.getCreated();
+        npmTime.setCreated(created == null || created.before(releaseDate) ? releaseDate : created);
+
+        Date modified = npmTime.getModified();
+        npmTime.setModified(modified == null || modified.before(releaseDate) ? releaseDate : modified);
+
+        if (packageDesc.isLastVersion())
+        {
+            packageFeed.getDistTags().setLatest(npmPackage.getVersion());
+        }
+    }
+
+    /**
+     * Sets the `_rev` of the packument, once all of its versions are added.
+     */
+    public static void updateRevision(PackageFeed packageFeed)
+    {
+        packageFeed.setAdditionalProperty("_rev", generateRevisionHashcode(packageFeed));
+    }
+
+    private static String generateRevisionHashcode(PackageFeed packageFeed)
+    {
+        String versionsShasum = packageFeed.getVersions().getAdditionalProperties()
+                                           .values()
+                                           .stream()
+                                           .map(x -> x.getDist().getShasum())
+                                           .collect(Collectors.joining());
+        return packageFeed.getVersions().getAdditionalProperties().size() + "-" +
+               DigestUtils.sha1Hex(versionsShasum).substring(0, 16);
+    }
+
+    private void store(Path packumentDirectory,
+                       PackageFeed packageFeed)
+        throws IOException
+    {
+        Files.createDirectories(packumentDirectory);
+        updateRevision(packageFeed);
+
+        write(packumentDirectory.resolve(FULL_FILE_NAME), npmJacksonMapper.writeValueAsBytes(packageFeed));
+        write(packumentDirectory.resolve(ABBREVIATED_FILE_NAME),
+              npmJacksonMapper.writeValueAsBytes(abbreviate(packageFeed)));
+    }
+
+    private ObjectNode abbreviate(PackageFeed packageFeed)
+    {
+        ObjectNode result = npmJacksonMapper.createObjectNode();
+        result.put("name", packageFeed.getName());
+        if (packageFeed.getTime().getModified() != null)
+        {
+            result.set("modified", npmJacksonMapper.valueToTree(packageFeed.getTime().getModified()));
+        }
+        result.set("dist-tags", npmJacksonMapper.valueToTree(packageFeed.getDistTags()));
+
+        ObjectNode versions = result.putObject("versions");
+        for (Map.Entry<String, PackageVersion> entry : packageFeed.getVersions().getAdditionalProperties().entrySet())
+        {
+            ObjectNode version = npmJacksonMapper.valueToTree(entry.getValue());
+            for (Iterator<String> fieldNames = version.fieldNames(); fieldNames.hasNext(); )
+            {
+                if (!ABBREVIATED_VERSION_FIELDS.contains(fieldNames.next()))
+                {
+                    fieldNames.remove();
+                }
+            }
+            versions.set(entry.getKey(), version);
+        }
+
+        return result;
+    }
+
+    private void write(Path packumentPath,
+                       byte[] content)
+        throws IOException
+    {
+        ByteArrayOutputStream gzipContent = new ByteArrayOutputStream();
+        try (OutputStream os = new GZIPOutputStream(gzipContent))
+        {
+            os.write(content);
+        }
+
+        Path tmp = packumentPath.resolveSibling(packumentPath.getFileName() + ".tmp");
+        try (DataOutputStream os = new DataOutputStream(Files.newOutputStream(tmp)))
+        {
+            os.writeUTF("\"" + DigestUtils.sha1Hex(content) + "\"");
+            gzipContent.writeTo(os);
+        }
+        Files.move(tmp, packumentPath, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    private NpmPackument read(Path packumentPath)
+        throws IOException
+    {
+        try (DataInputStream is = new DataInputStream(Files.newInputStream(packumentPath)))
+        {
+            String etag = is.readUTF();
+
+            return new NpmPackument(etag, IOUtils.toByteArray(is));
+        }
+        catch (NoSuchFileException e)
+        {
+            return null;
+        }
+    }
+
+    private PackageFeed readFeed(Path packumentPath)
+        throws IOException
+    {
+        NpmPackument packument = read(packumentPath);
+        if (packument == null)
+        {
+            return null;
+        }
+
+        try (InputStream is = new GZIPInputStream(new ByteArrayInputStream(packument.getGzipContent())))
+        {
+            return npmJacksonMapper.readValue(is, PackageFeed.class);
+        }
+    }
+
+    private Object lockFor(Path packumentDirectory)
+    {
+        return locks[Math.floorMod(packumentDirectory.hashCode(), LOCK_STRIPES)];
+    }
+
+    private Path getRepositoryDirectory(Repository repository)
+    {
+        return Paths.get(vaultDirectory, "npm", "packuments", repository.getStorage().getId(), repository.getId());
+    }
+
+    private Path getPackumentDirectory(Repository repository,
+                                       String packageId)
+    {
+        return getRepositoryDirectory(repository).resolve(packageId);
+    }
+
+}
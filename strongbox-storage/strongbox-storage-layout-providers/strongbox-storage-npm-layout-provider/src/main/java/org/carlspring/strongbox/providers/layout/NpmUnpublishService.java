@@ -43,6 +43,9 @@ public class NpmUnpublishService
     @Inject
     private NpmRepositoryFeatures repositoryFeatures;
 
+    @Inject
+    private NpmPackumentStore npmPackumentStore;
+
     public Result unpublishPackage(Repository repository,
                                    String packageScope,
                                    String packageName)
@@ -75,6 +78,10 @@ public class NpmUnpublishService
             }
 
             artifactManagementService.delete(path, false);
+
+            // The package directory is removed without the artifact events.
+            npmPackumentStore.invalidate(repository, NpmArtifactCoordinates.calculatePackageId(packageScope,
+                                                                                                packageName));
         }
         catch (IOException e)
         {
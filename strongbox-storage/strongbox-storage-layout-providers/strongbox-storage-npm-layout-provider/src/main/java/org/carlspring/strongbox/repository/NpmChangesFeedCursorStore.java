@@ -0,0 +1,87 @@
+package org.carlspring.strongbox.repository;
+
+import org.carlspring.strongbox.storage.repository.Repository;
+import org.carlspring.strongbox.yaml.configuration.repository.remote.NpmRemoteRepositoryConfiguration;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.Properties;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Stores the last processed sequence number of the remote npm changes feed, per repository.
+ * <p>
+ * The cursor is kept in a small sidecar file (`vault/npm/changes-feed/{storageId}/{repositoryId}.properties`), which is
+ * replaced atomically on every update, so that following the feed doesn't rewrite the whole configuration. The
+ * `lastChangeId` of the {@link NpmRemoteRepositoryConfiguration} is only used as the initial value.
+ */
+@Component
+public class NpmChangesFeedCursorStore
+{
+
+    private static final Logger logger = LoggerFactory.getLogger(NpmChangesFeedCursorStore.class);
+
+    private static final String LAST_CHANGE_ID = "lastChangeId";
+
+    @Value("${strongbox.vault}")
+    private String vaultDirectory;
+
+    public long getLastChangeId(Repository repository)
+    {
+        Path cursorPath = getCursorPath(repository);
+        if (Files.exists(cursorPath))
+        {
+            Properties properties = new Properties();
+            try (InputStream is = Files.newInputStream(cursorPath))
+            {
+                properties.load(is);
+
+                return Long.parseLong(properties.getProperty(LAST_CHANGE_ID));
+            }
+            catch (IOException | RuntimeException e)
+            {
+                logger.warn("Failed to read [{}], starting from the configured change.", cursorPath, e);
+            }
+        }
+
+        NpmRemoteRepositoryConfiguration configuration = (NpmRemoteRepositoryConfiguration) repository.getRemoteRepository()
+                                                                                                      .getCustomConfiguration();
+        Long lastChangeId = configuration != null ? configuration.getLastChangeId() : null;
+
+        return lastChangeId != null ? lastChangeId : 0L;
+    }
+
+    public void setLastChangeId(Repository repository,
+                                long lastChangeId)
+        throws IOException
+    {
+        Path cursorPath = getCursorPath(repository);
+        Files.createDirectories(cursorPath.getParent());
+
+        Properties properties = new Properties();
+        properties.setProperty(LAST_CHANGE_ID, String.valueOf(lastChangeId));
+
+        Path tmp = cursorPath.resolveSibling(cursorPath.getFileName() + ".tmp");
+        try (OutputStream os = Files.newOutputStream(tmp))
+        {
+            properties.store(os, null);
+        }
+        Files.move(tmp, cursorPath, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    private Path getCursorPath(Repository repository)
+    {
+        return Paths.get(vaultDirectory, "npm", "changes-feed", repository.getStorage().getId(),
+                         repository.getId() + ".properties");
+    }
+
+}
@@ -1,14 +1,26 @@
 package org.carlspring.strongbox.repository;
 
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.Date;
 import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.concurrent.locks.Lock;
+import java.util.stream.Collectors;
 
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
 import javax.inject.Inject;
-import javax.transaction.Transactional;
 
 import org.carlspring.strongbox.artifact.ArtifactTag;
 import org.carlspring.strongbox.artifact.coordinates.ArtifactCoordinates;
@@ -17,6 +29,7 @@ import org.carlspring.strongbox.domain.ArtifactEntry;
 import org.carlspring.strongbox.domain.ArtifactTagEntry;
 import org.carlspring.strongbox.domain.RemoteArtifactEntry;
 import org.carlspring.strongbox.domain.RepositoryArtifactIdGroupEntry;
+import org.carlspring.strongbox.npm.metadata.Change;
 import org.carlspring.strongbox.npm.metadata.PackageEntry;
 import org.carlspring.strongbox.npm.metadata.PackageFeed;
 import org.carlspring.strongbox.npm.metadata.PackageVersion;
@@ -34,28 +47,74 @@ import org.carlspring.strongbox.storage.Storage;
 import org.carlspring.strongbox.storage.repository.Repository;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
-
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Creates the {@link RemoteArtifactEntry}s of the npm packages fetched from the remote registries.
+ * <p>
+ * The entries are saved in batches: the existing ones are resolved with a single query per batch, and the new ones
+ * are saved within a single transaction per batch. Several package feeds can be parsed in parallel with
+ * {@link #parseFeeds(Repository, List)}, the feeds of the same package are always processed by the same worker, in
+ * their original order.
+ */
 @Component
 public class NpmPackageFeedParser
 {
 
     static final Logger logger = LoggerFactory.getLogger(NpmPackageFeedParser.class);
 
-    @Inject
-    private ArtifactTagService artifactTagService;
+    private final int batchSize;
 
-    @Inject
-    private RepositoryPathResolver repositoryPathResolver;
+    private final int parallelism;
 
-    @Inject
-    private ArtifactEntryService artifactEntryService;
-    
-    @Inject
-    private RepositoryArtifactIdGroupService repositoryArtifactIdGroupService;
+    private final PlatformTransactionManager transactionManager;
+
+    private ExecutorService executor;
+
+    private final ArtifactTagService artifactTagService;
+
+    private final RepositoryPathResolver repositoryPathResolver;
+
+    private final ArtifactEntryService artifactEntryService;
+
+    private final RepositoryArtifactIdGroupService repositoryArtifactIdGroupService;
+
+    private final RepositoryPathLock repositoryPathLock;
 
     @Inject
-    private RepositoryPathLock repositoryPathLock;
+    NpmPackageFeedParser(@Value("${strongbox.npm.feed.batchSize:500}") int batchSize,
+                         @Value("${strongbox.npm.feed.parallelism:4}") int parallelism,
+                         PlatformTransactionManager transactionManager,
+                         ArtifactTagService artifactTagService,
+                         RepositoryPathResolver repositoryPathResolver,
+                         ArtifactEntryService artifactEntryService,
+                         RepositoryArtifactIdGroupService repositoryArtifactIdGroupService,
+                         RepositoryPathLock repositoryPathLock)
+    {
+        this.batchSize = batchSize;
+        this.parallelism = parallelism;
+        this.transactionManager = transactionManager;
+        this.artifactTagService = artifactTagService;
+        this.repositoryPathResolver = repositoryPathResolver;
+        this.artifactEntryService = artifactEntryService;
+        this.repositoryArtifactIdGroupService = repositoryArtifactIdGroupService;
+        this.repositoryPathLock = repositoryPathLock;
+    }
+
+    @PostConstruct
+    public void init()
+    {
+        executor = Executors.newFixedThreadPool(Math.max(1, parallelism));
+    }
+
+    @PreDestroy
+    public void destroy()
+    {
+        executor.shutdown();
+    }
 
     public void parseSearchResult(Repository repository,
                                   SearchResults searchResults)
@@ -89,15 +148,260 @@ public class NpmPackageFeedParser
                                       Set<ArtifactEntry> artifactToSaveSet)
         throws IOException
     {
+        List<ArtifactEntry> batch = new ArrayList<>();
         for (ArtifactEntry e : artifactToSaveSet)
         {
-            RepositoryPath repositoryPath = repositoryPathResolver.resolve(repository).resolve(e);
+            batch.add(e);
+            if (batch.size() >= batchSize)
+            {
+                saveBatch(repository, batch);
+                batch = new ArrayList<>();
+            }
+        }
+        saveBatch(repository, batch);
+    }
+
+    /**
+     * Saves the entries which don't exist yet, within a single transaction.
+     */
+    private void saveBatch(Repository repository,
+                           List<ArtifactEntry> batch)
+        throws IOException
+    {
+        if (batch.isEmpty())
+        {
+            return;
+        }
+
+        String storageId = repository.getStorage().getId();
+        String repositoryId = repository.getId();
+
+        Map<String, ArtifactEntry> entriesByPath = new LinkedHashMap<>();
+        for (ArtifactEntry e : batch)
+        {
+            entriesByPath.put(e.getArtifactCoordinates().toPath(), e);
+        }
+        Set<String> existingPaths = artifactEntryService.findExistingPaths(storageId, repositoryId,
+                                                                           entriesByPath.keySet());
+        entriesByPath.keySet().removeAll(existingPaths);
+        if (entriesByPath.isEmpty())
+        {
+            return;
+        }
+
+        // One artifact group per package
+        Map<String, List<ArtifactEntry>> entriesByPackage = entriesByPath.values()
+                                                                         .stream()
+                                                                         .collect(Collectors.groupingBy(
+                                                                                 e -> e.getArtifactCoordinates().getId(),
+                                                                                 LinkedHashMap::new,
+                                                                                 Collectors.toList()));
+        try
+        {
+            new TransactionTemplate(transactionManager).execute(t -> {
+                for (Map.Entry<String, List<ArtifactEntry>> packageEntries : entriesByPackage.entrySet())
+                {
+                    RepositoryArtifactIdGroupEntry artifactGroup = repositoryArtifactIdGroupService.findOneOrCreate(
+                            storageId, repositoryId, packageEntries.getKey());
+                    for (ArtifactEntry e : packageEntries.getValue())
+                    {
+                        repositoryArtifactIdGroupService.addArtifactToGroup(artifactGroup, e);
+                    }
+                }
+
+                return null;
+            });
+        }
+        catch (RuntimeException e)
+        {
+            // Most likely some of the entries were saved concurrently, so fall back to the one by one save.
+            logger.debug("Failed to save the batch of [{}] npm entries, retrying one by one.", entriesByPath.size(), e);
+
+            for (ArtifactEntry artifactEntry : entriesByPath.values())
+            {
+                saveArtifactEntry(repositoryPathResolver.resolve(repository).resolve(artifactEntry));
+            }
+        }
+    }
+
+    /**
+     * Parses the package feeds of the changes with {@link #parseFeeds(Repository, List)}, `changesBatchSize` changes
+     * at once.
+     * <p>
+     * The changes are parsed up to the first batch which fails, so that the changes of the failed batch are fetched
+     * again by the next run instead of being skipped.
+     *
+     * @return the `seq` of the last parsed change, or `0` if none of the changes has been parsed
+     */
+    public long parseChanges(Repository repository,
+                             Iterator<Change> changes,
+                             int changesBatchSize)
+    {
+        long result = 0;
+
+        List<PackageFeed> packageFeeds = new ArrayList<>();
+        long lastSeq = result;
+        while (changes.hasNext())
+        {
+            Change change = changes.next();
+            packageFeeds.add(change.getDoc());
+            lastSeq = change.getSeq();
+
+            if (packageFeeds.size() >= changesBatchSize)
+            {
+                if (!parseChangesBatch(repository, packageFeeds, lastSeq))
+                {
+                    return result;
+                }
+                result = lastSeq;
+                packageFeeds.clear();
+            }
+        }
+
+        if (!packageFeeds.isEmpty() && parseChangesBatch(repository, packageFeeds, lastSeq))
+        {
+            result = lastSeq;
+        }
+
+        return result;
+    }
+
+    private boolean parseChangesBatch(Repository repository,
+                                      List<PackageFeed> packageFeeds,
+                                      long lastSeq)
+    {
+        try
+        {
+            parseFeeds(repository, packageFeeds);
+        }
+        catch (Exception e)
+        {
+            logger.error("Failed to parse NPM feeds of [{}/{}] up to [{}]",
+                         repository.getStorage().getId(),
+                         repository.getId(),
+                         lastSeq,
+                         e);
 
-            saveArtifactEntry(repositoryPath);
+            return false;
+        }
+
+        return true;
+    }
+
+    /**
+     * Parses the package feeds with the worker pool, and returns once all of them are processed.
+     * <p>
+     * A batch which can't be saved doesn't stop the other workers, but the call fails once all of them are done, so
+     * that the caller doesn't move past the failed feeds.
+     */
+    public void parseFeeds(Repository repository,
+                           List<PackageFeed> packageFeeds)
+        throws IOException
+    {
+        // The feeds are partitioned by the package name, so that the changes of a package keep their order.
+        int partitions = Math.max(1, parallelism);
+        List<List<PackageFeed>> partitionedFeeds = new ArrayList<>();
+        for (int i = 0; i < partitions; i++)
+        {
+            partitionedFeeds.add(new ArrayList<>());
+        }
+        for (PackageFeed packageFeed : packageFeeds)
+        {
+            if (packageFeed == null)
+            {
+                continue;
+            }
+            String name = String.valueOf(packageFeed.getName());
+            partitionedFeeds.get(Math.floorMod(name.hashCode(), partitions)).add(packageFeed);
+        }
+
+        List<Future<Integer>> futures = new ArrayList<>();
+        for (List<PackageFeed> partition : partitionedFeeds)
+        {
+            if (partition.isEmpty())
+            {
+                continue;
+            }
+            futures.add(executor.submit(() -> parsePartition(repository, partition)));
+        }
+
+        int failedCount = 0;
+        try
+        {
+            for (Future<Integer> future : futures)
+            {
+                failedCount += future.get();
+            }
+        }
+        catch (InterruptedException e)
+        {
+            Thread.currentThread().interrupt();
+            throw new IOException(e);
+        }
+        catch (ExecutionException e)
+        {
+            throw new IOException(e.getCause());
+        }
+
+        if (failedCount > 0)
+        {
+            throw new IOException(String.format("Failed to save [%s] npm entries of [%s/%s].",
+                                                failedCount,
+                                                repository.getStorage().getId(),
+                                                repository.getId()));
+        }
+    }
+
+    /**
+     * @return the number of the entries which failed to be saved
+     */
+    private int parsePartition(Repository repository,
+                               List<PackageFeed> packageFeeds)
+    {
+        ArtifactTag lastVersionTag = artifactTagService.findOneOrCreate(ArtifactTagEntry.LAST_VERSION);
+
+        int failedCount = 0;
+        // Keeps the order of the entries, the latest feed of a package wins.
+        Set<ArtifactEntry> batch = new LinkedHashSet<>();
+        for (PackageFeed packageFeed : packageFeeds)
+        {
+            batch.addAll(parseVersions(repository, packageFeed, lastVersionTag));
+            if (batch.size() >= batchSize)
+            {
+                failedCount += trySaveBatch(repository, batch);
+                batch = new LinkedHashSet<>();
+            }
+        }
+        failedCount += trySaveBatch(repository, batch);
+
+        return failedCount;
+    }
+
+    /**
+     * @return the number of the entries which failed to be saved
+     */
+    private int trySaveBatch(Repository repository,
+                             Set<ArtifactEntry> batch)
+    {
+        try
+        {
+            saveBatch(repository, new ArrayList<>(batch));
+
+            return 0;
+        }
+        catch (IOException | RuntimeException e)
+        {
+            logger.error("Failed to save [{}] npm entries of [{}/{}]: {}",
+                         batch.size(),
+                         repository.getStorage().getId(),
+                         repository.getId(),
+                         batch.stream().map(a -> a.getArtifactCoordinates().toPath()).collect(Collectors.toList()),
+                         e);
+
+            return batch.size();
         }
     }
 
-    @Transactional
     public void parseFeed(Repository repository,
                           PackageFeed packageFeed)
         throws IOException
@@ -107,24 +411,37 @@ public class NpmPackageFeedParser
             return;
         }
 
+        ArtifactTag lastVersionTag = artifactTagService.findOneOrCreate(ArtifactTagEntry.LAST_VERSION);
+
+        Set<ArtifactEntry> artifactToSaveSet = parseVersions(repository, packageFeed, lastVersionTag);
+        if (artifactToSaveSet.isEmpty())
+        {
+            return;
+        }
+
+        saveArtifactEntrySet(repository, artifactToSaveSet);
+    }
+
+    private Set<ArtifactEntry> parseVersions(Repository repository,
+                                             PackageFeed packageFeed,
+                                             ArtifactTag lastVersionTag)
+    {
         String repositoryId = repository.getId();
         String storageId = repository.getStorage().getId();
 
-        ArtifactTag lastVersionTag = artifactTagService.findOneOrCreate(ArtifactTagEntry.LAST_VERSION);
-
         Versions versions = packageFeed.getVersions();
         if (versions == null)
         {
-            return;
+            return Collections.emptySet();
         }
 
         Map<String, PackageVersion> versionMap = versions.getAdditionalProperties();
         if (versionMap == null || versionMap.isEmpty())
         {
-            return;
+            return Collections.emptySet();
         }
 
-        Set<ArtifactEntry> artifactToSaveSet = new HashSet<>();
+        Set<ArtifactEntry> artifactToSaveSet = new LinkedHashSet<>();
         for (PackageVersion packageVersion : versionMap.values())
         {
             RemoteArtifactEntry remoteArtifactEntry = parseVersion(storageId, repositoryId, packageVersion);
@@ -141,8 +458,7 @@ public class NpmPackageFeedParser
             artifactToSaveSet.add(remoteArtifactEntry);
         }
 
-        saveArtifactEntrySet(repository, artifactToSaveSet);
-
+        return artifactToSaveSet;
     }
 
     private void saveArtifactEntry(RepositoryPath repositoryPath)
@@ -15,18 +15,15 @@ import org.carlspring.strongbox.npm.metadata.PackageFeed;
 import org.carlspring.strongbox.npm.metadata.SearchResults;
 import org.carlspring.strongbox.providers.repository.event.RemoteRepositorySearchEvent;
 import org.carlspring.strongbox.service.ProxyRepositoryConnectionPoolConfigurationService;
-import org.carlspring.strongbox.services.ConfigurationManagementService;
 import org.carlspring.strongbox.storage.Storage;
 import org.carlspring.strongbox.storage.repository.Repository;
 import org.carlspring.strongbox.storage.repository.RepositoryData;
-import org.carlspring.strongbox.storage.repository.RepositoryDto;
 import org.carlspring.strongbox.storage.repository.remote.RemoteRepository;
 import org.carlspring.strongbox.storage.validation.artifact.version.GenericReleaseVersionValidator;
 import org.carlspring.strongbox.storage.validation.artifact.version.GenericSnapshotVersionValidator;
 import org.carlspring.strongbox.storage.validation.deployment.RedeploymentValidator;
 import org.carlspring.strongbox.yaml.configuration.repository.NpmRepositoryConfigurationData;
 import org.carlspring.strongbox.yaml.configuration.repository.remote.NpmRemoteRepositoryConfiguration;
-import org.carlspring.strongbox.yaml.configuration.repository.remote.NpmRemoteRepositoryConfigurationDto;
 
 import javax.annotation.PostConstruct;
 import javax.inject.Inject;
@@ -38,15 +35,15 @@ import javax.ws.rs.client.WebTarget;
 import java.io.IOException;
 import java.io.InputStream;
 import java.util.Arrays;
+import java.util.Iterator;
 import java.util.LinkedHashSet;
+import java.util.NoSuchElementException;
 import java.util.Optional;
 import java.util.Set;
 import java.util.concurrent.Executor;
 
-import com.fasterxml.jackson.core.JsonFactory;
 import com.fasterxml.jackson.core.JsonParser;
 import com.fasterxml.jackson.core.JsonToken;
-import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -62,13 +59,12 @@ public class NpmRepositoryFeatures implements RepositoryFeatures
 
     private static final int CHANGES_BATCH_SIZE = 500;
 
+    private static final int CHANGES_PARSE_BATCH_SIZE = 100;
+
     private static final boolean ALLOWS_UNPUBLISH_DEFAULT = true;
 
     private static final Logger logger = LoggerFactory.getLogger(NpmRepositoryFeatures.class);
 
-    @Inject
-    private ConfigurationManagementService configurationManagementService;
-
     @Inject
     private RedeploymentValidator redeploymentValidator;
 
@@ -97,6 +93,9 @@ public class NpmRepositoryFeatures implements RepositoryFeatures
     @Inject
     private NpmPackageFeedParser npmPackageFeedParser;
 
+    @Inject
+    private NpmChangesFeedCursorStore npmChangesFeedCursorStore;
+
     private Set<String> defaultArtifactCoordinateValidators;
 
     @PostConstruct
@@ -198,38 +197,35 @@ public class NpmRepositoryFeatures implements RepositoryFeatures
             return;
         }
 
-        RepositoryDto mutableRepository = configurationManagementService.getMutableConfigurationClone()
-                                                                            .getStorage(storageId)
-                                                                            .getRepository(repositoryId);
-        NpmRemoteRepositoryConfigurationDto mutableConfiguration = (NpmRemoteRepositoryConfigurationDto) mutableRepository.getRemoteRepository()
-                                                                                                                                  .getCustomConfiguration();
-
         NpmRemoteRepositoryConfiguration configuration = (NpmRemoteRepositoryConfiguration) remoteRepository.getCustomConfiguration();
         if (configuration == null)
         {
             logger.warn("Remote npm configuration not found for [{}]/[{}]", storageId, repositoryId);
             return;
         }
-        Long lastCnahgeId = configuration.getLastChangeId();
         String replicateUrl = configuration.getReplicateUrl();
 
-        Long nextChangeId = lastCnahgeId;
+        long lastChangeId = npmChangesFeedCursorStore.getLastChangeId(repository);
+        long nextChangeId = lastChangeId;
         do
         {
-            lastCnahgeId = nextChangeId;
-            mutableConfiguration.setLastChangeId(nextChangeId);
-            configurationManagementService.saveRepository(storageId, mutableRepository);
+            if (nextChangeId > lastChangeId)
+            {
+                npmChangesFeedCursorStore.setLastChangeId(repository, nextChangeId);
+                lastChangeId = nextChangeId;
+            }
 
-            nextChangeId = Long.valueOf(fetchRemoteChangesFeed(repository, replicateUrl, lastCnahgeId + 1));
-        } while (nextChangeId > lastCnahgeId);
+            nextChangeId = fetchRemoteChangesFeed(repository, replicateUrl, lastChangeId);
+        } while (nextChangeId > lastChangeId);
     }
 
-    private Integer fetchRemoteChangesFeed(Repository repository,
-                                           String replicateUrl,
-                                           Long since)
+    private long fetchRemoteChangesFeed(Repository repository,
+                                        String replicateUrl,
+                                        long lastChangeId)
         throws IOException
     {
-        int result = 0;
+        long since = lastChangeId + 1;
+        long result = 0;
         Client restClient = proxyRepositoryConnectionPoolConfigurationService.getRestClient();
         try
         {
@@ -243,7 +239,7 @@ public class NpmRepositoryFeatures implements RepositoryFeatures
 
             Invocation request = service.request().buildGet();
 
-            result = fetchRemoteChangesFeed(repository, request);
+            result = fetchRemoteChangesFeed(repository, request, since);
         }
         finally
         {
@@ -253,80 +249,30 @@ public class NpmRepositoryFeatures implements RepositoryFeatures
         return result;
     }
 
-    private int fetchRemoteChangesFeed(Repository repository,
-                                       Invocation request)
+    private long fetchRemoteChangesFeed(Repository repository,
+                                        Invocation request,
+                                        long since)
         throws IOException
     {
-        int result = 0;
+        long result = 0;
 
         RemoteRepository remoteRepository = repository.getRemoteRepository();
         NpmRemoteRepositoryConfiguration repositoryConfiguration = (NpmRemoteRepositoryConfiguration) remoteRepository.getCustomConfiguration();
 
-        JsonFactory jfactory = new JsonFactory();
-
-        try (InputStream is = request.invoke(InputStream.class))
+        try (InputStream is = request.invoke(InputStream.class);
+             JsonParser jp = npmJacksonMapper.getFactory().createParser(is))
         {
-
-            JsonParser jp = jfactory.createParser(is);
-            jp.setCodec(npmJacksonMapper);
-
             Assert.isTrue(jp.nextToken() == JsonToken.START_OBJECT, "npm changes feed should be JSON object.");
             Assert.isTrue(jp.nextFieldName().equals("results"), "npm changes feed should contains `results` field.");
             Assert.isTrue(jp.nextToken() == JsonToken.START_ARRAY, "npm changes feed `results` should be array.");
 
-            StringBuffer sb = new StringBuffer();
-            while (jp.nextToken() != null)
-            {
-                JsonToken nextToken = jp.currentToken();
-                if (nextToken == JsonToken.END_ARRAY)
-                {
-                    break;
-                }
-
-                JsonNode node = jp.readValueAsTree();
-                sb.append(node.toString());
-
-                String changeValue = sb.toString();
-
-                Change change;
-                try
-                {
-                    change = npmJacksonMapper.readValue(changeValue, Change.class);
-                }
-                catch (Exception e)
-                {
-                    logger.error("Failed to parse NPM changes feed [{}] since [{}]: \n {}",
-                                 repositoryConfiguration.getReplicateUrl(),
-                                 repositoryConfiguration.getLastChangeId(),
-                                 changeValue,
-                                 e);
-
-                    return result;
-                }
-
-                PackageFeed packageFeed = change.getDoc();
-                try
-                {
-                    npmPackageFeedParser.parseFeed(repository, packageFeed);
-                }
-                catch (Exception e)
-                {
-                    logger.error("Failed to parse NPM feed [{}/{}]",
-                                 ((RepositoryData)repository).getRemoteRepository().getUrl(),
-                                 packageFeed.getName(),
-                                 e);
-
-                }
-
-                result = change.getSeq();
-                sb = new StringBuffer();
-            }
-
+            Iterator<Change> changes = new ChangesIterator(jp, repositoryConfiguration.getReplicateUrl(), since);
+            result = npmPackageFeedParser.parseChanges(repository, changes, CHANGES_PARSE_BATCH_SIZE);
         }
 
         logger.debug("Fetched remote changes for  [{}] since [{}].",
                      repositoryConfiguration.getReplicateUrl(),
-                     repositoryConfiguration.getLastChangeId());
+                     since);
 
         return result;
     }
@@ -522,4 +468,80 @@ public class NpmRepositoryFeatures implements RepositoryFeatures
         return configurationManager.getConfiguration();
     }
 
+    /**
+     * Binds every change straight from the stream, without an intermediate tree, up to the first change which can't be
+     * read.
+     */
+    private static class ChangesIterator
+            implements Iterator<Change>
+    {
+
+        private final JsonParser jp;
+
+        private final String replicateUrl;
+
+        private final long since;
+
+        private Change next;
+
+        private boolean done;
+
+        ChangesIterator(JsonParser jp,
+                        String replicateUrl,
+                        long since)
+        {
+            this.jp = jp;
+            this.replicateUrl = replicateUrl;
+            this.since = since;
+        }
+
+        @Override
+        public boolean hasNext()
+        {
+            if (next != null)
+            {
+                return true;
+            }
+            if (done)
+            {
+                return false;
+            }
+
+            try
+            {
+                if (jp.nextToken() == JsonToken.START_OBJECT)
+                {
+                    next = jp.readValueAs(Change.class);
+                }
+            }
+            catch (Exception e)
+            {
+                logger.error("Failed to parse NPM changes feed [{}] since [{}] at [{}].",
+                             replicateUrl,
+                             since,
+                             jp.getCurrentLocation(),
+                             e);
+            }
+
+            done = next == null;
+
+            return !done;
+        }
+
+        @Override
+        public Change next()
+        {
+            if (!hasNext())
+            {
+                throw new NoSuchElementException();
+            }
+
+            Change result = next;
+            next = null;
+
+            return result;
+        }
+
+    }
+
 }
@@ -0,0 +1,271 @@
+package org.carlspring.strongbox.repository;
+
+import org.carlspring.strongbox.artifact.ArtifactTag;
+import org.carlspring.strongbox.artifact.coordinates.NpmArtifactCoordinates;
+import org.carlspring.strongbox.domain.ArtifactEntry;
+import org.carlspring.strongbox.domain.RepositoryArtifactIdGroupEntry;
+import org.carlspring.strongbox.npm.metadata.Change;
+import org.carlspring.strongbox.npm.metadata.PackageFeed;
+import org.carlspring.strongbox.npm.metadata.jackson.NpmJacksonMapperFactory;
+import org.carlspring.strongbox.providers.io.RepositoryPathLock;
+import org.carlspring.strongbox.providers.io.RepositoryPathResolver;
+import org.carlspring.strongbox.services.ArtifactEntryService;
+import org.carlspring.strongbox.services.ArtifactTagService;
+import org.carlspring.strongbox.services.RepositoryArtifactIdGroupService;
+import org.carlspring.strongbox.storage.Storage;
+import org.carlspring.strongbox.storage.repository.Repository;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Parses the recorded changes feed with small batches and several workers, the saved entries are tracked in memory
+ * instead of the database.
+ */
+class NpmPackageFeedParserTest
+{
+
+    private static final String STORAGE_ID = "storage-npm";
+
+    private static final String REPOSITORY_ID = "npmpfpt-proxy";
+
+    private static final int BATCH_SIZE = 4;
+
+    private static final int PARALLELISM = 3;
+
+    private static final int CHANGES_BATCH_SIZE = 3;
+
+    private final Set<String> existingPaths = ConcurrentHashMap.newKeySet();
+
+    private final Map<String, Integer> savedPaths = new ConcurrentHashMap<>();
+
+    private ArtifactEntryService artifactEntryService;
+
+    private Repository repository;
+
+    private NpmPackageFeedParser parser;
+
+    @BeforeEach
+    void setUp()
+    {
+        Storage storage = mock(Storage.class);
+        when(storage.getId()).thenReturn(STORAGE_ID);
+
+        repository = mock(Repository.class);
+        when(repository.getId()).thenReturn(REPOSITORY_ID);
+        when(repository.getStorage()).thenReturn(storage);
+
+        ArtifactTagService artifactTagService = mock(ArtifactTagService.class);
+        when(artifactTagService.findOneOrCreate(anyString())).thenReturn(mock(ArtifactTag.class));
+
+        artifactEntryService = mock(ArtifactEntryService.class);
+        when(artifactEntryService.findExistingPaths(eq(STORAGE_ID), eq(REPOSITORY_ID), anyCollection())).thenAnswer(
+                invocation -> {
+                    Set<String> result = new HashSet<>(invocation.<Collection<String>>getArgument(2));
+                    result.retainAll(existingPaths);
+
+                    return result;
+                });
+
+        RepositoryArtifactIdGroupService repositoryArtifactIdGroupService = mock(RepositoryArtifactIdGroupService.class);
+        when(repositoryArtifactIdGroupService.findOneOrCreate(eq(STORAGE_ID), eq(REPOSITORY_ID), anyString()))
+                .thenReturn(mock(RepositoryArtifactIdGroupEntry.class));
+        doAnswer(invocation -> {
+            String path = invocation.<ArtifactEntry>getArgument(1).getArtifactCoordinates().toPath();
+            savedPaths.merge(path, 1, Integer::sum);
+            existingPaths.add(path);
+
+            return null;
+        }).when(repositoryArtifactIdGroupService).addArtifactToGroup(any(), any());
+
+        parser = new NpmPackageFeedParser(BATCH_SIZE,
+                                          PARALLELISM,
+                                          mock(PlatformTransactionManager.class),
+                                          artifactTagService,
+                                          mock(RepositoryPathResolver.class),
+                                          artifactEntryService,
+                                          repositoryArtifactIdGroupService,
+                                          mock(RepositoryPathLock.class));
+        parser.init();
+    }
+
+    @AfterEach
+    void tearDown()
+    {
+        parser.destroy();
+    }
+
+    @Test
+    void shouldSaveEveryEntryExactlyOnce()
+        throws IOException
+    {
+        List<PackageFeed> packageFeeds = readChangesFeed();
+        Set<String> feedPaths = toPaths(packageFeeds);
+        assertThat(feedPaths).hasSizeGreaterThan(BATCH_SIZE * PARALLELISM);
+
+        // Some of the versions have already been saved before.
+        Set<String> preexistingPaths = feedPaths.stream().limit(5).collect(Collectors.toSet());
+        existingPaths.addAll(preexistingPaths);
+
+        // The same changes are received twice, e.g. when the feed is fetched again after a restart.
+        List<PackageFeed> changes = new ArrayList<>(packageFeeds);
+        changes.addAll(packageFeeds);
+
+        parser.parseFeeds(repository, changes);
+
+        assertThat(savedPaths.values()).containsOnly(1);
+        assertThat(savedPaths.keySet()).doesNotContainAnyElementsOf(preexistingPaths);
+        assertThat(existingPaths).isEqualTo(feedPaths);
+    }
+
+    @Test
+    void shouldFailWhenBatchCannotBeSaved()
+        throws IOException
+    {
+        List<PackageFeed> packageFeeds = readChangesFeed();
+        String failedPackage = packageFeeds.get(0).getName();
+
+        when(artifactEntryService.findExistingPaths(eq(STORAGE_ID), eq(REPOSITORY_ID), anyCollection())).thenAnswer(
+                invocation -> {
+                    Collection<String> paths = invocation.getArgument(2);
+                    if (paths.stream().anyMatch(p -> p.startsWith(failedPackage + "/")))
+                    {
+                        throw new IllegalStateException("Database is not available.");
+                    }
+
+                    return new HashSet<>();
+                });
+
+        assertThatThrownBy(() -> parser.parseFeeds(repository, packageFeeds))
+                .isInstanceOf(IOException.class)
+                .hasMessageContaining(STORAGE_ID + "/" + REPOSITORY_ID);
+
+        // The other workers are not stopped by the failed batch.
+        assertThat(savedPaths).isNotEmpty();
+        assertThat(savedPaths.keySet()).noneMatch(p -> p.startsWith(failedPackage + "/"));
+    }
+
+    @Test
+    void shouldNotMovePastFailedChangesBatch()
+        throws IOException
+    {
+        List<Change> changes = readChanges();
+        assertThat(changes).hasSizeGreaterThan(CHANGES_BATCH_SIZE * 2);
+
+        // The second batch fails, the batches after it would be saved.
+        failPackage(changes.get(CHANGES_BATCH_SIZE).getDoc().getName());
+
+        long lastSeq = parser.parseChanges(repository, changes.iterator(), CHANGES_BATCH_SIZE);
+
+        assertThat(lastSeq).isEqualTo((long) changes.get(CHANGES_BATCH_SIZE - 1).getSeq());
+        assertThat(savedPaths.keySet())
+                .containsAll(toPaths(toPackageFeeds(changes.subList(0, CHANGES_BATCH_SIZE))))
+                .doesNotContainAnyElementsOf(toPaths(toPackageFeeds(changes.subList(CHANGES_BATCH_SIZE * 2,
+                                                                                    changes.size()))));
+    }
+
+    @Test
+    void shouldNotMovePastFailedFirstChangesBatch()
+        throws IOException
+    {
+        List<Change> changes = readChanges();
+
+        failPackage(changes.get(0).getDoc().getName());
+
+        long lastSeq = parser.parseChanges(repository, changes.iterator(), CHANGES_BATCH_SIZE);
+
+        assertThat(lastSeq).isEqualTo(0);
+        assertThat(savedPaths.keySet()).doesNotContainAnyElementsOf(
+                toPaths(toPackageFeeds(changes.subList(CHANGES_BATCH_SIZE, changes.size()))));
+    }
+
+    @Test
+    void shouldReturnLastChangeSeq()
+        throws IOException
+    {
+        List<Change> changes = readChanges();
+
+        long lastSeq = parser.parseChanges(repository, changes.iterator(), CHANGES_BATCH_SIZE);
+
+        assertThat(lastSeq).isEqualTo((long) changes.get(changes.size() - 1).getSeq());
+        assertThat(existingPaths).isEqualTo(toPaths(toPackageFeeds(changes)));
+    }
+
+    private void failPackage(String failedPackage)
+    {
+        when(artifactEntryService.findExistingPaths(eq(STORAGE_ID), eq(REPOSITORY_ID), anyCollection())).thenAnswer(
+                invocation -> {
+                    Collection<String> paths = invocation.getArgument(2);
+                    if (paths.stream().anyMatch(p -> p.startsWith(failedPackage + "/")))
+                    {
+                        throw new IllegalStateException("Database is not available.");
+                    }
+
+                    Set<String> result = new HashSet<>(paths);
+                    result.retainAll(existingPaths);
+
+                    return result;
+                });
+    }
+
+    private List<PackageFeed> readChangesFeed()
+        throws IOException
+    {
+        return toPackageFeeds(readChanges());
+    }
+
+    private List<Change> readChanges()
+        throws IOException
+    {
+        ObjectMapper mapper = NpmJacksonMapperFactory.createObjectMapper();
+
+        List<Change> result = new ArrayList<>();
+        try (InputStream is = getClass().getResourceAsStream("/org/carlspring/strongbox/cron/jobs/changesFeed.json"))
+        {
+            for (JsonNode change : mapper.readTree(is).get("results"))
+            {
+                result.add(mapper.treeToValue(change, Change.class));
+            }
+        }
+
+        return result;
+    }
+
+    private List<PackageFeed> toPackageFeeds(List<Change> changes)
+    {
+        return changes.stream().map(Change::getDoc).collect(Collectors.toList());
+    }
+
+    private Set<String> toPaths(List<PackageFeed> packageFeeds)
+    {
+        return packageFeeds.stream()
+                           .flatMap(f -> f.getVersions().getAdditionalProperties().values().stream())
+                           .map(v -> NpmArtifactCoordinates.of(v.getName(), v.getVersion()).toPath())
+                           .collect(Collectors.toSet());
+    }
+
+}
@@ -21,7 +21,9 @@ import org.springframework.util.Assert;
 @Entity
 @XmlRootElement(name = "nugetArtifactCoordinates")
 @XmlAccessorType(XmlAccessType.NONE)
-@ArtifactCoordinatesLayout(name = NugetArtifactCoordinates.LAYOUT_NAME, alias = NugetArtifactCoordinates.LAYOUT_ALIAS)
+@ArtifactCoordinatesLayout(name = NugetArtifactCoordinates.LAYOUT_NAME,
+                           alias = NugetArtifactCoordinates.LAYOUT_ALIAS,
+                           registrationId = NugetArtifactCoordinates.REGISTRATION_ID)
 public class NugetArtifactCoordinates
         extends AbstractArtifactCoordinates<NugetArtifactCoordinates, SemanticVersion>
 {
@@ -29,6 +31,8 @@ public class NugetArtifactCoordinates
     public static final String LAYOUT_NAME = "NuGet";
 
     public static final String LAYOUT_ALIAS = "nuget";
+
+    public static final int REGISTRATION_ID = 2;
     
     public static final String ID = "id";
 
@@ -112,12 +112,11 @@ public class NugetODataQueryVisitor extends NugetODataFilterBaseVisitor<Predicat
     {
         String attribute = ctx.ATTRIBUTE().getText().toLowerCase();
 
-        if (ctx.fuctionExp().TO_LOWER() != null)
-        {
-            attribute = String.format("%s.toLowerCase()", attribute);
-        }
+        // `tolower()` is served from the lower case coordinates copy, so that the index can be used.
+        String coordinates = ctx.fuctionExp().TO_LOWER() != null ? "lowerCaseCoordinates" : "coordinates";
 
-        return Predicate.of(ExpOperator.EQ.of(String.format("artifactCoordinates.coordinates.%s",
+        return Predicate.of(ExpOperator.EQ.of(String.format("artifactCoordinates.%s.%s",
+                                                            coordinates,
                                                             attribute),
                                               null));
     }
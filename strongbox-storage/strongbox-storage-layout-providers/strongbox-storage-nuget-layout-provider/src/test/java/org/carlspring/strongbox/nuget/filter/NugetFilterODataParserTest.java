@@ -93,7 +93,7 @@ public class NugetFilterODataParserTest
         QueryTemplate<Long, ArtifactEntry> queryTemplate = new OQueryTemplate<>(entityManager);
         
         assertThat(((OQueryTemplate<Long, ArtifactEntry>) queryTemplate).calculateQueryString(selector)).isEqualTo("SELECT COUNT(*) FROM ArtifactEntry WHERE " +
-                                                                                                                   "artifactCoordinates.coordinates.id.toLowerCase() = :id_0 AND tagSet CONTAINS (name = :name_1) AND " +
+                                                                                                                   "artifactCoordinates.lowerCaseCoordinates.id = :id_0 AND tagSet CONTAINS (name = :name_1) AND " +
                                                                                                                    "artifactCoordinates.coordinates.version = :version_1 AND storageId = :storageId_1 AND repositoryId = :repositoryId_2 LIMIT 1000");
         
         Map<String, Object> parameterMap = ((OQueryTemplate<Long, ArtifactEntry>) queryTemplate).exposeParameterMap(selector.getPredicate());
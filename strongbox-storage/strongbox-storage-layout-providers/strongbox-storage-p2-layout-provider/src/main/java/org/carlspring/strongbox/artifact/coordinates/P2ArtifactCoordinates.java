@@ -13,11 +13,13 @@ import javax.persistence.Entity;
  * Example: strongbox.p2/1.0.0/osgi.bundle
  */
 @Entity
-@ArtifactCoordinatesLayout("p2")
+@ArtifactCoordinatesLayout(value = "p2", registrationId = P2ArtifactCoordinates.REGISTRATION_ID)
 public class P2ArtifactCoordinates
         extends AbstractArtifactCoordinates<P2ArtifactCoordinates, P2ArtifactCoordinates>
 {
 
+    public static final int REGISTRATION_ID = 3;
+
     public static final String ID = "id";
 
     public static final String VERSION = "version";
@@ -25,7 +25,9 @@ import org.apache.commons.lang3.StringUtils;
 @SuppressWarnings("serial")
 @XmlRootElement(name = "PypiArtifactCoordinates")
 @XmlAccessorType(XmlAccessType.NONE)
-@ArtifactCoordinatesLayout(name = PypiArtifactCoordinates.LAYOUT_NAME, alias = PypiArtifactCoordinates.LAYOUT_ALIAS)
+@ArtifactCoordinatesLayout(name = PypiArtifactCoordinates.LAYOUT_NAME,
+                           alias = PypiArtifactCoordinates.LAYOUT_ALIAS,
+                           registrationId = PypiArtifactCoordinates.REGISTRATION_ID)
 public class PypiArtifactCoordinates
     extends AbstractArtifactCoordinates<PypiArtifactCoordinates, SemanticVersion>
 {
@@ -34,6 +36,8 @@ public class PypiArtifactCoordinates
 
     public static final String LAYOUT_ALIAS = "pypi";
 
+    public static final int REGISTRATION_ID = 4;
+
     public static final String DISTRIBUTION = "distribution";
 
     public static final String VERSION = "version";
@@ -35,7 +35,9 @@ import java.util.Map;
 @SuppressWarnings("serial")
 @XmlRootElement(name = "PypiArtifactCoordinates")
 @XmlAccessorType(XmlAccessType.NONE)
-@ArtifactCoordinatesLayout(name = RpmArtifactCoordinates.LAYOUT_NAME, alias = RpmArtifactCoordinates.LAYOUT_ALIAS)
+@ArtifactCoordinatesLayout(name = RpmArtifactCoordinates.LAYOUT_NAME,
+                           alias = RpmArtifactCoordinates.LAYOUT_ALIAS,
+                           registrationId = RpmArtifactCoordinates.REGISTRATION_ID)
 public class RpmArtifactCoordinates
         extends AbstractArtifactCoordinates<RpmArtifactCoordinates, SemanticVersion>
 {
@@ -43,6 +45,8 @@ public class RpmArtifactCoordinates
 
     public static final String LAYOUT_ALIAS = "rpm";
 
+    public static final int REGISTRATION_ID = 5;
+
     public static final String BASE_NAME = "base_name";
 
     public static final String VERSION = "version";
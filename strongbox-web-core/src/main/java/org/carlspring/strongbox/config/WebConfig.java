@@ -18,6 +18,7 @@ import org.carlspring.strongbox.interceptors.MavenArtifactRequestInterceptor;
 import org.carlspring.strongbox.jtwig.extensions.ByteSizeConversionExtension;
 import org.carlspring.strongbox.mapper.WebObjectMapperSubtypes;
 import org.carlspring.strongbox.providers.io.RepositoryPathResolver;
+import org.carlspring.strongbox.services.DirectoryListingCacheManager;
 import org.carlspring.strongbox.services.DirectoryListingService;
 import org.carlspring.strongbox.services.DirectoryListingServiceImpl;
 import org.carlspring.strongbox.utils.CustomAntPathMatcher;
@@ -105,6 +106,9 @@ public class WebConfig
     @Inject
     private ConfigurationManager configurationManager;
 
+    @Inject
+    private DirectoryListingCacheManager directoryListingCacheManager;
+
     WebConfig()
     {
         logger.debug("Initialized web configuration.");
@@ -206,17 +210,22 @@ public class WebConfig
     }
 
     private DirectoryListingService createDirectoryListingServiceForTemplate(String template)
+    {
+        return new DirectoryListingServiceImpl(createDirectoryListingBaseUrl(template));
+    }
+
+    private String createDirectoryListingBaseUrl(String template)
     {
         String baseUrl = StringUtils.chomp(configurationManager.getConfiguration().getBaseUrl(), "/");
-        String finalUrl = String.format(template, baseUrl);
-        return new DirectoryListingServiceImpl(finalUrl);
+        return String.format(template, baseUrl);
     }
 
     @Bean
     @Qualifier("browseRepositoryDirectoryListingService")
     public DirectoryListingService getBrowseRepositoryDirectoryListingService()
     {
-        return createDirectoryListingServiceForTemplate("%s/api/browse");
+        return new DirectoryListingServiceImpl(createDirectoryListingBaseUrl("%s/api/browse"),
+                                               directoryListingCacheManager);
     }
 
     @Override
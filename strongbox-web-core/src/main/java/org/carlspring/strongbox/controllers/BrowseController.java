@@ -12,6 +12,7 @@ import javax.inject.Inject;
 import javax.servlet.http.HttpServletRequest;
 import java.io.IOException;
 import java.net.URL;
+import java.net.URLEncoder;
 import java.nio.file.Files;
 import java.util.Map;
 import java.util.Optional;
@@ -146,6 +147,10 @@ public class BrowseController
                              MediaType.APPLICATION_JSON_VALUE })
     public Object repositoryContent(@RepositoryMapping Repository repository,
                                     @PathVariable("path") String rawPath,
+                                    @ApiParam(value = "The maximum number of entries to list")
+                                    @RequestParam(value = "limit", required = false) Integer limit,
+                                    @ApiParam(value = "The name of the entry to list the entries after")
+                                    @RequestParam(value = "after", required = false) String after,
                                     HttpServletRequest request,
                                     ModelMap model,
                                     @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String acceptHeader)
@@ -172,7 +177,13 @@ public class BrowseController
                 return getNotFoundResponseEntity("Requested repository doesn't allow browsing.", acceptHeader);
             }
 
-            DirectoryListing directoryListing = directoryListingService.fromRepositoryPath(repositoryPath);
+            if (limit != null && limit < 1)
+            {
+                return getBadRequestResponseEntity("The limit should be a positive number.", acceptHeader);
+            }
+
+            DirectoryListing directoryListing = directoryListingService.fromRepositoryPath(repositoryPath, limit,
+                                                                                           StringUtils.defaultIfEmpty(after, null));
 
             if (acceptHeader != null && acceptHeader.contains(MediaType.APPLICATION_JSON_VALUE))
             {
@@ -189,6 +200,11 @@ public class BrowseController
             model.addAttribute("downloadBaseUrl", downloadBaseUrl);
             model.addAttribute("directories", directoryListing.getDirectories());
             model.addAttribute("files", directoryListing.getFiles());
+            if (directoryListing.getNext() != null)
+            {
+                model.addAttribute("nextUrl", String.format("?limit=%s&after=%s", limit,
+                                                            URLEncoder.encode(directoryListing.getNext(), "UTF-8")));
+            }
 
             return new ModelAndView("directoryListing", model);
         }
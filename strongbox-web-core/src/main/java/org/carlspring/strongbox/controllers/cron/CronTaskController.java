@@ -9,6 +9,7 @@ import org.carlspring.strongbox.cron.jobs.CronJobsDefinitionsRegistry;
 import org.carlspring.strongbox.cron.jobs.GroovyCronJob;
 import org.carlspring.strongbox.cron.services.CronJobSchedulerService;
 import org.carlspring.strongbox.cron.services.CronTaskConfigurationService;
+import org.carlspring.strongbox.cron.services.JobManager;
 import org.carlspring.strongbox.forms.cron.CronTaskConfigurationForm;
 import org.carlspring.strongbox.validation.RequestBodyValidationException;
 
@@ -75,6 +76,11 @@ public class CronTaskController
 
     private static final String SUCCESSFUL_GET_GROOVY_SCRIPTS = "The groovy scripts named retrieved successfully.";
 
+    private static final String SUCCESSFUL_GET_PROGRESS = "The cron task progress retrieved successfully.";
+    private static final String NOT_RUNNING_CRON_TASK = "The cron task is not running on this instance.";
+
+    private static final String SUCCESSFUL_INTERRUPT = "The cron task was requested to stop.";
+
     @Inject
     private CronTaskConfigurationService cronTaskConfigurationService;
 
@@ -90,6 +96,9 @@ public class CronTaskController
     @Inject
     private PropertiesBooter propertiesBooter;
 
+    @Inject
+    private JobManager jobManager;
+
 
     @ApiOperation(value = "Used to save a new cron task job")
     @ApiResponses(value = { @ApiResponse(code = 200, message = SUCCESSFUL_SAVE_CONFIGURATION),
@@ -253,6 +262,36 @@ public class CronTaskController
         return ResponseEntity.ok(config);
     }
 
+    @ApiOperation(value = "Used to get the progress of the running cron task on given UUID")
+    @ApiResponses(value = { @ApiResponse(code = 200, message = SUCCESSFUL_GET_PROGRESS),
+                            @ApiResponse(code = 404, message = NOT_RUNNING_CRON_TASK) })
+    @GetMapping(value = "/{UUID}/progress",
+                produces = { MediaType.APPLICATION_JSON_VALUE })
+    public ResponseEntity getProgress(@PathVariable("UUID") UUID uuid,
+                                      @RequestHeader(HttpHeaders.ACCEPT) String acceptHeader)
+    {
+        return jobManager.getRunningExecution(uuid.toString())
+                         .<ResponseEntity>map(e -> ResponseEntity.ok(e.getProgress()))
+                         .orElseGet(() -> getNotFoundResponseEntity(NOT_RUNNING_CRON_TASK, acceptHeader));
+    }
+
+    @ApiOperation(value = "Used to stop the running cron task on given UUID, the next execution resumes from the last checkpoint")
+    @ApiResponses(value = { @ApiResponse(code = 200, message = SUCCESSFUL_INTERRUPT),
+                            @ApiResponse(code = 404, message = NOT_RUNNING_CRON_TASK) })
+    @PostMapping(value = "/{UUID}/interrupt",
+                 produces = { MediaType.TEXT_PLAIN_VALUE,
+                              MediaType.APPLICATION_JSON_VALUE })
+    public ResponseEntity interrupt(@PathVariable("UUID") UUID uuid,
+                                    @RequestHeader(HttpHeaders.ACCEPT) String acceptHeader)
+    {
+        if (!cronJobSchedulerService.interruptJob(uuid))
+        {
+            return getNotFoundResponseEntity(NOT_RUNNING_CRON_TASK, acceptHeader);
+        }
+
+        return getSuccessfulResponseEntity(SUCCESSFUL_INTERRUPT, acceptHeader);
+    }
+
     @ApiOperation(value = "Used to upload groovy script for groovy cron task")
     @ApiResponses(value = { @ApiResponse(code = 200, message = SUCCESSFUL_UPLOAD_GROOVY_SCRIPT),
                             @ApiResponse(code = 400, message = FAILED_UPLOAD_GROOVY_SCRIPT) })
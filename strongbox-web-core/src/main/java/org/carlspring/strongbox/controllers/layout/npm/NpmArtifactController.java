@@ -14,7 +14,7 @@ import java.text.SimpleDateFormat;
 import java.util.Date;
 import java.util.List;
 import java.util.Optional;
-import java.util.stream.Collectors;
+import java.util.zip.GZIPInputStream;
 
 import javax.inject.Inject;
 import javax.servlet.ServletInputStream;
@@ -27,7 +27,6 @@ import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.core.JsonToken;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
-import org.apache.commons.codec.digest.DigestUtils;
 import org.apache.commons.compress.archivers.tar.TarArchiveEntry;
 import org.apache.commons.compress.archivers.tar.TarArchiveInputStream;
 import org.apache.commons.compress.compressors.gzip.GzipCompressorInputStream;
@@ -42,16 +41,15 @@ import org.carlspring.strongbox.data.criteria.Paginator;
 import org.carlspring.strongbox.data.criteria.Predicate;
 import org.carlspring.strongbox.npm.NpmSearchRequest;
 import org.carlspring.strongbox.npm.NpmViewRequest;
-import org.carlspring.strongbox.npm.metadata.DistTags;
 import org.carlspring.strongbox.npm.metadata.PackageFeed;
 import org.carlspring.strongbox.npm.metadata.PackageVersion;
 import org.carlspring.strongbox.npm.metadata.SearchResults;
-import org.carlspring.strongbox.npm.metadata.Time;
-import org.carlspring.strongbox.npm.metadata.Versions;
 import org.carlspring.strongbox.providers.ProviderImplementationException;
 import org.carlspring.strongbox.providers.io.RepositoryPath;
 import org.carlspring.strongbox.providers.layout.NpmPackageDesc;
 import org.carlspring.strongbox.providers.layout.NpmPackageSupplier;
+import org.carlspring.strongbox.providers.layout.NpmPackument;
+import org.carlspring.strongbox.providers.layout.NpmPackumentStore;
 import org.carlspring.strongbox.providers.layout.NpmSearchResultSupplier;
 import org.carlspring.strongbox.providers.layout.NpmUnpublishService;
 import org.carlspring.strongbox.providers.repository.RepositoryProvider;
@@ -125,6 +123,9 @@ public class NpmArtifactController
     @Inject
     private NpmUnpublishService npmUnpublishService;
 
+    @Inject
+    private NpmPackumentStore npmPackumentStore;
+
     @GetMapping(path = "{storageId}/{repositoryId}/-/v1/search")
     @PreAuthorize("hasAuthority('ARTIFACTS_VIEW')")
     public void search(@RepositoryMapping Repository repository,
@@ -148,11 +149,13 @@ public class NpmArtifactController
         predicate.and(Predicate.of(ExpOperator.EQ.of("artifactCoordinates.coordinates.extension", "tgz")));
         predicate.and(Predicate.of(ExpOperator.CONTAINS.of("tagSet.name", ArtifactTag.LAST_VERSION)));
 
+        String textPattern = text.toLowerCase() + "%";
+
         Predicate lkePredicate = Predicate.empty().nested();
         lkePredicate.or(
-                Predicate.of(ExpOperator.LIKE.of("artifactCoordinates.coordinates.name.toLowerCase()", text + "%")));
+                Predicate.of(ExpOperator.LIKE.of("artifactCoordinates.lowerCaseCoordinates.name", textPattern)));
         lkePredicate.or(
-                Predicate.of(ExpOperator.LIKE.of("artifactCoordinates.coordinates.scope.toLowerCase()", text + "%")));
+                Predicate.of(ExpOperator.LIKE.of("artifactCoordinates.lowerCaseCoordinates.scope", textPattern)));
         predicate.or(lkePredicate);
 
 
@@ -220,84 +223,109 @@ public class NpmArtifactController
     public void viewPackageFeedWithScope(@RepositoryMapping Repository repository,
                                          @PathVariable(name = "packageScope") String packageScope,
                                          @PathVariable(name = "packageName") String packageName,
+                                         HttpServletRequest request,
                                          HttpServletResponse response)
             throws Exception
     {
-        final String storageId = repository.getStorage().getId();
-        final String repositoryId = repository.getId();
-
         String packageId = NpmArtifactCoordinates.calculatePackageId(packageScope, packageName);
 
         NpmViewRequest npmSearchRequest = new NpmViewRequest();
         npmSearchRequest.setPackageId(packageId);
         viewPackageEventListener.setNpmSearchRequest(npmSearchRequest);
 
-        PackageFeed packageFeed = new PackageFeed();
-
-        packageFeed.setName(packageId);
-        packageFeed.setAdditionalProperty("_id", packageId);
-
-        Predicate predicate = createSearchPredicate(packageScope, packageName);
+        if (!npmPackumentStore.supports(repository))
+        {
+            PackageFeed packageFeed = createPackageFeed(repository, packageScope, packageName);
 
-        RepositoryProvider provider = repositoryProviderRegistry.getProvider(repository.getType());
+            response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+            response.getOutputStream().write(npmJacksonMapper.writeValueAsBytes(packageFeed));
 
-        Paginator paginator = new Paginator();
-        paginator.setProperty("version");
+            return;
+        }
 
-        List<Path> searchResult = provider.search(storageId, repositoryId, predicate, paginator);
+        String accept = request.getHeader(HttpHeaders.ACCEPT);
+        boolean abbreviated = accept != null && accept.contains(NpmPackumentStore.ABBREVIATED_MEDIA_TYPE);
 
-        Versions versions = new Versions();
-        packageFeed.setVersions(versions);
+        NpmPackument packument = npmPackumentStore.getPackument(repository, packageId, abbreviated,
+                                                                () -> createPackageFeed(repository,
+                                                                                        packageScope,
+                                                                                        packageName));
+        if (packument == null)
+        {
+            // No versions stored, the same empty document as for the other repository types.
+            response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+            response.getOutputStream()
+                    .write(npmJacksonMapper.writeValueAsBytes(NpmPackumentStore.createPackageFeed(packageId)));
 
-        Time npmTime = new Time();
-        packageFeed.setTime(npmTime);
+            return;
+        }
 
-        DistTags distTags = new DistTags();
-        packageFeed.setDistTags(distTags);
+        response.setHeader(HttpHeaders.ETAG, packument.getEtag());
+        response.setHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT + ", " + HttpHeaders.ACCEPT_ENCODING);
 
-        searchResult.stream().map(npmPackageSupplier).forEach(p -> {
-            PackageVersion npmPackage = p.getNpmPackage();
-            versions.setAdditionalProperty(npmPackage.getVersion(), npmPackage);
+        String ifNoneMatch = request.getHeader(HttpHeaders.IF_NONE_MATCH);
+        if (ifNoneMatch != null && (ifNoneMatch.contains(packument.getEtag()) || ifNoneMatch.trim().equals("*")))
+        {
+            response.setStatus(HttpStatus.NOT_MODIFIED.value());
 
-            npmTime.setAdditionalProperty(npmPackage.getVersion(), p.getReleaseDate());
+            return;
+        }
 
-            Date created = npmTime.getCreated();
-            npmTime.setCreated(created == null || created.before(p.getReleaseDate()) ? p.getReleaseDate() : created);
+        response.setContentType(abbreviated ? NpmPackumentStore.ABBREVIATED_MEDIA_TYPE
+                                            : MediaType.APPLICATION_JSON_VALUE);
 
-            Date modified = npmTime.getModified();
-            npmTime.setModified(modified == null || modified.before(p.getReleaseDate()) ? p.getReleaseDate()
-                                                                                        : modified);
+        String acceptEncoding = request.getHeader(HttpHeaders.ACCEPT_ENCODING);
+        if (acceptEncoding != null && acceptEncoding.contains("gzip"))
+        {
+            response.setHeader(HttpHeaders.CONTENT_ENCODING, "gzip");
+            response.setContentLength(packument.getGzipContent().length);
+            response.getOutputStream().write(packument.getGzipContent());
 
-            if (p.isLastVersion())
-            {
-                distTags.setLatest(npmPackage.getVersion());
-            }
+            return;
+        }
 
-        });
-        packageFeed.setAdditionalProperty("_rev", generateRevisionHashcode(packageFeed));
-        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
-        response.getOutputStream().write(npmJacksonMapper.writeValueAsBytes(packageFeed));
+        try (InputStream is = new GZIPInputStream(new ByteArrayInputStream(packument.getGzipContent())))
+        {
+            IOUtils.copy(is, response.getOutputStream());
+        }
     }
 
-    private String generateRevisionHashcode(PackageFeed packageFeed)
+    private PackageFeed createPackageFeed(Repository repository,
+                                          String packageScope,
+                                          String packageName)
     {
-        String versionsShasum = packageFeed.getVersions().getAdditionalProperties()
-                                           .values()
-                                           .stream()
-                                           .map(x -> x.getDist().getShasum())
-                                           .collect(Collectors.joining());
-        return packageFeed.getVersions().getAdditionalProperties().size() + "-" +
-               DigestUtils.sha1Hex(versionsShasum).substring(0, 16);
+        final String storageId = repository.getStorage().getId();
+        final String repositoryId = repository.getId();
+
+        String packageId = NpmArtifactCoordinates.calculatePackageId(packageScope, packageName);
+        PackageFeed packageFeed = NpmPackumentStore.createPackageFeed(packageId);
+
+        Predicate predicate = createSearchPredicate(packageScope, packageName);
+
+        RepositoryProvider provider = repositoryProviderRegistry.getProvider(repository.getType());
+
+        Paginator paginator = new Paginator();
+        paginator.setProperty("version");
+
+        List<Path> searchResult = provider.search(storageId, repositoryId, predicate, paginator);
+
+        searchResult.stream()
+                    .map(npmPackageSupplier)
+                    .forEach(p -> NpmPackumentStore.addVersion(packageFeed, p));
+        NpmPackumentStore.updateRevision(packageFeed);
+
+        return packageFeed;
     }
 
     @GetMapping(path = "{storageId}/{repositoryId}/{packageName}")
     @PreAuthorize("hasAuthority('ARTIFACTS_VIEW')")
     public void viewPackageFeed(@RepositoryMapping Repository repository,
                                 @PathVariable(name = "packageName") String packageName,
+                                HttpServletRequest request,
                                 HttpServletResponse response)
             throws Exception
     {
-        viewPackageFeedWithScope(repository, null, packageName, response);
+        viewPackageFeedWithScope(repository, null, packageName, request, response);
     }
 
     private Predicate createSearchPredicate(String packageScope,
@@ -5,7 +5,9 @@ import org.carlspring.strongbox.controllers.BaseArtifactController;
 import org.carlspring.strongbox.data.criteria.Expression.ExpOperator;
 import org.carlspring.strongbox.data.criteria.Paginator;
 import org.carlspring.strongbox.data.criteria.Predicate;
+import org.carlspring.strongbox.domain.ArtifactEntry;
 import org.carlspring.strongbox.providers.ProviderImplementationException;
+import org.carlspring.strongbox.providers.io.RepositoryFiles;
 import org.carlspring.strongbox.providers.io.RepositoryPath;
 import org.carlspring.strongbox.providers.repository.RepositoryProvider;
 import org.carlspring.strongbox.providers.repository.RepositoryProviderRegistry;
@@ -19,19 +21,22 @@ import org.carlspring.strongbox.web.RepositoryMapping;
 import javax.inject.Inject;
 import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
-import javax.ws.rs.core.MediaType;
 
 import java.io.IOException;
 import java.net.HttpURLConnection;
 import java.net.URI;
 import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.TreeSet;
 
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.util.StringUtils;
@@ -61,22 +66,33 @@ import io.swagger.annotations.ApiResponses;
 public class PypiArtifactController extends BaseArtifactController
 {
 
+    public static final String SIMPLE_JSON_MEDIA_TYPE = "application/vnd.pypi.simple.v1+json";
+
+    public static final String SIMPLE_HTML_MEDIA_TYPE = "application/vnd.pypi.simple.v1+html";
+
     private static final Set<String> VALID_ACTIONS = Sets.newHashSet("file_upload");
 
     private static final Set<String> VALID_FILE_TYPES = Sets.newHashSet("sdist", "bdist_wheel");
 
+    private static final MediaType SIMPLE_JSON = MediaType.parseMediaType(SIMPLE_JSON_MEDIA_TYPE);
+
+    private static final MediaType SIMPLE_HTML = MediaType.parseMediaType(SIMPLE_HTML_MEDIA_TYPE);
+
     @Inject
     private RepositoryProviderRegistry repositoryProviderRegistry;
 
     @Inject
     private PypiBrowsePackageHtmlResponseBuilder htmlResponseBuilder;
 
+    @Inject
+    private PypiSimpleIndexCacheManager simpleIndexCacheManager;
+
     @ApiOperation(value = "This end point will be used to upload/deploy python package.")
     @ApiResponses(value = { @ApiResponse(code = HttpURLConnection.HTTP_OK, message = "python package was deployed successfully."),
                             @ApiResponse(code = HttpURLConnection.HTTP_INTERNAL_ERROR, message = "An error occurred while executing request."),
                             @ApiResponse(code = HttpURLConnection.HTTP_UNAVAILABLE, message = "Service Unavailable.") })
     @PreAuthorize("hasAuthority('ARTIFACTS_DEPLOY')")
-    @RequestMapping(path = "/{storageId}/{repositoryId}", method = RequestMethod.POST, consumes = MediaType.MULTIPART_FORM_DATA)
+    @RequestMapping(path = "/{storageId}/{repositoryId}", method = RequestMethod.POST, consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
     public ResponseEntity<String> uploadPackage(
                                                 @RepositoryMapping Repository repository,
                                                 @RequestPart(name = "comment", required = false) String comment,
@@ -219,13 +235,48 @@ public class PypiArtifactController extends BaseArtifactController
         provideArtifactDownloadResponse(request, response, headers, repositoryPath);
     }
 
+    @ApiOperation(value = "This Endpoint will be used to retreive all the packages present in the repository.")
+    @ApiResponses(value = { @ApiResponse(code = HttpURLConnection.HTTP_OK, message = "Success"),
+                            @ApiResponse(code = HttpURLConnection.HTTP_NOT_MODIFIED, message = "Not Modified"),
+                            @ApiResponse(code = HttpURLConnection.HTTP_NOT_FOUND, message = "Request Url Not Found"),
+                            @ApiResponse(code = HttpURLConnection.HTTP_INTERNAL_ERROR, message = "An error occurred while executing download request."),
+                            @ApiResponse(code = HttpURLConnection.HTTP_UNAVAILABLE, message = "Service Unavailable.") })
+    @PreAuthorize("hasAuthority('ARTIFACTS_RESOLVE')")
+    @RequestMapping(path = "/{storageId}/{repositoryId}/simple", method = RequestMethod.GET)
+    public ResponseEntity<String> browseRepository(@RepositoryMapping Repository repository,
+                                                   @RequestHeader HttpHeaders headers)
+        throws Exception
+    {
+        logger.info("Get simple index request for storageId -> [{}] , repositoryId -> [{}]",
+                    repository.getStorage().getId(),
+                    repository.getId());
+
+        PypiSimpleIndexPage page = simpleIndexCacheManager.get(repository, null, () ->
+        {
+            Predicate predicate = Predicate.empty();
+            predicate.and(Predicate.of(ExpOperator.EQ.of("artifactCoordinates.coordinates.packaging",
+                                                         PypiArtifactCoordinates.WHEEL_EXTENSION)));
+
+            Set<String> packageNames = new TreeSet<>();
+            for (Path path : search(repository, predicate))
+            {
+                packageNames.add(getCoordinates((RepositoryPath) path).getId());
+            }
+
+            return htmlResponseBuilder.getRootPage(repository, packageNames);
+        });
+
+        return getSimpleIndexResponse(page, headers);
+    }
+
     @ApiOperation(value = "This Endpoint will be used to retreive all the versions of packages present in artifactory.")
     @ApiResponses(value = { @ApiResponse(code = HttpURLConnection.HTTP_OK, message = "Success"),
+                            @ApiResponse(code = HttpURLConnection.HTTP_NOT_MODIFIED, message = "Not Modified"),
                             @ApiResponse(code = HttpURLConnection.HTTP_NOT_FOUND, message = "Request Url Not Found"),
                             @ApiResponse(code = HttpURLConnection.HTTP_INTERNAL_ERROR, message = "An error occurred while executing download request."),
                             @ApiResponse(code = HttpURLConnection.HTTP_UNAVAILABLE, message = "Service Unavailable.") })
     @PreAuthorize("hasAuthority('ARTIFACTS_RESOLVE')")
-    @RequestMapping(path = "/{storageId}/{repositoryId}/simple/{packageName}", method = RequestMethod.GET, produces = MediaType.TEXT_HTML)
+    @RequestMapping(path = "/{storageId}/{repositoryId}/simple/{packageName}", method = RequestMethod.GET)
     public ResponseEntity<String> browsePackage(@RepositoryMapping Repository repository,
                                                 @PathVariable(name = "packageName") String packageName,
                                                 HttpServletRequest request,
@@ -240,20 +291,101 @@ public class PypiArtifactController extends BaseArtifactController
                     repository.getStorage().getId(),
                     repository.getId(), packageNameToDownload);
 
-        RepositoryProvider repositoryProvider = repositoryProviderRegistry.getProvider(repository.getType());
+        PypiSimpleIndexPage page = simpleIndexCacheManager.get(repository, packageNameToDownload, () ->
+        {
+            Predicate predicate = Predicate.empty();
+            predicate.and(Predicate.of(ExpOperator.EQ.of("artifactCoordinates.coordinates.packaging",
+                                                         PypiArtifactCoordinates.WHEEL_EXTENSION)));
+            predicate.and(Predicate.of(ExpOperator.EQ.of("artifactCoordinates.coordinates.distribution",
+                                                         packageNameToDownload)));
+
+            return htmlResponseBuilder.getPackagePage(packageNameToDownload, search(repository, predicate));
+        });
 
-        Predicate predicate = Predicate.empty();
-        predicate.and(Predicate.of(ExpOperator.EQ.of("artifactCoordinates.coordinates.packaging",
-                                                     PypiArtifactCoordinates.WHEEL_EXTENSION)));
-        predicate.and(Predicate.of(ExpOperator.EQ.of("artifactCoordinates.coordinates.distribution",
-                                                     packageNameToDownload)));
+        return getSimpleIndexResponse(page, headers);
+    }
+
+    private List<Path> search(Repository repository,
+                              Predicate predicate)
+    {
+        RepositoryProvider repositoryProvider = repositoryProviderRegistry.getProvider(repository.getType());
 
         Paginator paginator = new Paginator();
-        List<Path> searchResult = repositoryProvider.search(repository.getStorage().getId(), repository.getId(),
-                                                            predicate, paginator);
+        paginator.setLimit(Paginator.MAX_LIMIT);
+
+        List<Path> result = new ArrayList<>();
+        List<Path> searchResult;
+        do
+        {
+            searchResult = repositoryProvider.search(repository.getStorage().getId(), repository.getId(),
+                                                     predicate, paginator);
+            result.addAll(searchResult);
+            paginator.setSkip(paginator.getSkip() + paginator.getLimit());
+        }
+        while (searchResult.size() == paginator.getLimit());
+
+        return result;
+    }
+
+    private PypiArtifactCoordinates getCoordinates(RepositoryPath repositoryPath)
+        throws IOException
+    {
+        ArtifactEntry artifactEntry = repositoryPath.getArtifactEntry();
+
+        return (PypiArtifactCoordinates) (artifactEntry != null ? artifactEntry.getArtifactCoordinates() :
+                                          RepositoryFiles.readCoordinates(repositoryPath));
+    }
+
+    /**
+     * Serves the PEP 691 JSON representation to the clients which prefer it, and the PEP 503 HTML one otherwise.
+     */
+    private ResponseEntity<String> getSimpleIndexResponse(PypiSimpleIndexPage page,
+                                                          HttpHeaders headers)
+    {
+        boolean json = acceptsJson(headers);
+        String eTag = json ? page.getJsonETag() : page.getHtmlETag();
+
+        HttpHeaders responseHeaders = new HttpHeaders();
+        responseHeaders.setETag(eTag);
+        responseHeaders.setVary(Collections.singletonList(HttpHeaders.ACCEPT));
+
+        List<String> ifNoneMatch = headers.getIfNoneMatch();
+        if (ifNoneMatch.contains(eTag) || ifNoneMatch.contains("W/" + eTag) || ifNoneMatch.contains("*"))
+        {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).headers(responseHeaders).build();
+        }
+
+        responseHeaders.set(HttpHeaders.CONTENT_TYPE, json ? SIMPLE_JSON_MEDIA_TYPE : MediaType.TEXT_HTML_VALUE);
+
+        return ResponseEntity.status(HttpStatus.OK)
+                             .headers(responseHeaders)
+                             .body(json ? page.getJson() : page.getHtml());
+    }
+
+    private boolean acceptsJson(HttpHeaders headers)
+    {
+        List<MediaType> acceptedMediaTypes = new ArrayList<>(headers.getAccept());
+        MediaType.sortBySpecificityAndQuality(acceptedMediaTypes);
+
+        for (MediaType acceptedMediaType : acceptedMediaTypes)
+        {
+            // The wildcards get the HTML, as the clients which don't ask for the JSON might not understand it.
+            if (acceptedMediaType.isWildcardType() || acceptedMediaType.isWildcardSubtype())
+            {
+                return false;
+            }
+            if (acceptedMediaType.isCompatibleWith(SIMPLE_JSON))
+            {
+                return acceptedMediaType.getQualityValue() > 0;
+            }
+            if (acceptedMediaType.isCompatibleWith(SIMPLE_HTML) ||
+                acceptedMediaType.isCompatibleWith(MediaType.TEXT_HTML))
+            {
+                return false;
+            }
+        }
 
-        String searchPackageHtmlResponse = htmlResponseBuilder.getHtmlResponse(searchResult);
-        return ResponseEntity.status(HttpStatus.OK).body(searchPackageHtmlResponse);
+        return false;
     }
 
     private ResponseEntity<String> validateAndUploadPackage(PypiArtifactMetadata pypiArtifactMetadata,
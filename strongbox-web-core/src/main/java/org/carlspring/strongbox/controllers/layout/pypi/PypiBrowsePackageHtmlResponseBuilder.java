@@ -1,81 +1,219 @@
 package org.carlspring.strongbox.controllers.layout.pypi;
 
 import org.carlspring.strongbox.artifact.coordinates.PypiArtifactCoordinates;
+import org.carlspring.strongbox.domain.ArtifactEntry;
 import org.carlspring.strongbox.providers.io.RepositoryFiles;
 import org.carlspring.strongbox.providers.io.RepositoryPath;
 import org.carlspring.strongbox.storage.repository.Repository;
 
+import javax.inject.Inject;
 import java.io.IOException;
 import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
 
-import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.apache.commons.codec.digest.MessageDigestAlgorithms;
 import org.springframework.stereotype.Component;
 import org.springframework.util.CollectionUtils;
 
 /**
- * Helper class for {@link PypiArtifactController}
- * 
+ * Helper class for {@link PypiArtifactController}, renders the pages of the simple repository API, in the PEP 503 HTML
+ * and the PEP 691 JSON representations.
+ *
  * @author ankit.tomar
  */
 @Component
 public class PypiBrowsePackageHtmlResponseBuilder
 {
 
+    public static final String API_VERSION = "1.0";
+
+    private static final String NOT_FOUND_HTML_RESPONSE = "<html>\n" +
+                                                          "        <head>\n" +
+                                                          "            <title>Not Found</title>\n" +
+                                                          "        </head>\n" +
+                                                          "        <body>\n" +
+                                                          "            <h1>Not Found</h1>\n" +
+                                                          "        </body>\n" +
+                                                          "</html>";
+
+    @Inject
+    private ObjectMapper objectMapper;
+
     public String getHtmlResponse(List<Path> filePaths)
         throws IOException
     {
-
-        String htmlResponse = "";
         if (CollectionUtils.isEmpty(filePaths))
         {
-            htmlResponse = "<html>\n" +
-                           "        <head>\n" +
-                           "            <title>Not Found</title>\n" +
-                           "        </head>\n" +
-                           "        <body>\n" +
-                           "            <h1>Not Found</h1>\n" +
-                           "        </body>\n" +
-                           "</html>";
+            return NOT_FOUND_HTML_RESPONSE;
         }
-        else
+
+        List<PackageLink> packageLinks = getPackageLinks(filePaths);
+
+        return getHtmlResponse(packageLinks.get(0).packageName, packageLinks);
+    }
+
+    /**
+     * Renders the page of a package.
+     */
+    public PypiSimpleIndexPage getPackagePage(String packageName,
+                                              List<Path> filePaths)
+        throws IOException
+    {
+        List<PackageLink> packageLinks = getPackageLinks(filePaths);
+
+        ObjectNode json = createJsonPage();
+        json.put("name", packageName);
+        ArrayNode files = json.putArray("files");
+        for (PackageLink packageLink : packageLinks)
         {
+            ObjectNode file = files.addObject();
+            file.put("filename", packageLink.fileName);
+            file.put("url", packageLink.url);
 
-            PypiArtifactCoordinates artifactCoordinates = (PypiArtifactCoordinates) RepositoryFiles.readCoordinates((RepositoryPath) filePaths.get(0));
-            final String packageName = artifactCoordinates.getId();
-
-            htmlResponse = "<html>\n" +
-                           "        <head>\n" +
-                           "            <title>Links for " + packageName + "</title>\n" +
-                           "        </head>\n" +
-                           "        <body>\n" +
-                           "            <h1>Links for " + packageName + "</h1>\n" +
-                           "                   " + getPackageLinks(filePaths) +
-                           "        </body>\n" +
-                           "</html>";
+            ObjectNode hashes = file.putObject("hashes");
+            if (packageLink.sha256 != null)
+            {
+                hashes.put("sha256", packageLink.sha256);
+            }
         }
-        return htmlResponse;
+
+        String html = packageLinks.isEmpty() ? NOT_FOUND_HTML_RESPONSE :
+                      getHtmlResponse(packageLinks.get(0).packageName, packageLinks);
+
+        return new PypiSimpleIndexPage(html, objectMapper.writeValueAsString(json));
     }
 
-    private String getPackageLinks(List<Path> filePaths)
+    /**
+     * Renders the root index of a repository, which links the pages of all of its packages.
+     */
+    public PypiSimpleIndexPage getRootPage(Repository repository,
+                                           Collection<String> packageNames)
         throws IOException
     {
+        StringBuilder html = new StringBuilder();
+        html.append("<html>\n")
+            .append("        <head>\n")
+            .append("            <title>Simple index</title>\n")
+            .append("        </head>\n")
+            .append("        <body>\n");
+
+        ObjectNode json = createJsonPage();
+        ArrayNode projects = json.putArray("projects");
+        for (String packageName : packageNames)
+        {
+            html.append("            <a href=\"")
+                .append(getRepositoryUrl(repository))
+                .append("/simple/")
+                .append(packageName)
+                .append("/\">")
+                .append(packageName)
+                .append("</a><br>\n");
+
+            projects.addObject().put("name", packageName);
+        }
+
+        html.append("        </body>\n")
+            .append("</html>");
+
+        return new PypiSimpleIndexPage(html.toString(), objectMapper.writeValueAsString(json));
+    }
+
+    private String getHtmlResponse(String packageName,
+                                   List<PackageLink> packageLinks)
+    {
+        StringBuilder html = new StringBuilder();
+        html.append("<html>\n")
+            .append("        <head>\n")
+            .append("            <title>Links for ").append(packageName).append("</title>\n")
+            .append("        </head>\n")
+            .append("        <body>\n")
+            .append("            <h1>Links for ").append(packageName).append("</h1>\n")
+            .append("                   ");
+
+        for (PackageLink packageLink : packageLinks)
+        {
+            html.append("<a href=\"").append(packageLink.url);
+            if (packageLink.sha256 != null)
+            {
+                html.append("#sha256=").append(packageLink.sha256);
+            }
+            html.append("\">").append(packageLink.fileName).append("</a><br>\n");
+        }
+
+        html.append("        </body>\n")
+            .append("</html>");
 
-        String packageLinks = "";
+        return html.toString();
+    }
 
+    private List<PackageLink> getPackageLinks(List<Path> filePaths)
+        throws IOException
+    {
+        List<PackageLink> packageLinks = new ArrayList<>(filePaths.size());
         for (Path path : filePaths)
         {
             RepositoryPath repositoryPath = (RepositoryPath) path;
-            PypiArtifactCoordinates artifactCoordinates = (PypiArtifactCoordinates) RepositoryFiles.readCoordinates(repositoryPath);
 
-            Repository repository = repositoryPath.getRepository();
-            packageLinks += "<a href=\"" + "/storages/" + repository.getStorage().getId() + "/" + repository.getId() +
-                            "/packages/" + artifactCoordinates.buildWheelPackageFileName() + "\">" +
-                            artifactCoordinates.buildWheelPackageFileName() + "</a><br>\n";
+            // The searched paths come with their artifact entries, so neither the coordinates nor the checksums
+            // have to be read again.
+            ArtifactEntry artifactEntry = repositoryPath.getArtifactEntry();
+            PypiArtifactCoordinates artifactCoordinates = (PypiArtifactCoordinates) (artifactEntry != null ?
+                                                                                     artifactEntry.getArtifactCoordinates() :
+                                                                                     RepositoryFiles.readCoordinates(repositoryPath));
+            String sha256 = artifactEntry != null ?
+                            artifactEntry.getChecksums().get(MessageDigestAlgorithms.SHA_256) :
+                            null;
+
+            String fileName = artifactCoordinates.buildWheelPackageFileName();
+            packageLinks.add(new PackageLink(artifactCoordinates.getId(),
+                                             fileName,
+                                             getRepositoryUrl(repositoryPath.getRepository()) + "/packages/" + fileName,
+                                             sha256));
         }
 
         return packageLinks;
     }
 
+    private ObjectNode createJsonPage()
+    {
+        ObjectNode json = objectMapper.createObjectNode();
+        json.putObject("meta").put("api-version", API_VERSION);
+
+        return json;
+    }
+
+    private String getRepositoryUrl(Repository repository)
+    {
+        return "/storages/" + repository.getStorage().getId() + "/" + repository.getId();
+    }
+
+    private static class PackageLink
+    {
+
+        private final String packageName;
+
+        private final String fileName;
+
+        private final String url;
+
+        private final String sha256;
+
+        private PackageLink(String packageName,
+                            String fileName,
+                            String url,
+                            String sha256)
+        {
+            this.packageName = packageName;
+            this.fileName = fileName;
+            this.url = url;
+            this.sha256 = sha256;
+        }
+
+    }
+
 }
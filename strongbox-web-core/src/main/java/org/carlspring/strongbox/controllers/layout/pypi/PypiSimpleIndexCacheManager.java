@@ -0,0 +1,151 @@
+package org.carlspring.strongbox.controllers.layout.pypi;
+
+import org.carlspring.strongbox.artifact.coordinates.PypiArtifactCoordinates;
+import org.carlspring.strongbox.configuration.ConfigurationManager;
+import org.carlspring.strongbox.data.CacheName;
+import org.carlspring.strongbox.event.artifact.ArtifactEvent;
+import org.carlspring.strongbox.event.artifact.ArtifactEventTypeEnum;
+import org.carlspring.strongbox.providers.io.RepositoryFiles;
+import org.carlspring.strongbox.providers.io.RepositoryPath;
+import org.carlspring.strongbox.storage.repository.Repository;
+import org.carlspring.strongbox.util.ThrowingSupplier;
+
+import javax.inject.Inject;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Objects;
+import java.util.Set;
+import java.util.UUID;
+
+import org.apache.commons.lang3.StringUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.cache.Cache;
+import org.springframework.cache.Cache.ValueWrapper;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+/**
+ * Caches the rendered pages of the PyPI simple repository API: the root index of every repository, and the page of
+ * every package.
+ * <p>
+ * Like the directory listings, every page has a generation token, which is a part of the key of the rendered page.
+ * The artifact events of a package drop the tokens of its page and of the root index, in the repository and in the
+ * group repositories which directly include it. The pages of the nested group repositories expire with the cache.
+ */
+@Component
+public class PypiSimpleIndexCacheManager
+{
+
+    private static final Logger logger = LoggerFactory.getLogger(PypiSimpleIndexCacheManager.class);
+
+    private static final Set<Integer> INVALIDATING_EVENT_TYPES = new HashSet<>(
+            Arrays.asList(ArtifactEventTypeEnum.EVENT_ARTIFACT_FILE_STORED.getType(),
+                          ArtifactEventTypeEnum.EVENT_ARTIFACT_FILE_UPDATED.getType(),
+                          ArtifactEventTypeEnum.EVENT_ARTIFACT_FILE_FETCHED_FROM_REMOTE.getType(),
+                          ArtifactEventTypeEnum.EVENT_ARTIFACT_FILE_COPIED.getType(),
+                          ArtifactEventTypeEnum.EVENT_ARTIFACT_FILE_MOVED.getType(),
+                          ArtifactEventTypeEnum.EVENT_ARTIFACT_PATH_DELETED.getType()));
+
+    private final Cache cache;
+
+    @Inject
+    private ConfigurationManager configurationManager;
+
+    @Inject
+    PypiSimpleIndexCacheManager(CacheManager cacheManager)
+    {
+        cache = cacheManager.getCache(CacheName.Repository.PYPI_SIMPLE_INDEXES);
+        Objects.requireNonNull(cache, "pypiSimpleIndexes cache configuration was not provided");
+    }
+
+    /**
+     * @param packageName the package to get the page of, or `null` for the root index.
+     * @param pageBuilder renders the page, if it's not cached.
+     */
+    public PypiSimpleIndexPage get(Repository repository,
+                                   String packageName,
+                                   ThrowingSupplier<PypiSimpleIndexPage, IOException> pageBuilder)
+        throws IOException
+    {
+        String indexKey = getIndexKey(repository, packageName);
+
+        String token = UUID.randomUUID().toString();
+        ValueWrapper existingToken = cache.putIfAbsent(indexKey, token);
+        if (existingToken != null)
+        {
+            token = (String) existingToken.get();
+        }
+
+        // The page is rendered after the token was obtained, so a page rendered before an invalidation is never served.
+        String pageKey = indexKey + "#" + token;
+        PypiSimpleIndexPage page = cache.get(pageKey, PypiSimpleIndexPage.class);
+        if (page == null)
+        {
+            page = pageBuilder.get();
+            cache.put(pageKey, page);
+        }
+
+        return page;
+    }
+
+    public void invalidate(Repository repository,
+                           String packageName)
+    {
+        logger.trace("Invalidate simple index of [{}] in [{}].", packageName, repository.getStorageIdAndRepositoryId());
+
+        cache.evict(getIndexKey(repository, packageName));
+        cache.evict(getIndexKey(repository, null));
+    }
+
+    @EventListener
+    public void handle(final ArtifactEvent<RepositoryPath> event)
+    {
+        if (!INVALIDATING_EVENT_TYPES.contains(event.getType()))
+        {
+            return;
+        }
+
+        RepositoryPath path = event.getPath();
+        Repository repository = path.getRepository();
+        if (!PypiArtifactCoordinates.LAYOUT_NAME.equals(repository.getLayout()))
+        {
+            return;
+        }
+
+        String artifactPath;
+        try
+        {
+            artifactPath = RepositoryFiles.relativizePath(path);
+        }
+        catch (IOException e)
+        {
+            logger.error("Failed to invalidate the simple index of [{}].", path, e);
+
+            return;
+        }
+
+        if (artifactPath.isEmpty())
+        {
+            cache.clear();
+
+            return;
+        }
+
+        // The packages are stored as `{distribution}/{version}/{file}`.
+        String packageName = StringUtils.substringBefore(artifactPath, "/");
+        invalidate(repository, packageName);
+        configurationManager.getConfiguration()
+                            .getGroupRepositoriesContaining(repository.getStorage().getId(), repository.getId())
+                            .forEach(groupRepository -> invalidate(groupRepository, packageName));
+    }
+
+    private String getIndexKey(Repository repository,
+                               String packageName)
+    {
+        return repository.getStorageIdAndRepositoryId() + ":simple/" + StringUtils.defaultString(packageName);
+    }
+
+}
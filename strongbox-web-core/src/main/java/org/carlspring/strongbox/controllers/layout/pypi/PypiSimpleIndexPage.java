@@ -0,0 +1,51 @@
+package org.carlspring.strongbox.controllers.layout.pypi;
+
+import java.io.Serializable;
+
+import org.apache.commons.codec.digest.DigestUtils;
+
+/**
+ * A rendered page of the PyPI simple repository API, in both the PEP 503 HTML and the PEP 691 JSON representations,
+ * each with its own strong ETag.
+ */
+public class PypiSimpleIndexPage implements Serializable
+{
+
+    private final String html;
+
+    private final String htmlETag;
+
+    private final String json;
+
+    private final String jsonETag;
+
+    public PypiSimpleIndexPage(String html,
+                               String json)
+    {
+        this.html = html;
+        this.htmlETag = "\"" + DigestUtils.sha1Hex(html) + "\"";
+        this.json = json;
+        this.jsonETag = "\"" + DigestUtils.sha1Hex(json) + "\"";
+    }
+
+    public String getHtml()
+    {
+        return html;
+    }
+
+    public String getHtmlETag()
+    {
+        return htmlETag;
+    }
+
+    public String getJson()
+    {
+        return json;
+    }
+
+    public String getJsonETag()
+    {
+        return jsonETag;
+    }
+
+}
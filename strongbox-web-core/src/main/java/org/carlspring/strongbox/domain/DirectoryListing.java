@@ -1,15 +1,21 @@
 package org.carlspring.strongbox.domain;
 
+import java.io.Serializable;
 import java.util.ArrayList;
 import java.util.List;
 
 public class DirectoryListing
+        implements Serializable
 {
 
     private List<FileContent> directories;
 
     private List<FileContent> files;
 
+    /**
+     * The name of the last entry of the page, to be passed as `after` for the next page, or `null` for the last page.
+     */
+    private String next;
 
     public List<FileContent> getDirectories()
     {
@@ -41,4 +47,14 @@ public class DirectoryListing
         this.files = files;
     }
 
+    public String getNext()
+    {
+        return next;
+    }
+
+    public void setNext(String next)
+    {
+        this.next = next;
+    }
+
 }
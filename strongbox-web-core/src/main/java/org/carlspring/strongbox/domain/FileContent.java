@@ -1,9 +1,11 @@
 package org.carlspring.strongbox.domain;
 
+import java.io.Serializable;
 import java.net.URL;
 import java.util.Date;
 
 public class FileContent
+        implements Serializable
 {
     private String name;
 
@@ -0,0 +1,142 @@
+package org.carlspring.strongbox.services;
+
+import org.carlspring.strongbox.data.CacheName;
+import org.carlspring.strongbox.domain.DirectoryListing;
+import org.carlspring.strongbox.event.artifact.ArtifactEvent;
+import org.carlspring.strongbox.event.artifact.ArtifactEventTypeEnum;
+import org.carlspring.strongbox.providers.io.RepositoryFiles;
+import org.carlspring.strongbox.providers.io.RepositoryPath;
+import org.carlspring.strongbox.storage.repository.Repository;
+
+import javax.inject.Inject;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Objects;
+import java.util.Set;
+import java.util.UUID;
+
+import org.apache.commons.lang3.StringUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.cache.Cache;
+import org.springframework.cache.Cache.ValueWrapper;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+/**
+ * Caches the pages of the repository directory listings.
+ * <p>
+ * Every directory has a generation token, which is a part of the keys of its pages. Invalidating a directory just
+ * drops its token, so that all its pages become unreachable at once, and expire from the cache later on. A page which
+ * was listed before the invalidation is stored under the dropped token, so it can never be served.
+ */
+@Component
+public class DirectoryListingCacheManager
+{
+
+    private static final Logger logger = LoggerFactory.getLogger(DirectoryListingCacheManager.class);
+
+    private static final Set<Integer> INVALIDATING_EVENT_TYPES = new HashSet<>(
+            Arrays.asList(ArtifactEventTypeEnum.EVENT_ARTIFACT_DIRECTORY_CREATED.getType(),
+                          ArtifactEventTypeEnum.EVENT_ARTIFACT_FILE_STORED.getType(),
+                          ArtifactEventTypeEnum.EVENT_ARTIFACT_FILE_UPDATED.getType(),
+                          ArtifactEventTypeEnum.EVENT_ARTIFACT_FILE_FETCHED_FROM_REMOTE.getType(),
+                          ArtifactEventTypeEnum.EVENT_ARTIFACT_METADATA_STORED.getType(),
+                          ArtifactEventTypeEnum.EVENT_ARTIFACT_FILE_COPIED.getType(),
+                          ArtifactEventTypeEnum.EVENT_ARTIFACT_FILE_MOVED.getType(),
+                          ArtifactEventTypeEnum.EVENT_ARTIFACT_PATH_DELETED.getType()));
+
+    private final Cache cache;
+
+    @Inject
+    DirectoryListingCacheManager(CacheManager cacheManager)
+    {
+        cache = cacheManager.getCache(CacheName.Repository.DIRECTORY_LISTINGS);
+        Objects.requireNonNull(cache, "directoryListings cache configuration was not provided");
+    }
+
+    public DirectoryListing get(String pageKey)
+    {
+        return cache.get(pageKey, DirectoryListing.class);
+    }
+
+    /**
+     * @param pageKey the key obtained before the directory was listed.
+     */
+    public void put(String pageKey,
+                    DirectoryListing directoryListing)
+    {
+        cache.put(pageKey, directoryListing);
+    }
+
+    public String getPageKey(RepositoryPath directory,
+                             Integer limit,
+                             String after)
+        throws IOException
+    {
+        String directoryKey = getDirectoryKey(directory.getRepository(), RepositoryFiles.relativizePath(directory));
+
+        String token = UUID.randomUUID().toString();
+        ValueWrapper existingToken = cache.putIfAbsent(directoryKey, token);
+        if (existingToken != null)
+        {
+            token = (String) existingToken.get();
+        }
+
+        return String.format("%s#%s?limit=%s&after=%s", directoryKey, token, limit, after);
+    }
+
+    public void invalidate(Repository repository,
+                           String path)
+    {
+        logger.trace("Invalidate directory listing [{}] of [{}].", path, repository.getStorageIdAndRepositoryId());
+
+        cache.evict(getDirectoryKey(repository, path));
+    }
+
+    @EventListener
+    public void handle(final ArtifactEvent<RepositoryPath> event)
+    {
+        if (!INVALIDATING_EVENT_TYPES.contains(event.getType()))
+        {
+            return;
+        }
+
+        RepositoryPath path = event.getPath();
+        String artifactPath;
+        try
+        {
+            artifactPath = RepositoryFiles.relativizePath(path);
+        }
+        catch (IOException e)
+        {
+            logger.error("Failed to invalidate the directory listings of [{}].", path, e);
+
+            return;
+        }
+
+        // Storing a file might have created any of its parent directories.
+        Repository repository = path.getRepository();
+        String directory = StringUtils.removeEnd(artifactPath, "/");
+        invalidate(repository, directory);
+        for (int i = directory.lastIndexOf('/'); i > 0; i = directory.lastIndexOf('/'))
+        {
+            directory = directory.substring(0, i);
+            invalidate(repository, directory);
+        }
+        if (!directory.isEmpty())
+        {
+            invalidate(repository, "");
+        }
+    }
+
+    private String getDirectoryKey(Repository repository,
+                                   String path)
+    {
+        // The directories exist when they are listed, and their paths end with a slash then.
+        return repository.getStorageIdAndRepositoryId() + ":" + StringUtils.removeEnd(path, "/");
+    }
+
+}
@@ -18,6 +18,15 @@ public interface DirectoryListingService
 
     DirectoryListing fromRepositoryPath(RepositoryPath path)
         throws IOException;
+
+    /**
+     * @param limit the maximum number of entries, or `null` to list all of them
+     * @param after the name of the entry to start after, or `null` to start from the first one
+     */
+    DirectoryListing fromRepositoryPath(RepositoryPath path,
+                                        Integer limit,
+                                        String after)
+        throws IOException;
     
     DirectoryListing fromPath(Path root, Path path)
             throws IOException;
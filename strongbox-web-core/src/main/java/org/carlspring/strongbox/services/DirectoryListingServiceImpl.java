@@ -3,21 +3,18 @@ package org.carlspring.strongbox.services;
 import java.io.IOException;
 import java.net.MalformedURLException;
 import java.net.URL;
+import java.nio.file.DirectoryStream;
 import java.nio.file.Files;
 import java.nio.file.Path;
-import java.nio.file.attribute.FileTime;
-import java.util.ArrayList;
+import java.nio.file.attribute.BasicFileAttributes;
 import java.util.Date;
-import java.util.HashMap;
-import java.util.List;
 import java.util.Map;
-import java.util.stream.Collectors;
-import java.util.stream.Stream;
+import java.util.TreeMap;
 
 import org.apache.commons.lang.StringUtils;
 import org.carlspring.strongbox.domain.DirectoryListing;
 import org.carlspring.strongbox.domain.FileContent;
-import org.carlspring.strongbox.providers.io.RepositoryFileAttributeType;
+import org.carlspring.strongbox.providers.io.RepositoryFiles;
 import org.carlspring.strongbox.providers.io.RepositoryPath;
 import org.carlspring.strongbox.storage.Storage;
 import org.carlspring.strongbox.storage.repository.Repository;
@@ -31,12 +28,21 @@ public class DirectoryListingServiceImpl implements DirectoryListingService
 
     private String baseUrl;
 
+    private DirectoryListingCacheManager directoryListingCacheManager;
+
     public DirectoryListingServiceImpl(String baseUrl)
     {
         super();
         this.baseUrl = StringUtils.chomp(baseUrl.toString(), "/");
     }
 
+    public DirectoryListingServiceImpl(String baseUrl,
+                                       DirectoryListingCacheManager directoryListingCacheManager)
+    {
+        this(baseUrl);
+        this.directoryListingCacheManager = directoryListingCacheManager;
+    }
+
     @Override
     public DirectoryListing fromStorages(Map<String, ? extends Storage> storages)
         throws IOException
@@ -79,83 +85,143 @@ public class DirectoryListingServiceImpl implements DirectoryListingService
     public DirectoryListing fromRepositoryPath(RepositoryPath path)
         throws IOException
     {
-        return fromPath(path);
+        return fromRepositoryPath(path, null, null);
     }
 
-    private DirectoryListing fromPath(Path path)
+    @Override
+    public DirectoryListing fromRepositoryPath(RepositoryPath path,
+                                               Integer limit,
+                                               String after)
         throws IOException
     {
         path = path.normalize();
 
-        DirectoryListing directoryListing = new DirectoryListing();
-
-        Map<String, List<FileContent>> content = generateDirectoryListing(path);
+        if (directoryListingCacheManager == null)
+        {
+            return generateDirectoryListing(path, limit, after);
+        }
 
-        directoryListing.setDirectories(content.get("directories"));
-        directoryListing.setFiles(content.get("files"));
+        // The key has to be taken before the listing, so that a concurrent change can't be cached.
+        String pageKey = directoryListingCacheManager.getPageKey(path, limit, after);
+        DirectoryListing directoryListing = directoryListingCacheManager.get(pageKey);
+        if (directoryListing == null)
+        {
+            directoryListing = generateDirectoryListing(path, limit, after);
+            directoryListingCacheManager.put(pageKey, directoryListing);
+        }
 
         return directoryListing;
     }
 
-    private Map<String, List<FileContent>> generateDirectoryListing(Path path)
+    private DirectoryListing fromPath(Path path)
+        throws IOException
+    {
+        return generateDirectoryListing(path.normalize(), null, null);
+    }
+
+    /**
+     * Lists the entries sorted by name, starting after the given one. Only the names are read for all the entries,
+     * while the attributes are read just for the entries of the page.
+     */
+    private DirectoryListing generateDirectoryListing(Path path,
+                                                      Integer limit,
+                                                      String after)
         throws IOException
     {
-        List<FileContent> directories = new ArrayList<>();
-        List<FileContent> files = new ArrayList<>();
+        TreeMap<String, Path> page = new TreeMap<>();
+        boolean hasMore = false;
+        try (DirectoryStream<Path> directoryStream = Files.newDirectoryStream(path, this::isVisible))
+        {
+            for (Path contentPath : directoryStream)
+            {
+                String name = contentPath.getFileName().toString();
+                if (after != null && name.compareTo(after) <= 0)
+                {
+                    continue;
+                }
+
+                page.put(name, contentPath);
+                if (limit != null && page.size() > limit)
+                {
+                    page.pollLastEntry();
+                    hasMore = true;
+                }
+            }
+        }
 
-        List<Path> contentPaths;
-        try (Stream<Path> pathStream = Files.list(path))
+        String storageId = null;
+        String repositoryId = null;
+        String directoryPath = null;
+        if (path instanceof RepositoryPath)
         {
-            contentPaths = pathStream
-                                   .filter(p -> !p.toFile().getName().startsWith("."))
-                                   .filter(p -> {
-                                       try
-                                       {
-                                           return !Files.isHidden(p);
-                                       }
-                                       catch (IOException e)
-                                       {
-                                           logger.debug("Error accessing path {}", p);
-                                           return false;
-                                       }
-                                   })
-                                   .sorted()
-                                   .collect(Collectors.toList());
+            RepositoryPath repositoryPath = (RepositoryPath) path;
+            storageId = repositoryPath.getRepository().getStorage().getId();
+            repositoryId = repositoryPath.getRepository().getId();
+            directoryPath = StringUtils.chomp(RepositoryFiles.relativizePath(repositoryPath), "/");
         }
 
-        for (Path contentPath : contentPaths)
+        DirectoryListing directoryListing = new DirectoryListing();
+        for (Map.Entry<String, Path> entry : page.entrySet())
         {
-            FileContent file = new FileContent(contentPath.getFileName().toString());
+            Path contentPath = entry.getValue();
+            FileContent file = new FileContent(entry.getKey());
 
-            Map<String, Object> fileAttributes = Files.readAttributes(contentPath, "*");
+            BasicFileAttributes fileAttributes = Files.readAttributes(contentPath, BasicFileAttributes.class);
 
-            file.setStorageId((String) fileAttributes.get(RepositoryFileAttributeType.STORAGE_ID.getName()));
-            file.setRepositoryId((String) fileAttributes.get(RepositoryFileAttributeType.REPOSITORY_ID.getName()));
+            file.setStorageId(storageId);
+            file.setRepositoryId(repositoryId);
 
-            file.setArtifactPath((String) fileAttributes.get("artifactPath"));
+            if (directoryPath != null)
+            {
+                // Same as the relativized path, which ends with a slash for the directories.
+                file.setArtifactPath((directoryPath.isEmpty() ? "" : directoryPath + "/") + entry.getKey() +
+                                     (fileAttributes.isDirectory() ? "/" : ""));
+            }
 
-            if (Boolean.TRUE.equals(fileAttributes.get("isDirectory")))
+            if (fileAttributes.isDirectory())
             {
                 file.setUrl(calculateDirectoryUrl(file));
 
-                directories.add(file);
+                directoryListing.getDirectories().add(file);
 
                 continue;
             }
 
-            file.setUrl((URL) fileAttributes.get(RepositoryFileAttributeType.RESOURCE_URL.getName()));
+            if (contentPath instanceof RepositoryPath)
+            {
+                file.setUrl(RepositoryFiles.readResourceUrl((RepositoryPath) contentPath));
+            }
 
-            file.setLastModified(new Date(((FileTime) fileAttributes.get("lastModifiedTime")).toMillis()));
-            file.setSize((Long) fileAttributes.get("size"));
+            file.setLastModified(new Date(fileAttributes.lastModifiedTime().toMillis()));
+            file.setSize(fileAttributes.size());
 
-            files.add(file);
+            directoryListing.getFiles().add(file);
         }
 
-        Map<String, List<FileContent>> listing = new HashMap<>();
-        listing.put("directories", directories);
-        listing.put("files", files);
+        if (hasMore)
+        {
+            directoryListing.setNext(page.lastKey());
+        }
 
-        return listing;
+        return directoryListing;
+    }
+
+    private boolean isVisible(Path path)
+    {
+        if (path.getFileName().toString().startsWith("."))
+        {
+            return false;
+        }
+
+        try
+        {
+            return !Files.isHidden(path);
+        }
+        catch (IOException e)
+        {
+            logger.debug("Error accessing path {}", path);
+            return false;
+        }
     }
 
     /**
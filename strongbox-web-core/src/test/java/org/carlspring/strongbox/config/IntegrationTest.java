@@ -15,6 +15,7 @@ import java.lang.annotation.ElementType;
 import java.lang.annotation.Retention;
 import java.lang.annotation.RetentionPolicy;
 import java.lang.annotation.Target;
+import java.nio.file.Path;
 import java.util.function.Function;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
@@ -93,6 +94,11 @@ public @interface IntegrationTest
                                                                            ArgumentMatchers.any(
                                                                                    CloseableHttpClient.class)))
                    .thenReturn(resourceFetcher);
+            Mockito.when(resourceFetcherFactory.createIndexResourceFetcher(ArgumentMatchers.anyString(),
+                                                                           ArgumentMatchers.any(CloseableHttpClient.class),
+                                                                           ArgumentMatchers.any(Path.class),
+                                                                           ArgumentMatchers.any(Path.class)))
+                   .thenReturn(resourceFetcher);
 
             return resourceFetcherFactory;
         }
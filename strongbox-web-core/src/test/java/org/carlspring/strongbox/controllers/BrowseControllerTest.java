@@ -14,6 +14,7 @@ import org.carlspring.strongbox.testing.storage.repository.RepositoryManagementT
 
 import java.io.IOException;
 import java.nio.file.Path;
+import java.util.ArrayList;
 import java.util.Comparator;
 import java.util.List;
 import java.util.stream.Collectors;
@@ -40,6 +41,7 @@ public class BrowseControllerTest
 
     private static final String REPOSITORY_1 = "browsing-test-repository-1";
     private static final String REPOSITORY_2 = "browsing-test-repository-2";
+    private static final String REPOSITORY_3 = "browsing-test-repository-3";
 
     @Override
     @BeforeEach
@@ -196,6 +198,68 @@ public class BrowseControllerTest
         assertThat(htmlResponse.contains(link)).as("Expected to have found [ " + link + " ] in the response html").isTrue();
     }
 
+    @ExtendWith({ RepositoryManagementTestExecutionListener.class,
+                  ArtifactManagementTestExecutionListener.class })
+    @Test
+    public void testRepositoryContentsPages(@MavenRepository(repositoryId = REPOSITORY_3)
+                                            Repository repository,
+                                            @MavenTestArtifact(repositoryId = REPOSITORY_3,
+                                                               id = "org.carlspring.strongbox.browsing:test-browsing-pages",
+                                                               versions = "1.1")
+                                            List<Path> artifactsPaths)
+            throws IOException
+    {
+        final String storageId = repository.getStorage().getId();
+        final String repositoryId = repository.getId();
+
+        String url = getContextBaseUrl() + "/{storageId}/{repositoryId}/{artifactPath}";
+
+        RepositoryPath artifactParentPath = (RepositoryPath) artifactsPaths.get(0).normalize().getParent();
+        String artifactParentPathStr = RepositoryFiles.relativizePath(artifactParentPath);
+
+        DirectoryListing all = mockMvc.accept(MediaType.APPLICATION_JSON_VALUE)
+                                      .when()
+                                      .get(url, storageId, repositoryId, artifactParentPathStr)
+                                      .prettyPeek()
+                                      .as(DirectoryListing.class);
+
+        assertThat(all.getNext()).isNull();
+
+        List<String> expectedNames = all.getFiles()
+                                        .stream()
+                                        .map(FileContent::getName)
+                                        .collect(Collectors.toList());
+
+        List<String> names = new ArrayList<>();
+        String after = null;
+        do
+        {
+            DirectoryListing page = mockMvc.accept(MediaType.APPLICATION_JSON_VALUE)
+                                           .queryParam("limit", 4)
+                                           .queryParam("after", after != null ? after : "")
+                                           .when()
+                                           .get(url, storageId, repositoryId, artifactParentPathStr)
+                                           .prettyPeek()
+                                           .as(DirectoryListing.class);
+
+            assertThat(page.getFiles().size()).isLessThanOrEqualTo(4);
+            page.getFiles().forEach(f -> names.add(f.getName()));
+
+            after = page.getNext();
+        }
+        while (after != null);
+
+        assertThat(names).isEqualTo(expectedNames);
+
+        mockMvc.accept(MediaType.APPLICATION_JSON_VALUE)
+               .queryParam("limit", 0)
+               .when()
+               .get(url, storageId, repositoryId, artifactParentPathStr)
+               .prettyPeek()
+               .then()
+               .statusCode(HttpStatus.BAD_REQUEST.value());
+    }
+
     @Test
     public void testRepositoryContentsWithRepositoryNotFound()
     {
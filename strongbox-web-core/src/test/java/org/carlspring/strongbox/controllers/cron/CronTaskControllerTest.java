@@ -1,18 +1,25 @@
 package org.carlspring.strongbox.controllers.cron;
 
 import org.carlspring.strongbox.config.IntegrationTest;
+import org.carlspring.strongbox.cron.domain.CronJobProgressDto;
 import org.carlspring.strongbox.cron.domain.CronTaskConfigurationDto;
 import org.carlspring.strongbox.cron.domain.CronTasksConfigurationDto;
 import org.carlspring.strongbox.cron.jobs.*;
+import org.carlspring.strongbox.cron.services.CronJobCheckpointService;
+import org.carlspring.strongbox.cron.services.JobManager;
 import org.carlspring.strongbox.forms.cron.CronTaskConfigurationForm;
 import org.carlspring.strongbox.forms.cron.CronTaskConfigurationFormField;
 import org.carlspring.strongbox.rest.common.RestAssuredBaseTest;
 
+import javax.inject.Inject;
 import java.io.File;
 import java.io.FileInputStream;
 import java.io.InputStream;
 import java.util.Arrays;
 import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
 import io.restassured.http.Headers;
@@ -20,6 +27,13 @@ import io.restassured.module.mockmvc.response.MockMvcResponse;
 import org.apache.commons.io.IOUtils;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.quartz.InterruptableJob;
+import org.quartz.JobBuilder;
+import org.quartz.JobExecutionContext;
+import org.quartz.JobExecutionException;
+import org.quartz.JobKey;
+import org.quartz.Scheduler;
+import org.quartz.TriggerBuilder;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
@@ -42,6 +56,15 @@ public class CronTaskControllerTest
 
     private static final File GROOVY_TASK_FILE = new File("target/test-classes/groovy/GroovyTask.groovy");
 
+    @Inject
+    private JobManager jobManager;
+
+    @Inject
+    private CronJobCheckpointService cronJobCheckpointService;
+
+    @Inject
+    private Scheduler scheduler;
+
     @Override
     @BeforeEach
     public void init()
@@ -485,6 +508,89 @@ public class CronTaskControllerTest
                .statusCode(OK);
     }
 
+    @Test
+    public void shouldReturnProgressOfRunningExecution()
+    {
+        UUID cronUuid = UUID.randomUUID();
+
+        CronJobExecution execution = new CronJobExecution(cronUuid, cronJobCheckpointService, 0, 0, 1);
+        execution.addTotal(10);
+        execution.addDone(4);
+
+        jobManager.registerRunningExecution(execution);
+        try
+        {
+            CronJobProgressDto progress = mockMvc.accept(MediaType.APPLICATION_JSON_VALUE)
+                                                 .when()
+                                                 .get(getContextBaseUrl() + "/" + cronUuid + "/progress")
+                                                 .peek()
+                                                 .then()
+                                                 .statusCode(OK)
+                                                 .and()
+                                                 .extract()
+                                                 .as(CronJobProgressDto.class);
+
+            assertThat(progress.getUuid()).isEqualTo(cronUuid);
+            assertThat(progress.getItemsTotal()).isEqualTo(10);
+            assertThat(progress.getItemsDone()).isEqualTo(4);
+            assertThat(progress.getEta()).isNotNull();
+            assertThat(progress.isCancelled()).isFalse();
+        }
+        finally
+        {
+            jobManager.unregisterRunningExecution(execution);
+        }
+
+        mockMvc.accept(MediaType.APPLICATION_JSON_VALUE)
+               .when()
+               .get(getContextBaseUrl() + "/" + cronUuid + "/progress")
+               .peek()
+               .then()
+               .statusCode(HttpStatus.NOT_FOUND.value());
+    }
+
+    @Test
+    public void shouldNotInterruptNotRunningCronTask()
+    {
+        mockMvc.accept(MediaType.APPLICATION_JSON_VALUE)
+               .when()
+               .post(getContextBaseUrl() + "/" + UUID.randomUUID() + "/interrupt")
+               .peek()
+               .then()
+               .statusCode(HttpStatus.NOT_FOUND.value());
+    }
+
+    @Test
+    public void shouldInterruptRunningCronTask()
+            throws Exception
+    {
+        UUID cronUuid = UUID.randomUUID();
+
+        scheduler.scheduleJob(JobBuilder.newJob(InterruptableTestJob.class)
+                                        .withIdentity(cronUuid.toString())
+                                        .build(),
+                              TriggerBuilder.newTrigger()
+                                            .startNow()
+                                            .build());
+        try
+        {
+            assertThat(InterruptableTestJob.started.tryAcquire(30, TimeUnit.SECONDS)).isTrue();
+
+            mockMvc.accept(MediaType.APPLICATION_JSON_VALUE)
+                   .when()
+                   .post(getContextBaseUrl() + "/" + cronUuid + "/interrupt")
+                   .peek()
+                   .then()
+                   .statusCode(OK);
+
+            assertThat(InterruptableTestJob.interrupted.tryAcquire(30, TimeUnit.SECONDS)).isTrue();
+        }
+        finally
+        {
+            scheduler.deleteJob(JobKey.jobKey(cronUuid.toString()));
+        }
+    }
+
     private void uploadGroovyScript(UUID uuid)
             throws Exception
     {
@@ -539,6 +645,40 @@ public class CronTaskControllerTest
                       .peek();
     }
 
+    public static class InterruptableTestJob
+            implements InterruptableJob
+    {
+
+        private static final Semaphore started = new Semaphore(0);
+
+        private static final Semaphore interrupted = new Semaphore(0);
+
+        private final CountDownLatch interruption = new CountDownLatch(1);
+
+        @Override
+        public void execute(JobExecutionContext context)
+                throws JobExecutionException
+        {
+            started.release();
+            try
+            {
+                interruption.await(30, TimeUnit.SECONDS);
+            }
+            catch (InterruptedException e)
+            {
+                Thread.currentThread().interrupt();
+            }
+        }
+
+        @Override
+        public void interrupt()
+        {
+            interruption.countDown();
+            interrupted.release();
+        }
+
+    }
+
     private MockMvcResponse getCronConfig(UUID uuid)
     {
         return mockMvc.contentType(MediaType.APPLICATION_JSON_VALUE)
@@ -7,6 +7,7 @@ import org.carlspring.strongbox.config.IntegrationTest;
 import org.carlspring.strongbox.providers.io.RepositoryFiles;
 import org.carlspring.strongbox.providers.io.RepositoryPath;
 import org.carlspring.strongbox.providers.layout.NpmLayoutProvider;
+import org.carlspring.strongbox.providers.layout.NpmPackumentStore;
 import org.carlspring.strongbox.rest.common.NpmRestAssuredBaseTest;
 import org.carlspring.strongbox.storage.repository.Repository;
 import org.carlspring.strongbox.testing.artifact.ArtifactManagementTestExecutionListener;
@@ -31,6 +32,7 @@ import org.springframework.http.MediaType;
 
 import static org.carlspring.strongbox.artifact.generator.ArtifactGenerator.DEFAULT_BYTES_SIZE;
 import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.notNullValue;
 
 /**
  * @author Pablo Tirado
@@ -89,6 +91,52 @@ public class NpmArtifactControllerTest
                .statusCode(HttpStatus.NOT_FOUND.value());
     }
 
+    @ExtendWith({ RepositoryManagementTestExecutionListener.class,
+                  ArtifactManagementTestExecutionListener.class })
+    @Test
+    public void testViewPackageFeedWithEtag(@NpmRepository(repositoryId = REPOSITORY_RELEASES)
+                                                    Repository repository,
+                                            @NpmTestArtifact(repositoryId = REPOSITORY_RELEASES,
+                                                    id = "npm-test-view-feed",
+                                                    versions = "1.0.0",
+                                                    scope = "@carlspring")
+                                                    Path packagePath)
+            throws Exception
+    {
+        final String storageId = repository.getStorage().getId();
+        final String repositoryId = repository.getId();
+
+        RepositoryPath normPackagePath = (RepositoryPath) packagePath.normalize();
+        NpmArtifactCoordinates coordinates = (NpmArtifactCoordinates) RepositoryFiles.readCoordinates(normPackagePath);
+
+        String url = getContextBaseUrl() + "/storages/{storageId}/{repositoryId}/{artifactId}";
+        String etag = mockMvc.when()
+                             .get(url, storageId, repositoryId, coordinates.getId())
+                             .peek()
+                             .then()
+                             .statusCode(HttpStatus.OK.value())
+                             .body("versions.'1.0.0'.version", equalTo("1.0.0"))
+                             .extract()
+                             .header(HttpHeaders.ETAG);
+
+        // Not modified
+        mockMvc.header(HttpHeaders.IF_NONE_MATCH, etag)
+               .when()
+               .get(url, storageId, repositoryId, coordinates.getId())
+               .then()
+               .statusCode(HttpStatus.NOT_MODIFIED.value());
+
+        // Abbreviated
+        mockMvc.header(HttpHeaders.ACCEPT, NpmPackumentStore.ABBREVIATED_MEDIA_TYPE)
+               .when()
+               .get(url, storageId, repositoryId, coordinates.getId())
+               .then()
+               .statusCode(HttpStatus.OK.value())
+               .contentType(NpmPackumentStore.ABBREVIATED_MEDIA_TYPE)
+               .body("name", equalTo(coordinates.getId()))
+               .body("versions.'1.0.0'.dist", notNullValue());
+    }
+
     @ExtendWith({ RepositoryManagementTestExecutionListener.class,
                   ArtifactManagementTestExecutionListener.class })
     @Test
@@ -19,6 +19,7 @@ import org.carlspring.strongbox.testing.artifact.ArtifactManagementTestExecution
 import org.carlspring.strongbox.testing.artifact.PypiTestArtifact;
 import org.carlspring.strongbox.testing.repository.PypiTestRepository;
 import org.carlspring.strongbox.testing.storage.repository.RepositoryManagementTestExecutionListener;
+import org.apache.commons.codec.digest.MessageDigestAlgorithms;
 import org.hamcrest.Matchers;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -206,6 +207,60 @@ public class PypiArtifactControllerTest extends PypiRestAssuredBaseTest
 
     }
 
+    @Test
+    @ExtendWith({ RepositoryManagementTestExecutionListener.class,
+                  ArtifactManagementTestExecutionListener.class })
+    public void testBrowseSimpleIndexWithEtag(@PypiTestRepository(repositoryId = REPOSITORY_RELEASES, storageId = REPOSITORY_STORAGE) Repository repository,
+                                              @PypiTestArtifact(repositoryId = REPOSITORY_RELEASES, storageId = REPOSITORY_STORAGE, id = "hello_world_pypi", versions = "1.0") Path packagePath)
+        throws IOException
+    {
+        final String storageId = repository.getStorage().getId();
+        final String repositoryId = repository.getId();
+
+        final String sha256 = ((RepositoryPath) packagePath.normalize()).getArtifactEntry()
+                                                                          .getChecksums()
+                                                                          .get(MessageDigestAlgorithms.SHA_256);
+
+        // Root index
+        mockMvc.when()
+               .get(getContextBaseUrl() + "/storages/{storageId}/{repositoryId}/simple/", storageId, repositoryId)
+               .then()
+               .statusCode(HttpStatus.OK.value())
+               .contentType(ContentType.HTML)
+               .body(Matchers.containsString("/simple/hello_world_pypi/\">hello_world_pypi</a>"));
+
+        final String url = getContextBaseUrl() + "/storages/{storageId}/{repositoryId}/simple/{packageName}/";
+
+        String etag = mockMvc.when()
+                             .get(url, storageId, repositoryId, "hello_world_pypi")
+                             .then()
+                             .statusCode(HttpStatus.OK.value())
+                             .contentType(ContentType.HTML)
+                             .body(Matchers.containsString("#sha256=" + sha256 + "\""))
+                             .extract()
+                             .header(HttpHeaders.ETAG);
+
+        // Not modified
+        mockMvc.header(HttpHeaders.IF_NONE_MATCH, etag)
+               .when()
+               .get(url, storageId, repositoryId, "hello_world_pypi")
+               .then()
+               .statusCode(HttpStatus.NOT_MODIFIED.value());
+
+        // PEP 691 JSON, preferred over the HTML
+        mockMvc.header(HttpHeaders.ACCEPT, PypiArtifactController.SIMPLE_JSON_MEDIA_TYPE + ", " +
+                                           PypiArtifactController.SIMPLE_HTML_MEDIA_TYPE + ";q=0.1, text/html;q=0.01")
+               .header(HttpHeaders.IF_NONE_MATCH, etag)
+               .when()
+               .get(url, storageId, repositoryId, "hello_world_pypi")
+               .then()
+               .statusCode(HttpStatus.OK.value())
+               .contentType(PypiArtifactController.SIMPLE_JSON_MEDIA_TYPE)
+               .body("meta.'api-version'", Matchers.equalTo("1.0"),
+                     "name", Matchers.equalTo("hello_world_pypi"),
+                     "files[0].hashes.sha256", Matchers.equalTo(sha256));
+    }
+
     @Test
     @ExtendWith({ RepositoryManagementTestExecutionListener.class,
                   ArtifactManagementTestExecutionListener.class })
@@ -19,6 +19,7 @@ import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.List;
 
+import org.apache.commons.codec.digest.MessageDigestAlgorithms;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 
@@ -70,7 +71,8 @@ public class PypiBrowsePackageHtmlResponseBuilderTest
         PypiArtifactCoordinates artifactCoordinates = (PypiArtifactCoordinates) RepositoryFiles.readCoordinates((RepositoryPath) packagePath.normalize());
 
         String links = "<a href=\"" + "/storages/" + repository.getStorage().getId() + "/" + repository.getId() +
-                       "/packages/" + artifactCoordinates.buildWheelPackageFileName() + "\">" +
+                       "/packages/" + artifactCoordinates.buildWheelPackageFileName() +
+                       "#sha256=" + getSha256(packagePath) + "\">" +
                        artifactCoordinates.buildWheelPackageFileName() + "</a><br>\n";
 
         String expectedHtmlResponse = "<html>\n" +
@@ -118,7 +120,8 @@ public class PypiBrowsePackageHtmlResponseBuilderTest
             packageName = artifactCoordinates.getId();
 
             links += "<a href=\"" + "/storages/" + repository.getStorage().getId() + "/" + repository.getId() +
-                     "/packages/" + artifactCoordinates.buildWheelPackageFileName() + "\">" +
+                     "/packages/" + artifactCoordinates.buildWheelPackageFileName() +
+                     "#sha256=" + getSha256(path) + "\">" +
                      artifactCoordinates.buildWheelPackageFileName() + "</a><br>\n";
         }
 
@@ -136,4 +139,12 @@ public class PypiBrowsePackageHtmlResponseBuilderTest
 
         assertThat(htmlResponse).isNotBlank().isEqualTo(expectedHtmlResponse);
     }
+
+    private String getSha256(Path packagePath)
+        throws IOException
+    {
+        return ((RepositoryPath) packagePath.normalize()).getArtifactEntry()
+                                                         .getChecksums()
+                                                         .get(MessageDigestAlgorithms.SHA_256);
+    }
 }